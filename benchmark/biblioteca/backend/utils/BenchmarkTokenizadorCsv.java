@@ -0,0 +1,139 @@
+package biblioteca.backend.utils;
+
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+
+import static biblioteca.utils.MapUtils.mapStringBlankNull;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Comparação da separação dos registros do arquivo de importação pelo TokenizadorCsv com a separação anterior, feita com split.
+ * <p>
+ * Os dois caminhos partem dos mesmos registros de 11 campos, codificados em UTF-8 em um único buffer, como no arquivo mapeado em memória
+ * da importação, e leem todos os campos, com os campos em branco mapeados para null:
+ * <ul>
+ *     <li>split: decodifica a linha em uma String, como a leitura por linhas fazia, separa com split e mapeia cada campo com mapStringBlankNull;</li>
+ *     <li>tokenizador: tokeniza o registro diretamente no buffer e lê cada campo com getCampo e getCampoPreenchido.</li>
+ * </ul>
+ * Cada rodada mede, na thread atual, o tempo por registro com System.nanoTime e os bytes alocados por registro com
+ * ThreadMXBean.getThreadAllocatedBytes. As primeiras rodadas servem de aquecimento do JIT e devem ser desconsideradas.
+ * <p>
+ * Executada pelo método main, com as classes do projeto e os jars da pasta lib no classpath. Recebe opcionalmente a quantidade de rodadas
+ * e a quantidade de registros por rodada.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+public class BenchmarkTokenizadorCsv {
+
+    private static final int RODADAS_PADRAO = 8;
+    private static final int REGISTROS_POR_RODADA_PADRAO = 2_000_000;
+    private static final int QUANTIDADE_REGISTROS_DISTINTOS = 1_000;
+    private static final int QUANTIDADE_CAMPOS = 11;
+    private static final char SEPARADOR_CAMPOS = ';';
+
+    private static long consumidos;
+
+    public static void main(String[] args) {
+        int rodadas = args.length > 0 ? Integer.parseInt(args[0]) : RODADAS_PADRAO;
+        int registrosPorRodada = args.length > 1 ? Integer.parseInt(args[1]) : REGISTROS_POR_RODADA_PADRAO;
+
+        ByteBuffer conteudo = ByteBuffer.wrap(gerarConteudo());
+        int[] inicios = new int[QUANTIDADE_REGISTROS_DISTINTOS];
+        int[] fins = new int[QUANTIDADE_REGISTROS_DISTINTOS];
+        localizarRegistros(conteudo, inicios, fins);
+
+        ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long idThread = Thread.currentThread().getId();
+        TokenizadorCsv tokenizador = new TokenizadorCsv(SEPARADOR_CAMPOS);
+        byte[] bytesLinha = new byte[conteudo.capacity()];
+
+        System.out.println(format("%d rodadas de %d registros de %d campos", rodadas, registrosPorRodada, QUANTIDADE_CAMPOS));
+        for (int rodada = 1; rodada <= rodadas; rodada++) {
+            long bytesInicio = threadMXBean.getThreadAllocatedBytes(idThread);
+            long tempoInicio = System.nanoTime();
+            for (int registro = 0; registro < registrosPorRodada; registro++) {
+                int indice = registro % QUANTIDADE_REGISTROS_DISTINTOS;
+                separarComSplit(conteudo, inicios[indice], fins[indice], bytesLinha);
+            }
+            long tempoSplit = System.nanoTime() - tempoInicio;
+            long bytesSplit = threadMXBean.getThreadAllocatedBytes(idThread) - bytesInicio;
+
+            bytesInicio = threadMXBean.getThreadAllocatedBytes(idThread);
+            tempoInicio = System.nanoTime();
+            for (int registro = 0; registro < registrosPorRodada; registro++) {
+                int indice = registro % QUANTIDADE_REGISTROS_DISTINTOS;
+                separarComTokenizador(tokenizador, conteudo, inicios[indice], fins[indice]);
+            }
+            long tempoTokenizador = System.nanoTime() - tempoInicio;
+            long bytesTokenizador = threadMXBean.getThreadAllocatedBytes(idThread) - bytesInicio;
+
+            System.out.println(format("Rodada %d - split: %.0f ns e %d B por registro | tokenizador: %.0f ns e %d B por registro",
+                    rodada, (double) tempoSplit / registrosPorRodada, bytesSplit / registrosPorRodada,
+                    (double) tempoTokenizador / registrosPorRodada, bytesTokenizador / registrosPorRodada));
+        }
+        System.out.println(format("Caracteres lidos: %d", consumidos));
+    }
+
+    private static void separarComSplit(ByteBuffer conteudo, int inicio, int fim, byte[] bytesLinha) {
+        for (int posicao = inicio; posicao < fim; posicao++) {
+            bytesLinha[posicao - inicio] = conteudo.get(posicao);
+        }
+        String[] campos = new String(bytesLinha, 0, fim - inicio, UTF_8).split(String.valueOf(SEPARADOR_CAMPOS), -1);
+        consumir(campos[0]);
+        for (int campo = 1; campo < QUANTIDADE_CAMPOS; campo++) {
+            consumir(mapStringBlankNull(campos[campo], valor -> valor));
+        }
+    }
+
+    private static void separarComTokenizador(TokenizadorCsv tokenizador, ByteBuffer conteudo, int inicio, int fim) {
+        tokenizador.tokenizar(conteudo, inicio, fim);
+        consumir(tokenizador.getCampo(0));
+        for (int campo = 1; campo < QUANTIDADE_CAMPOS; campo++) {
+            consumir(tokenizador.getCampoPreenchido(campo));
+        }
+    }
+
+    /**
+     * Método responsável por utilizar o valor lido, para que o JIT não elimine a leitura dos campos.
+     */
+    private static void consumir(String valor) {
+        if (valor != null) {
+            consumidos += valor.length();
+        }
+    }
+
+    /**
+     * Método responsável por gerar registros no formato do arquivo de importação, com campos em branco e textos acentuados.
+     */
+    private static byte[] gerarConteudo() {
+        StringBuilder conteudo = new StringBuilder();
+        for (int registro = 0; registro < QUANTIDADE_REGISTROS_DISTINTOS; registro++) {
+            conteudo.append("Título do livro ").append(registro)
+                    .append(";12/03/2001;").append(1_000_000_000L + registro)
+                    .append(';').append(9_780_000_000_000L + registro)
+                    .append(";ROMANCE;Editora ").append(registro % 50)
+                    .append(";12.345.678/0001-").append(registro % 90 + 10)
+                    .append(";Autor ").append(registro % 300)
+                    .append(";01/01/1950;;Uma biografia razoavelmente longa do autor número ").append(registro)
+                    .append('\n');
+        }
+        return conteudo.toString().getBytes(UTF_8);
+    }
+
+    private static void localizarRegistros(ByteBuffer conteudo, int[] inicios, int[] fins) {
+        int inicio = 0;
+        int registro = 0;
+        for (int posicao = 0; posicao < conteudo.capacity(); posicao++) {
+            if (conteudo.get(posicao) == '\n') {
+                inicios[registro] = inicio;
+                fins[registro] = posicao;
+                registro++;
+                inicio = posicao + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+-- Índices das colunas consultadas no cadastro, na edição e na importação de livros, autores e editoras.
+
+-- ISBNs e CNPJs vazios passam a ser nulos, para não conflitarem nos índices únicos.
+UPDATE LIVRO SET ISBN_10 = NULL WHERE TRIM(ISBN_10) = '';
+UPDATE LIVRO SET ISBN_13 = NULL WHERE TRIM(ISBN_13) = '';
+UPDATE EDITORA SET CNPJ = NULL WHERE TRIM(CNPJ) = '';
+
+-- Os índices únicos não podem ser criados com ISBNs ou CNPJs repetidos. Neste caso, a migração é interrompida com a lista
+-- dos registros repetidos, para que sejam corrigidos antes da próxima inicialização.
+DO $$
+DECLARE
+    DUPLICADOS TEXT;
+BEGIN
+    SELECT STRING_AGG(DUPLICADO, '; ') INTO DUPLICADOS FROM (
+        SELECT FORMAT('ISBN-10 %s nos livros de ID %s', ISBN_10, STRING_AGG(ID::TEXT, ', ' ORDER BY ID)) AS DUPLICADO
+          FROM LIVRO WHERE ISBN_10 IS NOT NULL GROUP BY ISBN_10 HAVING COUNT(*) > 1
+        UNION ALL
+        SELECT FORMAT('ISBN-13 %s nos livros de ID %s', ISBN_13, STRING_AGG(ID::TEXT, ', ' ORDER BY ID))
+          FROM LIVRO WHERE ISBN_13 IS NOT NULL GROUP BY ISBN_13 HAVING COUNT(*) > 1
+        UNION ALL
+        SELECT FORMAT('CNPJ %s nas editoras de ID %s', CNPJ, STRING_AGG(ID::TEXT, ', ' ORDER BY ID))
+          FROM EDITORA WHERE CNPJ IS NOT NULL GROUP BY CNPJ HAVING COUNT(*) > 1
+        LIMIT 50
+    ) REPETIDOS;
+
+    IF DUPLICADOS IS NOT NULL THEN
+        RAISE EXCEPTION 'Existem ISBNs ou CNPJs repetidos, que impedem a criação dos índices únicos: %', DUPLICADOS
+            USING HINT = 'Altere ou exclua os livros e as editoras repetidos e reinicie a aplicação para aplicar a migração novamente.';
+    END IF;
+END
+$$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS UK_LIVRO_ISBN_10 ON LIVRO (ISBN_10);
+CREATE UNIQUE INDEX IF NOT EXISTS UK_LIVRO_ISBN_13 ON LIVRO (ISBN_13);
+CREATE UNIQUE INDEX IF NOT EXISTS UK_EDITORA_CNPJ ON EDITORA (CNPJ);
+
+-- As buscas por nome comparam os nomes em caixa alta.
+CREATE INDEX IF NOT EXISTS IDX_AUTOR_NOME_UPPER ON AUTOR (UPPER(NOME));
+CREATE INDEX IF NOT EXISTS IDX_EDITORA_NOME_UPPER ON EDITORA (UPPER(NOME));
+
+-- Chaves estrangeiras utilizadas nos joins das listagens e pesquisas.
+CREATE INDEX IF NOT EXISTS IDX_LIVRO_FK_EDITORA ON LIVRO (FK_EDITORA);
+CREATE INDEX IF NOT EXISTS IDX_LIVRO_AUTOR_FK_LIVRO ON LIVRO_AUTOR (FK_LIVRO);
+CREATE INDEX IF NOT EXISTS IDX_LIVRO_AUTOR_FK_AUTOR ON LIVRO_AUTOR (FK_AUTOR);
+CREATE INDEX IF NOT EXISTS IDX_LIVRO_PARECIDO_LIVRO_ID ON LIVRO_PARECIDO (LIVRO_ID);
+CREATE INDEX IF NOT EXISTS IDX_LIVRO_PARECIDO_PARECIDO_ID ON LIVRO_PARECIDO (LIVRO_PARECIDO_ID);
@@ -0,0 +1,7 @@
+-- Os IDs passam a ser alocados em blocos pelo otimizador pooled do Hibernate: cada nextval reserva os próximos IDs do bloco,
+-- então a importação e os cadastros não precisam mais consultar a sequência a cada registro salvo.
+-- Os IDs já existentes continuam válidos, já que o próximo bloco começa logo após o último valor gerado pela sequência.
+--
+-- O tamanho do bloco é a configuração biblioteca.banco.sequencias.tamanhoBloco do arquivo META-INF/banco.properties.
+-- O incremento das sequências é ajustado para ela pelo MigracaoBanco.ajustarSequencias a cada inicialização, antes da criação
+-- do EntityManagerFactory, então esta migração não possui comandos.
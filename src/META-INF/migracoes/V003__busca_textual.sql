@@ -0,0 +1,74 @@
+-- Busca textual dos livros pelo título, pelos nomes dos autores e pelo nome da editora, sem diferenciar acentos.
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- Configuração da busca em português que remove os acentos antes de reduzir as palavras ao radical.
+DROP TEXT SEARCH CONFIGURATION IF EXISTS BIBLIOTECA_PT;
+CREATE TEXT SEARCH CONFIGURATION BIBLIOTECA_PT (COPY = pg_catalog.portuguese);
+ALTER TEXT SEARCH CONFIGURATION BIBLIOTECA_PT ALTER MAPPING FOR hword, hword_part, word WITH unaccent, portuguese_stem;
+
+ALTER TABLE LIVRO ADD COLUMN IF NOT EXISTS BUSCA_TEXTUAL TSVECTOR;
+
+-- Documento da busca de um livro. O título tem o maior peso na relevância, seguido pelos autores e pela editora.
+CREATE OR REPLACE FUNCTION BIBLIOTECA_DOCUMENTO_LIVRO(INTEGER, VARCHAR, INTEGER) RETURNS TSVECTOR LANGUAGE SQL STABLE AS $$
+    SELECT SETWEIGHT(TO_TSVECTOR('biblioteca_pt', COALESCE($2, '')), 'A')
+        || SETWEIGHT(TO_TSVECTOR('biblioteca_pt', COALESCE((SELECT STRING_AGG(A.NOME, ' ') FROM LIVRO_AUTOR LA
+                                                               JOIN AUTOR A ON A.ID = LA.FK_AUTOR
+                                                              WHERE LA.FK_LIVRO = $1), '')), 'B')
+        || SETWEIGHT(TO_TSVECTOR('biblioteca_pt', COALESCE((SELECT E.NOME FROM EDITORA E WHERE E.ID = $3), '')), 'C')
+$$;
+
+-- O documento é mantido pelo banco de dados, então os cadastros, a importação pelo JPA e a importação pelo COPY não precisam conhecê-lo.
+CREATE OR REPLACE FUNCTION BIBLIOTECA_ATUALIZAR_BUSCA_LIVRO() RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.BUSCA_TEXTUAL := BIBLIOTECA_DOCUMENTO_LIVRO(NEW.ID, NEW.TITULO, NEW.FK_EDITORA);
+    RETURN NEW;
+END
+$$;
+
+CREATE OR REPLACE FUNCTION BIBLIOTECA_ATUALIZAR_BUSCA_LIVRO_AUTOR() RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        UPDATE LIVRO SET BUSCA_TEXTUAL = BIBLIOTECA_DOCUMENTO_LIVRO(ID, TITULO, FK_EDITORA) WHERE ID = OLD.FK_LIVRO;
+    ELSE
+        UPDATE LIVRO SET BUSCA_TEXTUAL = BIBLIOTECA_DOCUMENTO_LIVRO(ID, TITULO, FK_EDITORA) WHERE ID = NEW.FK_LIVRO;
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE OR REPLACE FUNCTION BIBLIOTECA_ATUALIZAR_BUSCA_AUTOR() RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE LIVRO SET BUSCA_TEXTUAL = BIBLIOTECA_DOCUMENTO_LIVRO(ID, TITULO, FK_EDITORA)
+     WHERE ID IN (SELECT FK_LIVRO FROM LIVRO_AUTOR WHERE FK_AUTOR = NEW.ID);
+    RETURN NULL;
+END
+$$;
+
+CREATE OR REPLACE FUNCTION BIBLIOTECA_ATUALIZAR_BUSCA_EDITORA() RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE LIVRO SET BUSCA_TEXTUAL = BIBLIOTECA_DOCUMENTO_LIVRO(ID, TITULO, FK_EDITORA) WHERE FK_EDITORA = NEW.ID;
+    RETURN NULL;
+END
+$$;
+
+DROP TRIGGER IF EXISTS TRG_LIVRO_BUSCA_TEXTUAL ON LIVRO;
+CREATE TRIGGER TRG_LIVRO_BUSCA_TEXTUAL BEFORE INSERT OR UPDATE OF TITULO, FK_EDITORA ON LIVRO
+    FOR EACH ROW EXECUTE PROCEDURE BIBLIOTECA_ATUALIZAR_BUSCA_LIVRO();
+
+DROP TRIGGER IF EXISTS TRG_LIVRO_AUTOR_BUSCA_TEXTUAL ON LIVRO_AUTOR;
+CREATE TRIGGER TRG_LIVRO_AUTOR_BUSCA_TEXTUAL AFTER INSERT OR DELETE ON LIVRO_AUTOR
+    FOR EACH ROW EXECUTE PROCEDURE BIBLIOTECA_ATUALIZAR_BUSCA_LIVRO_AUTOR();
+
+DROP TRIGGER IF EXISTS TRG_AUTOR_BUSCA_TEXTUAL ON AUTOR;
+CREATE TRIGGER TRG_AUTOR_BUSCA_TEXTUAL AFTER UPDATE OF NOME ON AUTOR
+    FOR EACH ROW WHEN (OLD.NOME IS DISTINCT FROM NEW.NOME) EXECUTE PROCEDURE BIBLIOTECA_ATUALIZAR_BUSCA_AUTOR();
+
+DROP TRIGGER IF EXISTS TRG_EDITORA_BUSCA_TEXTUAL ON EDITORA;
+CREATE TRIGGER TRG_EDITORA_BUSCA_TEXTUAL AFTER UPDATE OF NOME ON EDITORA
+    FOR EACH ROW WHEN (OLD.NOME IS DISTINCT FROM NEW.NOME) EXECUTE PROCEDURE BIBLIOTECA_ATUALIZAR_BUSCA_EDITORA();
+
+-- Preenche o documento dos livros já cadastrados.
+UPDATE LIVRO SET BUSCA_TEXTUAL = BIBLIOTECA_DOCUMENTO_LIVRO(ID, TITULO, FK_EDITORA);
+
+CREATE INDEX IF NOT EXISTS IDX_LIVRO_BUSCA_TEXTUAL ON LIVRO USING GIN (BUSCA_TEXTUAL);
@@ -0,0 +1,7 @@
+-- Índices de trigramas para os filtros por trecho do título do livro e do nome do autor (UPPER(...) LIKE '%trecho%'),
+-- que não podem ser atendidos pelos índices B-tree.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS IDX_LIVRO_TITULO_TRGM ON LIVRO USING GIN (UPPER(TITULO) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS IDX_AUTOR_NOME_TRGM ON AUTOR USING GIN (UPPER(NOME) gin_trgm_ops);
@@ -0,0 +1,32 @@
+-- Atualiza o documento da busca textual uma única vez por livro a cada comando na tabela LIVRO_AUTOR, em vez de uma vez por vínculo.
+-- Os vínculos inseridos ou removidos pelo comando ficam nas tabelas de transição, então um lote com vários autores por livro
+-- reescreve cada livro apenas uma vez.
+
+DROP TRIGGER IF EXISTS TRG_LIVRO_AUTOR_BUSCA_TEXTUAL ON LIVRO_AUTOR;
+DROP FUNCTION IF EXISTS BIBLIOTECA_ATUALIZAR_BUSCA_LIVRO_AUTOR();
+
+CREATE OR REPLACE FUNCTION BIBLIOTECA_ATUALIZAR_BUSCA_LIVRO_AUTOR_INSERIDO() RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE LIVRO SET BUSCA_TEXTUAL = BIBLIOTECA_DOCUMENTO_LIVRO(ID, TITULO, FK_EDITORA)
+     WHERE ID IN (SELECT FK_LIVRO FROM VINCULOS_INSERIDOS);
+    RETURN NULL;
+END
+$$;
+
+CREATE OR REPLACE FUNCTION BIBLIOTECA_ATUALIZAR_BUSCA_LIVRO_AUTOR_REMOVIDO() RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE LIVRO SET BUSCA_TEXTUAL = BIBLIOTECA_DOCUMENTO_LIVRO(ID, TITULO, FK_EDITORA)
+     WHERE ID IN (SELECT FK_LIVRO FROM VINCULOS_REMOVIDOS);
+    RETURN NULL;
+END
+$$;
+
+DROP TRIGGER IF EXISTS TRG_LIVRO_AUTOR_INSERCAO_BUSCA_TEXTUAL ON LIVRO_AUTOR;
+CREATE TRIGGER TRG_LIVRO_AUTOR_INSERCAO_BUSCA_TEXTUAL AFTER INSERT ON LIVRO_AUTOR
+    REFERENCING NEW TABLE AS VINCULOS_INSERIDOS
+    FOR EACH STATEMENT EXECUTE PROCEDURE BIBLIOTECA_ATUALIZAR_BUSCA_LIVRO_AUTOR_INSERIDO();
+
+DROP TRIGGER IF EXISTS TRG_LIVRO_AUTOR_REMOCAO_BUSCA_TEXTUAL ON LIVRO_AUTOR;
+CREATE TRIGGER TRG_LIVRO_AUTOR_REMOCAO_BUSCA_TEXTUAL AFTER DELETE ON LIVRO_AUTOR
+    REFERENCING OLD TABLE AS VINCULOS_REMOVIDOS
+    FOR EACH STATEMENT EXECUTE PROCEDURE BIBLIOTECA_ATUALIZAR_BUSCA_LIVRO_AUTOR_REMOVIDO();
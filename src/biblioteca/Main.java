@@ -1,18 +1,27 @@
 package biblioteca;
 
+import biblioteca.backend.client.CacheOpenLibrary;
 import biblioteca.backend.client.OpenLibraryClient;
+import biblioteca.backend.client.ResilienciaOpenLibraryInterceptor;
 import biblioteca.backend.dao.contract.IAutorDAO;
 import biblioteca.backend.dao.contract.IEditoraDAO;
 import biblioteca.backend.dao.contract.ILivroDAO;
+import biblioteca.backend.dao.contract.ILivroImportacaoDAO;
 import biblioteca.backend.dao.impl.AutorDAOImpl;
 import biblioteca.backend.dao.impl.EditoraDAOImpl;
 import biblioteca.backend.dao.impl.LivroDAOImpl;
+import biblioteca.backend.dao.impl.LivroImportacaoCopyDAOImpl;
+import biblioteca.backend.dao.impl.LivroImportacaoDAOImpl;
 import biblioteca.backend.facade.AutorFacade;
 import biblioteca.backend.facade.EditoraFacade;
 import biblioteca.backend.facade.LivroFacade;
 import biblioteca.backend.service.AutorService;
 import biblioteca.backend.service.EditoraService;
+import biblioteca.backend.service.IndiceBuscaLivro;
+import biblioteca.backend.service.LivroCadastroIsbnService;
+import biblioteca.backend.service.LivroImportacaoService;
 import biblioteca.backend.service.LivroService;
+import biblioteca.backend.service.RegistroAlteracoesLivro;
 import biblioteca.backend.utils.JpaUtil;
 import biblioteca.telas.TelaPrincipal;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -40,14 +49,28 @@ public class Main {
         EditoraService editoraService = new EditoraService(editoraDAO);
         EditoraFacade editoraFacade = new EditoraFacade(editoraService);
 
-        OkHttpClient okHttpClient = new OkHttpClient();
+        ResilienciaOpenLibraryInterceptor resilienciaOpenLibrary = new ResilienciaOpenLibraryInterceptor();
+        OkHttpClient okHttpClient = OpenLibraryClient.criarHttpClient(resilienciaOpenLibrary);
         ObjectMapper objectMapper = new ObjectMapper();
-        OpenLibraryClient client = new OpenLibraryClient(okHttpClient, objectMapper);
+        OpenLibraryClient client = new OpenLibraryClient(okHttpClient, objectMapper, new CacheOpenLibrary(objectMapper));
 
         ILivroDAO livroDAO = new LivroDAOImpl();
-        LivroService livroService = new LivroService(livroDAO, autorService, editoraService, client);
+        ILivroImportacaoDAO livroImportacaoDAO = new LivroImportacaoDAOImpl();
+        ILivroImportacaoDAO livroImportacaoCopyDAO = new LivroImportacaoCopyDAOImpl();
+        RegistroAlteracoesLivro registroAlteracoesLivro = new RegistroAlteracoesLivro();
+        IndiceBuscaLivro indiceBuscaLivro = new IndiceBuscaLivro();
+        LivroImportacaoService livroImportacaoService = new LivroImportacaoService(livroDAO, livroImportacaoDAO, livroImportacaoCopyDAO,
+                autorService, editoraService, registroAlteracoesLivro, indiceBuscaLivro);
+        LivroCadastroIsbnService livroCadastroIsbnService = new LivroCadastroIsbnService(livroDAO, livroImportacaoDAO, autorService,
+                editoraService, client, resilienciaOpenLibrary, registroAlteracoesLivro, indiceBuscaLivro);
+        LivroService livroService = new LivroService(livroDAO, autorService, editoraService, client, livroImportacaoService,
+                livroCadastroIsbnService, registroAlteracoesLivro, indiceBuscaLivro);
         LivroFacade livroFacade = new LivroFacade(livroService);
 
+        Thread cargaIndiceBusca = new Thread(livroService::carregarIndiceBusca, "biblioteca-indice-busca");
+        cargaIndiceBusca.setDaemon(true);
+        cargaIndiceBusca.start();
+
         SwingUtilities.invokeLater(() -> {
             TelaPrincipal tela = new TelaPrincipal(autorFacade, editoraFacade, livroFacade);
             tela.setVisible(true);
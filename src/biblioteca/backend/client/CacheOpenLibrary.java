@@ -0,0 +1,240 @@
+package biblioteca.backend.client;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.java.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * Classe responsável por guardar em disco as respostas da API da OPEN LIBRARY, para que as buscas repetidas de um mesmo ISBN
+ * ou de um mesmo Autor sejam respondidas sem nenhuma requisição, inclusive sem conexão com a internet.
+ * <p>
+ * Cada resposta fica em um arquivo no diretório do cache, com a chave buscada, o momento em que foi gravada e apenas os campos
+ * dos DTOs utilizados pelo sistema, e não o JSON completo retornado pela API. As respostas expiram após a validade configurada
+ * pela propriedade de sistema biblioteca.openLibrary.cache.validadeHoras.
+ * <p>
+ * O tamanho do cache é limitado pela propriedade de sistema biblioteca.openLibrary.cache.tamanhoMaximoKb. Ao ultrapassar o limite,
+ * são removidas as respostas utilizadas há mais tempo. A data de modificação de cada arquivo é atualizada a cada uso, para que
+ * a ordem de uso seja mantida entre as execuções da aplicação.
+ * <p>
+ * O cache nunca impede uma busca: caso não seja possível ler ou gravar um arquivo, a resposta é buscada na API normalmente.
+ * <p>
+ * Apenas o índice dos arquivos e o tamanho total do cache são acessados com o bloqueio do índice. A leitura, a gravação e a exclusão
+ * dos arquivos são feitas fora dele, para que as buscas de ISBNs em paralelo não fiquem aguardando o disco umas das outras.
+ * Como cada gravação usa o seu próprio arquivo temporário, movido de uma só vez para o lugar do anterior, uma leitura em paralelo
+ * encontra sempre a resposta anterior ou a nova, nunca um arquivo incompleto.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Log
+public class CacheOpenLibrary {
+
+    private static final long VALIDADE_MILLIS = TimeUnit.HOURS.toMillis(Integer.getInteger("biblioteca.openLibrary.cache.validadeHoras", 24 * 30));
+    private static final long TAMANHO_MAXIMO_BYTES = Integer.getInteger("biblioteca.openLibrary.cache.tamanhoMaximoKb", 20 * 1024) * 1024L;
+    private static final String DIRETORIO_PADRAO = System.getProperty("biblioteca.openLibrary.cache.diretorio",
+            System.getProperty("user.home") + File.separator + ".biblioteca" + File.separator + "cache-openlibrary");
+    private static final String EXTENSAO_ARQUIVO = ".json";
+    private static final String CAMPO_CHAVE = "chave";
+    private static final String CAMPO_GRAVADO_EM = "gravadoEm";
+    private static final String CAMPO_VALOR = "valor";
+
+    private final File diretorio;
+    private final ObjectMapper mapper;
+    private final LinkedHashMap<String, Long> tamanhosPorArquivo = new LinkedHashMap<>(16, 0.75f, true);
+    private long tamanhoTotal;
+    private volatile boolean indiceCarregado;
+
+    public CacheOpenLibrary(ObjectMapper mapper) {
+        this(new File(DIRETORIO_PADRAO), mapper);
+    }
+
+    /**
+     * Os DTOs são gravados apenas pelos campos anotados com o nome do campo na API, sem os dados calculados pelos getters.
+     *
+     * @param diretorio diretório onde os arquivos do cache são gravados.
+     */
+    public CacheOpenLibrary(File diretorio, ObjectMapper mapper) {
+        this.diretorio = diretorio;
+        this.mapper = mapper.copy()
+                .setVisibility(PropertyAccessor.GETTER, Visibility.NONE)
+                .setVisibility(PropertyAccessor.IS_GETTER, Visibility.NONE);
+    }
+
+    /**
+     * Método responsável por buscar no cache a resposta gravada para a chave.
+     * <p>
+     * Uma resposta expirada, ou que não possa ser lida, é removida do cache.
+     *
+     * @return a resposta gravada, ou vazio caso ela não exista ou esteja expirada.
+     */
+    public <T> Optional<T> buscar(String chave, Class<T> tipo) {
+        carregarIndice();
+        String nomeArquivo = gerarNomeArquivo(chave);
+        synchronized (tamanhosPorArquivo) {
+            if (tamanhosPorArquivo.get(nomeArquivo) == null) {
+                return Optional.empty();
+            }
+        }
+
+        File arquivo = new File(diretorio, nomeArquivo);
+        try {
+            JsonNode entrada = mapper.readTree(arquivo);
+            long gravadoEm = entrada.path(CAMPO_GRAVADO_EM).asLong();
+            if (!chave.equals(entrada.path(CAMPO_CHAVE).asText()) || System.currentTimeMillis() - gravadoEm > VALIDADE_MILLIS) {
+                remover(nomeArquivo);
+                return Optional.empty();
+            }
+            T valor = mapper.treeToValue(entrada.get(CAMPO_VALOR), tipo);
+            arquivo.setLastModified(System.currentTimeMillis());
+            return Optional.ofNullable(valor);
+        } catch (IOException | RuntimeException ex) {
+            log.warning(format("A resposta em cache de %s é inválida e será removida: %s", chave, ex.getMessage()));
+            remover(nomeArquivo);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Método responsável por gravar a resposta da chave no cache, removendo as respostas utilizadas há mais tempo
+     * caso o tamanho máximo do cache seja ultrapassado.
+     * <p>
+     * O arquivo é gravado em um arquivo temporário e movido para o lugar do anterior, para que uma interrupção durante a gravação
+     * não deixe uma resposta incompleta.
+     */
+    public void gravar(String chave, Object valor) {
+        carregarIndice();
+        String nomeArquivo = gerarNomeArquivo(chave);
+        ObjectNode entrada = mapper.createObjectNode();
+        entrada.put(CAMPO_CHAVE, chave);
+        entrada.put(CAMPO_GRAVADO_EM, System.currentTimeMillis());
+        entrada.set(CAMPO_VALOR, mapper.valueToTree(valor));
+
+        File arquivo = new File(diretorio, nomeArquivo);
+        Path arquivoTemporario = null;
+        byte[] conteudo;
+        try {
+            conteudo = mapper.writeValueAsBytes(entrada);
+            Files.createDirectories(diretorio.toPath());
+            arquivoTemporario = Files.createTempFile(diretorio.toPath(), nomeArquivo, ".tmp");
+            Files.write(arquivoTemporario, conteudo);
+            Files.move(arquivoTemporario, arquivo.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            log.warning(format("Não foi possível gravar a resposta de %s no cache %s: %s", chave, diretorio.getPath(), ex.getMessage()));
+            if (arquivoTemporario != null) {
+                excluirArquivo(arquivoTemporario.getFileName().toString());
+            }
+            return;
+        }
+
+        List<String> excedentes;
+        synchronized (tamanhosPorArquivo) {
+            Long tamanhoAnterior = tamanhosPorArquivo.put(nomeArquivo, (long) conteudo.length);
+            tamanhoTotal += conteudo.length - (tamanhoAnterior != null ? tamanhoAnterior : 0);
+            excedentes = removerExcedentes();
+        }
+        excedentes.forEach(this::excluirArquivo);
+    }
+
+    /**
+     * Método responsável por carregar, no primeiro uso do cache, os arquivos já gravados no diretório, do utilizado há mais tempo
+     * para o utilizado mais recentemente.
+     * <p>
+     * O diretório é listado fora do bloqueio do índice. Caso duas buscas carreguem o índice ao mesmo tempo, apenas a primeira o preenche.
+     */
+    private void carregarIndice() {
+        if (indiceCarregado) {
+            return;
+        }
+        Map<String, Long> tamanhosGravados = new LinkedHashMap<>();
+        File[] arquivos = diretorio.listFiles((dir, nome) -> nome.endsWith(EXTENSAO_ARQUIVO));
+        if (arquivos != null) {
+            Arrays.sort(arquivos, Comparator.comparingLong(File::lastModified));
+            for (File arquivo : arquivos) {
+                tamanhosGravados.put(arquivo.getName(), arquivo.length());
+            }
+        }
+
+        List<String> excedentes;
+        synchronized (tamanhosPorArquivo) {
+            if (indiceCarregado) {
+                return;
+            }
+            tamanhosPorArquivo.putAll(tamanhosGravados);
+            tamanhosGravados.values().forEach(tamanho -> tamanhoTotal += tamanho);
+            indiceCarregado = true;
+            excedentes = removerExcedentes();
+        }
+        excedentes.forEach(this::excluirArquivo);
+    }
+
+    /**
+     * Método responsável por retirar do índice as respostas utilizadas há mais tempo, até que o tamanho máximo do cache seja respeitado.
+     * Deve ser chamado com o bloqueio do índice, e os arquivos retornados devem ser excluídos após a liberação dele.
+     *
+     * @return os nomes dos arquivos retirados do índice.
+     */
+    private List<String> removerExcedentes() {
+        List<String> excedentes = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> arquivos = tamanhosPorArquivo.entrySet().iterator();
+        while (tamanhoTotal > TAMANHO_MAXIMO_BYTES && arquivos.hasNext()) {
+            Map.Entry<String, Long> arquivo = arquivos.next();
+            tamanhoTotal -= arquivo.getValue();
+            arquivos.remove();
+            excedentes.add(arquivo.getKey());
+        }
+        return excedentes;
+    }
+
+    private void remover(String nomeArquivo) {
+        synchronized (tamanhosPorArquivo) {
+            Long tamanho = tamanhosPorArquivo.remove(nomeArquivo);
+            if (tamanho != null) {
+                tamanhoTotal -= tamanho;
+            }
+        }
+        excluirArquivo(nomeArquivo);
+    }
+
+    private void excluirArquivo(String nomeArquivo) {
+        try {
+            Files.deleteIfExists(new File(diretorio, nomeArquivo).toPath());
+        } catch (IOException ex) {
+            log.warning(format("Não foi possível remover o arquivo %s do cache: %s", nomeArquivo, ex.getMessage()));
+        }
+    }
+
+    /**
+     * Método responsável por gerar o nome do arquivo da chave, pelo hash SHA-256 dela, já que as chaves possuem caracteres
+     * que não podem ser utilizados em nomes de arquivos.
+     */
+    private static String gerarNomeArquivo(String chave) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+
+        StringBuilder hash = new StringBuilder();
+        for (byte valor : digest.digest(chave.getBytes(StandardCharsets.UTF_8))) {
+            hash.append(format("%02x", valor));
+        }
+        return hash.append(EXTENSAO_ARQUIVO).toString();
+    }
+}
@@ -0,0 +1,136 @@
+package biblioteca.backend.client;
+
+import biblioteca.backend.enums.EEstadoCircuito;
+import biblioteca.backend.exceptions.OpenLibraryIndisponivelException;
+import lombok.extern.java.Log;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static biblioteca.backend.enums.EEstadoCircuito.*;
+import static java.lang.String.format;
+
+/**
+ * Classe responsável por recusar imediatamente as requisições para a API da OPEN LIBRARY enquanto ela estiver fora do ar,
+ * para que as buscas falhem na hora, em vez de aguardar o tempo limite de cada requisição.
+ * <p>
+ * O circuito abre após a quantidade de falhas seguidas configurada pela propriedade de sistema biblioteca.openLibrary.circuito.falhasParaAbrir.
+ * São consideradas falhas os erros de conexão e as respostas com status 5xx. Após o tempo configurado pela propriedade de sistema
+ * biblioteca.openLibrary.circuito.tempoAbertoMs, uma única requisição de teste é enviada: caso ela tenha sucesso o circuito fecha,
+ * e caso falhe o circuito volta a abrir.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Log
+public class CircuitoOpenLibrary {
+
+    private static final int FALHAS_PARA_ABRIR = Integer.getInteger("biblioteca.openLibrary.circuito.falhasParaAbrir", 5);
+    private static final long TEMPO_ABERTO_MILLIS = Integer.getInteger("biblioteca.openLibrary.circuito.tempoAbertoMs", 30000);
+
+    private final int falhasParaAbrir;
+    private final long tempoAbertoMillis;
+    private EEstadoCircuito estado = FECHADO;
+    private int falhasSeguidas;
+    private long abertoEm;
+    private boolean testeEmAndamento;
+
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong aberturas = new AtomicLong();
+    private final AtomicLong requisicoesRecusadas = new AtomicLong();
+
+    public CircuitoOpenLibrary() {
+        this(FALHAS_PARA_ABRIR, TEMPO_ABERTO_MILLIS);
+    }
+
+    public CircuitoOpenLibrary(int falhasParaAbrir, long tempoAbertoMillis) {
+        this.falhasParaAbrir = falhasParaAbrir;
+        this.tempoAbertoMillis = tempoAbertoMillis;
+    }
+
+    /**
+     * Método responsável por verificar se a requisição pode ser enviada.
+     * <p>
+     * Com o circuito aberto, a primeira requisição após o tempo de espera é liberada como teste, e as demais são recusadas até o resultado dele.
+     *
+     * @throws OpenLibraryIndisponivelException caso o circuito esteja aberto.
+     */
+    public synchronized void verificarPermissao() throws OpenLibraryIndisponivelException {
+        if (estado == ABERTO && System.currentTimeMillis() - abertoEm >= tempoAbertoMillis) {
+            estado = MEIO_ABERTO;
+            testeEmAndamento = false;
+        }
+        if (estado == FECHADO) {
+            return;
+        }
+        if (estado == MEIO_ABERTO && !testeEmAndamento) {
+            testeEmAndamento = true;
+            return;
+        }
+
+        requisicoesRecusadas.incrementAndGet();
+        long restante = Math.max(0, tempoAbertoMillis - (System.currentTimeMillis() - abertoEm));
+        throw new OpenLibraryIndisponivelException(format("A API da Open Library está indisponível. Tente novamente em %d s.",
+                (restante + 999) / 1000));
+    }
+
+    /**
+     * Método responsável por registrar uma resposta da API, fechando o circuito caso ele não esteja fechado.
+     */
+    public synchronized void registrarSucesso() {
+        falhasSeguidas = 0;
+        testeEmAndamento = false;
+        if (estado != FECHADO) {
+            estado = FECHADO;
+            log.info("A API da Open Library voltou a responder. Circuito fechado.");
+        }
+    }
+
+    /**
+     * Método responsável por registrar uma falha da requisição, abrindo o circuito ao atingir a quantidade de falhas seguidas,
+     * ou caso a requisição de teste tenha falhado.
+     */
+    public synchronized void registrarFalha() {
+        falhas.incrementAndGet();
+        falhasSeguidas++;
+        if (estado == MEIO_ABERTO || (estado == FECHADO && falhasSeguidas >= falhasParaAbrir)) {
+            estado = ABERTO;
+            abertoEm = System.currentTimeMillis();
+            testeEmAndamento = false;
+            aberturas.incrementAndGet();
+            log.warning(format("A API da Open Library falhou %d vezes seguidas. Circuito aberto por %d ms.", falhasSeguidas, tempoAbertoMillis));
+        }
+    }
+
+    /**
+     * Método responsável por liberar a requisição de teste que foi cancelada antes de ter resultado, para que outra possa ser enviada.
+     */
+    public synchronized void liberarPermissao() {
+        testeEmAndamento = false;
+    }
+
+    public synchronized EEstadoCircuito getEstado() {
+        return estado;
+    }
+
+    public long getFalhas() {
+        return falhas.get();
+    }
+
+    public long getAberturas() {
+        return aberturas.get();
+    }
+
+    public long getRequisicoesRecusadas() {
+        return requisicoesRecusadas.get();
+    }
+
+    /**
+     * Método responsável por montar o resumo dos contadores do circuito para ser exibido nos logs.
+     *
+     * @return o resumo dos contadores.
+     */
+    public String getResumo() {
+        return format("circuito %s, %d falhas, %d aberturas, %d requisições recusadas",
+                getEstado(), getFalhas(), getAberturas(), getRequisicoesRecusadas());
+    }
+}
@@ -0,0 +1,140 @@
+package biblioteca.backend.client;
+
+import lombok.extern.java.Log;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+
+/**
+ * Classe responsável por limitar a quantidade de requisições por segundo enviadas para a API da OPEN LIBRARY, por um balde de fichas.
+ * <p>
+ * O balde é reposto continuamente na taxa atual e guarda no máximo a quantidade de fichas configurada pela propriedade de sistema
+ * biblioteca.openLibrary.rajadaRequisicoes, permitindo uma rajada curta de requisições após um período sem uso.
+ * Cada requisição reserva uma ficha, e aguarda o tempo necessário para que ela seja reposta caso o balde esteja vazio,
+ * de forma que as requisições aguardando são liberadas na ordem das reservas.
+ * <p>
+ * A taxa se ajusta às respostas da API: ao receber o status 429, ela é reduzida pela metade e as novas requisições aguardam
+ * o tempo pedido pela API, e a cada resposta com sucesso ela volta a subir aos poucos, até a taxa máxima configurada pela
+ * propriedade de sistema biblioteca.openLibrary.requisicoesPorSegundo. Assim as requisições ficam na maior taxa aceita pela API.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Log
+public class LimitadorTaxaOpenLibrary {
+
+    private static final double TAXA_MAXIMA = Double.parseDouble(System.getProperty("biblioteca.openLibrary.requisicoesPorSegundo", "3"));
+    private static final int CAPACIDADE = Integer.getInteger("biblioteca.openLibrary.rajadaRequisicoes", 3);
+    private static final double PROPORCAO_TAXA_MINIMA = 0.1;
+    private static final double PROPORCAO_AUMENTO_TAXA = 0.05;
+
+    private final double taxaMaxima;
+    private final double taxaMinima;
+    private final double capacidade;
+    private double taxaAtual;
+    private double fichas;
+    private long ultimaReposicaoNanos = System.nanoTime();
+
+    private final AtomicLong permissoesConcedidas = new AtomicLong();
+    private final AtomicLong permissoesComEspera = new AtomicLong();
+    private final AtomicLong tempoTotalEsperaMillis = new AtomicLong();
+    private final AtomicLong limitesExcedidos = new AtomicLong();
+
+    public LimitadorTaxaOpenLibrary() {
+        this(TAXA_MAXIMA, CAPACIDADE);
+    }
+
+    /**
+     * @param taxaMaxima quantidade máxima de requisições por segundo.
+     * @param capacidade quantidade máxima de requisições liberadas de uma vez, após um período sem uso.
+     */
+    public LimitadorTaxaOpenLibrary(double taxaMaxima, int capacidade) {
+        this.taxaMaxima = taxaMaxima;
+        this.taxaMinima = taxaMaxima * PROPORCAO_TAXA_MINIMA;
+        this.capacidade = Math.max(1, capacidade);
+        this.taxaAtual = taxaMaxima;
+        this.fichas = this.capacidade;
+    }
+
+    /**
+     * Método responsável por reservar a ficha de uma requisição.
+     *
+     * @return o tempo, em milissegundos, que a requisição deve aguardar antes de ser enviada. Zero caso possa ser enviada imediatamente.
+     */
+    public synchronized long reservar() {
+        reporFichas();
+        fichas--;
+        permissoesConcedidas.incrementAndGet();
+        if (fichas >= 0) {
+            return 0;
+        }
+
+        long espera = (long) Math.ceil(-fichas / taxaAtual * 1000);
+        permissoesComEspera.incrementAndGet();
+        tempoTotalEsperaMillis.addAndGet(espera);
+        return espera;
+    }
+
+    /**
+     * Método responsável por aumentar aos poucos a taxa de requisições após uma resposta com sucesso, até a taxa máxima.
+     */
+    public synchronized void registrarSucesso() {
+        if (taxaAtual < taxaMaxima) {
+            reporFichas();
+            taxaAtual = Math.min(taxaMaxima, taxaAtual + taxaMaxima * PROPORCAO_AUMENTO_TAXA);
+        }
+    }
+
+    /**
+     * Método responsável por reduzir a taxa de requisições pela metade após uma resposta com o status 429,
+     * fazendo com que as próximas requisições aguardem pelo menos o tempo pedido pela API.
+     *
+     * @param esperaMillis tempo pedido pela API no header Retry-After, ou zero caso ela não tenha informado.
+     */
+    public synchronized void registrarLimiteExcedido(long esperaMillis) {
+        reporFichas();
+        limitesExcedidos.incrementAndGet();
+        taxaAtual = Math.max(taxaMinima, taxaAtual / 2);
+        fichas = Math.min(fichas, Math.min(0, -esperaMillis / 1000.0 * taxaAtual));
+        log.warning(format("Limite de requisições da Open Library excedido. Taxa reduzida para %.2f requisições por segundo.", taxaAtual));
+    }
+
+    public synchronized double getTaxaAtual() {
+        return taxaAtual;
+    }
+
+    public long getPermissoesConcedidas() {
+        return permissoesConcedidas.get();
+    }
+
+    public long getPermissoesComEspera() {
+        return permissoesComEspera.get();
+    }
+
+    public long getTempoTotalEsperaMillis() {
+        return tempoTotalEsperaMillis.get();
+    }
+
+    public long getLimitesExcedidos() {
+        return limitesExcedidos.get();
+    }
+
+    /**
+     * Método responsável por montar o resumo dos contadores do limitador para ser exibido nos logs.
+     *
+     * @return o resumo dos contadores.
+     */
+    public String getResumo() {
+        return format("taxa atual %.2f req/s, %d permissões (%d com espera, %d ms aguardando), %d respostas 429",
+                getTaxaAtual(), getPermissoesConcedidas(), getPermissoesComEspera(), getTempoTotalEsperaMillis(), getLimitesExcedidos());
+    }
+
+    private void reporFichas() {
+        long agora = System.nanoTime();
+        double segundos = (agora - ultimaReposicaoNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        fichas = Math.min(capacidade, fichas + segundos * taxaAtual);
+        ultimaReposicaoNanos = agora;
+    }
+}
@@ -3,26 +3,45 @@ package biblioteca.backend.client;
 import biblioteca.backend.dto.OpenLibraryAutorResponse;
 import biblioteca.backend.dto.OpenLibraryLivroResponse;
 import biblioteca.backend.exceptions.NaoEncontradoException;
+import biblioteca.backend.exceptions.OpenLibraryIndisponivelException;
 import biblioteca.backend.exceptions.ValidacaoException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.joining;
 
 /**
  * Classe de client para a api do OPEN LIBRARY.
  * <p>
  * Esta classe é responsável por efetuar as requisições para a API da OPEN LIBRARY, para buscar os dados dos livros.
+ * As respostas encontradas são guardadas no cache em disco, e as buscas seguintes da mesma chave são respondidas por ele, sem requisição.
+ * As requisições são protegidas pelo interceptor de resiliência do client HTTP criado por esta classe.
  *
  * @author Bruno Cardoso
  * @version 1.0
@@ -31,18 +50,57 @@ import static java.lang.String.format;
 public class OpenLibraryClient {
 
     private static final String OPEN_LIBRARY_URL = "https://openlibrary.org";
+    private static final String PREFIXO_CHAVE_ISBN = "isbn:";
+    private static final String PREFIXO_CHAVE_AUTOR = "autor:";
+    private static final String PREFIXO_BIBKEY_ISBN = "ISBN:";
+    private static final String CAMPO_DETALHES_LIVRO = "details";
+    private static final int TAMANHO_LOTE_ISBNS = Integer.getInteger("biblioteca.openLibrary.tamanhoLoteIsbns", 50);
+    private static final long PRAZO_BUSCA_AUTORES_MILLIS = Integer.getInteger("biblioteca.openLibrary.prazoBuscaAutoresMs", 60000);
+    private static final int REQUISICOES_SIMULTANEAS = Integer.getInteger("biblioteca.openLibrary.requisicoesSimultaneas", 5);
+    private static final long TEMPO_LIMITE_CONEXAO_MILLIS = Integer.getInteger("biblioteca.openLibrary.tempoLimiteConexaoMs", 5000);
+    private static final long TEMPO_LIMITE_LEITURA_MILLIS = Integer.getInteger("biblioteca.openLibrary.tempoLimiteLeituraMs", 15000);
+    private static final ScheduledExecutorService AGENDADOR_PRAZOS = Executors.newSingleThreadScheduledExecutor(criarFabricaThreads());
 
     private final OkHttpClient httpClient;
     private final ObjectMapper mapper;
+    private final CacheOpenLibrary cache;
+
+    /**
+     * Método responsável por criar o client HTTP utilizado nas requisições para a API da OPEN LIBRARY.
+     * <p>
+     * A quantidade de requisições em paralelo para a API, e de conexões mantidas abertas para reaproveitamento, é configurada pela
+     * propriedade de sistema biblioteca.openLibrary.requisicoesSimultaneas. Todas as requisições passam pelo interceptor de resiliência,
+     * que limita a taxa de requisições, repete as requisições que falharem e recusa as requisições enquanto a API estiver fora do ar.
+     *
+     * @return o client HTTP configurado.
+     */
+    public static OkHttpClient criarHttpClient(ResilienciaOpenLibraryInterceptor resiliencia) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(REQUISICOES_SIMULTANEAS);
+
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(REQUISICOES_SIMULTANEAS, 5, TimeUnit.MINUTES))
+                .connectTimeout(TEMPO_LIMITE_CONEXAO_MILLIS, MILLISECONDS)
+                .readTimeout(TEMPO_LIMITE_LEITURA_MILLIS, MILLISECONDS)
+                .addInterceptor(resiliencia)
+                .build();
+    }
 
     /**
      * Método responsável por buscar na API da OPEN LIBRARY os dados do livro que possuir o mesmo ISBN passado por parâmetro.
+     * Caso o livro já tenha sido encontrado por este ISBN, os dados são retornados do cache, sem requisição.
      *
      * @return Opcional de OpenLibraryLivroResponse, para que retorne os dados da api relevantes para o sistema caso encontre o livro, e Optional vazio caso nao obtenha nenhum dado.
      * @throws ValidacaoException     caso ocorra algum erro durante a requisição.
      * @throws NaoEncontradoException caso não encontre o livro na API e seja retornado o status 404.
      */
     public Optional<OpenLibraryLivroResponse> buscarLivroPorIsbn(String isbn) {
+        Optional<OpenLibraryLivroResponse> livroEmCache = cache.buscar(PREFIXO_CHAVE_ISBN + isbn, OpenLibraryLivroResponse.class);
+        if (livroEmCache.isPresent()) {
+            return livroEmCache;
+        }
+
         Request request = new Request.Builder()
                 .url(format(OPEN_LIBRARY_URL + "/isbn/%s.json", isbn))
                 .build();
@@ -58,46 +116,292 @@ public class OpenLibraryClient {
 
             ResponseBody responseBody = response.body();
             if (responseBody != null) {
-                String jsonResponse = responseBody.string();
-                OpenLibraryLivroResponse livroResponse = mapper.readValue(jsonResponse, OpenLibraryLivroResponse.class);
+                OpenLibraryLivroResponse livroResponse = mapper.readValue(responseBody.byteStream(), OpenLibraryLivroResponse.class);
+                cache.gravar(PREFIXO_CHAVE_ISBN + isbn, livroResponse);
                 return Optional.of(livroResponse);
             }
             return Optional.empty();
         } catch (IOException ex) {
-            throw new ValidacaoException("Erro ao tentar buscar livros por ISBN.");
+            throw new ValidacaoException(montarMensagemErro(ex, "Erro ao tentar buscar livros por ISBN."));
         }
 
     }
 
+    /**
+     * Método responsável por buscar na API da OPEN LIBRARY os dados dos livros dos ISBNs passados por parâmetro,
+     * pelo endpoint /api/books, que recebe vários ISBNs em uma única requisição.
+     * <p>
+     * Os livros que já foram encontrados pelo ISBN são retornados do cache, sem requisição, e os demais são buscados em lotes
+     * com a quantidade de ISBNs configurada pela propriedade de sistema biblioteca.openLibrary.tamanhoLoteIsbns.
+     * Cada livro encontrado é guardado no cache pelo ISBN buscado, com a mesma chave da busca de um único ISBN.
+     *
+     * @return os livros encontrados, pelo ISBN buscado. Os ISBNs que não forem encontrados na API não possuem livro no mapa.
+     * @throws ValidacaoException caso ocorra algum erro durante alguma das requisições.
+     */
+    public Map<String, OpenLibraryLivroResponse> buscarLivrosPorIsbns(Collection<String> isbns) {
+        Map<String, OpenLibraryLivroResponse> livrosPorIsbn = new LinkedHashMap<>();
+        List<String> isbnsNaoEncontradosNoCache = new ArrayList<>();
+        for (String isbn : new LinkedHashSet<>(isbns)) {
+            Optional<OpenLibraryLivroResponse> livroEmCache = cache.buscar(PREFIXO_CHAVE_ISBN + isbn, OpenLibraryLivroResponse.class);
+            if (livroEmCache.isPresent()) {
+                livrosPorIsbn.put(isbn, livroEmCache.get());
+            } else {
+                isbnsNaoEncontradosNoCache.add(isbn);
+            }
+        }
+
+        for (int inicio = 0; inicio < isbnsNaoEncontradosNoCache.size(); inicio += TAMANHO_LOTE_ISBNS) {
+            List<String> loteIsbns = isbnsNaoEncontradosNoCache.subList(inicio,
+                    Math.min(inicio + TAMANHO_LOTE_ISBNS, isbnsNaoEncontradosNoCache.size()));
+            livrosPorIsbn.putAll(this.requisitarLivrosPorIsbns(loteIsbns));
+        }
+        return livrosPorIsbn;
+    }
+
+    /**
+     * Método responsável por requisitar os dados de um lote de ISBNs ao endpoint /api/books, guardando no cache os livros encontrados.
+     * <p>
+     * A API retorna um objeto com uma propriedade para cada ISBN encontrado, com os dados do livro no campo details,
+     * no mesmo formato retornado pela busca de um único ISBN. A resposta é lida direto do corpo da requisição, token a token,
+     * e os demais campos de cada ISBN são pulados sem serem carregados em memória.
+     *
+     * @return os livros encontrados no lote, pelo ISBN buscado.
+     */
+    private Map<String, OpenLibraryLivroResponse> requisitarLivrosPorIsbns(List<String> isbns) {
+        String bibkeys = isbns.stream()
+                .map(isbn -> PREFIXO_BIBKEY_ISBN + isbn)
+                .collect(joining(","));
+        Request request = new Request.Builder()
+                .url(format(OPEN_LIBRARY_URL + "/api/books?bibkeys=%s&format=json&jscmd=details", bibkeys))
+                .build();
+
+        try (Response response = httpClient.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                throw new ValidacaoException(format("Erro na requisição: %s", response.code()));
+            }
+
+            Map<String, OpenLibraryLivroResponse> livrosPorIsbn = new LinkedHashMap<>();
+            ResponseBody responseBody = response.body();
+            if (responseBody == null) {
+                return livrosPorIsbn;
+            }
+            Set<String> isbnsBuscados = new HashSet<>(isbns);
+            try (JsonParser parser = mapper.createParser(responseBody.byteStream())) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    return livrosPorIsbn;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String bibkey = parser.currentName();
+                    String isbn = bibkey.startsWith(PREFIXO_BIBKEY_ISBN) ? bibkey.substring(PREFIXO_BIBKEY_ISBN.length()) : null;
+                    if (parser.nextToken() != JsonToken.START_OBJECT || !isbnsBuscados.contains(isbn)) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    OpenLibraryLivroResponse livroResponse = this.lerDetalhesLivro(parser);
+                    if (livroResponse != null) {
+                        cache.gravar(PREFIXO_CHAVE_ISBN + isbn, livroResponse);
+                        livrosPorIsbn.put(isbn, livroResponse);
+                    }
+                }
+            }
+            return livrosPorIsbn;
+        } catch (IOException ex) {
+            throw new ValidacaoException(montarMensagemErro(ex, "Erro ao tentar buscar livros por ISBN."));
+        }
+    }
+
+    /**
+     * Método responsável por ler, do objeto de um ISBN na resposta do endpoint /api/books, os dados do livro do campo details.
+     * <p>
+     * O parser deve estar no início do objeto do ISBN, e termina no fim dele.
+     *
+     * @return os dados do livro, ou null caso o objeto não possua o campo details.
+     */
+    private OpenLibraryLivroResponse lerDetalhesLivro(JsonParser parser) throws IOException {
+        OpenLibraryLivroResponse livroResponse = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = parser.currentName();
+            if (parser.nextToken() == JsonToken.START_OBJECT && CAMPO_DETALHES_LIVRO.equals(campo)) {
+                livroResponse = mapper.readValue(parser, OpenLibraryLivroResponse.class);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return livroResponse;
+    }
+
     /**
      * Método responsável por buscar na API da OPEN LIBRARY os dados dos autores que possuirem as mesmas keys que as informadas por parametro.
+     * Os autores que já foram encontrados pela key são retornados do cache, sem requisição, e os demais são buscados em paralelo,
+     * aguardando a busca de todos eles.
      *
      * @return Lista de OpenLibraryAutorResponse, para que retorne os dados da api relevantes para o sistema caso encontre os autores pelas keyus informadas.
-     * @throws ValidacaoException caso ocorra algum erro durante a requisição.
+     * @throws ValidacaoException caso ocorra algum erro durante a requisição, ou caso o prazo total da busca seja atingido.
      */
     public List<OpenLibraryAutorResponse> buscarAutoresPorKeys(List<String> autoreskeys) {
-        return autoreskeys.stream()
-                .map(autorKey -> {
-                    Request request = new Request.Builder()
-                            .url(format(OPEN_LIBRARY_URL + "%s.json", autorKey))
-                            .build();
-
-                    try (Response response = httpClient.newCall(request).execute()) {
-                        if (!response.isSuccessful()) {
-                            throw new ValidacaoException(format("Erro na requisição: %s", response.code()));
-                        }
-
-                        ResponseBody responseBody = response.body();
-                        if (responseBody != null) {
-                            String jsonResponse = responseBody.string();
-                            return mapper.readValue(jsonResponse, OpenLibraryAutorResponse.class);
-                        }
-                        return null;
-                    } catch (IOException ex) {
-                        throw new ValidacaoException("Erro ao tentar buscar dados dos Autores.");
+        return aguardarBuscaAutores(buscarAutoresPorKeysAsync(autoreskeys));
+    }
+
+    /**
+     * Método responsável por buscar na API da OPEN LIBRARY, em paralelo, os dados dos autores das keys informadas,
+     * buscando uma única vez as keys repetidas.
+     * <p>
+     * Utilizado para buscar de uma vez os autores de vários livros, que podem possuir autores em comum.
+     *
+     * @return os autores encontrados, pela key de cada um. As keys cujas respostas não possuem conteúdo não possuem autor no mapa.
+     * @throws ValidacaoException caso ocorra algum erro durante alguma das requisições, ou caso o prazo total da busca seja atingido.
+     */
+    public Map<String, OpenLibraryAutorResponse> buscarAutoresPorKeysDistintas(Collection<String> autoresKeys) {
+        List<String> keysDistintas = new ArrayList<>(new LinkedHashSet<>(autoresKeys));
+        List<OpenLibraryAutorResponse> autores = aguardarBuscaAutores(buscarAutoresComPrazo(keysDistintas));
+
+        Map<String, OpenLibraryAutorResponse> autoresPorKey = new LinkedHashMap<>();
+        for (int indice = 0; indice < keysDistintas.size(); indice++) {
+            if (autores.get(indice) != null) {
+                autoresPorKey.put(keysDistintas.get(indice), autores.get(indice));
+            }
+        }
+        return autoresPorKey;
+    }
+
+    /**
+     * Método responsável por buscar na API da OPEN LIBRARY, em paralelo, os dados dos autores que possuirem as mesmas keys
+     * que as informadas por parametro.
+     * <p>
+     * As requisições dos autores que não estão no cache são enfileiradas de uma vez no OkHttp, que as executa em paralelo até
+     * o limite de requisições por host do dispatcher. As requisições não possuem um tempo limite próprio, apenas os tempos limite
+     * de conexão e de leitura do client HTTP, pois a espera pelo limitador de taxa e as novas tentativas do interceptor de resiliência
+     * fazem parte da chamada, e um tempo limite menor que elas cancelaria a requisição em vez de repeti-la. A busca inteira possui
+     * o prazo configurado pela propriedade de sistema biblioteca.openLibrary.prazoBuscaAutoresMs, e ao atingi-lo as requisições
+     * ainda em andamento são canceladas.
+     *
+     * @return a busca dos autores, com os autores na mesma ordem das keys informadas. A busca falha com ValidacaoException
+     * caso ocorra algum erro em uma das requisições, ou caso o prazo seja atingido.
+     */
+    public CompletableFuture<List<OpenLibraryAutorResponse>> buscarAutoresPorKeysAsync(List<String> autoreskeys) {
+        return buscarAutoresComPrazo(autoreskeys)
+                .thenApply(autores -> autores.stream()
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Método responsável por buscar os autores das keys informadas em paralelo, com o prazo total da busca.
+     *
+     * @return a busca dos autores, com um autor para cada key, na mesma ordem delas, e null para as respostas sem conteúdo.
+     */
+    private CompletableFuture<List<OpenLibraryAutorResponse>> buscarAutoresComPrazo(List<String> autoreskeys) {
+        List<CompletableFuture<OpenLibraryAutorResponse>> buscasAutores = new ArrayList<>();
+        List<Call> chamadas = new ArrayList<>();
+        for (String autorKey : autoreskeys) {
+            Optional<OpenLibraryAutorResponse> autorEmCache = cache.buscar(PREFIXO_CHAVE_AUTOR + autorKey, OpenLibraryAutorResponse.class);
+            if (autorEmCache.isPresent()) {
+                buscasAutores.add(CompletableFuture.completedFuture(autorEmCache.get()));
+                continue;
+            }
+
+            Request request = new Request.Builder()
+                    .url(format(OPEN_LIBRARY_URL + "%s.json", autorKey))
+                    .build();
+            Call chamada = httpClient.newCall(request);
+            chamadas.add(chamada);
+            buscasAutores.add(enfileirarBuscaAutor(chamada, autorKey));
+        }
+
+        CompletableFuture<List<OpenLibraryAutorResponse>> busca = CompletableFuture.allOf(buscasAutores.toArray(new CompletableFuture<?>[0]))
+                .thenApply(concluida -> buscasAutores.stream()
+                        .map(CompletableFuture::join)
+                        .collect(Collectors.toList()));
+        if (chamadas.isEmpty()) {
+            return busca;
+        }
+
+        CompletableFuture<List<OpenLibraryAutorResponse>> buscaComPrazo = new CompletableFuture<>();
+        ScheduledFuture<?> prazo = AGENDADOR_PRAZOS.schedule(() -> {
+            if (buscaComPrazo.completeExceptionally(new ValidacaoException("Tempo esgotado ao tentar buscar dados dos Autores."))) {
+                chamadas.forEach(Call::cancel);
+            }
+        }, PRAZO_BUSCA_AUTORES_MILLIS, MILLISECONDS);
+        busca.whenComplete((autores, erro) -> {
+            prazo.cancel(false);
+            if (erro != null) {
+                buscaComPrazo.completeExceptionally(erro instanceof CompletionException ? erro.getCause() : erro);
+                chamadas.forEach(Call::cancel);
+            } else {
+                buscaComPrazo.complete(autores);
+            }
+        });
+        return buscaComPrazo;
+    }
+
+    /**
+     * Método responsável por enfileirar a requisição de um autor, guardando no cache o autor encontrado.
+     *
+     * @return a busca do autor, que é concluída com null caso a resposta não possua conteúdo.
+     */
+    private CompletableFuture<OpenLibraryAutorResponse> enfileirarBuscaAutor(Call chamada, String autorKey) {
+        CompletableFuture<OpenLibraryAutorResponse> buscaAutor = new CompletableFuture<>();
+        chamada.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException ex) {
+                buscaAutor.completeExceptionally(new ValidacaoException(montarMensagemErro(ex, "Erro ao tentar buscar dados dos Autores.")));
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (Response autorResponse = response) {
+                    if (!autorResponse.isSuccessful()) {
+                        throw new ValidacaoException(format("Erro na requisição: %s", autorResponse.code()));
                     }
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+
+                    ResponseBody responseBody = autorResponse.body();
+                    OpenLibraryAutorResponse autor = null;
+                    if (responseBody != null) {
+                        autor = mapper.readValue(responseBody.byteStream(), OpenLibraryAutorResponse.class);
+                        cache.gravar(PREFIXO_CHAVE_AUTOR + autorKey, autor);
+                    }
+                    buscaAutor.complete(autor);
+                } catch (IOException ex) {
+                    buscaAutor.completeExceptionally(new ValidacaoException("Erro ao tentar buscar dados dos Autores."));
+                } catch (RuntimeException ex) {
+                    buscaAutor.completeExceptionally(ex);
+                }
+            }
+        });
+        return buscaAutor;
+    }
+
+    /**
+     * Método responsável por aguardar a busca dos autores, lançando o erro original da busca caso ela falhe.
+     *
+     * @return os autores da busca.
+     */
+    private static List<OpenLibraryAutorResponse> aguardarBuscaAutores(CompletableFuture<List<OpenLibraryAutorResponse>> buscaAutores) {
+        try {
+            return buscaAutores.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new ValidacaoException("Erro ao tentar buscar dados dos Autores.");
+        }
+    }
+
+    /**
+     * Método responsável por montar a mensagem de erro de uma requisição com falha, mantendo a mensagem de quando a requisição
+     * foi recusada por a API estar fora do ar.
+     *
+     * @return a mensagem de erro.
+     */
+    private static String montarMensagemErro(IOException ex, String mensagemPadrao) {
+        return ex instanceof OpenLibraryIndisponivelException ? ex.getMessage() : mensagemPadrao;
+    }
+
+    private static ThreadFactory criarFabricaThreads() {
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, "biblioteca-openlibrary-prazos");
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 }
@@ -0,0 +1,208 @@
+package biblioteca.backend.client;
+
+import lombok.Getter;
+import lombok.extern.java.Log;
+import okhttp3.Call;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+
+/**
+ * Interceptor do OkHttp responsável por proteger as requisições para a API da OPEN LIBRARY, tanto as síncronas quanto as assíncronas.
+ * <p>
+ * Antes de cada envio, a requisição passa pelo circuito, que a recusa imediatamente caso a API esteja fora do ar,
+ * e pelo limitador de taxa, que a faz aguardar a vez dela dentro da quantidade de requisições por segundo aceita pela API.
+ * <p>
+ * As requisições GET, que podem ser repetidas sem efeitos colaterais, são enviadas novamente após um erro de conexão
+ * ou uma resposta com status 429 ou 5xx, até a quantidade de tentativas configurada pela propriedade de sistema
+ * biblioteca.openLibrary.tentativas. A espera entre as tentativas dobra a cada tentativa, a partir do tempo configurado pela propriedade
+ * de sistema biblioteca.openLibrary.esperaInicialMs, com uma variação aleatória para que as requisições paralelas não sejam repetidas
+ * ao mesmo tempo, e respeita o header Retry-After enviado pela API. As esperas são interrompidas caso a requisição seja cancelada.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Log
+public class ResilienciaOpenLibraryInterceptor implements Interceptor {
+
+    private static final int TENTATIVAS = Integer.getInteger("biblioteca.openLibrary.tentativas", 4);
+    private static final long ESPERA_INICIAL_MILLIS = Integer.getInteger("biblioteca.openLibrary.esperaInicialMs", 500);
+    private static final long ESPERA_MAXIMA_MILLIS = Integer.getInteger("biblioteca.openLibrary.esperaMaximaMs", 10000);
+    private static final String USER_AGENT = System.getProperty("biblioteca.openLibrary.userAgent", "Biblioteca/1.0");
+    private static final long INTERVALO_VERIFICACAO_CANCELAMENTO_MILLIS = 100;
+    private static final int STATUS_LIMITE_EXCEDIDO = 429;
+
+    @Getter
+    private final LimitadorTaxaOpenLibrary limitador;
+    @Getter
+    private final CircuitoOpenLibrary circuito;
+    private final int tentativas;
+    private final long esperaInicialMillis;
+
+    private final AtomicLong requisicoes = new AtomicLong();
+    private final AtomicLong retentativas = new AtomicLong();
+    private final AtomicLong falhasAposTentativas = new AtomicLong();
+
+    public ResilienciaOpenLibraryInterceptor() {
+        this(new LimitadorTaxaOpenLibrary(), new CircuitoOpenLibrary(), TENTATIVAS, ESPERA_INICIAL_MILLIS);
+    }
+
+    public ResilienciaOpenLibraryInterceptor(LimitadorTaxaOpenLibrary limitador, CircuitoOpenLibrary circuito, int tentativas,
+                                             long esperaInicialMillis) {
+        this.limitador = limitador;
+        this.circuito = circuito;
+        this.tentativas = Math.max(1, tentativas);
+        this.esperaInicialMillis = esperaInicialMillis;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request().header("User-Agent") == null
+                ? chain.request().newBuilder().header("User-Agent", USER_AGENT).build()
+                : chain.request();
+        boolean repetivel = "GET".equals(request.method()) || "HEAD".equals(request.method());
+        requisicoes.incrementAndGet();
+
+        for (int tentativa = 1; ; tentativa++) {
+            circuito.verificarPermissao();
+            Response response;
+            try {
+                aguardar(chain.call(), limitador.reservar());
+                response = chain.proceed(request);
+            } catch (IOException ex) {
+                if (chain.call().isCanceled()) {
+                    circuito.liberarPermissao();
+                    throw ex;
+                }
+                circuito.registrarFalha();
+                if (!repetivel || tentativa >= tentativas) {
+                    falhasAposTentativas.incrementAndGet();
+                    throw ex;
+                }
+                this.aguardarNovaTentativa(chain.call(), request, tentativa, 0, ex.getMessage());
+                continue;
+            }
+
+            long esperaPedida = lerRetryAfter(response);
+            this.registrarResposta(response.code(), esperaPedida);
+            if (!isStatusRepetivel(response.code()) || !repetivel) {
+                return response;
+            }
+            if (tentativa >= tentativas) {
+                falhasAposTentativas.incrementAndGet();
+                return response;
+            }
+            response.close();
+            this.aguardarNovaTentativa(chain.call(), request, tentativa, esperaPedida, format("status %d", response.code()));
+        }
+    }
+
+    public long getRequisicoes() {
+        return requisicoes.get();
+    }
+
+    public long getRetentativas() {
+        return retentativas.get();
+    }
+
+    public long getFalhasAposTentativas() {
+        return falhasAposTentativas.get();
+    }
+
+    /**
+     * Método responsável por montar o resumo dos contadores das requisições, do limitador de taxa e do circuito, desde o início da aplicação,
+     * para ser exibido nos logs e na tela do cadastro por lista de ISBNs.
+     *
+     * @return o resumo dos contadores.
+     */
+    public String getResumo() {
+        return format("Open Library: %d requisições, %d novas tentativas, %d falhas após todas as tentativas; %s; %s.",
+                getRequisicoes(), getRetentativas(), getFalhasAposTentativas(), limitador.getResumo(), circuito.getResumo());
+    }
+
+    /**
+     * Método responsável por informar a resposta recebida ao circuito e ao limitador de taxa.
+     * <p>
+     * As respostas 5xx são falhas da API. As demais, inclusive a 429, mostram que a API está respondendo.
+     */
+    private void registrarResposta(int status, long esperaPedida) {
+        if (status >= 500) {
+            circuito.registrarFalha();
+            return;
+        }
+        circuito.registrarSucesso();
+        if (status == STATUS_LIMITE_EXCEDIDO) {
+            limitador.registrarLimiteExcedido(esperaPedida);
+        } else {
+            limitador.registrarSucesso();
+        }
+    }
+
+    private void aguardarNovaTentativa(Call chamada, Request request, int tentativa, long esperaPedida, String motivo) throws IOException {
+        long espera = Math.max(calcularEspera(tentativa), esperaPedida);
+        retentativas.incrementAndGet();
+        log.fine(format("Nova tentativa %d de %s em %d ms (%s).", tentativa + 1, request.url(), espera, motivo));
+        aguardar(chamada, espera);
+    }
+
+    /**
+     * Método responsável por calcular a espera antes da próxima tentativa, que dobra a cada tentativa até a espera máxima,
+     * sorteada entre a metade e o total dela.
+     *
+     * @return a espera em milissegundos.
+     */
+    private long calcularEspera(int tentativa) {
+        long teto = Math.min(ESPERA_MAXIMA_MILLIS, esperaInicialMillis << Math.min(tentativa - 1, 20));
+        return teto / 2 + ThreadLocalRandom.current().nextLong(teto / 2 + 1);
+    }
+
+    /**
+     * Método responsável por aguardar o tempo informado, encerrando a espera caso a requisição seja cancelada,
+     * inclusive pelo tempo limite da chamada.
+     *
+     * @throws InterruptedIOException caso a requisição seja cancelada ou a thread seja interrompida durante a espera.
+     */
+    private static void aguardar(Call chamada, long esperaMillis) throws InterruptedIOException {
+        long fim = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaMillis);
+        try {
+            for (long restante = esperaMillis; restante > 0; restante = TimeUnit.NANOSECONDS.toMillis(fim - System.nanoTime())) {
+                if (chamada.isCanceled()) {
+                    throw new InterruptedIOException("Requisição cancelada.");
+                }
+                Thread.sleep(Math.min(restante, INTERVALO_VERIFICACAO_CANCELAMENTO_MILLIS));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Requisição interrompida.");
+        }
+    }
+
+    /**
+     * Método responsável por ler o tempo pedido pela API no header Retry-After, em segundos, limitado à espera máxima.
+     *
+     * @return o tempo em milissegundos, ou zero caso a resposta não possua o header em segundos.
+     */
+    private static long lerRetryAfter(Response response) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter == null) {
+            return 0;
+        }
+        try {
+            return Math.min(ESPERA_MAXIMA_MILLIS, TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    private static boolean isStatusRepetivel(int status) {
+        return status == STATUS_LIMITE_EXCEDIDO || status == 500 || status == 502 || status == 503 || status == 504;
+    }
+}
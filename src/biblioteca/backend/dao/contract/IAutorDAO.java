@@ -3,6 +3,7 @@ package biblioteca.backend.dao.contract;
 import biblioteca.backend.dto.PredicateResult;
 import biblioteca.backend.model.Autor;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,7 +19,7 @@ public interface IAutorDAO {
 
     List<Autor> listarTodos();
 
-    List<Autor> listarTodosPorPredicate(PredicateResult predicate);
+    List<Autor> listarPorPredicate(PredicateResult predicate, Integer aposId, int limite);
 
     Optional<Autor> findById(Integer id);
 
@@ -28,5 +29,5 @@ public interface IAutorDAO {
 
     List<Autor> findByIdIn(List<Integer> id);
 
-    List<Autor> findByNomes(List<String> nomes);
+    List<Autor> findByNomes(Collection<String> nomes);
 }
@@ -3,6 +3,7 @@ package biblioteca.backend.dao.contract;
 import biblioteca.backend.dto.PredicateResult;
 import biblioteca.backend.model.Editora;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,7 +19,7 @@ public interface IEditoraDAO {
 
     List<Editora> listarTodos();
 
-    List<Editora> listarTodosPorPredicate(PredicateResult predicate);
+    List<Editora> listarPorPredicate(PredicateResult predicate, Integer aposId, int limite);
 
     Optional<Editora> findById(Integer id);
 
@@ -26,6 +27,8 @@ public interface IEditoraDAO {
 
     Optional<Editora> findByNome(String nome);
 
+    List<Editora> findByNomesOuCnpjs(Collection<String> nomes, Collection<String> cnpjs);
+
     boolean existsByCnpj(String cnpj);
 
     boolean existsByCnpjExcetoId(String cnpj, Integer id);
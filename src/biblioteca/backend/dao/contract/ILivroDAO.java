@@ -1,10 +1,13 @@
 package biblioteca.backend.dao.contract;
 
+import biblioteca.backend.dto.LivroIndiceBuscaDto;
 import biblioteca.backend.dto.PredicateResult;
 import biblioteca.backend.model.Livro;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Interface responsável por definir os métodos que farão operações no banco de dados.
@@ -18,12 +21,24 @@ public interface ILivroDAO {
 
     List<Livro> listarTodos();
 
+    List<Livro> listar(Integer aposId, int limite);
+
+    List<Livro> listarPorIds(Collection<Integer> ids);
+
+    List<LivroIndiceBuscaDto> listarParaIndiceBusca(Integer aposId, int limite);
+
     List<Livro> listarTodosPorPredicate(PredicateResult predicate);
 
+    List<Livro> listarPorPredicate(PredicateResult predicate, Integer aposId, int limite);
+
+    List<Integer> buscarIdsPorTexto(String texto, int deslocamento, int limite);
+
     Optional<Livro> findById(Integer id);
 
     Optional<Livro> findByIsbns(String isbn10, String isbn13);
 
+    List<Livro> findByIsbnsIn(Collection<String> isbns);
+
     void deletar(Integer id);
 
     List<Livro> findByIdIn(List<Integer> ids);
@@ -32,5 +47,7 @@ public interface ILivroDAO {
 
     boolean existsByIsbns(String isbn10, String isbn13);
 
+    Set<String> existsByIsbns(Collection<String> isbns);
+
     boolean existsByIsbnsExcetoId(String isbn10, String isbn13, Integer id);
 }
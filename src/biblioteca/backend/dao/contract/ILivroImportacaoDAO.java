@@ -0,0 +1,18 @@
+package biblioteca.backend.dao.contract;
+
+import biblioteca.backend.model.Autor;
+import biblioteca.backend.model.Editora;
+import biblioteca.backend.model.Livro;
+
+import java.util.Collection;
+
+/**
+ * Interface responsável por definir os métodos que farão as operações em lote da importação no banco de dados.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+public interface ILivroImportacaoDAO {
+
+    void salvarLote(Collection<Autor> autores, Collection<Editora> editoras, Collection<Livro> livros);
+}
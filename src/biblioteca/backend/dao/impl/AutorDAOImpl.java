@@ -7,6 +7,7 @@ import lombok.extern.java.Log;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -72,24 +73,30 @@ public class AutorDAOImpl implements IAutorDAO {
     }
 
     /**
-     * Método responsável por listar todos os Autores salvos no banco de dados, de acordo com os filtros dentro do predicate.
+     * Método responsável por listar uma página dos Autores salvos no banco de dados, de acordo com os filtros dentro do predicate,
+     * ordenados pelo ID, a partir do ID informado.
+     * <p>
+     * Os Livros são utilizados apenas nos filtros, sem serem carregados, para que o limite da página seja aplicado pelo banco de dados.
      *
-     * @return Todos os autores salvos no banco de dados de acordo com os filtros passados.
+     * @return Os autores de acordo com os filtros passados, com ID maior que o ID informado, limitados à quantidade informada.
      */
     @Override
-    public List<Autor> listarTodosPorPredicate(PredicateResult predicate) {
+    public List<Autor> listarPorPredicate(PredicateResult predicate, Integer aposId, int limite) {
         EntityManager entityManager = getEntityManager();
         try {
+            PredicateResult predicatePagina = predicate.comAposId("a.id", aposId);
             TypedQuery<Autor> query = entityManager.createQuery(
                     "SELECT DISTINCT a FROM Autor a "
-                            + "LEFT JOIN FETCH a.livros l "
-                            + predicate.getWhereClause()
+                            + "LEFT JOIN a.livros l "
+                            + predicatePagina.getWhereClause()
                             + "ORDER BY a.id",
                     Autor.class);
-            predicate.getParams().
+            predicatePagina.getParams().
                     forEach(query::setParameter);
 
-            return query.getResultList();
+            return query
+                    .setMaxResults(limite)
+                    .getResultList();
         } finally {
             fecharTransacao(entityManager);
         }
@@ -189,16 +196,21 @@ public class AutorDAOImpl implements IAutorDAO {
 
     /**
      * Método responsável por buscar os Autores de acordo com os nomes deles no banco de dados.
+     * <p>
+     * Os nomes devem ser informados em caixa alta, pois a comparação é feita com UPPER(a.nome).
+     * Os livros dos autores não são carregados, pois esta busca é utilizada apenas para vincular os autores aos livros.
      *
      * @return Uma Lista de Autores.
      */
     @Override
-    public List<Autor> findByNomes(List<String> nomes) {
+    public List<Autor> findByNomes(Collection<String> nomes) {
+        if (nomes.isEmpty()) {
+            return emptyList();
+        }
         EntityManager entityManager = getEntityManager();
         try {
             return entityManager.createQuery(
                             "SELECT a FROM Autor a "
-                                    + "LEFT JOIN FETCH a.livros "
                                     + "WHERE UPPER(a.nome) IN :nomes ",
                             Autor.class)
                     .setParameter("nomes", nomes)
@@ -7,10 +7,13 @@ import lombok.extern.java.Log;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import java.util.Collection;
 import java.util.List;
+import java.util.StringJoiner;
 import java.util.Optional;
 
 import static biblioteca.backend.utils.JpaUtil.*;
+import static java.util.Collections.emptyList;
 
 /**
  * Classe responsável por implementar a lógica das transações realizadas no banco de dados, na tabela Editora.
@@ -67,24 +70,30 @@ public class EditoraDAOImpl implements IEditoraDAO {
     }
 
     /**
-     * Método responsável por listar todas as Editoras salvas no banco de dados, de acordo com os filtros dentro do predicate.
+     * Método responsável por listar uma página das Editoras salvas no banco de dados, de acordo com os filtros dentro do predicate,
+     * ordenadas pelo ID, a partir do ID informado.
+     * <p>
+     * Os Livros são utilizados apenas nos filtros, sem serem carregados, para que o limite da página seja aplicado pelo banco de dados.
      *
-     * @return Todas as editoras salvas no banco de dados de acordo com os filtros passados.
+     * @return As editoras de acordo com os filtros passados, com ID maior que o ID informado, limitadas à quantidade informada.
      */
     @Override
-    public List<Editora> listarTodosPorPredicate(PredicateResult predicate) {
+    public List<Editora> listarPorPredicate(PredicateResult predicate, Integer aposId, int limite) {
         EntityManager entityManager = getEntityManager();
         try {
+            PredicateResult predicatePagina = predicate.comAposId("e.id", aposId);
             TypedQuery<Editora> query = entityManager.createQuery(
                     "SELECT DISTINCT e FROM Editora e "
-                            + "LEFT JOIN FETCH e.livros l "
-                            + predicate.getWhereClause()
+                            + "LEFT JOIN e.livros l "
+                            + predicatePagina.getWhereClause()
                             + "ORDER BY e.id",
                     Editora.class);
-            predicate.getParams().
+            predicatePagina.getParams().
                     forEach(query::setParameter);
 
-            return query.getResultList();
+            return query
+                    .setMaxResults(limite)
+                    .getResultList();
         } finally {
             fecharTransacao(entityManager);
         }
@@ -160,6 +169,45 @@ public class EditoraDAOImpl implements IEditoraDAO {
         }
     }
 
+    /**
+     * Método responsável por buscar, em uma única consulta, as Editoras que possuírem algum dos nomes ou algum dos cnpjs informados.
+     * <p>
+     * Os nomes devem ser informados em caixa alta, pois a comparação é feita com UPPER(e.nome).
+     *
+     * @return Uma lista de Editoras.
+     */
+    @Override
+    public List<Editora> findByNomesOuCnpjs(Collection<String> nomes, Collection<String> cnpjs) {
+        StringJoiner condicoes = new StringJoiner(" OR ");
+        if (!nomes.isEmpty()) {
+            condicoes.add("UPPER(e.nome) IN (:nomes)");
+        }
+        if (!cnpjs.isEmpty()) {
+            condicoes.add("e.cnpj IN (:cnpjs)");
+        }
+        if (condicoes.length() == 0) {
+            return emptyList();
+        }
+
+        EntityManager entityManager = getEntityManager();
+        try {
+            TypedQuery<Editora> query = entityManager.createQuery(
+                    "SELECT e FROM Editora e "
+                            + "WHERE " + condicoes,
+                    Editora.class);
+            if (!nomes.isEmpty()) {
+                query.setParameter("nomes", nomes);
+            }
+            if (!cnpjs.isEmpty()) {
+                query.setParameter("cnpjs", cnpjs);
+            }
+
+            return query.getResultList();
+        } finally {
+            fecharTransacao(entityManager);
+        }
+    }
+
     /**
      * Método responsável por verificar no banco de dados se existe uma Editora com o mesmo cnpj que o informado.
      *
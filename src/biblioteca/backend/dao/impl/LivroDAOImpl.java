@@ -1,17 +1,31 @@
 package biblioteca.backend.dao.impl;
 
 import biblioteca.backend.dao.contract.ILivroDAO;
+import biblioteca.backend.dto.LivroIndiceBuscaDto;
 import biblioteca.backend.dto.PredicateResult;
 import biblioteca.backend.model.Livro;
 import lombok.extern.java.Log;
 
 import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
 import javax.persistence.TypedQuery;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static biblioteca.backend.utils.JpaUtil.*;
 import static java.util.Collections.emptyList;
+import static java.lang.String.format;
+import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 
 /**
  * Classe responsável por implementar a lógica das transações realizadas no banco de dados, na tabela Livro.
@@ -22,6 +36,10 @@ import static java.util.Collections.emptyList;
 @Log
 public class LivroDAOImpl implements ILivroDAO {
 
+    private static final Set<String> SQL_STATES_OBJETO_INEXISTENTE = new HashSet<>(Arrays.asList("42883", "42P01", "42703", "42704"));
+
+    private volatile boolean buscaTextualIndisponivel;
+
     /**
      * Método responsável por salvar/atualizar um Livro no banco de dados.
      */
@@ -66,6 +84,138 @@ public class LivroDAOImpl implements ILivroDAO {
         }
     }
 
+    /**
+     * Método responsável por listar uma página de Livros salvos no banco de dados, ordenados pelo ID, a partir do ID informado.
+     * <p>
+     * A página é buscada apenas com a Editora de cada Livro. Os Autores e os Livros parecidos da página são carregados em seguida,
+     * com uma consulta para cada coleção, para que o resultado não seja multiplicado pelas duas coleções e a memória utilizada
+     * dependa apenas do tamanho da página.
+     *
+     * @return Os Livros com ID maior que o ID informado, limitados à quantidade informada. Caso o ID seja null, os primeiros Livros.
+     */
+    @Override
+    public List<Livro> listar(Integer aposId, int limite) {
+        EntityManager entityManager = getEntityManager();
+        try {
+            TypedQuery<Livro> query = entityManager.createQuery(
+                    "SELECT l FROM Livro l "
+                            + "LEFT JOIN FETCH l.editora "
+                            + (aposId != null ? "WHERE l.id > :aposId " : "")
+                            + "ORDER BY l.id",
+                    Livro.class);
+            if (aposId != null) {
+                query.setParameter("aposId", aposId);
+            }
+            List<Livro> livros = query
+                    .setMaxResults(limite)
+                    .getResultList();
+
+            carregarAutoresELivrosParecidos(entityManager, livros);
+            return livros;
+        } finally {
+            fecharTransacao(entityManager);
+        }
+    }
+
+    /**
+     * Método responsável por listar os Livros salvos no banco de dados com os IDs informados, ordenados pelo ID.
+     * <p>
+     * Os Livros são buscados da mesma forma que as páginas da listagem, com a Editora, e com os Autores e os Livros parecidos
+     * carregados em consultas separadas.
+     *
+     * @return Os Livros encontrados. Os IDs que não existem mais no banco de dados são ignorados.
+     */
+    @Override
+    public List<Livro> listarPorIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return emptyList();
+        }
+        EntityManager entityManager = getEntityManager();
+        try {
+            List<Livro> livros = entityManager.createQuery(
+                            "SELECT l FROM Livro l "
+                                    + "LEFT JOIN FETCH l.editora "
+                                    + "WHERE l.id IN (:ids) "
+                                    + "ORDER BY l.id",
+                            Livro.class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+
+            carregarAutoresELivrosParecidos(entityManager, livros);
+            return livros;
+        } finally {
+            fecharTransacao(entityManager);
+        }
+    }
+
+    /**
+     * Método responsável por listar uma página com os dados dos Livros utilizados pelo índice de busca, ordenados pelo ID,
+     * a partir do ID informado.
+     * <p>
+     * São buscados apenas o título, os ISBNs e o nome da Editora de cada Livro, sem carregar as entidades, e os nomes dos Autores
+     * da página são buscados em uma segunda consulta.
+     *
+     * @return Os dados dos Livros com ID maior que o ID informado, limitados à quantidade informada. Caso o ID seja null, dos primeiros Livros.
+     */
+    @Override
+    public List<LivroIndiceBuscaDto> listarParaIndiceBusca(Integer aposId, int limite) {
+        EntityManager entityManager = getEntityManager();
+        try {
+            TypedQuery<Object[]> query = entityManager.createQuery(
+                    "SELECT l.id, l.titulo, l.isbn10, l.isbn13, e.nome FROM Livro l "
+                            + "LEFT JOIN l.editora e "
+                            + (aposId != null ? "WHERE l.id > :aposId " : "")
+                            + "ORDER BY l.id",
+                    Object[].class);
+            if (aposId != null) {
+                query.setParameter("aposId", aposId);
+            }
+            Map<Integer, LivroIndiceBuscaDto> livrosPorId = new LinkedHashMap<>();
+            for (Object[] linha : query.setMaxResults(limite).getResultList()) {
+                livrosPorId.put((Integer) linha[0], new LivroIndiceBuscaDto((Integer) linha[0], (String) linha[1], (String) linha[2],
+                        (String) linha[3], (String) linha[4], new ArrayList<>()));
+            }
+            if (livrosPorId.isEmpty()) {
+                return emptyList();
+            }
+
+            entityManager.createQuery(
+                            "SELECT l.id, a.nome FROM Livro l "
+                                    + "JOIN l.autores a "
+                                    + "WHERE l.id IN (:ids)",
+                            Object[].class)
+                    .setParameter("ids", livrosPorId.keySet())
+                    .getResultList()
+                    .forEach(linha -> livrosPorId.get((Integer) linha[0]).getNomesAutores().add((String) linha[1]));
+            return new ArrayList<>(livrosPorId.values());
+        } finally {
+            fecharTransacao(entityManager);
+        }
+    }
+
+    /**
+     * Método responsável por carregar os Autores e os Livros parecidos dos Livros já buscados, com uma consulta para cada coleção.
+     */
+    private static void carregarAutoresELivrosParecidos(EntityManager entityManager, List<Livro> livros) {
+        if (livros.isEmpty()) {
+            return;
+        }
+        entityManager.createQuery(
+                        "SELECT DISTINCT l FROM Livro l "
+                                + "LEFT JOIN FETCH l.autores "
+                                + "WHERE l IN (:livros)",
+                        Livro.class)
+                .setParameter("livros", livros)
+                .getResultList();
+        entityManager.createQuery(
+                        "SELECT DISTINCT l FROM Livro l "
+                                + "LEFT JOIN FETCH l.livrosParecidos "
+                                + "WHERE l IN (:livros)",
+                        Livro.class)
+                .setParameter("livros", livros)
+                .getResultList();
+    }
+
     /**
      * Método responsável por listar todos os Livros salvos no banco de dados, de acordo com os filtros dentro do predicate.
      *
@@ -92,6 +242,144 @@ public class LivroDAOImpl implements ILivroDAO {
         }
     }
 
+    /**
+     * Método responsável por listar uma página dos Livros salvos no banco de dados, de acordo com os filtros dentro do predicate,
+     * ordenados pelo ID, a partir do ID informado.
+     * <p>
+     * Os IDs da página são buscados primeiro, com as coleções utilizadas apenas nos filtros, para que o limite seja aplicado pelo banco de dados,
+     * e os Livros deles são carregados em seguida, da mesma forma que as páginas da listagem.
+     *
+     * @return Os Livros de acordo com os filtros passados, com ID maior que o ID informado, limitados à quantidade informada.
+     */
+    @Override
+    public List<Livro> listarPorPredicate(PredicateResult predicate, Integer aposId, int limite) {
+        List<Integer> ids;
+        EntityManager entityManager = getEntityManager();
+        try {
+            PredicateResult predicatePagina = predicate.comAposId("l.id", aposId);
+            TypedQuery<Integer> query = entityManager.createQuery(
+                    "SELECT DISTINCT l.id FROM Livro l "
+                            + "LEFT JOIN l.editora e "
+                            + "LEFT JOIN l.autores a "
+                            + "LEFT JOIN l.livrosParecidos lp "
+                            + predicatePagina.getWhereClause()
+                            + "ORDER BY l.id",
+                    Integer.class);
+            predicatePagina.getParams().
+                    forEach(query::setParameter);
+
+            ids = query
+                    .setMaxResults(limite)
+                    .getResultList();
+        } finally {
+            fecharTransacao(entityManager);
+        }
+        return listarPorIds(ids);
+    }
+
+    /**
+     * Método responsável por buscar os IDs dos Livros que correspondem ao texto informado, ordenados pela relevância.
+     * <p>
+     * A busca utiliza o documento de busca textual dos Livros, com o título, os nomes dos Autores e o nome da Editora, mantido pelo banco
+     * de dados e indexado com GIN. As palavras são comparadas sem acentos e pelo radical, e também correspondem às palavras
+     * que começam com elas, para que palavras incompletas sejam encontradas. O título tem o maior peso na relevância, seguido pelos Autores e pela Editora.
+     * <p>
+     * Caso a busca textual não tenha sido encontrada no banco de dados na inicialização, o texto é buscado com LIKE no título,
+     * nos Autores e na Editora. O mesmo acontece caso algum objeto da busca textual deixe de existir, o que é registrado na primeira falha
+     * para que as buscas seguintes vão direto para a busca por trecho. Os demais erros, como a falta de conexão, não alteram a busca.
+     *
+     * @param deslocamento a quantidade de IDs mais relevantes que devem ser ignorados, para buscar os IDs seguintes.
+     * @return Os IDs dos Livros encontrados, do mais relevante para o menos relevante, limitados à quantidade informada.
+     */
+    @Override
+    public List<Integer> buscarIdsPorTexto(String texto, int deslocamento, int limite) {
+        String consulta = montarConsultaTextual(texto);
+        if (consulta.isEmpty()) {
+            return emptyList();
+        }
+        if (!isBuscaTextualDisponivel() || buscaTextualIndisponivel) {
+            return buscarIdsPorTrecho(texto, deslocamento, limite);
+        }
+        EntityManager entityManager = getEntityManager();
+        try {
+            List<?> ids = entityManager.createNativeQuery(
+                            "SELECT ID FROM LIVRO "
+                                    + "WHERE BUSCA_TEXTUAL @@ TO_TSQUERY('biblioteca_pt', ?1) "
+                                    + "ORDER BY TS_RANK(BUSCA_TEXTUAL, TO_TSQUERY('biblioteca_pt', ?1)) DESC, ID")
+                    .setParameter(1, consulta)
+                    .setFirstResult(deslocamento)
+                    .setMaxResults(limite)
+                    .getResultList();
+            return ids.stream()
+                    .map(id -> ((Number) id).intValue())
+                    .collect(toList());
+        } catch (PersistenceException ex) {
+            if (!isObjetoInexistente(ex)) {
+                throw ex;
+            }
+            buscaTextualIndisponivel = true;
+            log.warning(format("Busca textual indisponível no banco de dados, utilizando a busca por trecho: %s", ex.getMessage()));
+            return buscarIdsPorTrecho(texto, deslocamento, limite);
+        } finally {
+            fecharTransacao(entityManager);
+        }
+    }
+
+    /**
+     * Método responsável por verificar se o erro foi causado pela falta de uma função, tabela, coluna ou configuração de busca no banco de dados.
+     *
+     * @return true caso o SQLState de algum SQLException da causa do erro indique um objeto inexistente.
+     */
+    private static boolean isObjetoInexistente(PersistenceException ex) {
+        for (Throwable causa = ex; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLException && SQL_STATES_OBJETO_INEXISTENTE.contains(((SQLException) causa).getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Método responsável por buscar os IDs dos Livros que possuem o texto informado no título, no nome de algum Autor ou no nome da Editora.
+     *
+     * @return Os IDs dos Livros encontrados, ordenados pelo ID, a partir do deslocamento e limitados à quantidade informada.
+     */
+    private static List<Integer> buscarIdsPorTrecho(String texto, int deslocamento, int limite) {
+        EntityManager entityManager = getEntityManager();
+        try {
+            return entityManager.createQuery(
+                            "SELECT DISTINCT l.id FROM Livro l "
+                                    + "LEFT JOIN l.editora e "
+                                    + "LEFT JOIN l.autores a "
+                                    + "WHERE UPPER(l.titulo) LIKE UPPER(:texto) "
+                                    + "OR UPPER(a.nome) LIKE UPPER(:texto) "
+                                    + "OR UPPER(e.nome) LIKE UPPER(:texto) "
+                                    + "ORDER BY l.id",
+                            Integer.class)
+                    .setParameter("texto", "%" + texto.trim() + "%")
+                    .setFirstResult(deslocamento)
+                    .setMaxResults(limite)
+                    .getResultList();
+        } finally {
+            fecharTransacao(entityManager);
+        }
+    }
+
+    /**
+     * Método responsável por montar a consulta da busca textual com as palavras do texto informado.
+     * <p>
+     * Apenas letras e números são mantidos, para que nenhum operador da consulta seja informado pelo usuário. Todas as palavras precisam
+     * estar presentes no Livro, e cada uma delas também corresponde às palavras que começam com ela.
+     *
+     * @return A consulta no formato do TO_TSQUERY, ou uma String vazia caso o texto não possua nenhuma palavra.
+     */
+    private static String montarConsultaTextual(String texto) {
+        return Arrays.stream(texto.split("[^\\p{L}\\p{N}]+"))
+                .filter(palavra -> !palavra.isEmpty())
+                .map(palavra -> palavra + ":*")
+                .collect(joining(" & "));
+    }
+
     /**
      * Método responsável por buscar um Livro de acordo com o ID dele no banco de dados.
      *
@@ -139,6 +427,30 @@ public class LivroDAOImpl implements ILivroDAO {
         }
     }
 
+    /**
+     * Método responsável por buscar, em uma única consulta, os Livros que possuírem o ISBN 10 ou o ISBN 13 entre os ISBNs informados.
+     *
+     * @return Uma lista de Livros.
+     */
+    @Override
+    public List<Livro> findByIsbnsIn(Collection<String> isbns) {
+        if (isbns.isEmpty()) {
+            return emptyList();
+        }
+        EntityManager entityManager = getEntityManager();
+        try {
+            return entityManager.createQuery(
+                            "SELECT l FROM Livro l "
+                                    + "WHERE l.isbn10 IN (:isbns) "
+                                    + "OR l.isbn13 IN (:isbns)",
+                            Livro.class)
+                    .setParameter("isbns", isbns)
+                    .getResultList();
+        } finally {
+            fecharTransacao(entityManager);
+        }
+    }
+
     /**
      * Método responsável por deletar um Livro de acordo com o ID dele no banco de dados.
      */
@@ -196,16 +508,13 @@ public class LivroDAOImpl implements ILivroDAO {
     public boolean existsByIsbn(String isbn) {
         EntityManager entityManager = getEntityManager();
         try {
-            return Optional.ofNullable(entityManager.createQuery(
-                                    "SELECT DISTINCT l FROM Livro l "
-                                            + "WHERE l.isbn10 = :isbn "
-                                            + "OR l.isbn13 = :isbn",
-                                    Livro.class)
-                            .setParameter("isbn", isbn)
-                            .getSingleResult())
-                    .isPresent();
-        } catch (Exception ex) {
-            return false;
+            return entityManager.createQuery(
+                            "SELECT COUNT(l) FROM Livro l "
+                                    + "WHERE l.isbn10 = :isbn "
+                                    + "OR l.isbn13 = :isbn",
+                            Long.class)
+                    .setParameter("isbn", isbn)
+                    .getSingleResult() > 0;
         } finally {
             fecharTransacao(entityManager);
         }
@@ -220,17 +529,50 @@ public class LivroDAOImpl implements ILivroDAO {
     public boolean existsByIsbns(String isbn10, String isbn13) {
         EntityManager entityManager = getEntityManager();
         try {
-            return Optional.ofNullable(entityManager.createQuery(
-                                    "SELECT DISTINCT l FROM Livro l "
-                                            + "WHERE l.isbn10 = :isbn10 "
-                                            + "OR l.isbn13 = :isbn13",
-                                    Livro.class)
-                            .setParameter("isbn10", isbn10)
-                            .setParameter("isbn13", isbn13)
-                            .getSingleResult())
-                    .isPresent();
-        } catch (Exception ex) {
-            return false;
+            return entityManager.createQuery(
+                            "SELECT COUNT(l) FROM Livro l "
+                                    + "WHERE l.isbn10 = :isbn10 "
+                                    + "OR l.isbn13 = :isbn13",
+                            Long.class)
+                    .setParameter("isbn10", isbn10)
+                    .setParameter("isbn13", isbn13)
+                    .getSingleResult() > 0;
+        } finally {
+            fecharTransacao(entityManager);
+        }
+    }
+
+    /**
+     * Método responsável por verificar diretamente no banco de dados, em uma única consulta, quais dos ISBNs informados já estão cadastrados,
+     * seja como ISBN 10 ou como ISBN 13 de algum livro.
+     * <p>
+     * Apenas os ISBNs dos livros são consultados, sem carregar as entidades.
+     *
+     * @return Os ISBNs informados que já pertencem a algum livro cadastrado.
+     */
+    @Override
+    public Set<String> existsByIsbns(Collection<String> isbns) {
+        if (isbns.isEmpty()) {
+            return emptySet();
+        }
+        EntityManager entityManager = getEntityManager();
+        try {
+            Set<String> isbnsExistentes = new HashSet<>();
+            entityManager.createQuery(
+                            "SELECT l.isbn10, l.isbn13 FROM Livro l "
+                                    + "WHERE l.isbn10 IN (:isbns) "
+                                    + "OR l.isbn13 IN (:isbns)",
+                            Object[].class)
+                    .setParameter("isbns", isbns)
+                    .getResultList()
+                    .forEach(isbnsLivro -> {
+                        for (Object isbn : isbnsLivro) {
+                            if (isbn != null && isbns.contains(isbn)) {
+                                isbnsExistentes.add((String) isbn);
+                            }
+                        }
+                    });
+            return isbnsExistentes;
         } finally {
             fecharTransacao(entityManager);
         }
@@ -245,19 +587,16 @@ public class LivroDAOImpl implements ILivroDAO {
     public boolean existsByIsbnsExcetoId(String isbn10, String isbn13, Integer id) {
         EntityManager entityManager = getEntityManager();
         try {
-            return Optional.ofNullable(entityManager.createQuery(
-                                    "SELECT DISTINCT l FROM Livro l "
-                                            + "WHERE (l.isbn10 = :isbn10 "
-                                            + "OR l.isbn13 = :isbn13) "
-                                            + "AND l.id != :id",
-                                    Livro.class)
-                            .setParameter("isbn10", isbn10)
-                            .setParameter("isbn13", isbn13)
-                            .setParameter("id", id)
-                            .getSingleResult())
-                    .isPresent();
-        } catch (Exception ex) {
-            return false;
+            return entityManager.createQuery(
+                            "SELECT COUNT(l) FROM Livro l "
+                                    + "WHERE (l.isbn10 = :isbn10 "
+                                    + "OR l.isbn13 = :isbn13) "
+                                    + "AND l.id != :id",
+                            Long.class)
+                    .setParameter("isbn10", isbn10)
+                    .setParameter("isbn13", isbn13)
+                    .setParameter("id", id)
+                    .getSingleResult() > 0;
         } finally {
             fecharTransacao(entityManager);
         }
@@ -0,0 +1,255 @@
+package biblioteca.backend.dao.impl;
+
+import biblioteca.backend.dao.contract.ILivroImportacaoDAO;
+import biblioteca.backend.exceptions.ValidacaoException;
+import biblioteca.backend.model.Autor;
+import biblioteca.backend.model.Editora;
+import biblioteca.backend.model.Livro;
+import lombok.extern.java.Log;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.*;
+import java.util.*;
+
+import static biblioteca.backend.utils.JpaUtil.getConexao;
+import static java.lang.String.format;
+
+/**
+ * Classe responsável por implementar as transações em lote da importação de Livros com o comando COPY do PostgreSQL.
+ * <p>
+ * As entidades de cada lote são enviadas com o COPY para tabelas temporárias de carga, que não geram registros no WAL do banco de dados,
+ * e depois são mescladas nas tabelas LIVRO, AUTOR, EDITORA e LIVRO_AUTOR com poucos comandos INSERT ... ON CONFLICT, sem passar
+ * pelo contexto de persistência do Hibernate. O resultado no banco de dados é o mesmo da gravação pelo JPA.
+ * <p>
+ * Os IDs das novas entidades são reservados em blocos nas mesmas sequências utilizadas pelo Hibernate, e da mesma forma que ele,
+ * então os dois modos de gravação podem ser utilizados no mesmo banco de dados sem conflito de IDs.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Log
+public class LivroImportacaoCopyDAOImpl implements ILivroImportacaoDAO {
+
+    private static final String SEQUENCIA_AUTOR = "SEQ_AUTOR";
+    private static final String SEQUENCIA_EDITORA = "SEQ_EDITORA";
+    private static final String SEQUENCIA_LIVRO = "SEQ_LIVRO";
+
+    private static final List<String> COMANDOS_TABELAS_CARGA = Arrays.asList(
+            "CREATE TEMP TABLE IF NOT EXISTS IMPORTACAO_EDITORA (ID INTEGER, NOME VARCHAR, CNPJ VARCHAR) ON COMMIT DELETE ROWS",
+            "CREATE TEMP TABLE IF NOT EXISTS IMPORTACAO_AUTOR (ID INTEGER, NOME VARCHAR, IDADE INTEGER, DATA_NASCIMENTO DATE, "
+                    + "DATA_MORTE DATE, BIOGRAFIA VARCHAR) ON COMMIT DELETE ROWS",
+            "CREATE TEMP TABLE IF NOT EXISTS IMPORTACAO_LIVRO (ID INTEGER, TITULO VARCHAR, DATA_PUBLICACAO DATE, ISBN_10 VARCHAR, "
+                    + "ISBN_13 VARCHAR, GENERO VARCHAR, FK_EDITORA INTEGER) ON COMMIT DELETE ROWS",
+            "CREATE TEMP TABLE IF NOT EXISTS IMPORTACAO_LIVRO_AUTOR (FK_LIVRO INTEGER, FK_AUTOR INTEGER) ON COMMIT DELETE ROWS");
+
+    private static final String COPY_EDITORA = "COPY IMPORTACAO_EDITORA (ID, NOME, CNPJ) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_AUTOR = "COPY IMPORTACAO_AUTOR (ID, NOME, IDADE, DATA_NASCIMENTO, DATA_MORTE, BIOGRAFIA) "
+            + "FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_LIVRO = "COPY IMPORTACAO_LIVRO (ID, TITULO, DATA_PUBLICACAO, ISBN_10, ISBN_13, GENERO, FK_EDITORA) "
+            + "FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_LIVRO_AUTOR = "COPY IMPORTACAO_LIVRO_AUTOR (FK_LIVRO, FK_AUTOR) FROM STDIN WITH (FORMAT csv)";
+
+    private static final List<String> COMANDOS_MESCLAGEM = Arrays.asList(
+            "INSERT INTO EDITORA (ID, NOME, CNPJ) SELECT ID, NOME, CNPJ FROM IMPORTACAO_EDITORA "
+                    + "ON CONFLICT (ID) DO UPDATE SET NOME = EXCLUDED.NOME, CNPJ = EXCLUDED.CNPJ",
+            "INSERT INTO AUTOR (ID, NOME, IDADE, DATA_NASCIMENTO, DATA_MORTE, BIOGRAFIA) "
+                    + "SELECT ID, NOME, IDADE, DATA_NASCIMENTO, DATA_MORTE, BIOGRAFIA FROM IMPORTACAO_AUTOR "
+                    + "ON CONFLICT (ID) DO UPDATE SET NOME = EXCLUDED.NOME, IDADE = EXCLUDED.IDADE, "
+                    + "DATA_NASCIMENTO = EXCLUDED.DATA_NASCIMENTO, DATA_MORTE = EXCLUDED.DATA_MORTE, BIOGRAFIA = EXCLUDED.BIOGRAFIA",
+            "INSERT INTO LIVRO (ID, TITULO, DATA_PUBLICACAO, ISBN_10, ISBN_13, GENERO, FK_EDITORA) "
+                    + "SELECT ID, TITULO, DATA_PUBLICACAO, ISBN_10, ISBN_13, GENERO, FK_EDITORA FROM IMPORTACAO_LIVRO "
+                    + "ON CONFLICT (ID) DO UPDATE SET TITULO = EXCLUDED.TITULO, DATA_PUBLICACAO = EXCLUDED.DATA_PUBLICACAO, "
+                    + "ISBN_10 = EXCLUDED.ISBN_10, ISBN_13 = EXCLUDED.ISBN_13, GENERO = EXCLUDED.GENERO, FK_EDITORA = EXCLUDED.FK_EDITORA",
+            "DELETE FROM LIVRO_AUTOR WHERE FK_LIVRO IN (SELECT ID FROM IMPORTACAO_LIVRO)",
+            "INSERT INTO LIVRO_AUTOR (FK_LIVRO, FK_AUTOR) SELECT DISTINCT FK_LIVRO, FK_AUTOR FROM IMPORTACAO_LIVRO_AUTOR");
+
+    private final Map<String, BlocoIds> blocosPorSequencia = new HashMap<>();
+
+    /**
+     * Método responsável por salvar/atualizar, em uma única transação, os Autores, as Editoras e os Livros de um lote da importação.
+     * <p>
+     * As novas entidades recebem os IDs reservados nas sequências antes da carga, para que os Livros possam referenciar os novos Autores
+     * e Editoras do mesmo lote. Os vínculos entre Livros e Autores dos Livros do lote são substituídos pelos vínculos atuais deles.
+     *
+     * @throws ValidacaoException caso ocorra algum erro ao salvar o lote. Nenhum dado do lote é salvo neste caso, e as novas entidades
+     *                            voltam a ficar sem ID.
+     */
+    @Override
+    public void salvarLote(Collection<Autor> autores, Collection<Editora> editoras, Collection<Livro> livros) {
+        List<Autor> autoresNovos = new ArrayList<>();
+        List<Editora> editorasNovas = new ArrayList<>();
+        List<Livro> livrosNovos = new ArrayList<>();
+        try (Connection conexao = getConexao()) {
+            conexao.setAutoCommit(false);
+            try {
+                this.atribuirIds(conexao, autores, editoras, livros, autoresNovos, editorasNovas, livrosNovos);
+                executarComandos(conexao, COMANDOS_TABELAS_CARGA);
+
+                CopyManager copyManager = conexao.unwrap(PGConnection.class).getCopyAPI();
+                copyManager.copyIn(COPY_EDITORA, new StringReader(montarCargaEditoras(editoras)));
+                copyManager.copyIn(COPY_AUTOR, new StringReader(montarCargaAutores(autores)));
+                copyManager.copyIn(COPY_LIVRO, new StringReader(montarCargaLivros(livros)));
+                copyManager.copyIn(COPY_LIVRO_AUTOR, new StringReader(montarCargaLivrosAutores(livros)));
+                executarComandos(conexao, COMANDOS_MESCLAGEM);
+
+                conexao.commit();
+            } catch (SQLException | IOException | RuntimeException ex) {
+                conexao.rollback();
+                throw ex;
+            } finally {
+                conexao.setAutoCommit(true);
+            }
+        } catch (Exception ex) {
+            autoresNovos.forEach(autor -> autor.setId(null));
+            editorasNovas.forEach(editora -> editora.setId(null));
+            livrosNovos.forEach(livro -> livro.setId(null));
+            log.severe(ex.getMessage());
+            throw new ValidacaoException(format("Erro ao salvar o lote da importação: %s", ex.getMessage()));
+        }
+    }
+
+    /**
+     * Método responsável por atribuir os IDs reservados nas sequências às entidades do lote que ainda não possuem ID.
+     */
+    private void atribuirIds(Connection conexao, Collection<Autor> autores, Collection<Editora> editoras, Collection<Livro> livros,
+                             List<Autor> autoresNovos, List<Editora> editorasNovas, List<Livro> livrosNovos) throws SQLException {
+        for (Autor autor : autores) {
+            if (autor.getId() == null) {
+                autor.setId(this.reservarId(conexao, SEQUENCIA_AUTOR));
+                autoresNovos.add(autor);
+            }
+        }
+        for (Editora editora : editoras) {
+            if (editora.getId() == null) {
+                editora.setId(this.reservarId(conexao, SEQUENCIA_EDITORA));
+                editorasNovas.add(editora);
+            }
+        }
+        for (Livro livro : livros) {
+            if (livro.getId() == null) {
+                livro.setId(this.reservarId(conexao, SEQUENCIA_LIVRO));
+                livrosNovos.add(livro);
+            }
+        }
+    }
+
+    /**
+     * Método responsável por entregar o próximo ID do bloco reservado da sequência, reservando um novo bloco quando o atual terminar.
+     * <p>
+     * Assim como no otimizador pooled do Hibernate, o valor retornado pela sequência é o último ID do bloco, e o tamanho do bloco
+     * é o incremento da sequência no banco de dados.
+     *
+     * @return o ID reservado.
+     */
+    private synchronized Integer reservarId(Connection conexao, String sequencia) throws SQLException {
+        BlocoIds bloco = blocosPorSequencia.get(sequencia);
+        if (bloco == null || bloco.proximo > bloco.ultimo) {
+            long ultimo = buscarProximoValor(conexao, sequencia);
+            long primeiro = Math.max(1, ultimo - buscarIncremento(conexao, sequencia) + 1);
+            bloco = new BlocoIds(primeiro, ultimo);
+            blocosPorSequencia.put(sequencia, bloco);
+        }
+        return Math.toIntExact(bloco.proximo++);
+    }
+
+    private static long buscarProximoValor(Connection conexao, String sequencia) throws SQLException {
+        try (Statement statement = conexao.createStatement();
+             ResultSet resultSet = statement.executeQuery(format("SELECT nextval('%s')", sequencia))) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static long buscarIncremento(Connection conexao, String sequencia) throws SQLException {
+        try (PreparedStatement statement = conexao.prepareStatement(
+                "SELECT increment_by FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = ?")) {
+            statement.setString(1, sequencia.toLowerCase(Locale.ROOT));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 1;
+            }
+        }
+    }
+
+    private static void executarComandos(Connection conexao, List<String> comandos) throws SQLException {
+        try (Statement statement = conexao.createStatement()) {
+            for (String comando : comandos) {
+                statement.execute(comando);
+            }
+        }
+    }
+
+    private static String montarCargaEditoras(Collection<Editora> editoras) {
+        StringBuilder carga = new StringBuilder();
+        for (Editora editora : editoras) {
+            adicionarLinha(carga, editora.getId(), editora.getNome(), editora.getCnpj());
+        }
+        return carga.toString();
+    }
+
+    private static String montarCargaAutores(Collection<Autor> autores) {
+        StringBuilder carga = new StringBuilder();
+        for (Autor autor : autores) {
+            adicionarLinha(carga, autor.getId(), autor.getNome(), autor.getIdade(), autor.getDataNascimento(), autor.getDataMorte(),
+                    autor.getBiografia());
+        }
+        return carga.toString();
+    }
+
+    private static String montarCargaLivros(Collection<Livro> livros) {
+        StringBuilder carga = new StringBuilder();
+        for (Livro livro : livros) {
+            adicionarLinha(carga, livro.getId(), livro.getTitulo(), livro.getDataPublicacao(), livro.getIsbn10(), livro.getIsbn13(),
+                    livro.getGenero() != null ? livro.getGenero().name() : null,
+                    livro.getEditora() != null ? livro.getEditora().getId() : null);
+        }
+        return carga.toString();
+    }
+
+    private static String montarCargaLivrosAutores(Collection<Livro> livros) {
+        StringBuilder carga = new StringBuilder();
+        for (Livro livro : livros) {
+            if (livro.getAutores() != null) {
+                for (Autor autor : livro.getAutores()) {
+                    adicionarLinha(carga, livro.getId(), autor.getId());
+                }
+            }
+        }
+        return carga.toString();
+    }
+
+    /**
+     * Método responsável por adicionar uma linha no formato CSV do COPY. Os valores nulos ficam vazios e sem aspas, e os textos ficam
+     * sempre entre aspas, para que um texto vazio não seja carregado como nulo. As datas ficam no formato ISO (yyyy-MM-dd).
+     */
+    private static void adicionarLinha(StringBuilder carga, Object... valores) {
+        for (int indice = 0; indice < valores.length; indice++) {
+            if (indice > 0) {
+                carga.append(',');
+            }
+            Object valor = valores[indice];
+            if (valor instanceof String) {
+                carga.append('"').append(((String) valor).replace("\"", "\"\"")).append('"');
+            } else if (valor != null) {
+                carga.append(valor);
+            }
+        }
+        carga.append('\n');
+    }
+
+    /**
+     * Bloco de IDs reservado em uma sequência, do próximo ID a ser entregue até o último ID do bloco.
+     */
+    private static class BlocoIds {
+
+        private long proximo;
+        private final long ultimo;
+
+        private BlocoIds(long proximo, long ultimo) {
+            this.proximo = proximo;
+            this.ultimo = ultimo;
+        }
+    }
+}
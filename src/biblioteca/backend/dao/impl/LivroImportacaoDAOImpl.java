@@ -0,0 +1,89 @@
+package biblioteca.backend.dao.impl;
+
+import biblioteca.backend.dao.contract.ILivroImportacaoDAO;
+import biblioteca.backend.exceptions.ValidacaoException;
+import biblioteca.backend.model.Autor;
+import biblioteca.backend.model.Editora;
+import biblioteca.backend.model.Livro;
+import lombok.extern.java.Log;
+
+import javax.persistence.EntityManager;
+import java.util.Collection;
+
+import static biblioteca.backend.utils.JpaUtil.*;
+import static java.lang.String.format;
+
+/**
+ * Classe responsável por implementar a lógica das transações em lote realizadas no banco de dados durante a importação de Livros.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Log
+public class LivroImportacaoDAOImpl implements ILivroImportacaoDAO {
+
+    /**
+     * Método responsável por salvar/atualizar, em uma única transação, os Autores, as Editoras e os Livros de um lote da importação.
+     * <p>
+     * As entidades são enviadas ao banco a cada bloco do tamanho do lote JDBC configurado, para que o Hibernate agrupe os
+     * comandos em batch e o contexto de persistência não cresça durante o lote.
+     *
+     * @throws ValidacaoException caso ocorra algum erro ao salvar o lote. Nenhum dado do lote é salvo neste caso.
+     */
+    @Override
+    public void salvarLote(Collection<Autor> autores, Collection<Editora> editoras, Collection<Livro> livros) {
+        EntityManager entityManager = getEntityManager();
+        try {
+            iniciarTransacao(entityManager);
+            int tamanhoLoteJdbc = getTamanhoLoteJdbc();
+            int operacoes = 0;
+
+            for (Autor autor : autores) {
+                salvarEntidade(entityManager, autor, autor.getId());
+                operacoes = enviarLoteSeNecessario(entityManager, ++operacoes, tamanhoLoteJdbc);
+            }
+            for (Editora editora : editoras) {
+                salvarEntidade(entityManager, editora, editora.getId());
+                operacoes = enviarLoteSeNecessario(entityManager, ++operacoes, tamanhoLoteJdbc);
+            }
+            for (Livro livro : livros) {
+                salvarEntidade(entityManager, livro, livro.getId());
+                operacoes = enviarLoteSeNecessario(entityManager, ++operacoes, tamanhoLoteJdbc);
+            }
+
+            commitarTransacao(entityManager);
+        } catch (Exception ex) {
+            desfazerAlteracoesTransacao(entityManager);
+            log.severe(ex.getMessage());
+            throw new ValidacaoException(format("Erro ao salvar o lote da importação: %s", ex.getMessage()));
+        } finally {
+            fecharTransacao(entityManager);
+        }
+    }
+
+    /**
+     * Método responsável por persistir a entidade caso ela ainda não possua ID, ou atualizar caso já possua.
+     */
+    private static void salvarEntidade(EntityManager entityManager, Object entidade, Integer id) {
+        if (id == null) {
+            entityManager.persist(entidade);
+        } else {
+            entityManager.merge(entidade);
+        }
+    }
+
+    /**
+     * Método responsável por enviar ao banco as operações acumuladas e limpar o contexto de persistência,
+     * sempre que a quantidade de operações atingir o tamanho do lote JDBC.
+     *
+     * @return a quantidade de operações pendentes após o envio.
+     */
+    private static int enviarLoteSeNecessario(EntityManager entityManager, int operacoes, int tamanhoLoteJdbc) {
+        if (operacoes < tamanhoLoteJdbc) {
+            return operacoes;
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return 0;
+    }
+}
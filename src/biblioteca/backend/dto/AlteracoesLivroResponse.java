@@ -0,0 +1,29 @@
+package biblioteca.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Classe DTO que representa os Livros incluídos, alterados e excluídos desde uma versão, para atualizar apenas as linhas alteradas das telas.
+ * <p>
+ * Quando as alterações da versão informada não estão mais disponíveis, recarregarTudo é true e as listas ficam vazias.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlteracoesLivroResponse {
+
+    private long versao;
+    private boolean recarregarTudo;
+    private List<LivroResponse> incluidos;
+    private List<LivroResponse> alterados;
+    private List<Integer> excluidos;
+}
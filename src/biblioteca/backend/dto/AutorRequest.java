@@ -33,7 +33,7 @@ public class AutorRequest {
      *
      * @return Um AutorRequest convertido de um OpenLibraryAutorResponse.
      */
-    private static AutorRequest converterDeOpenLibraryAutorResponse(OpenLibraryAutorResponse openLibraryAutorResponse) {
+    public static AutorRequest converterDeOpenLibraryAutorResponse(OpenLibraryAutorResponse openLibraryAutorResponse) {
         return AutorRequest.builder()
                 .nome(openLibraryAutorResponse.getNome())
                 .dataNascimento(mapearData(openLibraryAutorResponse.getDataNascimento()))
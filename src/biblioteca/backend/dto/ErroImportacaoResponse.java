@@ -0,0 +1,33 @@
+package biblioteca.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import static java.lang.String.format;
+
+/**
+ * Classe DTO que representa um erro encontrado em uma linha do arquivo de importação de Livros.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErroImportacaoResponse {
+
+    private Integer numeroLinha;
+    private String mensagem;
+
+    /**
+     * Método responsável por montar a descrição do erro para ser exibida nas telas.
+     *
+     * @return A descrição do erro com o número da linha. Ex: "Linha 12: Gênero não mapeado no sistema: XPTO".
+     */
+    public String getDescricao() {
+        return format("Linha %d: %s", numeroLinha, mensagem);
+    }
+}
@@ -0,0 +1,67 @@
+package biblioteca.backend.dto;
+
+import biblioteca.backend.enums.ESituacaoCadastroIsbn;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Classe DTO que representa o resultado do cadastro de Livros por lista de ISBNs, retornado para as telas.
+ * <p>
+ * Os resultados ficam na mesma ordem dos ISBNs informados, com um resultado para cada ISBN.
+ * Um cadastro cancelado contém apenas os resultados dos lotes que foram processados antes do cancelamento.
+ * O resumo da Open Library traz os contadores das requisições, do limitador de taxa e do circuito ao fim do cadastro.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LivroCadastroIsbnResponse {
+
+    private long tempoEmMillis;
+    private boolean cancelado;
+    private String resumoOpenLibrary;
+    @Builder.Default
+    private List<ResultadoCadastroIsbnResponse> resultados = new ArrayList<>();
+
+    /**
+     * Método responsável por adicionar ao resultado os resultados de um lote de ISBNs processado.
+     */
+    public void adicionarResultados(List<ResultadoCadastroIsbnResponse> resultadosLote) {
+        this.resultados.addAll(resultadosLote);
+    }
+
+    /**
+     * Método responsável por contar os ISBNs que terminaram na situação informada.
+     *
+     * @return a quantidade de ISBNs na situação.
+     */
+    public long getQuantidade(ESituacaoCadastroIsbn situacao) {
+        return resultados.stream()
+                .filter(resultado -> resultado.getSituacao() == situacao)
+                .count();
+    }
+
+    /**
+     * Método responsável por montar o resumo do cadastro para ser exibido nas telas e nos logs.
+     *
+     * @return o resumo do cadastro.
+     */
+    public String getResumo() {
+        return format("%s%d ISBNs processados (%d cadastrados, %d já cadastrados, %d não encontrados, %d inválidos, %d repetidos, %d com erro) em %.1f s.",
+                cancelado ? "Cadastro cancelado: " : "", resultados.size(),
+                getQuantidade(ESituacaoCadastroIsbn.CADASTRADO), getQuantidade(ESituacaoCadastroIsbn.JA_CADASTRADO),
+                getQuantidade(ESituacaoCadastroIsbn.NAO_ENCONTRADO), getQuantidade(ESituacaoCadastroIsbn.INVALIDO),
+                getQuantidade(ESituacaoCadastroIsbn.REPETIDO), getQuantidade(ESituacaoCadastroIsbn.ERRO),
+                tempoEmMillis / 1000.0);
+    }
+}
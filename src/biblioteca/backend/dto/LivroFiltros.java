@@ -8,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Classe DTO que representa os dados de filtros da listagem de Livro
@@ -30,6 +31,7 @@ public class LivroFiltros {
     private Integer autorId;
     private Integer idLivroParecido;
     private String tituloLivroParecido;
+    private String texto;
 
     /**
      * Método responsável montar todo o predicate que será utilizar na listagem filtrada dos Livros, de acordo com os filtros recebidos.
@@ -37,7 +39,18 @@ public class LivroFiltros {
      * @return a classe PredicateResult, que contém todos os filtros que serão adicionados na listagem filtrada.
      */
     public PredicateResult toPredicate() {
+        return toPredicate(null);
+    }
+
+    /**
+     * Método responsável montar todo o predicate da listagem filtrada dos Livros, restrita aos Livros encontrados pela busca textual.
+     *
+     * @param idsBuscaTextual os IDs dos Livros encontrados pela busca do filtro de texto, ou null caso o filtro não tenha sido informado.
+     * @return a classe PredicateResult, que contém todos os filtros que serão adicionados na listagem filtrada.
+     */
+    public PredicateResult toPredicate(List<Integer> idsBuscaTextual) {
         return new LivroPredicate()
+                .comIds(idsBuscaTextual)
                 .comId(this.id)
                 .comTitulo(this.titulo)
                 .comDataPublicacao(this.dataPublicacao)
@@ -1,6 +1,7 @@
 package biblioteca.backend.dto;
 
 import biblioteca.backend.enums.EGenero;
+import biblioteca.backend.utils.TokenizadorCsv;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,7 +10,7 @@ import lombok.extern.java.Log;
 
 import java.time.LocalDate;
 
-import static biblioteca.utils.MapUtils.mapStringBlankNull;
+import static biblioteca.utils.MapUtils.mapNull;
 import static biblioteca.utils.StringUtils.mapearData;
 
 /**
@@ -36,25 +37,29 @@ public class LivroImportacaoDto {
     private LocalDate dataNascimentoAutor;
     private LocalDate dataMorteAutor;
     private String biografiaAutor;
+    private Integer numeroLinha;
+    private String avisos;
 
     /**
-     * Método responsável converter o array de campos de uma linha do arquivo de importação, na classe DTO LivroImportacaoDto.
+     * Método responsável por converter os campos do registro tokenizado de uma linha do arquivo de importação, na classe DTO LivroImportacaoDto.
+     * <p>
+     * Os campos são lidos diretamente do buffer do tokenizador, e os campos em branco são mapeados para null sem criar nenhuma String.
      *
      * @return Uma LivroImportacaoDto.
      */
-    public static LivroImportacaoDto converterDeArrayString(String[] camposLinha) {
+    public static LivroImportacaoDto converterDeRegistro(TokenizadorCsv registro) {
         return LivroImportacaoDto.builder()
-                .titulo(camposLinha[0])
-                .dataPublicacao(mapearData(camposLinha[1]))
-                .isbn10(mapStringBlankNull(camposLinha[2], isbn -> isbn))
-                .isbn13(mapStringBlankNull(camposLinha[3], isbn -> isbn))
-                .genero(mapStringBlankNull(camposLinha[4], EGenero::valueOfName))
-                .nomeEditora(mapStringBlankNull(camposLinha[5], nomeEditora -> nomeEditora))
-                .cnpjEditora(mapStringBlankNull(camposLinha[6], cnpjEditora -> cnpjEditora))
-                .nomeAutor(mapStringBlankNull(camposLinha[7], nomeAutor -> nomeAutor))
-                .dataNascimentoAutor(mapearData(camposLinha[8]))
-                .dataMorteAutor(mapearData(camposLinha[9]))
-                .biografiaAutor(mapStringBlankNull(camposLinha[10], biografia -> biografia))
+                .titulo(registro.getCampo(0))
+                .dataPublicacao(mapearData(registro.getCampoPreenchido(1)))
+                .isbn10(registro.getCampoPreenchido(2))
+                .isbn13(registro.getCampoPreenchido(3))
+                .genero(mapNull(registro.getCampoPreenchido(4), EGenero::valueOfName))
+                .nomeEditora(registro.getCampoPreenchido(5))
+                .cnpjEditora(registro.getCampoPreenchido(6))
+                .nomeAutor(registro.getCampoPreenchido(7))
+                .dataNascimentoAutor(mapearData(registro.getCampoPreenchido(8)))
+                .dataMorteAutor(mapearData(registro.getCampoPreenchido(9)))
+                .biografiaAutor(registro.getCampoPreenchido(10))
                 .build();
     }
 }
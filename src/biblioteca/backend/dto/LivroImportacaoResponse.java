@@ -0,0 +1,120 @@
+package biblioteca.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Classe DTO que representa o resultado da importação de Livros por arquivo, retornado para as telas.
+ * <p>
+ * Apenas os primeiros erros são guardados com detalhes, para que um arquivo com muitas linhas inválidas não ocupe muita memória.
+ * A quantidade total de linhas rejeitadas é sempre contabilizada.
+ * <p>
+ * Uma importação cancelada contém apenas os totais dos lotes que foram gravados antes do cancelamento.
+ * Uma importação retomada contém apenas os totais das linhas importadas a partir da linha em que ela foi retomada.
+ * Na validação do arquivo (simulação), os totais indicam o que a importação faria, e nada é gravado no banco de dados.
+ * As linhas que a importação aceitaria, mas que possuem uma data, um CNPJ ou um dígito verificador de ISBN inválido, são contabilizadas como avisos.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LivroImportacaoResponse {
+
+    private static final int LIMITE_ERROS_DETALHADOS = 1000;
+
+    private long linhasLidas;
+    private long livrosInseridos;
+    private long livrosAtualizados;
+    private long linhasRejeitadas;
+    private long linhasComAviso;
+    private long tempoEmMillis;
+    private boolean cancelada;
+    private int linhaRetomada;
+    private boolean simulacao;
+    private String arquivoRelatorioErros;
+    @Builder.Default
+    private List<ErroImportacaoResponse> erros = new ArrayList<>();
+
+    /**
+     * Método responsável por somar ao resultado os totais de um lote processado da importação.
+     */
+    public void adicionarLote(int inseridosLote, int atualizadosLote) {
+        this.linhasLidas += inseridosLote + atualizadosLote;
+        this.livrosInseridos += inseridosLote;
+        this.livrosAtualizados += atualizadosLote;
+    }
+
+    /**
+     * Método responsável por registrar no resultado uma linha rejeitada da importação.
+     */
+    public void adicionarErro(ErroImportacaoResponse erro) {
+        this.linhasLidas++;
+        this.linhasRejeitadas++;
+        if (this.erros.size() < LIMITE_ERROS_DETALHADOS) {
+            this.erros.add(erro);
+        }
+    }
+
+    /**
+     * Método responsável por registrar no resultado da validação uma linha que seria importada, mas que possui algum aviso.
+     */
+    public void adicionarAviso() {
+        this.linhasComAviso++;
+    }
+
+    /**
+     * Método responsável por verificar se alguma linha foi rejeitada durante a importação.
+     *
+     * @return true se alguma linha foi rejeitada. false se todas as linhas foram importadas.
+     */
+    public boolean possuiErros() {
+        return this.linhasRejeitadas > 0;
+    }
+
+    /**
+     * Método responsável por verificar se a importação foi retomada a partir do ponto em que uma importação anterior do mesmo arquivo parou.
+     *
+     * @return true se a importação foi retomada. false se o arquivo foi importado desde a primeira linha.
+     */
+    public boolean isRetomada() {
+        return this.linhaRetomada > 0;
+    }
+
+    /**
+     * Método responsável por calcular a vazão da importação.
+     *
+     * @return a quantidade de linhas processadas por segundo.
+     */
+    public double getLinhasPorSegundo() {
+        return tempoEmMillis > 0
+                ? linhasLidas * 1000.0 / tempoEmMillis
+                : linhasLidas;
+    }
+
+    /**
+     * Método responsável por montar o resumo da importação para ser exibido nas telas e nos logs.
+     *
+     * @return o resumo da importação.
+     */
+    public String getResumo() {
+        if (simulacao) {
+            return format("%s: %d linhas lidas (%d livros seriam inseridos, %d atualizados, %d linhas com erro, %d linhas com aviso) em %.1f s - %.0f linhas/s.",
+                    cancelada ? "Validação cancelada" : "Validação", linhasLidas, livrosInseridos, livrosAtualizados, linhasRejeitadas,
+                    linhasComAviso, tempoEmMillis / 1000.0, getLinhasPorSegundo());
+        }
+        return format("%s%s%d linhas lidas (%d livros inseridos, %d atualizados, %d linhas rejeitadas) em %.1f s - %.0f linhas/s.",
+                cancelada ? "Importação cancelada: " : "",
+                isRetomada() ? format("Importação retomada a partir da linha %d: ", linhaRetomada) : "", linhasLidas, livrosInseridos, livrosAtualizados, linhasRejeitadas,
+                tempoEmMillis / 1000.0, getLinhasPorSegundo());
+    }
+}
@@ -0,0 +1,53 @@
+package biblioteca.backend.dto;
+
+import biblioteca.backend.model.Autor;
+import biblioteca.backend.model.Livro;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Classe DTO que representa os dados de um Livro utilizados pelo índice de busca em memória.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LivroIndiceBuscaDto {
+
+    private Integer id;
+    private String titulo;
+    private String isbn10;
+    private String isbn13;
+    private String nomeEditora;
+    private List<String> nomesAutores;
+
+    /**
+     * Método responsável por converter um Livro nos dados utilizados pelo índice de busca.
+     * <p>
+     * A Editora e os Autores do Livro devem estar carregados.
+     *
+     * @return os dados do Livro para o índice de busca.
+     */
+    public static LivroIndiceBuscaDto converterDeLivro(Livro livro) {
+        return LivroIndiceBuscaDto.builder()
+                .id(livro.getId())
+                .titulo(livro.getTitulo())
+                .isbn10(livro.getIsbn10())
+                .isbn13(livro.getIsbn13())
+                .nomeEditora(livro.getEditora() != null ? livro.getEditora().getNome() : null)
+                .nomesAutores(livro.getAutores() != null
+                        ? livro.getAutores().stream().map(Autor::getNome).collect(toList())
+                        : new ArrayList<>())
+                .build();
+    }
+}
@@ -8,7 +8,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static biblioteca.utils.MapUtils.mapNullComBackup;
@@ -53,4 +55,20 @@ public class OpenLibraryLivroResponse {
                         .collect(Collectors.toList()),
                 Collections.emptyList());
     }
+
+    /**
+     * Método responsável por juntar todos os ISBNs 10 e ISBNs 13 do livro.
+     *
+     * @return Os ISBNs do livro.
+     */
+    public Set<String> getIsbns() {
+        Set<String> isbns = new LinkedHashSet<>();
+        if (this.isbn10 != null) {
+            isbns.addAll(this.isbn10);
+        }
+        if (this.isbn13 != null) {
+            isbns.addAll(this.isbn13);
+        }
+        return isbns;
+    }
 }
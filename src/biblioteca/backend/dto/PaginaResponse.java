@@ -0,0 +1,48 @@
+package biblioteca.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Classe DTO que representa uma página de registros retornada para as telas, na paginação por chave (keyset).
+ * <p>
+ * A próxima página é buscada a partir do último ID da página atual, sem a necessidade de contar ou pular os registros anteriores.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaResponse<T> {
+
+    private List<T> itens;
+    private Integer ultimoId;
+    private boolean possuiProximaPagina;
+
+    /**
+     * Método responsável por montar a página a partir dos registros buscados com um registro a mais que o limite,
+     * que indica apenas que existe uma próxima página.
+     *
+     * @param registros os registros buscados, ordenados pelo ID, com no máximo um registro a mais que o limite.
+     * @param aposId    o último ID da página anterior, mantido como último ID caso a página esteja vazia.
+     * @return a página com os registros convertidos, limitada à quantidade informada.
+     */
+    public static <E, T> PaginaResponse<T> montar(List<E> registros, int limite, Integer aposId, Function<E, T> converter,
+                                                  Function<E, Integer> getId) {
+        List<E> registrosPagina = registros.size() > limite ? registros.subList(0, limite) : registros;
+        return PaginaResponse.<T>builder()
+                .itens(registrosPagina.stream().map(converter).collect(toList()))
+                .ultimoId(registrosPagina.isEmpty() ? aposId : getId.apply(registrosPagina.get(registrosPagina.size() - 1)))
+                .possuiProximaPagina(registros.size() > limite)
+                .build();
+    }
+}
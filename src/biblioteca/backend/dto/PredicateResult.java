@@ -3,6 +3,7 @@ package biblioteca.backend.dto;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -16,4 +17,21 @@ import java.util.Map;
 public class PredicateResult {
     private final String whereClause;
     private final Map<String, Object> params;
+
+    /**
+     * Método responsável por restringir o predicate aos registros com ID maior que o ID informado, para a paginação por chave (keyset).
+     *
+     * @param campoId o campo do ID na consulta, com o alias da entidade.
+     * @param aposId  o último ID da página anterior, ou null para a primeira página.
+     * @return um novo PredicateResult com a condição adicionada, ou o próprio predicate caso o ID seja null.
+     */
+    public PredicateResult comAposId(String campoId, Integer aposId) {
+        if (aposId == null) {
+            return this;
+        }
+        Map<String, Object> novosParams = new HashMap<>(params);
+        novosParams.put("aposId", aposId);
+        String condicao = String.format("%s > :aposId ", campoId);
+        return new PredicateResult(whereClause.isEmpty() ? "WHERE " + condicao : whereClause + "AND " + condicao, novosParams);
+    }
 }
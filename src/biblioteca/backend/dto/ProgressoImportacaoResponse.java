@@ -0,0 +1,106 @@
+package biblioteca.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import static java.lang.String.format;
+
+/**
+ * Classe DTO que representa o andamento de uma importação de Livros por arquivo, publicado para as telas a cada lote gravado.
+ * <p>
+ * A quantidade de bytes lidos corresponde ao fim do último lote gravado, e é usada para calcular o percentual e o tempo restante
+ * estimado da importação. Em uma importação retomada, o tempo restante é estimado apenas com os bytes lidos desde a retomada.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressoImportacaoResponse {
+
+    private long linhasLidas;
+    private long livrosInseridos;
+    private long livrosAtualizados;
+    private long linhasRejeitadas;
+    private long bytesIniciais;
+    private long bytesLidos;
+    private long tamanhoArquivo;
+    private long tempoEmMillis;
+
+    /**
+     * Método responsável por montar o andamento da importação com os totais já gravados do resultado.
+     *
+     * @return um novo ProgressoImportacaoResponse.
+     */
+    public static ProgressoImportacaoResponse montarProgresso(LivroImportacaoResponse resultado, long bytesIniciais, long bytesLidos,
+                                                              long tamanhoArquivo, long tempoEmMillis) {
+        return ProgressoImportacaoResponse.builder()
+                .linhasLidas(resultado.getLinhasLidas())
+                .livrosInseridos(resultado.getLivrosInseridos())
+                .livrosAtualizados(resultado.getLivrosAtualizados())
+                .linhasRejeitadas(resultado.getLinhasRejeitadas())
+                .bytesIniciais(bytesIniciais)
+                .bytesLidos(Math.min(bytesLidos, tamanhoArquivo))
+                .tamanhoArquivo(tamanhoArquivo)
+                .tempoEmMillis(tempoEmMillis)
+                .build();
+    }
+
+    /**
+     * Método responsável por calcular a vazão da importação até o momento.
+     *
+     * @return a quantidade de linhas processadas por segundo.
+     */
+    public double getLinhasPorSegundo() {
+        return tempoEmMillis > 0
+                ? linhasLidas * 1000.0 / tempoEmMillis
+                : linhasLidas;
+    }
+
+    /**
+     * Método responsável por calcular o percentual do arquivo que já foi lido.
+     *
+     * @return o percentual lido do arquivo, de 0 a 100.
+     */
+    public int getPercentual() {
+        return tamanhoArquivo > 0
+                ? (int) (bytesLidos * 100 / tamanhoArquivo)
+                : 0;
+    }
+
+    /**
+     * Método responsável por estimar o tempo restante da importação, de acordo com a parte do arquivo lida desde o início da importação.
+     *
+     * @return o tempo restante estimado, ou -1 caso ainda não seja possível estimar.
+     */
+    public long getTempoRestanteEmMillis() {
+        long bytesLidosNaImportacao = bytesLidos - bytesIniciais;
+        if (bytesLidosNaImportacao <= 0 || tamanhoArquivo <= 0) {
+            return -1;
+        }
+        return (long) (tempoEmMillis * ((double) (tamanhoArquivo - bytesLidos) / bytesLidosNaImportacao));
+    }
+
+    /**
+     * Método responsável por montar o resumo do andamento da importação para ser exibido nas telas.
+     *
+     * @return o resumo do andamento da importação.
+     */
+    public String getResumo() {
+        long tempoRestante = getTempoRestanteEmMillis();
+        return format("%d linhas lidas (%d inseridos, %d atualizados, %d rejeitadas) - %.0f linhas/s - restante: %s",
+                linhasLidas, livrosInseridos, livrosAtualizados, linhasRejeitadas, getLinhasPorSegundo(),
+                tempoRestante < 0 ? "calculando..." : formatarTempo(tempoRestante));
+    }
+
+    private static String formatarTempo(long millis) {
+        long segundos = (millis + 999) / 1000;
+        return segundos >= 60
+                ? format("%d min %02d s", segundos / 60, segundos % 60)
+                : format("%d s", segundos);
+    }
+}
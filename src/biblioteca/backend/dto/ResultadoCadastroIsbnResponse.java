@@ -0,0 +1,38 @@
+package biblioteca.backend.dto;
+
+import biblioteca.backend.enums.ESituacaoCadastroIsbn;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Classe DTO que representa o resultado de um ISBN no cadastro de Livros por lista de ISBNs.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoCadastroIsbnResponse {
+
+    private String isbn;
+    private ESituacaoCadastroIsbn situacao;
+    private String titulo;
+    private String mensagem;
+
+    /**
+     * Método responsável por montar o resultado de um ISBN que não possui Livro.
+     *
+     * @return o resultado do ISBN, com a situação e a mensagem informadas.
+     */
+    public static ResultadoCadastroIsbnResponse montarResultado(String isbn, ESituacaoCadastroIsbn situacao, String mensagem) {
+        return ResultadoCadastroIsbnResponse.builder()
+                .isbn(isbn)
+                .situacao(situacao)
+                .mensagem(mensagem)
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package biblioteca.backend.enums;
+
+/**
+ * Enum definido para representar os estados do circuito das requisições para a API da OPEN LIBRARY.
+ * <p>
+ * FECHADO: as requisições são enviadas normalmente.
+ * ABERTO: as requisições são recusadas sem serem enviadas, até o fim do tempo de espera do circuito.
+ * MEIO_ABERTO: uma única requisição de teste é enviada, para verificar se a API voltou a responder.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+public enum EEstadoCircuito {
+
+    FECHADO,
+    ABERTO,
+    MEIO_ABERTO
+}
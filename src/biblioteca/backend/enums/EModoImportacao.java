@@ -0,0 +1,38 @@
+package biblioteca.backend.enums;
+
+import biblioteca.backend.dto.SelectResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static biblioteca.backend.dto.SelectResponse.montarSelectResponse;
+
+/**
+ * Enum definido para representar as formas de gravação dos lotes da importação de Livros no banco de dados.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Getter
+@AllArgsConstructor
+public enum EModoImportacao {
+
+    JPA("Padrão (JPA)"),
+    COPY("Carga rápida (PostgreSQL COPY)");
+
+    private final String descricao;
+
+    /**
+     * Método responsável mapear os valores do enum para o DTO SelectResponse.
+     *
+     * @return Uma lista de SelectResponse.
+     */
+    public static List<SelectResponse> getValuesParaSelect() {
+        return Arrays.stream(EModoImportacao.values())
+                .map(modo -> montarSelectResponse(modo, modo.descricao))
+                .collect(Collectors.toList());
+    }
+}
@@ -1,26 +1,28 @@
 package biblioteca.backend.enums;
 
 import biblioteca.backend.exceptions.ValidacaoException;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 import java.time.LocalDate;
 import java.time.Year;
 import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.lang.String.format;
 import static java.util.Locale.ENGLISH;
 
 /**
  * Enum definido para representar alguns formatos de datas para realizar o mapeamento.
+ * <p>
+ * Os formatadores de cada padrão são criados uma única vez, e o padrão de uma data é identificado pelo formato dos seus caracteres
+ * (dígitos, letras e separadores), para que a conversão de uma data válida não precise testar os padrões um a um.
  *
  * @author Bruno Cardoso
  * @version 1.0
  */
 @Getter
-@AllArgsConstructor
 public enum EPadraoData {
 
     PADRAO_DATA_D_MMMM_YYYY("d MMMM yyyy"),
@@ -31,28 +33,131 @@ public enum EPadraoData {
     PADRAO_DATA_DD_MM_YYYY("dd/MM/yyyy"),
     PADRAO_DATA_YYYY_MM_DD("yyyy-MM-dd");
 
+    private static final int TAMANHO_MAXIMO_CACHE = 1024;
+    private static final int TAMANHO_NOME_MES_ABREVIADO = 3;
+    private static final Map<String, Optional<LocalDate>> DATAS_CONVERTIDAS = new ConcurrentHashMap<>();
+
     private final String padrao;
+    private final DateTimeFormatter formatador;
+
+    EPadraoData(String padrao) {
+        this.padrao = padrao;
+        this.formatador = DateTimeFormatter.ofPattern(padrao, ENGLISH);
+    }
 
     /**
      * Método responsável por efetuar a conversão de uma data em String para uma das datas mapeadas no enum.
+     * <p>
+     * As últimas datas convertidas, inclusive as inválidas, ficam em um cache, já que os arquivos de importação costumam repetir as mesmas datas.
+     * Quando o cache atinge o tamanho máximo, ele é esvaziado e volta a guardar as próximas datas.
      *
      * @return Uma data convertida para LocalDate.
      * @throws ValidacaoException Caso a data em String não estiver em nenhum dos formatos já mapeados no enum.
      */
     public static LocalDate converterDataEmPadrao(String data) {
-        return Arrays.stream(EPadraoData.values())
-                .map(padraoData -> {
-                    try {
-                        return LocalDate.parse(data, DateTimeFormatter.ofPattern(padraoData.getPadrao(), ENGLISH));
-                    } catch (Exception ignored) {
-                        try {
-                            return Year.parse(data, DateTimeFormatter.ofPattern(padraoData.getPadrao())).atDay(1);
-                        } catch (Exception ignoredYearException) {
-                            return null;
-                        }
-                    }
-                }).filter(Objects::nonNull)
-                .findFirst()
+        if (data == null) {
+            throw new ValidacaoException(format("Formato informado não mapeado: %s", data));
+        }
+
+        Optional<LocalDate> dataConvertida = DATAS_CONVERTIDAS.get(data);
+        if (dataConvertida == null) {
+            dataConvertida = converterData(data);
+            if (DATAS_CONVERTIDAS.size() >= TAMANHO_MAXIMO_CACHE) {
+                DATAS_CONVERTIDAS.clear();
+            }
+            DATAS_CONVERTIDAS.put(data, dataConvertida);
+        }
+        return dataConvertida
                 .orElseThrow(() -> new ValidacaoException(format("Formato informado não mapeado: %s", data)));
     }
+
+    /**
+     * Método responsável por converter a data com o padrão identificado pelo formato dela.
+     * <p>
+     * Caso o padrão não seja identificado, ou a data não seja válida nele, todos os padrões são testados na ordem do enum.
+     *
+     * @return A data convertida, ou vazio caso a data não esteja em nenhum dos padrões mapeados.
+     */
+    private static Optional<LocalDate> converterData(String data) {
+        EPadraoData padraoIdentificado = identificarPadrao(data);
+        if (padraoIdentificado != null) {
+            try {
+                return Optional.of(padraoIdentificado.converter(data));
+            } catch (Exception ignored) {
+                // A data possui o formato do padrão, mas não é válida nele. Os demais padrões são testados abaixo.
+            }
+        }
+
+        for (EPadraoData padraoData : values()) {
+            if (padraoData == padraoIdentificado) {
+                continue;
+            }
+            try {
+                return Optional.of(padraoData.converter(data));
+            } catch (Exception ignored) {
+                // A data não está neste padrão.
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Método responsável por identificar o padrão de uma data pela sequência de dígitos, letras e separadores dela, sem realizar a conversão.
+     *
+     * @return O padrão identificado, ou null caso o formato da data não corresponda a nenhum padrão.
+     */
+    private static EPadraoData identificarPadrao(String data) {
+        if (data.isEmpty()) {
+            return null;
+        }
+        if (Character.isLetter(data.charAt(0))) {
+            return fimLetras(data, 0) == TAMANHO_NOME_MES_ABREVIADO ? PADRAO_DATA_MMM_D_YYYY : PADRAO_DATA_MMMM_D_YYYY;
+        }
+
+        int fimPrimeiroNumero = fimDigitos(data, 0);
+        if (fimPrimeiroNumero == 0) {
+            return null;
+        }
+        if (fimPrimeiroNumero == data.length()) {
+            return PADRAO_DATA_YYYY;
+        }
+        switch (data.charAt(fimPrimeiroNumero)) {
+            case '/':
+                return PADRAO_DATA_DD_MM_YYYY;
+            case '-':
+                return PADRAO_DATA_YYYY_MM_DD;
+            case ' ':
+                int inicioMes = fimPrimeiroNumero + 1;
+                return fimLetras(data, inicioMes) - inicioMes == TAMANHO_NOME_MES_ABREVIADO ? PADRAO_DATA_D_MMM_YYYY : PADRAO_DATA_D_MMMM_YYYY;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Método responsável por converter a data com o formatador do padrão. O padrão de ano é convertido para o primeiro dia do ano.
+     *
+     * @return A data convertida.
+     */
+    private LocalDate converter(String data) {
+        return this == PADRAO_DATA_YYYY
+                ? Year.parse(data, formatador).atDay(1)
+                : LocalDate.parse(data, formatador);
+    }
+
+    private static int fimDigitos(String data, int inicio) {
+        int posicao = inicio;
+        while (posicao < data.length() && data.charAt(posicao) >= '0' && data.charAt(posicao) <= '9') {
+            posicao++;
+        }
+        return posicao;
+    }
+
+    private static int fimLetras(String data, int inicio) {
+        int posicao = inicio;
+        while (posicao < data.length() && Character.isLetter(data.charAt(posicao))) {
+            posicao++;
+        }
+        return posicao;
+    }
 }
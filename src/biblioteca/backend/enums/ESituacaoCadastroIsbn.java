@@ -0,0 +1,24 @@
+package biblioteca.backend.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Enum definido para representar a situação de cada ISBN informado no cadastro de Livros por lista de ISBNs.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Getter
+@AllArgsConstructor
+public enum ESituacaoCadastroIsbn {
+
+    CADASTRADO("Cadastrado"),
+    JA_CADASTRADO("Já cadastrado"),
+    NAO_ENCONTRADO("Não encontrado"),
+    INVALIDO("ISBN inválido"),
+    REPETIDO("Repetido na lista"),
+    ERRO("Erro");
+
+    private final String descricao;
+}
@@ -0,0 +1,14 @@
+package biblioteca.backend.enums;
+
+/**
+ * Enum definido para representar os tipos de alteração registrados nos Livros do sistema.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+public enum ETipoAlteracao {
+
+    INCLUSAO,
+    ALTERACAO,
+    EXCLUSAO
+}
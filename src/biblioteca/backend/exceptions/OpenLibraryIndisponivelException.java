@@ -0,0 +1,18 @@
+package biblioteca.backend.exceptions;
+
+import java.io.IOException;
+
+/**
+ * Exception responsável por indicar que a requisição para a API da OPEN LIBRARY foi recusada sem ser enviada,
+ * porque a API está indisponível.
+ * <p>
+ * Estende IOException para que seja tratada pelo OkHttp como uma falha da requisição, tanto nas chamadas síncronas quanto nas assíncronas.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+public class OpenLibraryIndisponivelException extends IOException {
+    public OpenLibraryIndisponivelException(String message) {
+        super(message);
+    }
+}
@@ -3,6 +3,7 @@ package biblioteca.backend.facade;
 import biblioteca.backend.dto.AutorFiltros;
 import biblioteca.backend.dto.AutorRequest;
 import biblioteca.backend.dto.AutorResponse;
+import biblioteca.backend.dto.PaginaResponse;
 import biblioteca.backend.service.AutorService;
 import lombok.RequiredArgsConstructor;
 
@@ -52,11 +53,24 @@ public class AutorFacade {
     }
 
     /**
-     * Método responsável por buscar todos os autores do sistema de acordo com os filtros.
+     * Método responsável por buscar uma página de autores do sistema, a partir do último ID da página anterior.
+     * <p>
+     * Para buscar a primeira página, o ID deve ser null.
      *
-     * @return Uma lista de dados dos autores de acordo com os filtros.
+     * @return Uma página de dados dos autores.
      */
-    public List<AutorResponse> listarPorFiltros(AutorFiltros filtros) {
-        return autorService.listarTodosPorFiltros(filtros);
+    public PaginaResponse<AutorResponse> listarAutores(Integer aposId, int limite) {
+        return autorService.listar(aposId, limite);
+    }
+
+    /**
+     * Método responsável por buscar uma página de autores do sistema de acordo com os filtros, a partir do último ID da página anterior.
+     * <p>
+     * Para buscar a primeira página, o ID deve ser null.
+     *
+     * @return Uma página de dados dos autores de acordo com os filtros.
+     */
+    public PaginaResponse<AutorResponse> listarPorFiltros(AutorFiltros filtros, Integer aposId, int limite) {
+        return autorService.listarPorFiltros(filtros, aposId, limite);
     }
 }
@@ -3,6 +3,7 @@ package biblioteca.backend.facade;
 import biblioteca.backend.dto.EditoraFiltros;
 import biblioteca.backend.dto.EditoraRequest;
 import biblioteca.backend.dto.EditoraResponse;
+import biblioteca.backend.dto.PaginaResponse;
 import biblioteca.backend.service.EditoraService;
 import lombok.RequiredArgsConstructor;
 
@@ -52,11 +53,24 @@ public class EditoraFacade {
     }
 
     /**
-     * Método responsável por buscar todas as editoras do sistema de acordo com os filtros.
+     * Método responsável por buscar uma página de editoras do sistema, a partir do último ID da página anterior.
+     * <p>
+     * Para buscar a primeira página, o ID deve ser null.
      *
-     * @return Uma lista de dados das editoras de acordo com os filtros.
+     * @return Uma página de dados das editoras.
      */
-    public List<EditoraResponse> listarPorFiltros(EditoraFiltros filtros) {
-        return editoraService.listarTodosPorFiltros(filtros);
+    public PaginaResponse<EditoraResponse> listarEditoras(Integer aposId, int limite) {
+        return editoraService.listar(aposId, limite);
+    }
+
+    /**
+     * Método responsável por buscar uma página de editoras do sistema de acordo com os filtros, a partir do último ID da página anterior.
+     * <p>
+     * Para buscar a primeira página, o ID deve ser null.
+     *
+     * @return Uma página de dados das editoras de acordo com os filtros.
+     */
+    public PaginaResponse<EditoraResponse> listarPorFiltros(EditoraFiltros filtros, Integer aposId, int limite) {
+        return editoraService.listarPorFiltros(filtros, aposId, limite);
     }
 }
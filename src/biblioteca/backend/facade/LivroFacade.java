@@ -1,15 +1,24 @@
 package biblioteca.backend.facade;
 
+import biblioteca.backend.dto.AlteracoesLivroResponse;
+import biblioteca.backend.dto.LivroCadastroIsbnResponse;
 import biblioteca.backend.dto.LivroFiltros;
+import biblioteca.backend.dto.LivroImportacaoResponse;
 import biblioteca.backend.dto.LivroRequest;
 import biblioteca.backend.dto.LivroResponse;
+import biblioteca.backend.dto.PaginaResponse;
+import biblioteca.backend.dto.ProgressoImportacaoResponse;
+import biblioteca.backend.dto.ResultadoCadastroIsbnResponse;
 import biblioteca.backend.dto.SelectResponse;
 import biblioteca.backend.enums.EGenero;
+import biblioteca.backend.enums.EModoImportacao;
 import biblioteca.backend.service.LivroService;
 import lombok.RequiredArgsConstructor;
 
 import java.io.File;
 import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 /**
  * Classe definida como Facade dos fluxos de Livro.
@@ -42,6 +51,17 @@ public class LivroFacade {
         return livroService.listarTodos();
     }
 
+    /**
+     * Método responsável por buscar uma página de livros do sistema, a partir do último ID da página anterior.
+     * <p>
+     * Para buscar a primeira página, o ID deve ser null.
+     *
+     * @return Uma página de dados dos livros.
+     */
+    public PaginaResponse<LivroResponse> listarLivros(Integer aposId, int limite) {
+        return livroService.listar(aposId, limite);
+    }
+
     /**
      * Método responsável por editar um livro específico de acordo com o ID e com a request recebida.
      */
@@ -58,6 +78,26 @@ public class LivroFacade {
         livroService.deletar(id);
     }
 
+    /**
+     * Método responsável por buscar a versão da última alteração feita nos livros do sistema.
+     * <p>
+     * As telas guardam esta versão ao carregar os dados, para depois buscar apenas as alterações feitas desde então.
+     *
+     * @return A versão atual das alterações dos livros.
+     */
+    public long getVersaoAlteracoesLivros() {
+        return livroService.getVersaoAlteracoes();
+    }
+
+    /**
+     * Método responsável por buscar os livros incluídos, alterados e excluídos desde a versão informada.
+     *
+     * @return As alterações dos livros desde a versão, com a nova versão a ser guardada pela tela.
+     */
+    public AlteracoesLivroResponse listarAlteracoesLivrosDesde(long versao) {
+        return livroService.listarAlteracoesDesde(versao);
+    }
+
     /**
      * Método responsável por buscar os dados do Enum de Genero, para ser utilizado em um campo Select.
      *
@@ -86,12 +126,23 @@ public class LivroFacade {
     }
 
     /**
-     * Método responsável por buscar todos os livros do sistema de acordo com os filtros.
+     * Método responsável por buscar uma página de livros do sistema de acordo com os filtros, a partir do último ID da página anterior.
+     * <p>
+     * Para buscar a primeira página, o ID deve ser null. Com o filtro de texto, todos os livros encontrados vêm em uma única página.
      *
-     * @return Uma lista de dados dos livros de acordo com os filtros.
+     * @return Uma página de dados dos livros de acordo com os filtros.
      */
-    public List<LivroResponse> listarPorFiltros(LivroFiltros filtros) {
-        return livroService.listarTodosPorFiltros(filtros);
+    public PaginaResponse<LivroResponse> listarPorFiltros(LivroFiltros filtros, Integer aposId, int limite) {
+        return livroService.listarPorFiltros(filtros, aposId, limite);
+    }
+
+    /**
+     * Método responsável por buscar os livros pelo texto digitado, no título, nos ISBNs, no nome dos autores e no nome da editora.
+     *
+     * @return Uma lista de dados dos livros encontrados, limitada à quantidade informada.
+     */
+    public List<LivroResponse> buscarLivrosPorTexto(String texto, int limite) {
+        return livroService.buscarPorTexto(texto, limite);
     }
 
     /**
@@ -101,6 +152,35 @@ public class LivroFacade {
         livroService.cadastrarLivroPorIsbn(isbn);
     }
 
+    /**
+     * Método responsável por separar os ISBNs do texto informado.
+     *
+     * @return Os ISBNs, na ordem em que aparecem no texto.
+     */
+    public List<String> lerIsbns(String texto) {
+        return livroService.lerIsbns(texto);
+    }
+
+    /**
+     * Método responsável por ler os ISBNs do arquivo recebido.
+     *
+     * @return Os ISBNs, na ordem em que aparecem no arquivo.
+     */
+    public List<String> lerIsbns(File arquivo) {
+        return livroService.lerIsbns(arquivo);
+    }
+
+    /**
+     * Método responsável por salvar os livros dos ISBNs recebidos, em lotes, publicando os resultados de cada lote processado.
+     * O cancelamento é atendido entre os lotes, mantendo os lotes já gravados.
+     *
+     * @return O resultado do cadastro, com a situação de cada ISBN.
+     */
+    public LivroCadastroIsbnResponse cadastrarLivrosPorIsbns(List<String> isbns, Consumer<List<ResultadoCadastroIsbnResponse>> ouvinteResultados,
+                                                             BooleanSupplier cancelamentoSolicitado) {
+        return livroService.cadastrarLivrosPorIsbns(isbns, ouvinteResultados, cancelamentoSolicitado);
+    }
+
     /**
      * Método responsável por buscar os livros para ser utilizado em campos Select.
      *
@@ -112,8 +192,44 @@ public class LivroFacade {
 
     /**
      * Método responsável por realizar a importação dos Livros de acordo com o arquivo recebido.
+     *
+     * @return O resultado da importação.
+     */
+    public LivroImportacaoResponse cadastrarLivroPorImportacao(File arquivo) {
+        return livroService.cadastrarLivroPorArquivo(arquivo);
+    }
+
+    /**
+     * Método responsável por realizar a importação dos Livros de acordo com o arquivo recebido, publicando o andamento dela
+     * a cada lote gravado. O cancelamento é atendido entre os lotes, mantendo os lotes já gravados.
+     *
+     * @return O resultado da importação.
+     */
+    public LivroImportacaoResponse cadastrarLivroPorImportacao(File arquivo, Consumer<ProgressoImportacaoResponse> ouvinteProgresso,
+                                                               BooleanSupplier cancelamentoSolicitado) {
+        return livroService.cadastrarLivroPorArquivo(arquivo, ouvinteProgresso, cancelamentoSolicitado);
+    }
+
+    /**
+     * Método responsável por realizar a importação dos Livros de acordo com o arquivo recebido, gravando os lotes no modo de importação
+     * informado e publicando o andamento dela a cada lote gravado.
+     *
+     * @return O resultado da importação.
+     */
+    public LivroImportacaoResponse cadastrarLivroPorImportacao(File arquivo, EModoImportacao modoImportacao,
+                                                               Consumer<ProgressoImportacaoResponse> ouvinteProgresso,
+                                                               BooleanSupplier cancelamentoSolicitado) {
+        return livroService.cadastrarLivroPorArquivo(arquivo, modoImportacao, ouvinteProgresso, cancelamentoSolicitado);
+    }
+
+    /**
+     * Método responsável por validar o arquivo de importação dos Livros sem gravar nada no banco de dados (simulação),
+     * publicando o andamento dela a cada lote validado.
+     *
+     * @return O resultado da validação.
      */
-    public void cadastrarLivroPorImportacao(File arquivo) {
-        livroService.cadastrarLivroPorArquivo(arquivo);
+    public LivroImportacaoResponse validarImportacao(File arquivo, Consumer<ProgressoImportacaoResponse> ouvinteProgresso,
+                                                     BooleanSupplier cancelamentoSolicitado) {
+        return livroService.validarArquivoImportacao(arquivo, ouvinteProgresso, cancelamentoSolicitado);
     }
 }
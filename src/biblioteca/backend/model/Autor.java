@@ -7,7 +7,9 @@ import javax.persistence.*;
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.List;
+import java.util.Objects;
 
+import static biblioteca.backend.utils.ConfiguracaoBanco.TAMANHO_BLOCO_IDS_PADRAO;
 import static biblioteca.utils.MapUtils.mapNull;
 import static biblioteca.utils.MapUtils.mapNullComBackup;
 import static javax.persistence.GenerationType.SEQUENCE;
@@ -32,7 +34,7 @@ public class Autor {
 
     @Id
     @GeneratedValue(generator = "SEQ_AUTOR", strategy = SEQUENCE)
-    @SequenceGenerator(name = "SEQ_AUTOR", sequenceName = "SEQ_AUTOR", allocationSize = 1)
+    @SequenceGenerator(name = "SEQ_AUTOR", sequenceName = "SEQ_AUTOR", allocationSize = TAMANHO_BLOCO_IDS_PADRAO)
     private Integer id;
 
     @Column(name = "NOME")
@@ -92,6 +94,18 @@ public class Autor {
         this.setBiografia(request.getBiografia());
     }
 
+    /**
+     * Método responsável por verificar se os dados da request são diferentes dos dados atuais do Autor.
+     *
+     * @return true se algum dos dados da request for diferente dos dados do Autor. false se todos os dados forem iguais.
+     */
+    public boolean possuiDadosDiferentes(AutorRequest request) {
+        return !Objects.equals(this.nome, request.getNome())
+                || !Objects.equals(this.dataNascimento, request.getDataNascimento())
+                || !Objects.equals(this.dataMorte, request.getDataMorte())
+                || !Objects.equals(this.biografia, request.getBiografia());
+    }
+
     /**
      * Método responsável por verificar se o Autor possui livros vinculados a ele.
      *
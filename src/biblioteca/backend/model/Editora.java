@@ -5,7 +5,9 @@ import lombok.*;
 
 import javax.persistence.*;
 import java.util.List;
+import java.util.Objects;
 
+import static biblioteca.backend.utils.ConfiguracaoBanco.TAMANHO_BLOCO_IDS_PADRAO;
 import static javax.persistence.GenerationType.SEQUENCE;
 
 /**
@@ -28,7 +30,7 @@ public class Editora {
 
     @Id
     @GeneratedValue(generator = "SEQ_EDITORA", strategy = SEQUENCE)
-    @SequenceGenerator(name = "SEQ_EDITORA", sequenceName = "SEQ_EDITORA", allocationSize = 1)
+    @SequenceGenerator(name = "SEQ_EDITORA", sequenceName = "SEQ_EDITORA", allocationSize = TAMANHO_BLOCO_IDS_PADRAO)
     private Integer id;
 
     @Column(name = "NOME")
@@ -60,6 +62,16 @@ public class Editora {
         this.setCnpj(request.getCnpj());
     }
 
+    /**
+     * Método responsável por verificar se os dados da request são diferentes dos dados atuais da Editora.
+     *
+     * @return true se algum dos dados da request for diferente dos dados da Editora. false se todos os dados forem iguais.
+     */
+    public boolean possuiDadosDiferentes(EditoraRequest request) {
+        return !Objects.equals(this.nome, request.getNome())
+                || !Objects.equals(this.cnpj, request.getCnpj());
+    }
+
     /**
      * Método responsável por verificar se a Editora possui livros vinculados a ele.
      *
@@ -9,6 +9,7 @@ import javax.persistence.*;
 import java.time.LocalDate;
 import java.util.Set;
 
+import static biblioteca.backend.utils.ConfiguracaoBanco.TAMANHO_BLOCO_IDS_PADRAO;
 import static javax.persistence.EnumType.STRING;
 import static javax.persistence.FetchType.LAZY;
 import static javax.persistence.GenerationType.SEQUENCE;
@@ -33,7 +34,7 @@ public class Livro {
 
     @Id
     @GeneratedValue(generator = "SEQ_LIVRO", strategy = SEQUENCE)
-    @SequenceGenerator(name = "SEQ_LIVRO", sequenceName = "SEQ_LIVRO", allocationSize = 1)
+    @SequenceGenerator(name = "SEQ_LIVRO", sequenceName = "SEQ_LIVRO", allocationSize = TAMANHO_BLOCO_IDS_PADRAO)
     private Integer id;
 
     @Column(name = "TITULO")
@@ -3,6 +3,7 @@ package biblioteca.backend.predicate;
 import biblioteca.backend.enums.EGenero;
 
 import java.time.LocalDate;
+import java.util.Collection;
 
 import static biblioteca.utils.StringUtils.isNotBlank;
 
@@ -29,6 +30,20 @@ public class LivroPredicate extends PredicateBase {
         return this;
     }
 
+    /**
+     * Método responsável adicionar o predicate referente aos IDs dos Livros encontrados pela busca textual.
+     *
+     * @return a própria classe com a condição adicionada, caso esteja presente.
+     */
+    public LivroPredicate comIds(Collection<Integer> ids) {
+        if (ids != null) {
+            condicoes.add("l.id IN (:ids)");
+            parametros.put("ids", ids);
+        }
+
+        return this;
+    }
+
     /**
      * Método responsável adicionar o predicate referente ao título do Livro.
      *
@@ -4,12 +4,14 @@ import biblioteca.backend.dao.contract.IAutorDAO;
 import biblioteca.backend.dto.AutorFiltros;
 import biblioteca.backend.dto.AutorRequest;
 import biblioteca.backend.dto.AutorResponse;
+import biblioteca.backend.dto.PaginaResponse;
 import biblioteca.backend.dto.SelectResponse;
 import biblioteca.backend.exceptions.NaoEncontradoException;
 import biblioteca.backend.exceptions.ValidacaoException;
 import biblioteca.backend.model.Autor;
 import lombok.RequiredArgsConstructor;
 
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
@@ -56,14 +58,29 @@ public class AutorService {
     }
 
     /**
-     * Método responsável por listar todos os Autores do sistema por filtros.
+     * Método responsável por listar uma página dos Autores do sistema, a partir do último ID da página anterior.
      *
-     * @return uma lista de Autores de acordo com os filtros passados por parametro.
+     * @return A página de Autores, com o último ID dela para buscar a próxima página.
+     * @throws ValidacaoException caso o limite da página não seja maior que zero.
      */
-    public List<AutorResponse> listarTodosPorFiltros(AutorFiltros filtros) {
-        return autorDAO.listarTodosPorPredicate(filtros.toPredicate()).stream()
-                .map(AutorResponse::converterDeAutor)
-                .collect(toList());
+    public PaginaResponse<AutorResponse> listar(Integer aposId, int limite) {
+        return listarPorFiltros(new AutorFiltros(), aposId, limite);
+    }
+
+    /**
+     * Método responsável por listar uma página dos Autores do sistema por filtros, a partir do último ID da página anterior.
+     * <p>
+     * É buscado um Autor a mais que o limite, apenas para saber se existe uma próxima página.
+     *
+     * @return A página de Autores de acordo com os filtros passados por parametro, com o último ID dela para buscar a próxima página.
+     * @throws ValidacaoException caso o limite da página não seja maior que zero.
+     */
+    public PaginaResponse<AutorResponse> listarPorFiltros(AutorFiltros filtros, Integer aposId, int limite) {
+        if (limite <= 0) {
+            throw new ValidacaoException("O limite da página deve ser maior que zero.");
+        }
+        return PaginaResponse.montar(autorDAO.listarPorPredicate(filtros.toPredicate(), aposId, limite + 1), limite, aposId,
+                AutorResponse::converterDeAutor, Autor::getId);
     }
 
     /**
@@ -76,18 +93,6 @@ public class AutorService {
         autorDAO.salvar(autor);
     }
 
-    /**
-     * Método responsável por editar um autor específico durante a importação, de acordo com os novos dados da request.
-     */
-    public Autor editarPorImportacao(Autor autor, AutorRequest request) {
-        if (request != null) {
-            autor.atualizarDados(request);
-
-            return autorDAO.salvar(autor);
-        }
-        return null;
-    }
-
     /**
      * Método responsável por deletar um autor específico do banco de dados.
      */
@@ -119,6 +124,15 @@ public class AutorService {
         return new HashSet<>(autorDAO.findByIdIn(autoresIds));
     }
 
+    /**
+     * Método responsável por buscar, em uma única consulta, os Autores que possuírem algum dos nomes informados em caixa alta.
+     *
+     * @return uma lista de Autores.
+     */
+    public List<Autor> findByNomes(Collection<String> nomes) {
+        return autorDAO.findByNomes(nomes);
+    }
+
     /**
      * Método responsável por buscar uma lista dos Autores e converter para o DTO SelectResponse.
      *
@@ -151,18 +165,6 @@ public class AutorService {
                 : autores;
     }
 
-    /**
-     * Método responsável por buscar o autor de acordo com o nome dele no banco de dados, e retornar ele caso já esteja cadastrado.
-     * Caso não esteja cadastrado, deve ser criado um novo autor com o nome infomado e retornar este novo autore.
-     *
-     * @return Um Autor já existentes no banco de acordo co o nome, ou um Autor recém criado com dados da request.
-     */
-    public Autor buscarAutorEEditarOuCriarAutor(AutorRequest autorRequest) {
-        return autorDAO.findByNome(autorRequest.getNome())
-                .map(autor -> this.editarPorImportacao(autor, autorRequest))
-                .orElseGet(() -> this.salvar(autorRequest));
-    }
-
     /**
      * Método responsável por validar se o autor tem livros vinculados.
      *
@@ -0,0 +1,140 @@
+package biblioteca.backend.service;
+
+import biblioteca.backend.model.Autor;
+import biblioteca.backend.model.Editora;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static java.util.Collections.emptySet;
+
+/**
+ * Classe responsável por guardar em memória os Autores e as Editoras durante a importação de um arquivo de Livros.
+ * <p>
+ * Os nomes são normalizados em caixa alta, da mesma forma que as consultas com UPPER(nome) do banco de dados,
+ * e cada nome ou cnpj é consultado no banco no máximo uma vez por arquivo, mesmo quando não existe cadastro para ele.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+public class CacheImportacaoLivro {
+
+    private final Map<String, Autor> autoresPorNome = new HashMap<>();
+    private final Set<String> nomesAutoresConsultados = new HashSet<>();
+    private final Map<String, Editora> editorasPorNome = new HashMap<>();
+    private final Map<String, Editora> editorasPorCnpj = new HashMap<>();
+    private final Set<String> nomesEditorasConsultados = new HashSet<>();
+    private final Set<String> cnpjsConsultados = new HashSet<>();
+
+    /**
+     * Método responsável por normalizar o nome de um Autor ou de uma Editora para ser utilizado como chave do cache.
+     *
+     * @return O nome em caixa alta.
+     */
+    public static String normalizarNome(String nome) {
+        return nome.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Método responsável por carregar no cache os Autores dos nomes informados que ainda não foram consultados no banco de dados.
+     * <p>
+     * A consulta recebida é executada uma única vez, apenas com os nomes ainda não consultados.
+     */
+    public void carregarAutores(Collection<String> nomes, Function<Collection<String>, List<Autor>> consulta) {
+        Set<String> nomesNaoConsultados = filtrarNaoConsultados(nomes, nomesAutoresConsultados);
+        if (!nomesNaoConsultados.isEmpty()) {
+            consulta.apply(nomesNaoConsultados)
+                    .forEach(autor -> autoresPorNome.putIfAbsent(normalizarNome(autor.getNome()), autor));
+        }
+    }
+
+    /**
+     * Método responsável por carregar no cache as Editoras dos nomes e cnpjs informados que ainda não foram consultados no banco de dados.
+     * <p>
+     * A consulta recebida é executada uma única vez, apenas com os nomes e cnpjs ainda não consultados.
+     */
+    public void carregarEditoras(Collection<String> nomes, Collection<String> cnpjs,
+                                 BiFunction<Collection<String>, Collection<String>, List<Editora>> consulta) {
+        Set<String> nomesNaoConsultados = filtrarNaoConsultados(nomes, nomesEditorasConsultados);
+        Set<String> cnpjsNaoConsultados = filtrarNaoConsultados(cnpjs, cnpjsConsultados);
+        if (!nomesNaoConsultados.isEmpty() || !cnpjsNaoConsultados.isEmpty()) {
+            consulta.apply(nomesNaoConsultados, cnpjsNaoConsultados)
+                    .forEach(this::registrarEditoraConsultada);
+        }
+    }
+
+    /**
+     * Método responsável por buscar no cache o Autor com o nome informado.
+     *
+     * @return O Autor com o nome informado, ou null caso ele não exista.
+     */
+    public Autor getAutor(String nome) {
+        return autoresPorNome.get(normalizarNome(nome));
+    }
+
+    /**
+     * Método responsável por adicionar um novo Autor ao cache.
+     */
+    public void adicionarAutor(Autor autor) {
+        autoresPorNome.put(normalizarNome(autor.getNome()), autor);
+    }
+
+    /**
+     * Método responsável por buscar no cache a Editora com o nome informado.
+     *
+     * @return A Editora com o nome informado, ou null caso ela não exista.
+     */
+    public Editora getEditora(String nome) {
+        return editorasPorNome.get(normalizarNome(nome));
+    }
+
+    /**
+     * Método responsável por verificar se o cnpj informado já pertence a alguma Editora do cache.
+     *
+     * @return true caso o cnpj pertença a alguma Editora. false caso contrário.
+     */
+    public boolean possuiEditoraComCnpj(String cnpj) {
+        return cnpj != null && editorasPorCnpj.containsKey(cnpj);
+    }
+
+    /**
+     * Método responsável por adicionar ou atualizar uma Editora no cache, de acordo com o nome e o cnpj dela.
+     */
+    public void adicionarEditora(Editora editora) {
+        editorasPorNome.put(normalizarNome(editora.getNome()), editora);
+        if (editora.getCnpj() != null) {
+            editorasPorCnpj.putIfAbsent(editora.getCnpj(), editora);
+        }
+    }
+
+    /**
+     * Método responsável por registrar uma Editora retornada da consulta no banco de dados, sem sobrescrever as Editoras já presentes no cache.
+     */
+    private void registrarEditoraConsultada(Editora editora) {
+        if (editora.getNome() != null) {
+            editorasPorNome.putIfAbsent(normalizarNome(editora.getNome()), editora);
+        }
+        if (editora.getCnpj() != null) {
+            editorasPorCnpj.putIfAbsent(editora.getCnpj(), editora);
+        }
+    }
+
+    /**
+     * Método responsável por filtrar os valores que ainda não foram consultados, marcando-os como consultados.
+     *
+     * @return Os valores que ainda não haviam sido consultados.
+     */
+    private static Set<String> filtrarNaoConsultados(Collection<String> valores, Set<String> consultados) {
+        if (valores.isEmpty()) {
+            return emptySet();
+        }
+        Set<String> naoConsultados = new HashSet<>();
+        for (String valor : valores) {
+            if (consultados.add(valor)) {
+                naoConsultados.add(valor);
+            }
+        }
+        return naoConsultados;
+    }
+}
@@ -4,12 +4,14 @@ import biblioteca.backend.dao.contract.IEditoraDAO;
 import biblioteca.backend.dto.EditoraFiltros;
 import biblioteca.backend.dto.EditoraRequest;
 import biblioteca.backend.dto.EditoraResponse;
+import biblioteca.backend.dto.PaginaResponse;
 import biblioteca.backend.dto.SelectResponse;
 import biblioteca.backend.exceptions.NaoEncontradoException;
 import biblioteca.backend.exceptions.ValidacaoException;
 import biblioteca.backend.model.Editora;
 import lombok.RequiredArgsConstructor;
 
+import java.util.Collection;
 import java.util.List;
 
 import static biblioteca.backend.dto.SelectResponse.montarSelectResponse;
@@ -53,14 +55,29 @@ public class EditoraService {
     }
 
     /**
-     * Método responsável por listar todas as Editoras do sistema por filtros.
+     * Método responsável por listar uma página das Editoras do sistema, a partir do último ID da página anterior.
      *
-     * @return uma lista de Editoras de acordo com os filtros passados por parametro.
+     * @return A página de Editoras, com o último ID dela para buscar a próxima página.
+     * @throws ValidacaoException caso o limite da página não seja maior que zero.
      */
-    public List<EditoraResponse> listarTodosPorFiltros(EditoraFiltros filtros) {
-        return editoraDAO.listarTodosPorPredicate(filtros.toPredicate()).stream()
-                .map(EditoraResponse::converterDeEditora)
-                .collect(toList());
+    public PaginaResponse<EditoraResponse> listar(Integer aposId, int limite) {
+        return listarPorFiltros(new EditoraFiltros(), aposId, limite);
+    }
+
+    /**
+     * Método responsável por listar uma página das Editoras do sistema por filtros, a partir do último ID da página anterior.
+     * <p>
+     * É buscada uma Editora a mais que o limite, apenas para saber se existe uma próxima página.
+     *
+     * @return A página de Editoras de acordo com os filtros passados por parametro, com o último ID dela para buscar a próxima página.
+     * @throws ValidacaoException caso o limite da página não seja maior que zero.
+     */
+    public PaginaResponse<EditoraResponse> listarPorFiltros(EditoraFiltros filtros, Integer aposId, int limite) {
+        if (limite <= 0) {
+            throw new ValidacaoException("O limite da página deve ser maior que zero.");
+        }
+        return PaginaResponse.montar(editoraDAO.listarPorPredicate(filtros.toPredicate(), aposId, limite + 1), limite, aposId,
+                EditoraResponse::converterDeEditora, Editora::getId);
     }
 
     /**
@@ -74,15 +91,6 @@ public class EditoraService {
         editoraDAO.salvar(editora);
     }
 
-    /**
-     * Método responsável por editar uma editora específica durante a importação, de acordo com os novos dados da request.
-     */
-    public Editora editarPorImportacao(Editora editora, EditoraRequest request) {
-        editora.atualizarDados(request);
-
-        return editoraDAO.salvar(editora);
-    }
-
     /**
      * Método responsável por deletar uma editora específica do banco de dados.
      */
@@ -105,6 +113,16 @@ public class EditoraService {
                 .orElseThrow(() -> new NaoEncontradoException("Editora não encontrada."));
     }
 
+    /**
+     * Método responsável por buscar, em uma única consulta, as Editoras que possuírem algum dos nomes informados em caixa alta,
+     * ou algum dos cnpjs informados.
+     *
+     * @return uma lista de Editoras.
+     */
+    public List<Editora> findByNomesOuCnpjs(Collection<String> nomes, Collection<String> cnpjs) {
+        return editoraDAO.findByNomesOuCnpjs(nomes, cnpjs);
+    }
+
     /**
      * Método responsável por buscar um array das Editoras e converter para o Objeto SelectResponse.
      *
@@ -127,19 +145,6 @@ public class EditoraService {
                 .orElseGet(() -> this.salvar(new EditoraRequest(nomeEditora)));
     }
 
-    /**
-     * Método responsável por buscar a editora de acordo com o nome dela no banco de dados, editar de acordo com os dados recebidos na request
-     * e retornar ela caso já esteja cadastrada.
-     * Caso não esteja cadastrada, deve ser criada uma nova editora com o nome infomado e retornar esta nova editora.
-     *
-     * @return Uma Editora já existente no banco de acordo com o nome, ou uma Editora recém criada com o nome novo.
-     */
-    public Editora buscarEEditarEditoraOuCriarEditora(EditoraRequest request) {
-        return editoraDAO.findByNome(request.getNome())
-                .map(editora -> this.editarPorImportacao(editora, request))
-                .orElseGet(() -> this.salvar(request));
-    }
-
     /**
      * Método responsável por validar se a editora tem livros vinculados.
      *
@@ -0,0 +1,445 @@
+package biblioteca.backend.service;
+
+import biblioteca.backend.dto.LivroIndiceBuscaDto;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import static biblioteca.utils.StringUtils.isBlank;
+
+/**
+ * Classe responsável por manter em memória um índice invertido dos Livros, para a busca enquanto o usuário digita.
+ * <p>
+ * O título, os ISBNs, os nomes dos Autores e o nome da Editora de cada Livro são separados em termos normalizados, em letras minúsculas
+ * e sem acentos, e cada termo guarda a lista ordenada dos IDs dos Livros que o possuem. Os termos ficam em um mapa ordenado, então a busca
+ * por prefixo percorre apenas os termos que começam com a palavra digitada.
+ * <p>
+ * Uma busca com várias palavras retorna os Livros que possuem, para cada palavra, algum termo que começa com ela. Os Livros da palavra
+ * menos frequente são percorridos em ordem de ID, e as demais palavras são conferidas nos termos de cada um deles, até atingir o limite.
+ * Quando a palavra menos frequente é o início de muitos termos, como nas primeiras letras digitadas, mesclar as listas de todos eles
+ * custaria mais do que percorrer todos os Livros em ordem de ID, conferindo as palavras nos termos de cada um, até atingir o limite.
+ * <p>
+ * O índice é carregado do banco de dados uma vez, e mantido pelas services ao salvar, editar, excluir e importar Livros. Assim como no
+ * registro de alterações, as alterações feitas diretamente no banco de dados, ou por outra instância da aplicação, e a alteração do nome
+ * de um Autor ou de uma Editora só aparecem no índice ao carregá-lo novamente.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+public class IndiceBuscaLivro {
+
+    private static final Pattern SEPARADOR_TERMOS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern HIFEN_ENTRE_NUMEROS = Pattern.compile("(?<=\\p{N})-(?=[\\p{N}xX])");
+    private static final Pattern MARCAS_ACENTUACAO = Pattern.compile("\\p{M}+");
+
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Termo> termos = new TreeMap<>();
+    private final Map<String, Termo> termosCarga = new HashMap<>();
+    private final Map<Integer, Termo[]> termosPorLivro = new HashMap<>();
+    private final Termo todosLivros = new Termo("");
+    private final Set<Integer> livrosExcluidosDuranteCarga = new HashSet<>();
+    private boolean carregando;
+    private volatile boolean carregado;
+
+    /**
+     * Método responsável por informar se o índice já foi carregado do banco de dados e pode ser utilizado nas buscas.
+     */
+    public boolean isCarregado() {
+        return carregado;
+    }
+
+    /**
+     * Método responsável por iniciar a carga do índice, descartando os dados indexados anteriormente.
+     * <p>
+     * Durante a carga, os Livros indexados ou excluídos pelas services têm prioridade sobre os dados lidos do banco de dados,
+     * que podem ter sido lidos antes da alteração. Os termos da carga ficam em um mapa sem ordenação, e são passados para o mapa
+     * ordenado apenas ao concluir a carga, em ordem, o que é bem mais rápido do que inserir milhões de termos fora de ordem.
+     */
+    public void iniciarCarga() {
+        trava.writeLock().lock();
+        try {
+            termos.clear();
+            termosCarga.clear();
+            termosPorLivro.clear();
+            todosLivros.limpar();
+            livrosExcluidosDuranteCarga.clear();
+            carregando = true;
+            carregado = false;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Método responsável por indexar uma página de Livros lida do banco de dados durante a carga do índice.
+     * <p>
+     * Os Livros já indexados ou excluídos pelas services desde o início da carga são ignorados.
+     */
+    public void indexarCarga(Collection<LivroIndiceBuscaDto> livros) {
+        trava.writeLock().lock();
+        try {
+            for (LivroIndiceBuscaDto livro : livros) {
+                if (!termosPorLivro.containsKey(livro.getId()) && !livrosExcluidosDuranteCarga.contains(livro.getId())) {
+                    adicionar(livro);
+                }
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Método responsável por concluir a carga do índice, liberando-o para as buscas.
+     */
+    public void concluirCarga() {
+        trava.writeLock().lock();
+        try {
+            List<Termo> termosOrdenados = new ArrayList<>(termosCarga.values());
+            termosOrdenados.sort(Comparator.comparing(termo -> termo.texto));
+            termosOrdenados.forEach(termo -> termos.put(termo.texto, termo));
+            termosCarga.clear();
+            livrosExcluidosDuranteCarga.clear();
+            carregando = false;
+            carregado = true;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Método responsável por descartar os dados de uma carga que falhou. O índice fica indisponível até a próxima carga.
+     */
+    public void descartarCarga() {
+        trava.writeLock().lock();
+        try {
+            termos.clear();
+            termosCarga.clear();
+            termosPorLivro.clear();
+            todosLivros.limpar();
+            livrosExcluidosDuranteCarga.clear();
+            carregando = false;
+            carregado = false;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Método responsável por indexar um Livro salvo, substituindo os termos indexados anteriormente para ele.
+     */
+    public void indexar(LivroIndiceBuscaDto livro) {
+        indexar(Collections.singletonList(livro));
+    }
+
+    /**
+     * Método responsável por indexar os Livros salvos, substituindo os termos indexados anteriormente para cada um deles.
+     * Os Livros sem ID, que não chegaram a ser salvos, são ignorados.
+     */
+    public void indexar(Collection<LivroIndiceBuscaDto> livros) {
+        trava.writeLock().lock();
+        try {
+            for (LivroIndiceBuscaDto livro : livros) {
+                if (livro.getId() == null) {
+                    continue;
+                }
+                remover(livro.getId(), termosPorLivro.remove(livro.getId()));
+                adicionar(livro);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Método responsável por remover do índice um Livro excluído.
+     */
+    public void remover(Integer idLivro) {
+        trava.writeLock().lock();
+        try {
+            remover(idLivro, termosPorLivro.remove(idLivro));
+            if (carregando) {
+                livrosExcluidosDuranteCarga.add(idLivro);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    public int getQuantidadeLivros() {
+        trava.readLock().lock();
+        try {
+            return termosPorLivro.size();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Método responsável por buscar os Livros que possuem, para cada palavra do texto, algum termo que começa com ela.
+     *
+     * @return os IDs dos Livros encontrados, em ordem crescente e limitados à quantidade informada.
+     */
+    public List<Integer> buscar(String texto, int limite) {
+        List<String> palavras = new ArrayList<>(new LinkedHashSet<>(separarTermos(texto)));
+        if (palavras.isEmpty() || limite <= 0) {
+            return new ArrayList<>();
+        }
+
+        trava.readLock().lock();
+        try {
+            String palavraMenosFrequente = null;
+            long menorQuantidade = Long.MAX_VALUE;
+            int quantidadeTermosPalavraMenosFrequente = 0;
+            int idInicial = Integer.MIN_VALUE;
+            for (String palavra : palavras) {
+                Collection<Termo> termosPalavra = buscarTermosPorPrefixo(palavra);
+                long quantidade = 0;
+                int menorId = Integer.MAX_VALUE;
+                for (Termo termo : termosPalavra) {
+                    quantidade += termo.quantidade;
+                    menorId = Math.min(menorId, termo.ids[0]);
+                }
+                if (quantidade == 0) {
+                    return new ArrayList<>();
+                }
+                idInicial = Math.max(idInicial, menorId);
+                if (quantidade < menorQuantidade) {
+                    menorQuantidade = quantidade;
+                    palavraMenosFrequente = palavra;
+                    quantidadeTermosPalavraMenosFrequente = termosPalavra.size();
+                }
+            }
+
+            long livrosPercorridosEstimados = limite * (long) todosLivros.quantidade / menorQuantidade;
+            if (quantidadeTermosPalavraMenosFrequente > livrosPercorridosEstimados) {
+                return percorrerTodosLivros(palavras, idInicial, limite);
+            }
+            Collection<Termo> termosPalavraMenosFrequente = buscarTermosPorPrefixo(palavraMenosFrequente);
+            palavras.remove(palavraMenosFrequente);
+            return percorrerLivros(termosPalavraMenosFrequente, palavras, limite);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Método responsável por separar um texto em termos normalizados: sem acentos, em letras minúsculas,
+     * e divididos em tudo que não for letra ou número. Os hífens entre números não separam os termos, para que um ISBN seja
+     * um único termo, tanto cadastrado quanto buscado com ou sem os hífens.
+     *
+     * @return os termos do texto, na ordem em que aparecem.
+     */
+    public static List<String> separarTermos(String texto) {
+        List<String> termosTexto = new ArrayList<>();
+        if (isBlank(texto)) {
+            return termosTexto;
+        }
+        for (String termo : SEPARADOR_TERMOS.split(normalizar(texto))) {
+            if (!termo.isEmpty()) {
+                termosTexto.add(termo);
+            }
+        }
+        return termosTexto;
+    }
+
+    private Collection<Termo> buscarTermosPorPrefixo(String prefixo) {
+        return termos.subMap(prefixo, true, prefixo + Character.MAX_VALUE, false).values();
+    }
+
+    /**
+     * Método responsável por percorrer todos os Livros do índice, em ordem de ID, e manter os que possuem todas as palavras.
+     * <p>
+     * Os Livros anteriores ao ID inicial não são percorridos, já que algum dos termos buscados não possui Livros antes dele.
+     */
+    private List<Integer> percorrerTodosLivros(List<String> palavras, int idInicial, int limite) {
+        List<Integer> idsEncontrados = new ArrayList<>();
+        int posicao = Arrays.binarySearch(todosLivros.ids, 0, todosLivros.quantidade, idInicial);
+        for (posicao = posicao >= 0 ? posicao : -posicao - 1; posicao < todosLivros.quantidade && idsEncontrados.size() < limite; posicao++) {
+            int idLivro = todosLivros.ids[posicao];
+            if (possuiPalavras(termosPorLivro.get(idLivro), palavras)) {
+                idsEncontrados.add(idLivro);
+            }
+        }
+        return idsEncontrados;
+    }
+
+    /**
+     * Método responsável por percorrer, em ordem de ID, os Livros dos termos da palavra menos frequente, mesclando as listas de IDs
+     * dos termos, e manter os que também possuem as demais palavras.
+     */
+    private List<Integer> percorrerLivros(Collection<Termo> termosPalavra, List<String> demaisPalavras, int limite) {
+        List<Integer> idsEncontrados = new ArrayList<>();
+        List<Cursor> cursores = new ArrayList<>(termosPalavra.size());
+        termosPalavra.forEach(termo -> cursores.add(new Cursor(termo)));
+        PriorityQueue<Cursor> fila = new PriorityQueue<>(cursores);
+
+        long ultimoId = Long.MIN_VALUE;
+        while (!fila.isEmpty() && idsEncontrados.size() < limite) {
+            Cursor cursor = fila.poll();
+            int idLivro = cursor.getIdAtual();
+            if (cursor.avancar()) {
+                fila.add(cursor);
+            }
+            if (idLivro != ultimoId) {
+                ultimoId = idLivro;
+                if (possuiPalavras(termosPorLivro.get(idLivro), demaisPalavras)) {
+                    idsEncontrados.add(idLivro);
+                }
+            }
+        }
+        return idsEncontrados;
+    }
+
+    /**
+     * Método responsável por verificar se, para cada palavra, o Livro possui algum termo que começa com ela.
+     */
+    private static boolean possuiPalavras(Termo[] termosLivro, List<String> palavras) {
+        for (String palavra : palavras) {
+            boolean encontrada = false;
+            for (int i = 0; i < termosLivro.length && !encontrada; i++) {
+                encontrada = termosLivro[i].texto.startsWith(palavra);
+            }
+            if (!encontrada) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Método responsável por adicionar os termos de um Livro no índice.
+     */
+    private void adicionar(LivroIndiceBuscaDto livro) {
+        Set<String> textosTermos = new LinkedHashSet<>(separarTermos(livro.getTitulo()));
+        textosTermos.addAll(separarTermos(livro.getIsbn10()));
+        textosTermos.addAll(separarTermos(livro.getIsbn13()));
+        if (livro.getNomesAutores() != null) {
+            livro.getNomesAutores().forEach(nomeAutor -> textosTermos.addAll(separarTermos(nomeAutor)));
+        }
+        textosTermos.addAll(separarTermos(livro.getNomeEditora()));
+
+        Termo[] termosLivro = new Termo[textosTermos.size()];
+        int posicao = 0;
+        for (String textoTermo : textosTermos) {
+            Termo termo = getMapaTermos().computeIfAbsent(textoTermo, Termo::new);
+            termo.adicionar(livro.getId());
+            termosLivro[posicao++] = termo;
+        }
+        termosPorLivro.put(livro.getId(), termosLivro);
+        todosLivros.adicionar(livro.getId());
+    }
+
+    /**
+     * Método responsável por remover o Livro dos termos em que estava indexado, removendo do índice os termos que ficarem sem Livros.
+     */
+    private void remover(Integer idLivro, Termo[] termosLivro) {
+        if (termosLivro == null) {
+            return;
+        }
+        todosLivros.remover(idLivro);
+        for (Termo termo : termosLivro) {
+            termo.remover(idLivro);
+            if (termo.quantidade == 0) {
+                getMapaTermos().remove(termo.texto);
+            }
+        }
+    }
+
+    /**
+     * Método responsável por informar o mapa de termos que recebe as alterações: o da carga, enquanto ela estiver em andamento, ou o atual.
+     */
+    private Map<String, Termo> getMapaTermos() {
+        return carregando ? termosCarga : termos;
+    }
+
+    /**
+     * Método responsável por remover os acentos e os hífens entre números do texto, e convertê-lo para letras minúsculas.
+     * A remoção dos acentos é feita apenas nos textos que possuem caracteres fora da tabela ASCII, pois os demais não têm acentos.
+     */
+    private static String normalizar(String texto) {
+        String normalizado = texto;
+        if (!texto.chars().allMatch(caractere -> caractere < 128)) {
+            normalizado = MARCAS_ACENTUACAO.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        }
+        if (normalizado.indexOf('-') >= 0) {
+            normalizado = HIFEN_ENTRE_NUMEROS.matcher(normalizado).replaceAll("");
+        }
+        return normalizado.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Termo do índice, com a lista ordenada dos IDs dos Livros que o possuem.
+     * <p>
+     * Os IDs ficam em um vetor de inteiros, que cresce conforme a necessidade, para não criar um objeto por ID.
+     */
+    private static class Termo {
+        private final String texto;
+        private int[] ids = new int[1];
+        private int quantidade;
+
+        private Termo(String texto) {
+            this.texto = texto;
+        }
+
+        /**
+         * Adiciona o ID na posição dele. Na carga os IDs chegam em ordem crescente e são apenas adicionados ao final.
+         */
+        private void adicionar(int id) {
+            int posicao = quantidade;
+            if (quantidade > 0 && ids[quantidade - 1] >= id) {
+                posicao = Arrays.binarySearch(ids, 0, quantidade, id);
+                if (posicao >= 0) {
+                    return;
+                }
+                posicao = -posicao - 1;
+            }
+            if (quantidade == ids.length) {
+                ids = Arrays.copyOf(ids, quantidade * 2);
+            }
+            System.arraycopy(ids, posicao, ids, posicao + 1, quantidade - posicao);
+            ids[posicao] = id;
+            quantidade++;
+        }
+
+        private void limpar() {
+            ids = new int[1];
+            quantidade = 0;
+        }
+
+        private void remover(int id) {
+            int posicao = Arrays.binarySearch(ids, 0, quantidade, id);
+            if (posicao >= 0) {
+                System.arraycopy(ids, posicao + 1, ids, posicao, quantidade - posicao - 1);
+                quantidade--;
+            }
+        }
+    }
+
+    /**
+     * Posição atual na lista de IDs de um termo, para mesclar as listas dos termos de uma palavra em ordem de ID.
+     */
+    private static class Cursor implements Comparable<Cursor> {
+        private final Termo termo;
+        private int posicao;
+
+        private Cursor(Termo termo) {
+            this.termo = termo;
+        }
+
+        private int getIdAtual() {
+            return termo.ids[posicao];
+        }
+
+        private boolean avancar() {
+            return ++posicao < termo.quantidade;
+        }
+
+        @Override
+        public int compareTo(Cursor outro) {
+            return Integer.compare(getIdAtual(), outro.getIdAtual());
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package biblioteca.backend.service;
+
+import biblioteca.backend.client.OpenLibraryClient;
+import biblioteca.backend.client.ResilienciaOpenLibraryInterceptor;
+import biblioteca.backend.dao.contract.ILivroDAO;
+import biblioteca.backend.dao.contract.ILivroImportacaoDAO;
+import biblioteca.backend.dto.AutorRequest;
+import biblioteca.backend.dto.EditoraRequest;
+import biblioteca.backend.dto.LivroCadastroIsbnResponse;
+import biblioteca.backend.dto.LivroIndiceBuscaDto;
+import biblioteca.backend.dto.OpenLibraryAutorResponse;
+import biblioteca.backend.dto.OpenLibraryLivroResponse;
+import biblioteca.backend.dto.ResultadoCadastroIsbnResponse;
+import biblioteca.backend.enums.ETipoAlteracao;
+import biblioteca.backend.exceptions.ValidacaoException;
+import biblioteca.backend.model.Autor;
+import biblioteca.backend.model.Editora;
+import biblioteca.backend.model.Livro;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.java.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import static biblioteca.backend.dto.LivroRequest.converterDeOpenLibraryResponse;
+import static biblioteca.backend.dto.ResultadoCadastroIsbnResponse.montarResultado;
+import static biblioteca.backend.enums.ESituacaoCadastroIsbn.*;
+import static biblioteca.backend.enums.ETipoAlteracao.INCLUSAO;
+import static biblioteca.utils.StringUtils.isIsbn10Valido;
+import static biblioteca.utils.StringUtils.isIsbn13Valido;
+import static java.lang.String.format;
+import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Classe de serviço para o cadastro de Livros por uma lista de ISBNs.
+ * <p>
+ * Esta classe é responsável por separar os ISBNs informados em lotes, buscar os dados dos Livros de cada lote na API da OPEN LIBRARY
+ * pelo endpoint que recebe vários ISBNs por requisição, buscar de uma vez os Autores de todos os Livros do lote, e salvar o lote inteiro em uma única transação.
+ * Os Autores buscados na API, e os Autores e as Editoras do banco de dados, ficam em memória durante todo o cadastro,
+ * para que os Autores e as Editoras em comum entre os Livros sejam buscados e criados uma única vez.
+ * <p>
+ * Cada ISBN informado recebe um resultado com a situação dele no cadastro. Um erro em um lote não interrompe o cadastro:
+ * apenas os ISBNs do lote com erro são marcados com a situação de erro, e os lotes seguintes são processados normalmente.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Log
+@RequiredArgsConstructor
+public class LivroCadastroIsbnService {
+
+    private static final int TAMANHO_LOTE = Integer.getInteger("biblioteca.cadastroIsbn.tamanhoLote", 50);
+    private static final Pattern SEPARADORES_ISBNS = Pattern.compile("[\\s,;]+");
+    private static final Pattern POSSUI_DIGITO = Pattern.compile(".*\\d.*");
+
+    private final ILivroDAO livroDAO;
+    private final ILivroImportacaoDAO livroImportacaoDAO;
+    private final AutorService autorService;
+    private final EditoraService editoraService;
+    private final OpenLibraryClient openLibraryClient;
+    private final ResilienciaOpenLibraryInterceptor resilienciaOpenLibrary;
+    private final RegistroAlteracoesLivro registroAlteracoesLivro;
+    private final IndiceBuscaLivro indiceBuscaLivro;
+
+    /**
+     * Método responsável por separar os ISBNs do texto informado.
+     * <p>
+     * Os ISBNs podem estar separados por quebras de linha, espaços, vírgulas ou ponto e vírgula. Os valores sem nenhum dígito,
+     * como o cabeçalho de um arquivo CSV, são ignorados.
+     *
+     * @return os ISBNs, na ordem em que aparecem no texto.
+     */
+    public List<String> lerIsbns(String texto) {
+        if (texto == null) {
+            return new ArrayList<>();
+        }
+        return SEPARADORES_ISBNS.splitAsStream(texto)
+                .filter(valor -> POSSUI_DIGITO.matcher(valor).matches())
+                .collect(toList());
+    }
+
+    /**
+     * Método responsável por ler os ISBNs de um arquivo TXT ou CSV codificado em UTF-8.
+     *
+     * @return os ISBNs, na ordem em que aparecem no arquivo.
+     * @throws ValidacaoException caso ocorra algum erro ao ler o arquivo.
+     */
+    public List<String> lerIsbns(File arquivo) {
+        try {
+            return lerIsbns(new String(Files.readAllBytes(arquivo.toPath()), StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            log.severe(ex.getMessage());
+            throw new ValidacaoException(format("Erro ao ler o arquivo de ISBNs: %s", arquivo.getName()));
+        }
+    }
+
+    /**
+     * Método responsável por cadastrar os Livros dos ISBNs informados, em lotes.
+     *
+     * @return o resultado do cadastro, com a situação de cada ISBN.
+     */
+    public LivroCadastroIsbnResponse cadastrarLivrosPorIsbns(List<String> isbns) {
+        return cadastrarLivrosPorIsbns(isbns, resultadosLote -> {
+        }, () -> false);
+    }
+
+    /**
+     * Método responsável por cadastrar os Livros dos ISBNs informados, em lotes, publicando os resultados de cada lote processado.
+     * <p>
+     * O cancelamento é verificado apenas entre os lotes: o lote em processamento é concluído, e os ISBNs dos lotes seguintes
+     * ficam fora do resultado, que é marcado como cancelado.
+     *
+     * @param ouvinteResultados      ação executada, na thread do cadastro, com os resultados de cada lote processado.
+     * @param cancelamentoSolicitado informa se o cadastro deve ser encerrado no próximo lote.
+     * @return o resultado do cadastro, com a situação de cada ISBN, na ordem em que foram informados.
+     */
+    public LivroCadastroIsbnResponse cadastrarLivrosPorIsbns(List<String> isbns,
+                                                             Consumer<List<ResultadoCadastroIsbnResponse>> ouvinteResultados,
+                                                             BooleanSupplier cancelamentoSolicitado) {
+        long inicio = System.currentTimeMillis();
+        LivroCadastroIsbnResponse resultado = new LivroCadastroIsbnResponse();
+        Set<String> isbnsInformados = new HashSet<>();
+        Set<String> isbnsCadastrados = new HashSet<>();
+        Map<String, OpenLibraryAutorResponse> autoresPorKey = new HashMap<>();
+        CacheImportacaoLivro cache = new CacheImportacaoLivro();
+
+        for (int inicioLote = 0; inicioLote < isbns.size(); inicioLote += TAMANHO_LOTE) {
+            if (cancelamentoSolicitado.getAsBoolean()) {
+                resultado.setCancelado(true);
+                break;
+            }
+            List<String> lote = isbns.subList(inicioLote, Math.min(inicioLote + TAMANHO_LOTE, isbns.size()));
+            List<ResultadoCadastroIsbnResponse> resultadosLote = this.processarLote(lote, isbnsInformados, isbnsCadastrados,
+                    autoresPorKey, cache);
+            resultado.adicionarResultados(resultadosLote);
+            ouvinteResultados.accept(resultadosLote);
+        }
+
+        resultado.setTempoEmMillis(System.currentTimeMillis() - inicio);
+        resultado.setResumoOpenLibrary(resilienciaOpenLibrary.getResumo());
+        log.info(resultado.getResumo());
+        log.info(resultado.getResumoOpenLibrary());
+        return resultado;
+    }
+
+    /**
+     * Método responsável por cadastrar um lote de ISBNs.
+     * <p>
+     * Os ISBNs inválidos ou repetidos na lista são descartados sem nenhuma consulta. Os demais são verificados no banco de dados
+     * com uma única consulta e buscados juntos no endpoint da API que recebe vários ISBNs. Após a busca, todos os ISBNs de cada Livro encontrado
+     * são verificados, para que um Livro já cadastrado por outro de seus ISBNs, ou informado por dois ISBNs na lista, não seja cadastrado
+     * novamente. Os Autores, as Editoras e os Livros novos do lote são salvos em uma única transação.
+     * <p>
+     * Os Autores e as Editoras criados no lote só são adicionados ao cache do cadastro após o lote ser salvo, para que um lote
+     * com erro não deixe no cache entidades que não existem no banco de dados.
+     *
+     * @return os resultados dos ISBNs do lote, na mesma ordem do lote.
+     */
+    private List<ResultadoCadastroIsbnResponse> processarLote(List<String> lote, Set<String> isbnsInformados, Set<String> isbnsCadastrados,
+                                                              Map<String, OpenLibraryAutorResponse> autoresPorKey,
+                                                              CacheImportacaoLivro cache) {
+        ResultadoCadastroIsbnResponse[] resultados = new ResultadoCadastroIsbnResponse[lote.size()];
+        Map<String, Integer> posicoesPorIsbn = this.validarIsbnsDoLote(lote, isbnsInformados, resultados);
+        if (posicoesPorIsbn.isEmpty()) {
+            return Arrays.asList(resultados);
+        }
+
+        try {
+            Set<String> isbnsExistentes = livroDAO.existsByIsbns(posicoesPorIsbn.keySet());
+            Map<String, OpenLibraryLivroResponse> livrosPorIsbn = new LinkedHashMap<>();
+            List<String> isbnsParaBuscar = posicoesPorIsbn.keySet().stream()
+                    .filter(isbn -> !isbnsExistentes.contains(isbn) && !isbnsCadastrados.contains(isbn))
+                    .collect(toList());
+            if (!isbnsParaBuscar.isEmpty()) {
+                livrosPorIsbn.putAll(openLibraryClient.buscarLivrosPorIsbns(isbnsParaBuscar));
+            }
+            Set<String> isbnsEncontrados = new HashSet<>(livrosPorIsbn.keySet());
+            this.descartarLivrosJaCadastrados(livrosPorIsbn, isbnsCadastrados);
+
+            this.buscarAutoresDosLivros(livrosPorIsbn.values(), autoresPorKey);
+            this.carregarAutoresEEditoras(livrosPorIsbn.values(), autoresPorKey, cache);
+
+            Map<String, Autor> autoresNovos = new LinkedHashMap<>();
+            Map<String, Editora> editorasNovas = new LinkedHashMap<>();
+            Map<String, Livro> livrosNovos = new LinkedHashMap<>();
+            livrosPorIsbn.forEach((isbn, livroResponse) -> livrosNovos.put(isbn, Livro.montarLivro(converterDeOpenLibraryResponse(livroResponse),
+                    aplicarEditora(livroResponse, cache, editorasNovas), aplicarAutores(livroResponse, autoresPorKey, cache, autoresNovos))));
+
+            if (!livrosNovos.isEmpty()) {
+                livroImportacaoDAO.salvarLote(autoresNovos.values(), editorasNovas.values(), livrosNovos.values());
+                autoresNovos.values().forEach(cache::adicionarAutor);
+                editorasNovas.values().forEach(cache::adicionarEditora);
+                livrosPorIsbn.values().forEach(livroResponse -> isbnsCadastrados.addAll(livroResponse.getIsbns()));
+                isbnsCadastrados.addAll(livrosNovos.keySet());
+                this.registrarAlteracoesDoLote(livrosNovos.values());
+            }
+
+            posicoesPorIsbn.forEach((isbn, posicao) -> resultados[posicao] = montarResultadoIsbn(lote.get(posicao), isbn,
+                    !isbnsParaBuscar.contains(isbn), isbnsEncontrados.contains(isbn), livrosNovos.get(isbn)));
+        } catch (RuntimeException ex) {
+            log.warning(format("Erro ao cadastrar o lote de ISBNs: %s", ex.getMessage()));
+            posicoesPorIsbn.values().forEach(posicao -> resultados[posicao] = montarResultado(lote.get(posicao), ERRO, ex.getMessage()));
+        }
+        return Arrays.asList(resultados);
+    }
+
+    /**
+     * Método responsável por validar os ISBNs do lote, registrando o resultado dos ISBNs inválidos e dos repetidos na lista.
+     *
+     * @return os ISBNs válidos do lote, normalizados, com a posição de cada um no lote.
+     */
+    private Map<String, Integer> validarIsbnsDoLote(List<String> lote, Set<String> isbnsInformados,
+                                                    ResultadoCadastroIsbnResponse[] resultados) {
+        Map<String, Integer> posicoesPorIsbn = new LinkedHashMap<>();
+        for (int posicao = 0; posicao < lote.size(); posicao++) {
+            String isbnInformado = lote.get(posicao);
+            String isbn = normalizarIsbn(isbnInformado);
+            if (!isIsbn10Valido(isbn) && !isIsbn13Valido(isbn)) {
+                resultados[posicao] = montarResultado(isbnInformado, INVALIDO, "O ISBN deve possuir 10 ou 13 dígitos, com o dígito verificador válido.");
+            } else if (!isbnsInformados.add(isbn)) {
+                resultados[posicao] = montarResultado(isbnInformado, REPETIDO, "O ISBN já foi informado anteriormente na lista.");
+            } else {
+                posicoesPorIsbn.put(isbn, posicao);
+            }
+        }
+        return posicoesPorIsbn;
+    }
+
+    /**
+     * Método responsável por descartar os Livros encontrados na API que já estão cadastrados com algum dos ISBNs deles,
+     * no banco de dados, neste cadastro, ou por outro ISBN do mesmo lote, verificando todos os ISBNs dos Livros em uma única consulta.
+     */
+    private void descartarLivrosJaCadastrados(Map<String, OpenLibraryLivroResponse> livrosPorIsbn, Set<String> isbnsCadastrados) {
+        Set<String> isbnsDosLivros = new HashSet<>();
+        livrosPorIsbn.values().forEach(livroResponse -> isbnsDosLivros.addAll(livroResponse.getIsbns()));
+        Set<String> isbnsExistentes = new HashSet<>(livroDAO.existsByIsbns(isbnsDosLivros));
+        isbnsExistentes.addAll(isbnsCadastrados);
+
+        Iterator<Map.Entry<String, OpenLibraryLivroResponse>> livros = livrosPorIsbn.entrySet().iterator();
+        while (livros.hasNext()) {
+            Map.Entry<String, OpenLibraryLivroResponse> livro = livros.next();
+            Set<String> isbnsDoLivro = new HashSet<>(livro.getValue().getIsbns());
+            isbnsDoLivro.add(livro.getKey());
+            if (isbnsDoLivro.stream().anyMatch(isbnsExistentes::contains)) {
+                livros.remove();
+            } else {
+                isbnsExistentes.addAll(isbnsDoLivro);
+            }
+        }
+    }
+
+    /**
+     * Método responsável por buscar na API, de uma vez, os Autores dos Livros do lote que ainda não foram buscados neste cadastro.
+     */
+    private void buscarAutoresDosLivros(Collection<OpenLibraryLivroResponse> livros, Map<String, OpenLibraryAutorResponse> autoresPorKey) {
+        Set<String> keysNaoBuscadas = new LinkedHashSet<>();
+        livros.forEach(livroResponse -> livroResponse.getKeysDosAutores().stream()
+                .filter(Objects::nonNull)
+                .filter(key -> !autoresPorKey.containsKey(key))
+                .forEach(keysNaoBuscadas::add));
+
+        if (!keysNaoBuscadas.isEmpty()) {
+            autoresPorKey.putAll(openLibraryClient.buscarAutoresPorKeysDistintas(keysNaoBuscadas));
+        }
+    }
+
+    /**
+     * Método responsável por carregar no cache, com no máximo uma consulta por entidade, os Autores e as Editoras dos Livros do lote
+     * que ainda não foram consultados.
+     */
+    private void carregarAutoresEEditoras(Collection<OpenLibraryLivroResponse> livros, Map<String, OpenLibraryAutorResponse> autoresPorKey,
+                                          CacheImportacaoLivro cache) {
+        Set<String> nomesAutores = new HashSet<>();
+        Set<String> nomesEditoras = new HashSet<>();
+        for (OpenLibraryLivroResponse livroResponse : livros) {
+            livroResponse.getKeysDosAutores().stream()
+                    .map(autoresPorKey::get)
+                    .filter(autorResponse -> autorResponse != null && autorResponse.getNome() != null)
+                    .forEach(autorResponse -> nomesAutores.add(CacheImportacaoLivro.normalizarNome(autorResponse.getNome())));
+            String nomeEditora = getNomeEditora(livroResponse);
+            if (nomeEditora != null) {
+                nomesEditoras.add(CacheImportacaoLivro.normalizarNome(nomeEditora));
+            }
+        }
+
+        cache.carregarAutores(nomesAutores, autorService::findByNomes);
+        cache.carregarEditoras(nomesEditoras, emptySet(), editoraService::findByNomesOuCnpjs);
+    }
+
+    /**
+     * Método responsável por registrar as inclusões de Livros do lote salvo, para que as telas atualizem apenas estas linhas,
+     * e adicionar estes Livros no índice de busca.
+     */
+    private void registrarAlteracoesDoLote(Collection<Livro> livrosIncluidos) {
+        Map<Integer, ETipoAlteracao> tiposPorIdLivro = new LinkedHashMap<>();
+        livrosIncluidos.forEach(livro -> tiposPorIdLivro.put(livro.getId(), INCLUSAO));
+        registroAlteracoesLivro.registrar(tiposPorIdLivro);
+        indiceBuscaLivro.indexar(livrosIncluidos.stream()
+                .map(LivroIndiceBuscaDto::converterDeLivro)
+                .collect(toList()));
+    }
+
+    /**
+     * Método responsável por buscar os Autores do Livro no cache, ou criar os Autores que ainda não existem.
+     * <p>
+     * Os Autores criados são guardados pelo nome, para que um mesmo Autor de vários Livros do lote seja criado uma única vez.
+     *
+     * @return os Autores do Livro.
+     */
+    private static Set<Autor> aplicarAutores(OpenLibraryLivroResponse livroResponse, Map<String, OpenLibraryAutorResponse> autoresPorKey,
+                                             CacheImportacaoLivro cache, Map<String, Autor> autoresNovos) {
+        Set<Autor> autores = new HashSet<>();
+        for (String key : livroResponse.getKeysDosAutores()) {
+            OpenLibraryAutorResponse autorResponse = autoresPorKey.get(key);
+            if (autorResponse == null || autorResponse.getNome() == null) {
+                continue;
+            }
+            Autor autor = cache.getAutor(autorResponse.getNome());
+            if (autor == null) {
+                autor = autoresNovos.computeIfAbsent(CacheImportacaoLivro.normalizarNome(autorResponse.getNome()),
+                        nome -> Autor.converterDeRequest(AutorRequest.converterDeOpenLibraryAutorResponse(autorResponse)));
+            }
+            autores.add(autor);
+        }
+        return autores;
+    }
+
+    /**
+     * Método responsável por buscar a Editora do Livro no cache, ou criar a Editora caso ela ainda não exista.
+     *
+     * @return a Editora do Livro, ou null caso o Livro não possua Editora.
+     */
+    private static Editora aplicarEditora(OpenLibraryLivroResponse livroResponse, CacheImportacaoLivro cache,
+                                          Map<String, Editora> editorasNovas) {
+        String nomeEditora = getNomeEditora(livroResponse);
+        if (nomeEditora == null) {
+            return null;
+        }
+        Editora editora = cache.getEditora(nomeEditora);
+        return editora != null
+                ? editora
+                : editorasNovas.computeIfAbsent(CacheImportacaoLivro.normalizarNome(nomeEditora),
+                nome -> Editora.converterDeRequest(new EditoraRequest(nomeEditora)));
+    }
+
+    /**
+     * Método responsável por montar o resultado de um ISBN válido do lote processado.
+     *
+     * @param jaCadastrado indica se o ISBN já estava cadastrado antes da busca na API.
+     * @param encontrado   indica se o Livro do ISBN foi encontrado na API.
+     * @param livro        o Livro cadastrado pelo ISBN, ou null caso ele não tenha sido cadastrado.
+     * @return o resultado do ISBN.
+     */
+    private static ResultadoCadastroIsbnResponse montarResultadoIsbn(String isbnInformado, String isbn, boolean jaCadastrado,
+                                                                     boolean encontrado, Livro livro) {
+        if (livro != null) {
+            return ResultadoCadastroIsbnResponse.builder()
+                    .isbn(isbnInformado)
+                    .situacao(CADASTRADO)
+                    .titulo(livro.getTitulo())
+                    .build();
+        }
+        if (jaCadastrado) {
+            return montarResultado(isbnInformado, JA_CADASTRADO, "Já existe um livro com este ISBN no sistema.");
+        }
+        if (encontrado) {
+            return montarResultado(isbnInformado, JA_CADASTRADO, "Já existe um livro com outro ISBN deste livro no sistema.");
+        }
+        return montarResultado(isbnInformado, NAO_ENCONTRADO, format("Livro não encontrado com o ISBN: %s", isbn));
+    }
+
+    /**
+     * Método responsável por buscar o nome da primeira Editora do Livro, da mesma forma que o cadastro de um único ISBN.
+     *
+     * @return o nome da Editora, ou null caso o Livro não possua Editora.
+     */
+    private static String getNomeEditora(OpenLibraryLivroResponse livroResponse) {
+        List<String> editoras = livroResponse.getEditoras();
+        return editoras != null && !editoras.isEmpty() ? editoras.get(0) : null;
+    }
+
+    /**
+     * Método responsável por normalizar o ISBN informado, removendo os hífens e os espaços e deixando o dígito verificador X em caixa alta.
+     *
+     * @return o ISBN normalizado.
+     */
+    private static String normalizarIsbn(String isbn) {
+        return isbn.replace("-", "").trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,738 @@
+package biblioteca.backend.service;
+
+import biblioteca.backend.dao.contract.ILivroDAO;
+import biblioteca.backend.dao.contract.ILivroImportacaoDAO;
+import biblioteca.backend.dto.AutorRequest;
+import biblioteca.backend.dto.EditoraRequest;
+import biblioteca.backend.dto.ErroImportacaoResponse;
+import biblioteca.backend.dto.LivroImportacaoDto;
+import biblioteca.backend.dto.LivroIndiceBuscaDto;
+import biblioteca.backend.dto.LivroImportacaoResponse;
+import biblioteca.backend.dto.ProgressoImportacaoResponse;
+import biblioteca.backend.enums.EModoImportacao;
+import biblioteca.backend.enums.ETipoAlteracao;
+import biblioteca.backend.exceptions.ValidacaoException;
+import biblioteca.backend.model.Autor;
+import biblioteca.backend.model.Editora;
+import biblioteca.backend.model.Livro;
+import biblioteca.backend.utils.LeitorArquivoMapeado;
+import biblioteca.backend.utils.RegiaoArquivoCsv;
+import biblioteca.backend.utils.TokenizadorCsv;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.java.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static biblioteca.backend.enums.ETipoAlteracao.ALTERACAO;
+import static biblioteca.backend.enums.ETipoAlteracao.INCLUSAO;
+import static biblioteca.utils.StringUtils.*;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Classe de serviço para a importação de Livros por arquivo.
+ * <p>
+ * Esta classe é responsável por ler o arquivo de importação, mapeado em memória e codificado em UTF-8, em lotes de linhas,
+ * converter os lotes em paralelo, buscar os Autores, as Editoras e os Livros de cada lote com uma única consulta por entidade,
+ * e salvar o lote inteiro em uma única transação.
+ * Os lotes podem ser gravados pelo JPA ou pelo comando COPY do PostgreSQL, com o mesmo resultado no banco de dados.
+ * Os Autores e as Editoras ficam em um cache durante toda a importação, para que sejam consultados uma única vez por arquivo.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Log
+@RequiredArgsConstructor
+public class LivroImportacaoService {
+
+    private static final String CABECALHO_ARQUIVO_IMPORTACAO = "TITULO;DATA_PUBLICACAO;ISBN_10;ISBN_13;GENERO;NOME_EDITORA;CNPJ_EDITORA;NOME_AUTOR;DATA_NASCIMENTO_AUTOR;DATA_MORTE_AUTOR;BIOGRAFIA_AUTOR";
+    private static final int QUANTIDADE_CAMPOS_LINHA = 11;
+    private static final char SEPARADOR_CAMPOS = ';';
+    private static final int TAMANHO_LOTE = Integer.getInteger("biblioteca.importacao.tamanhoLote", 1000);
+    private static final int LOTES_EM_ESPERA = Integer.getInteger("biblioteca.importacao.lotesEmEspera", 4);
+    private static final int PARALELISMO_CONVERSAO = Runtime.getRuntime().availableProcessors();
+    private static final String EXTENSAO_RELATORIO_VALIDACAO = ".validacao.txt";
+    private static final int CAMPO_DATA_PUBLICACAO = 1;
+    private static final int CAMPO_ISBN_10 = 2;
+    private static final int CAMPO_ISBN_13 = 3;
+    private static final int CAMPO_CNPJ_EDITORA = 6;
+    private static final int CAMPO_DATA_NASCIMENTO_AUTOR = 8;
+    private static final int CAMPO_DATA_MORTE_AUTOR = 9;
+
+    private static final ThreadLocal<TokenizadorCsv> TOKENIZADOR = ThreadLocal.withInitial(() -> new TokenizadorCsv(SEPARADOR_CAMPOS));
+
+    private final ILivroDAO livroDAO;
+    private final ILivroImportacaoDAO livroImportacaoDAO;
+    private final ILivroImportacaoDAO livroImportacaoCopyDAO;
+    private final AutorService autorService;
+    private final EditoraService editoraService;
+    private final RegistroAlteracoesLivro registroAlteracoesLivro;
+    private final IndiceBuscaLivro indiceBuscaLivro;
+
+    /**
+     * Método responsável por ler o arquivo de importação e importar os Livros, Autores e Editoras de cada linha, em lotes.
+     *
+     * @return o resultado da importação, com os totais de linhas, os erros das linhas rejeitadas e a quantidade de linhas processadas por segundo.
+     * @throws ValidacaoException caso o cabeçalho do arquivo seja inválido, ou caso ocorra algum erro ao ler o arquivo ou ao salvar um lote.
+     */
+    public LivroImportacaoResponse importarArquivo(File arquivo) {
+        return importarArquivo(arquivo, progresso -> {
+        }, () -> false);
+    }
+
+    /**
+     * Método responsável por ler o arquivo de importação e importar os Livros, Autores e Editoras de cada linha, em lotes,
+     * publicando o andamento da importação a cada lote gravado.
+     * <p>
+     * Uma thread de leitura separa o arquivo em lotes de registros e envia cada lote para ser convertido em paralelo no ForkJoinPool
+     * da importação. Os lotes convertidos são entregues, na ordem do arquivo, por uma fila limitada para a gravação no banco de dados,
+     * que acontece nesta thread. As linhas com erro são registradas no resultado com o número da linha, sem interromper a importação.
+     * <p>
+     * Cada lote é salvo em sua própria transação, então os lotes anteriores a uma falha no banco de dados permanecem salvos.
+     * O cancelamento é verificado apenas entre os lotes: o lote em gravação é concluído, os lotes seguintes são descartados
+     * e o resultado é marcado como cancelado, com os totais dos lotes já gravados.
+     * <p>
+     * Após cada lote gravado, o fim dele é registrado como ponto de retomada da importação do arquivo. Caso a importação falhe
+     * ou seja cancelada, a próxima importação do mesmo arquivo continua a partir do último lote gravado, e o resultado
+     * contabiliza apenas as linhas importadas nela.
+     *
+     * @param ouvinteProgresso       ação executada, na thread da importação, com o andamento após cada lote gravado.
+     * @param cancelamentoSolicitado informa se a importação deve ser encerrada no próximo lote.
+     * @return o resultado da importação, com os totais de linhas, os erros das linhas rejeitadas e a quantidade de linhas processadas por segundo.
+     * @throws ValidacaoException caso o cabeçalho do arquivo seja inválido, ou caso ocorra algum erro ao ler o arquivo ou ao salvar um lote.
+     */
+    public LivroImportacaoResponse importarArquivo(File arquivo, Consumer<ProgressoImportacaoResponse> ouvinteProgresso,
+                                                   BooleanSupplier cancelamentoSolicitado) {
+        return importarArquivo(arquivo, EModoImportacao.JPA, ouvinteProgresso, cancelamentoSolicitado);
+    }
+
+    /**
+     * Método responsável por importar o arquivo gravando os lotes no modo de importação informado.
+     * <p>
+     * A leitura, a conversão, a busca das entidades já cadastradas e a retomada são as mesmas nos dois modos, e apenas a gravação
+     * de cada lote muda: no modo COPY, as entidades do lote são carregadas em tabelas temporárias com o comando COPY do PostgreSQL
+     * e mescladas nas tabelas com INSERT ... ON CONFLICT, sem passar pelo Hibernate.
+     *
+     * @param modoImportacao         a forma de gravação dos lotes no banco de dados.
+     * @param ouvinteProgresso       ação executada, na thread da importação, com o andamento após cada lote gravado.
+     * @param cancelamentoSolicitado informa se a importação deve ser encerrada no próximo lote.
+     * @return o resultado da importação, com os totais de linhas, os erros das linhas rejeitadas e a quantidade de linhas processadas por segundo.
+     * @throws ValidacaoException caso o cabeçalho do arquivo seja inválido, ou caso ocorra algum erro ao ler o arquivo ou ao salvar um lote.
+     */
+    public LivroImportacaoResponse importarArquivo(File arquivo, EModoImportacao modoImportacao,
+                                                   Consumer<ProgressoImportacaoResponse> ouvinteProgresso,
+                                                   BooleanSupplier cancelamentoSolicitado) {
+        ILivroImportacaoDAO importacaoDAO = modoImportacao == EModoImportacao.COPY ? livroImportacaoCopyDAO : livroImportacaoDAO;
+        LivroImportacaoResponse resultado = new LivroImportacaoResponse();
+        CacheImportacaoLivro cache = new CacheImportacaoLivro();
+        long tamanhoArquivo = arquivo.length();
+
+        try (LeitorArquivoMapeado leitorArquivo = new LeitorArquivoMapeado(arquivo, SEPARADOR_CAMPOS)) {
+            validarCabecalho(leitorArquivo.lerCabecalho());
+            RetomadaImportacaoLivro retomada = RetomadaImportacaoLivro.abrir(arquivo);
+            if (retomada.isRetomada()) {
+                leitorArquivo.posicionar(retomada.getPosicao(), retomada.getNumeroLinha());
+                resultado.setLinhaRetomada(retomada.getNumeroLinha() + 1);
+                log.info(format("Retomando a importação do arquivo %s a partir da linha %d.", arquivo.getName(), resultado.getLinhaRetomada()));
+            }
+            long posicaoInicial = leitorArquivo.getPosicao();
+            long inicio = System.currentTimeMillis();
+
+            this.processarLotes(leitorArquivo, false, resultado, cancelamentoSolicitado, lote -> {
+                lote.getErros().forEach(resultado::adicionarErro);
+                if (!lote.getLivros().isEmpty()) {
+                    this.processarLote(lote.getLivros(), cache, resultado, importacaoDAO);
+                }
+                retomada.registrarLoteGravado(retomada.getNumeroLote() + 1, lote.getPosicaoFimLote(), lote.getNumeroLinhaFimLote());
+                ouvinteProgresso.accept(ProgressoImportacaoResponse.montarProgresso(resultado, posicaoInicial,
+                        lote.getPosicaoFimLote(), tamanhoArquivo, System.currentTimeMillis() - inicio));
+            });
+            if (!resultado.isCancelada()) {
+                retomada.concluir();
+            }
+            resultado.setTempoEmMillis(System.currentTimeMillis() - inicio);
+        } catch (IOException ex) {
+            throw new ValidacaoException(format("Erro ao ler o arquivo: %s", ex.getMessage()));
+        } catch (ValidacaoException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new ValidacaoException(format("Ocorreu um erro inesperado ao processar o arquivo: %s", ex.getMessage()));
+        }
+
+        log.info(format("Importação do arquivo %s (%s) finalizada: %s", arquivo.getName(), modoImportacao, resultado.getResumo()));
+        return resultado;
+    }
+
+    /**
+     * Método responsável por validar o arquivo de importação sem gravar nada no banco de dados.
+     * <p>
+     * O arquivo inteiro é lido da mesma forma que na importação, e as linhas são rejeitadas pelas mesmas regras dela: a quantidade
+     * de campos, o gênero, e o CNPJ de uma nova Editora que já pertence a outra Editora, verificado pelo mesmo cache de Editoras
+     * da importação, carregado com as mesmas consultas por lote.
+     * As linhas válidas são contabilizadas como inclusões ou alterações de acordo com os ISBNs já cadastrados, consultados com uma única
+     * consulta por lote, sem abrir transações. Assim, os totais da validação são os mesmos da importação do arquivo.
+     * <p>
+     * As datas em formato não aceito, o formato do CNPJ e os dígitos verificadores dos ISBNs não rejeitam a linha na importação,
+     * então são informados apenas como avisos. Os erros e os avisos de cada linha são gravados no relatório de validação, ao lado do arquivo,
+     * até o limite do relatório.
+     *
+     * @param ouvinteProgresso       ação executada, na thread da validação, com o andamento após cada lote validado.
+     * @param cancelamentoSolicitado informa se a validação deve ser encerrada no próximo lote.
+     * @return o resultado da validação, com os totais que a importação do arquivo teria e o caminho do relatório de erros.
+     * @throws ValidacaoException caso o cabeçalho do arquivo seja inválido, ou caso ocorra algum erro ao ler o arquivo.
+     */
+    public LivroImportacaoResponse validarArquivo(File arquivo, Consumer<ProgressoImportacaoResponse> ouvinteProgresso,
+                                                  BooleanSupplier cancelamentoSolicitado) {
+        long inicio = System.currentTimeMillis();
+        LivroImportacaoResponse resultado = LivroImportacaoResponse.builder().simulacao(true).build();
+        Set<String> isbnsNovosNoArquivo = new HashSet<>();
+        CacheImportacaoLivro cache = new CacheImportacaoLivro();
+        long tamanhoArquivo = arquivo.length();
+        File arquivoRelatorio = new File(arquivo.getAbsoluteFile().getParentFile(), arquivo.getName() + EXTENSAO_RELATORIO_VALIDACAO);
+
+        try (LeitorArquivoMapeado leitorArquivo = new LeitorArquivoMapeado(arquivo, SEPARADOR_CAMPOS);
+             RelatorioErrosImportacao relatorio = new RelatorioErrosImportacao(arquivoRelatorio)) {
+            validarCabecalho(leitorArquivo.lerCabecalho());
+            long posicaoInicial = leitorArquivo.getPosicao();
+
+            this.processarLotes(leitorArquivo, true, resultado, cancelamentoSolicitado, lote -> {
+                for (ErroImportacaoResponse erro : lote.getErros()) {
+                    resultado.adicionarErro(erro);
+                    relatorio.registrar(erro);
+                }
+                this.validarLote(lote.getLivros(), cache, isbnsNovosNoArquivo, resultado, relatorio);
+                ouvinteProgresso.accept(ProgressoImportacaoResponse.montarProgresso(resultado, posicaoInicial,
+                        lote.getPosicaoFimLote(), tamanhoArquivo, System.currentTimeMillis() - inicio));
+            });
+            resultado.setArquivoRelatorioErros(relatorio.getCaminho());
+        } catch (IOException ex) {
+            throw new ValidacaoException(format("Erro ao ler o arquivo: %s", ex.getMessage()));
+        } catch (ValidacaoException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new ValidacaoException(format("Ocorreu um erro inesperado ao processar o arquivo: %s", ex.getMessage()));
+        }
+
+        resultado.setTempoEmMillis(System.currentTimeMillis() - inicio);
+        log.info(format("Validação do arquivo %s finalizada: %s", arquivo.getName(), resultado.getResumo()));
+        return resultado;
+    }
+
+    /**
+     * Método responsável por ler o arquivo em lotes em uma thread de leitura, converter os lotes no pool de conversão e executar
+     * a ação recebida com cada lote convertido, na ordem do arquivo, nesta thread.
+     *
+     * @param simulacao indica se as linhas devem passar pelas validações adicionais da validação do arquivo.
+     */
+    private void processarLotes(LeitorArquivoMapeado leitorArquivo, boolean simulacao, LivroImportacaoResponse resultado,
+                                BooleanSupplier cancelamentoSolicitado, AcaoLote acaoLote) throws IOException {
+        BlockingQueue<CompletableFuture<LoteImportacaoLivro>> filaLotes = new ArrayBlockingQueue<>(LOTES_EM_ESPERA);
+        ForkJoinPool poolConversao = new ForkJoinPool(PARALELISMO_CONVERSAO);
+        ExecutorService leitor = Executors.newSingleThreadExecutor();
+        try {
+            leitor.execute(() -> this.lerLotes(leitorArquivo, simulacao, poolConversao, filaLotes));
+            this.consumirLotes(filaLotes, resultado, cancelamentoSolicitado, acaoLote);
+        } finally {
+            leitor.shutdownNow();
+            poolConversao.shutdownNow();
+        }
+    }
+
+    /**
+     * Método responsável por separar o arquivo em regiões de registros e enviar cada região para ser convertida no pool de conversão.
+     * <p>
+     * Um registro pode ocupar mais de uma linha do arquivo quando possuir um campo entre aspas com quebras de linha,
+     * e é identificado pelo número da linha em que começa. Cada região é um lote de registros completos do arquivo mapeado.
+     * <p>
+     * Os lotes em conversão são colocados na fila na ordem do arquivo. Quando a fila está cheia, a leitura aguarda a gravação
+     * consumir os lotes anteriores. Ao final da leitura, ou em caso de erro, é colocado na fila o lote de fim do arquivo ou o erro.
+     */
+    private void lerLotes(LeitorArquivoMapeado leitorArquivo, boolean simulacao, ForkJoinPool poolConversao,
+                          BlockingQueue<CompletableFuture<LoteImportacaoLivro>> filaLotes) {
+        try {
+            RegiaoArquivoCsv regiao;
+            while ((regiao = leitorArquivo.lerRegiao(TAMANHO_LOTE)) != null) {
+                filaLotes.put(converterLoteAssincrono(regiao, simulacao, poolConversao));
+            }
+            filaLotes.put(CompletableFuture.completedFuture(LoteImportacaoLivro.fimDoArquivo()));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            entregarFalhaLeitura(ex, filaLotes);
+        }
+    }
+
+    /**
+     * Método responsável por colocar na fila o erro ocorrido durante a leitura do arquivo, para que a gravação seja encerrada com ele.
+     */
+    private static void entregarFalhaLeitura(Exception erro, BlockingQueue<CompletableFuture<LoteImportacaoLivro>> filaLotes) {
+        CompletableFuture<LoteImportacaoLivro> falha = new CompletableFuture<>();
+        falha.completeExceptionally(erro);
+        try {
+            filaLotes.put(falha);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Método responsável por consumir, na ordem do arquivo, os lotes convertidos da fila e executar a ação recebida com cada um deles.
+     * <p>
+     * Antes de cada lote é verificado se o cancelamento foi solicitado. Neste caso, a leitura é encerrada e o resultado é marcado
+     * como cancelado, mantendo apenas os totais dos lotes já processados.
+     *
+     * @throws ValidacaoException caso a leitura ou a conversão de algum lote falhe, ou caso a importação seja interrompida.
+     */
+    private void consumirLotes(BlockingQueue<CompletableFuture<LoteImportacaoLivro>> filaLotes, LivroImportacaoResponse resultado,
+                               BooleanSupplier cancelamentoSolicitado, AcaoLote acaoLote) throws IOException {
+        try {
+            LoteImportacaoLivro lote = filaLotes.take().get();
+            while (!lote.isFimDoArquivo()) {
+                if (cancelamentoSolicitado.getAsBoolean()) {
+                    resultado.setCancelada(true);
+                    return;
+                }
+                acaoLote.executar(lote);
+                lote = filaLotes.take().get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ValidacaoException("A importação do arquivo foi interrompida.");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
+            }
+            throw new ValidacaoException(format("Ocorreu um erro inesperado ao processar o arquivo: %s", ex.getCause().getMessage()));
+        }
+    }
+
+    /**
+     * Método responsável por enviar uma região do arquivo para ser convertida no pool de conversão.
+     *
+     * @return o lote que será convertido de forma assíncrona.
+     */
+    private CompletableFuture<LoteImportacaoLivro> converterLoteAssincrono(RegiaoArquivoCsv regiao, boolean simulacao,
+                                                                          ForkJoinPool poolConversao) {
+        return CompletableFuture.supplyAsync(() -> this.converterLote(regiao, simulacao), poolConversao);
+    }
+
+    /**
+     * Método responsável por converter os registros de uma região do arquivo em paralelo, mantendo a ordem das linhas do arquivo.
+     * <p>
+     * Os registros são separados diretamente nos bytes da região mapeada, e apenas os campos lidos são decodificados.
+     * As linhas que não puderem ser convertidas são registradas como erros do lote, com o número da linha no arquivo.
+     *
+     * @param simulacao indica se as linhas devem passar pelas validações adicionais da validação do arquivo.
+     * @return o lote com as linhas convertidas e os erros das linhas rejeitadas.
+     */
+    private LoteImportacaoLivro converterLote(RegiaoArquivoCsv regiao, boolean simulacao) {
+        ByteBuffer conteudo = regiao.getConteudo();
+        int[] inicios = regiao.getIniciosRegistros();
+        int[] fins = regiao.getFinsRegistros();
+        int[] numerosLinhas = regiao.getNumerosLinhas();
+        int quantidadeRegistros = regiao.getQuantidadeRegistros();
+
+        LivroImportacaoDto[] livrosConvertidos = new LivroImportacaoDto[quantidadeRegistros];
+        String[] mensagensErro = new String[quantidadeRegistros];
+        IntStream.range(0, quantidadeRegistros)
+                .parallel()
+                .forEach(indice -> {
+                    try {
+                        livrosConvertidos[indice] = simulacao
+                                ? validarRegistro(conteudo, inicios[indice], fins[indice], numerosLinhas[indice])
+                                : converterRegistro(conteudo, inicios[indice], fins[indice], numerosLinhas[indice]);
+                    } catch (RuntimeException ex) {
+                        mensagensErro[indice] = ex.getMessage();
+                    }
+                });
+
+        List<LivroImportacaoDto> livros = new ArrayList<>(quantidadeRegistros);
+        List<ErroImportacaoResponse> erros = new ArrayList<>();
+        for (int indice = 0; indice < quantidadeRegistros; indice++) {
+            if (livrosConvertidos[indice] != null) {
+                livros.add(livrosConvertidos[indice]);
+            } else {
+                erros.add(new ErroImportacaoResponse(numerosLinhas[indice], mensagensErro[indice]));
+            }
+        }
+        return LoteImportacaoLivro.montarLote(livros, erros, regiao.getPosicaoFim(), regiao.getNumeroLinhaFim());
+    }
+
+    /**
+     * Método responsável por importar um lote de linhas do arquivo.
+     * <p>
+     * Carrega no cache da importação os Autores e as Editoras do lote que ainda não foram consultados, busca os Livros já cadastrados
+     * do lote com uma única consulta, aplica os dados de cada linha nas entidades em memória e salva apenas as entidades novas
+     * ou alteradas em uma única transação, pelo DAO do modo de importação. As linhas com dados inválidos são registradas como erros no resultado.
+     */
+    private void processarLote(List<LivroImportacaoDto> lote, CacheImportacaoLivro cache, LivroImportacaoResponse resultado,
+                               ILivroImportacaoDAO importacaoDAO) {
+        this.carregarAutoresDoLote(lote, cache);
+        this.carregarEditorasDoLote(lote, cache);
+        Map<String, Livro> livrosPorIsbn10 = new HashMap<>();
+        Map<String, Livro> livrosPorIsbn13 = new HashMap<>();
+        this.buscarLivrosDoLote(lote, livrosPorIsbn10, livrosPorIsbn13);
+
+        Set<Autor> autoresAlterados = new LinkedHashSet<>();
+        Set<Editora> editorasAlteradas = new LinkedHashSet<>();
+        Set<Livro> livrosAlterados = new LinkedHashSet<>();
+        List<Livro> livrosIncluidos = new ArrayList<>();
+        int inseridos = 0;
+        int atualizados = 0;
+
+        for (LivroImportacaoDto livroImportacaoDto : lote) {
+            Editora editora;
+            try {
+                editora = aplicarEditora(livroImportacaoDto, cache, editorasAlteradas);
+            } catch (ValidacaoException ex) {
+                resultado.adicionarErro(new ErroImportacaoResponse(livroImportacaoDto.getNumeroLinha(), ex.getMessage()));
+                continue;
+            }
+            Autor autor = aplicarAutor(livroImportacaoDto, cache, autoresAlterados);
+            Set<Autor> autores = new HashSet<>();
+            if (autor != null) {
+                autores.add(autor);
+            }
+
+            Livro livro = buscarLivroPorIsbns(livroImportacaoDto, livrosPorIsbn10, livrosPorIsbn13);
+            if (livro == null) {
+                livro = Livro.montarLivroPorImportacao(livroImportacaoDto, editora, autores);
+                livrosIncluidos.add(livro);
+                inseridos++;
+            } else {
+                livro.atualizarDadosPorImportacao(livroImportacaoDto, editora, autores);
+                atualizados++;
+            }
+            registrarLivroPorIsbns(livro, livrosPorIsbn10, livrosPorIsbn13);
+            livrosAlterados.add(livro);
+        }
+
+        importacaoDAO.salvarLote(autoresAlterados, editorasAlteradas, livrosAlterados);
+        resultado.adicionarLote(inseridos, atualizados);
+        registrarAlteracoesDoLote(livrosIncluidos, livrosAlterados);
+    }
+
+    /**
+     * Método responsável por registrar as inclusões e alterações de Livros do lote salvo, para que as telas atualizem apenas estas linhas,
+     * e atualizar estes Livros no índice de busca.
+     */
+    private void registrarAlteracoesDoLote(List<Livro> livrosIncluidos, Set<Livro> livrosAlterados) {
+        Map<Integer, ETipoAlteracao> tiposPorIdLivro = new LinkedHashMap<>();
+        livrosIncluidos.forEach(livro -> tiposPorIdLivro.put(livro.getId(), INCLUSAO));
+        livrosAlterados.forEach(livro -> tiposPorIdLivro.putIfAbsent(livro.getId(), ALTERACAO));
+        registroAlteracoesLivro.registrar(tiposPorIdLivro);
+        indiceBuscaLivro.indexar(livrosAlterados.stream()
+                .map(LivroIndiceBuscaDto::converterDeLivro)
+                .collect(toList()));
+    }
+
+    /**
+     * Método responsável por carregar no cache, com no máximo uma consulta, os Autores do lote que ainda não foram consultados.
+     */
+    private void carregarAutoresDoLote(List<LivroImportacaoDto> lote, CacheImportacaoLivro cache) {
+        Set<String> nomes = lote.stream()
+                .map(LivroImportacaoDto::getNomeAutor)
+                .filter(Objects::nonNull)
+                .map(CacheImportacaoLivro::normalizarNome)
+                .collect(toSet());
+
+        cache.carregarAutores(nomes, autorService::findByNomes);
+    }
+
+    /**
+     * Método responsável por carregar no cache, com no máximo uma consulta, as Editoras do lote que ainda não foram consultadas.
+     */
+    private void carregarEditorasDoLote(List<LivroImportacaoDto> lote, CacheImportacaoLivro cache) {
+        Set<String> nomes = lote.stream()
+                .map(LivroImportacaoDto::getNomeEditora)
+                .filter(Objects::nonNull)
+                .map(CacheImportacaoLivro::normalizarNome)
+                .collect(toSet());
+        Set<String> cnpjs = lote.stream()
+                .map(LivroImportacaoDto::getCnpjEditora)
+                .filter(Objects::nonNull)
+                .collect(toSet());
+
+        cache.carregarEditoras(nomes, cnpjs, editoraService::findByNomesOuCnpjs);
+    }
+
+    /**
+     * Método responsável por buscar os Livros já cadastrados com os ISBNs presentes no lote.
+     * <p>
+     * Primeiro são consultados apenas os ISBNs que já existem no banco de dados, e as entidades são carregadas somente para eles.
+     * Em um lote apenas com livros novos, nenhuma entidade é carregada.
+     */
+    private void buscarLivrosDoLote(List<LivroImportacaoDto> lote, Map<String, Livro> livrosPorIsbn10,
+                                    Map<String, Livro> livrosPorIsbn13) {
+        livroDAO.findByIsbnsIn(livroDAO.existsByIsbns(coletarIsbns(lote)))
+                .forEach(livro -> registrarLivroPorIsbns(livro, livrosPorIsbn10, livrosPorIsbn13));
+    }
+
+    /**
+     * Método responsável por contabilizar as linhas válidas de um lote da validação do arquivo como inclusões ou alterações de Livros.
+     * <p>
+     * As Editoras de cada linha são aplicadas no cache da validação da mesma forma que na importação, sem salvar nada, para que
+     * as linhas rejeitadas pelo CNPJ de uma nova Editora sejam as mesmas da importação.
+     * Uma linha é contabilizada como alteração quando algum dos ISBNs dela já está cadastrado, o que é verificado com uma única consulta
+     * por lote, ou quando pertence a um Livro novo de uma linha anterior do arquivo, assim como acontece na importação.
+     */
+    private void validarLote(List<LivroImportacaoDto> lote, CacheImportacaoLivro cache, Set<String> isbnsNovosNoArquivo,
+                             LivroImportacaoResponse resultado, RelatorioErrosImportacao relatorio) throws IOException {
+        this.carregarEditorasDoLote(lote, cache);
+        Set<String> isbnsCadastrados = livroDAO.existsByIsbns(coletarIsbns(lote));
+        int inseridos = 0;
+        int atualizados = 0;
+        for (LivroImportacaoDto livroImportacaoDto : lote) {
+            try {
+                aplicarEditora(livroImportacaoDto, cache, new HashSet<>());
+            } catch (ValidacaoException ex) {
+                ErroImportacaoResponse erro = new ErroImportacaoResponse(livroImportacaoDto.getNumeroLinha(), ex.getMessage());
+                resultado.adicionarErro(erro);
+                relatorio.registrar(erro);
+                continue;
+            }
+            if (livroImportacaoDto.getAvisos() != null) {
+                resultado.adicionarAviso();
+                relatorio.registrarAviso(new ErroImportacaoResponse(livroImportacaoDto.getNumeroLinha(), livroImportacaoDto.getAvisos()));
+            }
+
+            if (possuiIsbn(livroImportacaoDto, isbnsCadastrados) || possuiIsbn(livroImportacaoDto, isbnsNovosNoArquivo)) {
+                atualizados++;
+                continue;
+            }
+            inseridos++;
+            if (livroImportacaoDto.getIsbn10() != null) {
+                isbnsNovosNoArquivo.add(livroImportacaoDto.getIsbn10());
+            }
+            if (livroImportacaoDto.getIsbn13() != null) {
+                isbnsNovosNoArquivo.add(livroImportacaoDto.getIsbn13());
+            }
+        }
+        resultado.adicionarLote(inseridos, atualizados);
+    }
+
+    /**
+     * Método responsável por coletar os ISBNs 10 e 13 informados nas linhas do lote.
+     *
+     * @return os ISBNs do lote.
+     */
+    private static Set<String> coletarIsbns(List<LivroImportacaoDto> lote) {
+        Set<String> isbns = new HashSet<>();
+        lote.forEach(livroImportacaoDto -> {
+            if (livroImportacaoDto.getIsbn10() != null) {
+                isbns.add(livroImportacaoDto.getIsbn10());
+            }
+            if (livroImportacaoDto.getIsbn13() != null) {
+                isbns.add(livroImportacaoDto.getIsbn13());
+            }
+        });
+        return isbns;
+    }
+
+    private static boolean possuiIsbn(LivroImportacaoDto livroImportacaoDto, Set<String> isbns) {
+        return (livroImportacaoDto.getIsbn10() != null && isbns.contains(livroImportacaoDto.getIsbn10()))
+                || (livroImportacaoDto.getIsbn13() != null && isbns.contains(livroImportacaoDto.getIsbn13()));
+    }
+
+    /**
+     * Método responsável por aplicar os dados do Autor da linha no Autor do cache, ou criar um novo Autor caso ele não exista.
+     * <p>
+     * O Autor só é marcado para ser salvo quando for novo ou quando os dados da linha forem diferentes dos dados dele.
+     *
+     * @return O Autor da linha, ou null caso a linha não possua o nome do Autor.
+     */
+    private static Autor aplicarAutor(LivroImportacaoDto livroImportacaoDto, CacheImportacaoLivro cache,
+                                      Set<Autor> autoresAlterados) {
+        if (livroImportacaoDto.getNomeAutor() == null) {
+            return null;
+        }
+        AutorRequest autorRequest = AutorRequest.converterDeLivroImportacaoDto(livroImportacaoDto);
+
+        Autor autor = cache.getAutor(autorRequest.getNome());
+        if (autor == null) {
+            autor = Autor.converterDeRequest(autorRequest);
+            cache.adicionarAutor(autor);
+            autoresAlterados.add(autor);
+        } else if (autor.possuiDadosDiferentes(autorRequest)) {
+            autor.atualizarDados(autorRequest);
+            autoresAlterados.add(autor);
+        }
+        return autor;
+    }
+
+    /**
+     * Método responsável por aplicar os dados da Editora da linha na Editora do cache, ou criar uma nova Editora caso ela não exista.
+     * <p>
+     * A Editora só é marcada para ser salva quando for nova ou quando os dados da linha forem diferentes dos dados dela.
+     *
+     * @return A Editora da linha, ou null caso a linha não possua o nome da Editora.
+     * @throws ValidacaoException caso uma nova Editora possua o mesmo cnpj de outra Editora.
+     */
+    private static Editora aplicarEditora(LivroImportacaoDto livroImportacaoDto, CacheImportacaoLivro cache,
+                                          Set<Editora> editorasAlteradas) {
+        if (livroImportacaoDto.getNomeEditora() == null) {
+            return null;
+        }
+        EditoraRequest editoraRequest = new EditoraRequest(livroImportacaoDto.getNomeEditora(), livroImportacaoDto.getCnpjEditora());
+
+        Editora editora = cache.getEditora(editoraRequest.getNome());
+        if (editora == null) {
+            validarCnpjDisponivel(editoraRequest.getCnpj(), cache);
+            editora = Editora.converterDeRequest(editoraRequest);
+        } else if (editora.possuiDadosDiferentes(editoraRequest)) {
+            editora.atualizarDados(editoraRequest);
+        } else {
+            return editora;
+        }
+        cache.adicionarEditora(editora);
+        editorasAlteradas.add(editora);
+        return editora;
+    }
+
+    /**
+     * Método responsável por buscar o Livro do lote que possuir o ISBN 10 ou o ISBN 13 da linha.
+     *
+     * @return O Livro encontrado, ou null caso nenhum Livro possua os ISBNs da linha.
+     */
+    private static Livro buscarLivroPorIsbns(LivroImportacaoDto livroImportacaoDto, Map<String, Livro> livrosPorIsbn10,
+                                             Map<String, Livro> livrosPorIsbn13) {
+        Livro livro = livroImportacaoDto.getIsbn10() != null ? livrosPorIsbn10.get(livroImportacaoDto.getIsbn10()) : null;
+        return livro == null && livroImportacaoDto.getIsbn13() != null
+                ? livrosPorIsbn13.get(livroImportacaoDto.getIsbn13())
+                : livro;
+    }
+
+    /**
+     * Método responsável por registrar o Livro nos mapas de ISBN do lote, para que as próximas linhas com os mesmos ISBNs o encontrem.
+     */
+    private static void registrarLivroPorIsbns(Livro livro, Map<String, Livro> livrosPorIsbn10,
+                                               Map<String, Livro> livrosPorIsbn13) {
+        if (livro.getIsbn10() != null) {
+            livrosPorIsbn10.putIfAbsent(livro.getIsbn10(), livro);
+        }
+        if (livro.getIsbn13() != null) {
+            livrosPorIsbn13.putIfAbsent(livro.getIsbn13(), livro);
+        }
+    }
+
+    /**
+     * Método responsável por converter um registro do arquivo de importação no DTO LivroImportacaoDto.
+     * <p>
+     * O registro é separado pelo tokenizador da thread atual, que reaproveita o mesmo buffer em todos os registros convertidos por ela.
+     *
+     * @return Um LivroImportacaoDto com os dados da linha.
+     * @throws ValidacaoException caso a linha não possua os campos necessários, ou possua um campo entre aspas que não foi fechado.
+     */
+    private static LivroImportacaoDto converterRegistro(ByteBuffer conteudo, int inicio, int fim, int numeroLinha) {
+        TokenizadorCsv registro = TOKENIZADOR.get();
+        registro.tokenizar(conteudo, inicio, fim);
+        validarQuantidadeCampos(registro);
+        LivroImportacaoDto livroImportacaoDto = LivroImportacaoDto.converterDeRegistro(registro);
+        livroImportacaoDto.setNumeroLinha(numeroLinha);
+        return livroImportacaoDto;
+    }
+
+    /**
+     * Método responsável por validar um registro do arquivo na validação do arquivo e convertê-lo no DTO LivroImportacaoDto.
+     * <p>
+     * O registro é rejeitado pelas mesmas regras da conversão da importação. As datas em formato não aceito, que a importação grava
+     * em branco, o formato do CNPJ e os dígitos verificadores dos ISBNs, que a importação não verifica, são registrados como avisos da linha.
+     *
+     * @return Um LivroImportacaoDto com os dados e os avisos da linha.
+     * @throws ValidacaoException caso a linha seja rejeitada pela importação.
+     */
+    private static LivroImportacaoDto validarRegistro(ByteBuffer conteudo, int inicio, int fim, int numeroLinha) {
+        TokenizadorCsv registro = TOKENIZADOR.get();
+        registro.tokenizar(conteudo, inicio, fim);
+        validarQuantidadeCampos(registro);
+
+        List<String> avisos = new ArrayList<>();
+        validarData(registro.getCampoPreenchido(CAMPO_DATA_PUBLICACAO), "Data de publicação", avisos);
+        validarData(registro.getCampoPreenchido(CAMPO_DATA_NASCIMENTO_AUTOR), "Data de nascimento do autor", avisos);
+        validarData(registro.getCampoPreenchido(CAMPO_DATA_MORTE_AUTOR), "Data de morte do autor", avisos);
+        String cnpj = registro.getCampoPreenchido(CAMPO_CNPJ_EDITORA);
+        if (cnpj != null && !isCnpjValido(cnpj)) {
+            avisos.add(format("CNPJ da editora inválido: %s", cnpj));
+        }
+        String isbn10 = registro.getCampoPreenchido(CAMPO_ISBN_10);
+        if (isbn10 != null && !isIsbn10Valido(isbn10)) {
+            avisos.add(format("ISBN-10 inválido: %s", isbn10));
+        }
+        String isbn13 = registro.getCampoPreenchido(CAMPO_ISBN_13);
+        if (isbn13 != null && !isIsbn13Valido(isbn13)) {
+            avisos.add(format("ISBN-13 inválido: %s", isbn13));
+        }
+
+        LivroImportacaoDto livroImportacaoDto = LivroImportacaoDto.converterDeRegistro(registro);
+        livroImportacaoDto.setNumeroLinha(numeroLinha);
+        livroImportacaoDto.setAvisos(avisos.isEmpty() ? null : String.join("; ", avisos));
+        return livroImportacaoDto;
+    }
+
+    /**
+     * Método responsável por validar se o registro possui a quantidade de campos do arquivo de importação.
+     *
+     * @throws ValidacaoException caso o registro não possua os campos necessários.
+     */
+    private static void validarQuantidadeCampos(TokenizadorCsv registro) {
+        if (registro.getQuantidadeCampos() != QUANTIDADE_CAMPOS_LINHA) {
+            throw new ValidacaoException(format("A linha %s não possui os campos necessários", registro.getRegistro()));
+        }
+    }
+
+    /**
+     * Método responsável por validar se a data preenchida está em algum dos formatos aceitos, registrando o aviso caso não esteja.
+     */
+    private static void validarData(String data, String nomeDoCampo, List<String> avisos) {
+        if (data == null) {
+            return;
+        }
+        try {
+            converterDataEmStringParaLocalDate(data);
+        } catch (ValidacaoException ex) {
+            avisos.add(format("%s inválida, será gravada em branco: %s", nomeDoCampo, data));
+        }
+    }
+
+    /**
+     * Método responsável por validar o cabeçalho do arquivo de importação dos livros.
+     *
+     * @throws ValidacaoException caso a linha do cabeçalho seja uma linha vazia, ou se o cabeçalho informado não for o mesmo do padrão de importação.
+     */
+    private static void validarCabecalho(String linha) {
+        if (isBlank(linha)) {
+            throw new ValidacaoException("O arquivo está vazio.");
+        }
+        if (!CABECALHO_ARQUIVO_IMPORTACAO.equalsIgnoreCase(linha)) {
+            throw new ValidacaoException(format("O cabeçalho do arquivo é inválido ou está ausente. O formato esperado é: \n%s",
+                    CABECALHO_ARQUIVO_IMPORTACAO));
+        }
+    }
+
+    /**
+     * Método responsável por validar se o cnpj de uma nova Editora já pertence a outra Editora.
+     *
+     * @throws ValidacaoException caso já exista uma editora com o mesmo cnpj.
+     */
+    private static void validarCnpjDisponivel(String cnpj, CacheImportacaoLivro cache) {
+        if (cache.possuiEditoraComCnpj(cnpj)) {
+            throw new ValidacaoException(format("Já existe uma editora com o mesmo CNPJ: %s", cnpj));
+        }
+    }
+
+    /**
+     * Ação executada com cada lote convertido do arquivo, na ordem do arquivo.
+     */
+    private interface AcaoLote {
+
+        void executar(LoteImportacaoLivro lote) throws IOException;
+    }
+}
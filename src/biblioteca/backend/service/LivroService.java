@@ -3,6 +3,8 @@ package biblioteca.backend.service;
 import biblioteca.backend.client.OpenLibraryClient;
 import biblioteca.backend.dao.contract.ILivroDAO;
 import biblioteca.backend.dto.*;
+import biblioteca.backend.enums.EModoImportacao;
+import biblioteca.backend.enums.ETipoAlteracao;
 import biblioteca.backend.exceptions.NaoEncontradoException;
 import biblioteca.backend.exceptions.ValidacaoException;
 import biblioteca.backend.model.Autor;
@@ -11,14 +13,14 @@ import biblioteca.backend.model.Livro;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.java.Log;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
-import java.io.IOException;
 import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 import static biblioteca.backend.dto.AutorRequest.converterDeOpenLibraryAutorResponses;
 import static biblioteca.backend.dto.LivroRequest.converterDeOpenLibraryResponse;
+import static biblioteca.backend.enums.ETipoAlteracao.*;
 import static biblioteca.utils.StringUtils.isBlank;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
@@ -36,12 +38,17 @@ import static java.util.stream.Collectors.toList;
 @RequiredArgsConstructor
 public class LivroService {
 
-    private static final String CABECALHO_ARQUIVO_IMPORTACAO = "TITULO;DATA_PUBLICACAO;ISBN_10;ISBN_13;GENERO;NOME_EDITORA;CNPJ_EDITORA;NOME_AUTOR;DATA_NASCIMENTO_AUTOR;DATA_MORTE_AUTOR;BIOGRAFIA_AUTOR";
+    private static final int LIMITE_BUSCA_TEXTUAL = Integer.getInteger("biblioteca.pesquisa.limiteBuscaTextual", 500);
+    private static final int TAMANHO_PAGINA_INDICE_BUSCA = Integer.getInteger("biblioteca.pesquisa.tamanhoPaginaIndice", 5000);
 
     private final ILivroDAO livroDAO;
     private final AutorService autorService;
     private final EditoraService editoraService;
     private final OpenLibraryClient openLibraryClient;
+    private final LivroImportacaoService livroImportacaoService;
+    private final LivroCadastroIsbnService livroCadastroIsbnService;
+    private final RegistroAlteracoesLivro registroAlteracoesLivro;
+    private final IndiceBuscaLivro indiceBuscaLivro;
 
     /**
      * Método responsável por converter a request em uma entidade,
@@ -58,6 +65,8 @@ public class LivroService {
         Livro novoLivro = Livro.montarLivro(request, editora, autores, livrosParecidos);
 
         livroDAO.salvar(novoLivro);
+        registroAlteracoesLivro.registrar(INCLUSAO, novoLivro.getId());
+        indiceBuscaLivro.indexar(LivroIndiceBuscaDto.converterDeLivro(novoLivro));
     }
 
     /**
@@ -67,15 +76,8 @@ public class LivroService {
     public void salvar(LivroRequest request, Editora editora, Set<Autor> autores) {
         Livro novoLivro = Livro.montarLivro(request, editora, autores);
         livroDAO.salvar(novoLivro);
-    }
-
-    /**
-     * Método responsável por converter os dados recebidos por parametro em uma entidade,
-     * e salvar esta nova entidade no banco de dados.
-     */
-    public void salvarPorImportacao(LivroImportacaoDto livroImportacaoDto, Set<Autor> autores, Editora editora) {
-        Livro novoLivro = Livro.montarLivroPorImportacao(livroImportacaoDto, editora, autores);
-        livroDAO.salvar(novoLivro);
+        registroAlteracoesLivro.registrar(INCLUSAO, novoLivro.getId());
+        indiceBuscaLivro.indexar(LivroIndiceBuscaDto.converterDeLivro(novoLivro));
     }
 
     /**
@@ -89,15 +91,123 @@ public class LivroService {
                 .collect(toList());
     }
 
+    /**
+     * Método responsável por listar uma página de Livros do sistema, a partir do último ID da página anterior.
+     * <p>
+     * É buscado um Livro a mais que o limite, apenas para saber se existe uma próxima página.
+     *
+     * @return A página de Livros, com o último ID dela para buscar a próxima página.
+     * @throws ValidacaoException caso o limite da página não seja maior que zero.
+     */
+    public PaginaResponse<LivroResponse> listar(Integer aposId, int limite) {
+        if (limite <= 0) {
+            throw new ValidacaoException("O limite da página deve ser maior que zero.");
+        }
+        return PaginaResponse.montar(livroDAO.listar(aposId, limite + 1), limite, aposId, LivroResponse::converterDeLivro, Livro::getId);
+    }
+
+    /**
+     * Método responsável por listar uma página dos Livros do sistema por filtros, a partir do último ID da página anterior.
+     * <p>
+     * Quando o filtro de texto é informado, os Livros ficam ordenados pela relevância da busca textual, e não pelo ID,
+     * então todos os Livros encontrados, limitados aos mais relevantes, são retornados em uma única página.
+     *
+     * @return A página de Livros de acordo com os filtros passados por parametro, com o último ID dela para buscar a próxima página.
+     * @throws ValidacaoException caso o limite da página não seja maior que zero.
+     */
+    public PaginaResponse<LivroResponse> listarPorFiltros(LivroFiltros filtros, Integer aposId, int limite) {
+        if (limite <= 0) {
+            throw new ValidacaoException("O limite da página deve ser maior que zero.");
+        }
+        if (!isBlank(filtros.getTexto())) {
+            return PaginaResponse.<LivroResponse>builder()
+                    .itens(listarTodosPorFiltros(filtros))
+                    .build();
+        }
+        return PaginaResponse.montar(livroDAO.listarPorPredicate(filtros.toPredicate(), aposId, limite + 1), limite, aposId,
+                LivroResponse::converterDeLivro, Livro::getId);
+    }
+
     /**
      * Método responsável por listar todos os Livros do sistema por filtros.
+     * <p>
+     * Quando o filtro de texto é informado, os IDs encontrados pela busca textual são lidos em blocos, do mais relevante para o menos relevante,
+     * e os demais filtros são aplicados sobre cada bloco, até encontrar a quantidade limite de Livros ou acabarem os IDs.
+     * Assim, o limite é aplicado depois dos filtros, e nenhum Livro que atende a todos eles fica de fora por estar fora dos mais relevantes.
+     * Neste caso, a lista fica ordenada pela relevância da busca textual.
      *
      * @return uma lista de Livros de acordo com os filtros passados por parametro.
      */
     public List<LivroResponse> listarTodosPorFiltros(LivroFiltros filtros) {
-        return livroDAO.listarTodosPorPredicate(filtros.toPredicate()).stream()
-                .map(LivroResponse::converterDeLivro)
-                .collect(toList());
+        if (isBlank(filtros.getTexto())) {
+            return livroDAO.listarTodosPorPredicate(filtros.toPredicate()).stream()
+                    .map(LivroResponse::converterDeLivro)
+                    .collect(toList());
+        }
+
+        List<LivroResponse> livros = new ArrayList<>();
+        int deslocamento = 0;
+        List<Integer> idsPorRelevancia;
+        do {
+            idsPorRelevancia = livroDAO.buscarIdsPorTexto(filtros.getTexto(), deslocamento, LIMITE_BUSCA_TEXTUAL);
+            if (idsPorRelevancia.isEmpty()) {
+                break;
+            }
+            livros.addAll(ordenarPorIds(livroDAO.listarTodosPorPredicate(filtros.toPredicate(idsPorRelevancia)), idsPorRelevancia));
+            deslocamento += idsPorRelevancia.size();
+        } while (idsPorRelevancia.size() == LIMITE_BUSCA_TEXTUAL && livros.size() < LIMITE_BUSCA_TEXTUAL);
+
+        return livros.size() > LIMITE_BUSCA_TEXTUAL ? new ArrayList<>(livros.subList(0, LIMITE_BUSCA_TEXTUAL)) : livros;
+    }
+
+    /**
+     * Método responsável por buscar os Livros pelo texto digitado na pesquisa, no título, nos ISBNs, no nome dos Autores e no nome da Editora.
+     * <p>
+     * A busca é feita pelo índice de busca em memória, considerando cada palavra do texto como o início de um termo. Enquanto o índice
+     * não estiver carregado, a busca é feita pela busca textual do banco de dados.
+     *
+     * @return os Livros encontrados, limitados à quantidade informada.
+     * @throws ValidacaoException caso o limite não seja maior que zero.
+     */
+    public List<LivroResponse> buscarPorTexto(String texto, int limite) {
+        if (limite <= 0) {
+            throw new ValidacaoException("O limite da busca deve ser maior que zero.");
+        }
+        if (isBlank(texto)) {
+            return new ArrayList<>();
+        }
+        List<Integer> ids = indiceBuscaLivro.isCarregado()
+                ? indiceBuscaLivro.buscar(texto, limite)
+                : livroDAO.buscarIdsPorTexto(texto, 0, limite);
+        return ordenarPorIds(livroDAO.listarPorIds(ids), ids);
+    }
+
+    /**
+     * Método responsável por carregar o índice de busca em memória com todos os Livros do banco de dados, em páginas.
+     * <p>
+     * Caso a carga falhe, o índice é descartado e as buscas continuam sendo feitas pelo banco de dados.
+     */
+    public void carregarIndiceBusca() {
+        long inicio = System.currentTimeMillis();
+        indiceBuscaLivro.iniciarCarga();
+        try {
+            Integer aposId = null;
+            List<LivroIndiceBuscaDto> pagina;
+            do {
+                pagina = livroDAO.listarParaIndiceBusca(aposId, TAMANHO_PAGINA_INDICE_BUSCA);
+                indiceBuscaLivro.indexarCarga(pagina);
+                if (!pagina.isEmpty()) {
+                    aposId = pagina.get(pagina.size() - 1).getId();
+                }
+            } while (pagina.size() == TAMANHO_PAGINA_INDICE_BUSCA);
+            indiceBuscaLivro.concluirCarga();
+        } catch (RuntimeException ex) {
+            indiceBuscaLivro.descartarCarga();
+            log.warning(format("Não foi possível carregar o índice de busca dos Livros: %s", ex.getMessage()));
+            return;
+        }
+        log.info(format("Índice de busca carregado com %d livros em %d ms.", indiceBuscaLivro.getQuantidadeLivros(),
+                System.currentTimeMillis() - inicio));
     }
 
     /**
@@ -136,30 +246,80 @@ public class LivroService {
         livro.atualizarDados(request, editora, autores, livrosParecidos);
 
         livroDAO.salvar(livro);
+        registroAlteracoesLivro.registrar(ALTERACAO, id);
+        indiceBuscaLivro.indexar(LivroIndiceBuscaDto.converterDeLivro(livro));
     }
 
     /**
-     * Método responsável por editar um livro específico, de acordo com os novos dados da request da importação.
+     * Método responsável por deletar um livro específico do banco de dados.
      */
-    public void editarPorImportacao(LivroImportacaoDto livroImportacaoDto, Set<Autor> autores, Editora editora) {
-        Livro livro = this.findByIsbn(livroImportacaoDto.getIsbn10(), livroImportacaoDto.getIsbn13());
-
-        livro.atualizarDadosPorImportacao(livroImportacaoDto, editora, autores);
+    public void deletar(Integer id) {
+        livroDAO.deletar(id);
+        registroAlteracoesLivro.registrar(EXCLUSAO, id);
+        indiceBuscaLivro.remover(id);
+    }
 
-        livroDAO.salvar(livro);
+    /**
+     * Método responsável por informar a versão da última alteração registrada nos Livros.
+     *
+     * @return a versão atual das alterações.
+     */
+    public long getVersaoAlteracoes() {
+        return registroAlteracoesLivro.getVersaoAtual();
     }
 
     /**
-     * Método responsável por deletar um livro específico do banco de dados.
+     * Método responsável por listar os Livros incluídos, alterados e excluídos depois da versão informada.
+     * <p>
+     * Os Livros registrados como alterados são buscados novamente no banco de dados, e o tipo de cada alteração é confirmado pelo resultado:
+     * um Livro que não for encontrado é retornado como excluído, e um Livro registrado como excluído que ainda existir,
+     * por não ter sido possível deletá-lo, é retornado como alterado.
+     *
+     * @return As alterações desde a versão informada, ou uma resposta indicando que todos os dados devem ser recarregados,
+     * caso as alterações desta versão não estejam mais disponíveis.
      */
-    public void deletar(Integer id) {
-        livroDAO.deletar(id);
+    public AlteracoesLivroResponse listarAlteracoesDesde(long versao) {
+        long versaoAtual = registroAlteracoesLivro.getVersaoAtual();
+        Optional<Map<Integer, ETipoAlteracao>> alteracoes = registroAlteracoesLivro.buscarAlteracoes(versao, versaoAtual);
+        if (!alteracoes.isPresent()) {
+            return AlteracoesLivroResponse.builder()
+                    .versao(versaoAtual)
+                    .recarregarTudo(true)
+                    .incluidos(new ArrayList<>())
+                    .alterados(new ArrayList<>())
+                    .excluidos(new ArrayList<>())
+                    .build();
+        }
+
+        Map<Integer, ETipoAlteracao> tiposPorIdLivro = alteracoes.get();
+        List<LivroResponse> incluidos = new ArrayList<>();
+        List<LivroResponse> alterados = new ArrayList<>();
+        Set<Integer> excluidos = new LinkedHashSet<>(tiposPorIdLivro.keySet());
+        for (Livro livro : livroDAO.listarPorIds(tiposPorIdLivro.keySet())) {
+            excluidos.remove(livro.getId());
+            LivroResponse livroResponse = LivroResponse.converterDeLivro(livro);
+            if (tiposPorIdLivro.get(livro.getId()) == INCLUSAO) {
+                incluidos.add(livroResponse);
+            } else {
+                alterados.add(livroResponse);
+            }
+        }
+
+        return AlteracoesLivroResponse.builder()
+                .versao(versaoAtual)
+                .recarregarTudo(false)
+                .incluidos(incluidos)
+                .alterados(alterados)
+                .excluidos(new ArrayList<>(excluidos))
+                .build();
     }
 
     /**
      * Método responsável por salvar um novo livro de acordo com o ISBN recebido.
      * <p>
      * Realiza uma busca dos dados do livro, da editora e dos autores, de acordo com os dados retornados da busca dos dados do livro por ISBN.
+     * Após a busca, todos os ISBNs retornados para o livro são verificados em uma única consulta, para que o mesmo livro não seja
+     * cadastrado novamente quando já existir com outro de seus ISBNs.
      *
      * @throws ValidacaoException caso já existir um livro cadastrado no sistema com o mesmo ISBN.
      */
@@ -168,6 +328,7 @@ public class LivroService {
 
         openLibraryClient.buscarLivroPorIsbn(isbn)
                 .ifPresent(livro -> {
+                    this.validarLivroCadastradoComMesmoIsbn(!livroDAO.existsByIsbns(livro.getIsbns()).isEmpty());
                     Set<Autor> autores = this.buscarAutoresPorKeys(livro.getKeysDosAutores());
                     Editora editora = this.buscarEditoraPorNome(livro.getEditoras());
                     LivroRequest livroRequest = converterDeOpenLibraryResponse(livro);
@@ -176,6 +337,40 @@ public class LivroService {
                 });
     }
 
+    /**
+     * Método responsável por separar os ISBNs do texto informado, para o cadastro de livros por lista de ISBNs.
+     *
+     * @return os ISBNs, na ordem em que aparecem no texto.
+     */
+    public List<String> lerIsbns(String texto) {
+        return livroCadastroIsbnService.lerIsbns(texto);
+    }
+
+    /**
+     * Método responsável por ler os ISBNs de um arquivo TXT ou CSV, para o cadastro de livros por lista de ISBNs.
+     *
+     * @return os ISBNs, na ordem em que aparecem no arquivo.
+     * @throws ValidacaoException caso ocorra algum erro ao ler o arquivo.
+     */
+    public List<String> lerIsbns(File arquivo) {
+        return livroCadastroIsbnService.lerIsbns(arquivo);
+    }
+
+    /**
+     * Método responsável por salvar os livros dos ISBNs recebidos, buscando os dados deles em lotes na API da OPEN LIBRARY,
+     * publicando os resultados de cada lote processado e permitindo que o cadastro seja cancelado entre os lotes.
+     * <p>
+     * O cadastro é feito em lotes pela service de cadastro de livros por ISBN.
+     *
+     * @param ouvinteResultados      ação executada com os resultados de cada lote processado.
+     * @param cancelamentoSolicitado informa se o cadastro deve ser encerrado no próximo lote.
+     * @return o resultado do cadastro, com a situação de cada ISBN.
+     */
+    public LivroCadastroIsbnResponse cadastrarLivrosPorIsbns(List<String> isbns, Consumer<List<ResultadoCadastroIsbnResponse>> ouvinteResultados,
+                                                             BooleanSupplier cancelamentoSolicitado) {
+        return livroCadastroIsbnService.cadastrarLivrosPorIsbns(isbns, ouvinteResultados, cancelamentoSolicitado);
+    }
+
     /**
      * Método responsável por buscar os livros para ser utilizado em campos Select.
      *
@@ -190,54 +385,68 @@ public class LivroService {
 
     /**
      * Método responsável por ler o arquivo de importação e realizar a importação dos dados de cada linha do arquivo em dados de um Livro.
+     * <p>
+     * A importação é feita em lotes pela service de importação de livros.
      *
+     * @return o resultado da importação.
      * @throws ValidacaoException caso alguma linha do arquivo não possua os campos necessários para realizar a importação.
      */
-    public void cadastrarLivroPorArquivo(File arquivo) {
-        try (BufferedReader bufferedReader = new BufferedReader(new FileReader(arquivo))) {
-            String linhaCabecalho = bufferedReader.readLine();
-            validarCabecalho(linhaCabecalho);
-
-            bufferedReader.lines()
-                    .filter(linha -> !linha.replace(";", "").trim().isEmpty())
-                    .map(linha -> {
-                        String[] camposLinha = linha.split(";", -1);
-                        if (camposLinha.length != 11) {
-                            throw new ValidacaoException(format("A linha %s não possui os campos necessários", linha));
-                        }
-                        return LivroImportacaoDto.converterDeArrayString(camposLinha);
-                    })
-                    .forEach(this::cadastrarLivroImportacao);
-        } catch (IOException ex) {
-            throw new ValidacaoException(format("Erro ao ler o arquivo: %s", ex.getMessage()));
-        } catch (ValidacaoException ex) {
-            throw ex;
-        } catch (Exception ex) {
-            throw new ValidacaoException(format("Ocorreu um erro inesperado ao processar o arquivo: %s", ex.getMessage()));
-        }
+    public LivroImportacaoResponse cadastrarLivroPorArquivo(File arquivo) {
+        return livroImportacaoService.importarArquivo(arquivo);
     }
 
     /**
-     * Método responsável por buscar um Livro pelo ID dele.
-     * <p>
-     * Caso não encontre nenhum Livro com o mesmo ID, será lançado uma excepion.
+     * Método responsável por realizar a importação do arquivo publicando o andamento a cada lote gravado,
+     * permitindo que ela seja cancelada entre os lotes.
      *
-     * @return um Livro.
+     * @param ouvinteProgresso       ação executada com o andamento da importação após cada lote gravado.
+     * @param cancelamentoSolicitado informa se a importação deve ser encerrada no próximo lote.
+     * @return o resultado da importação.
+     * @throws ValidacaoException caso o arquivo seja inválido, ou caso ocorra algum erro ao ler o arquivo ou ao salvar um lote.
      */
-    private Livro findById(Integer id) {
-        return livroDAO.findById(id)
-                .orElseThrow(() -> new NaoEncontradoException("Livro não encontrado."));
+    public LivroImportacaoResponse cadastrarLivroPorArquivo(File arquivo, Consumer<ProgressoImportacaoResponse> ouvinteProgresso,
+                                                            BooleanSupplier cancelamentoSolicitado) {
+        return livroImportacaoService.importarArquivo(arquivo, ouvinteProgresso, cancelamentoSolicitado);
+    }
+
+    /**
+     * Método responsável por realizar a importação do arquivo gravando os lotes no modo de importação informado,
+     * publicando o andamento a cada lote gravado e permitindo que ela seja cancelada entre os lotes.
+     *
+     * @param modoImportacao         a forma de gravação dos lotes no banco de dados.
+     * @param ouvinteProgresso       ação executada com o andamento da importação após cada lote gravado.
+     * @param cancelamentoSolicitado informa se a importação deve ser encerrada no próximo lote.
+     * @return o resultado da importação.
+     * @throws ValidacaoException caso o arquivo seja inválido, ou caso ocorra algum erro ao ler o arquivo ou ao salvar um lote.
+     */
+    public LivroImportacaoResponse cadastrarLivroPorArquivo(File arquivo, EModoImportacao modoImportacao,
+                                                            Consumer<ProgressoImportacaoResponse> ouvinteProgresso,
+                                                            BooleanSupplier cancelamentoSolicitado) {
+        return livroImportacaoService.importarArquivo(arquivo, modoImportacao, ouvinteProgresso, cancelamentoSolicitado);
+    }
+
+    /**
+     * Método responsável por validar o arquivo de importação sem gravar nada no banco de dados, publicando o andamento a cada lote validado.
+     *
+     * @param ouvinteProgresso       ação executada com o andamento da validação após cada lote validado.
+     * @param cancelamentoSolicitado informa se a validação deve ser encerrada no próximo lote.
+     * @return o resultado da validação, com os totais que a importação teria e o caminho do relatório de erros.
+     * @throws ValidacaoException caso o cabeçalho do arquivo seja inválido, ou caso ocorra algum erro ao ler o arquivo.
+     */
+    public LivroImportacaoResponse validarArquivoImportacao(File arquivo, Consumer<ProgressoImportacaoResponse> ouvinteProgresso,
+                                                            BooleanSupplier cancelamentoSolicitado) {
+        return livroImportacaoService.validarArquivo(arquivo, ouvinteProgresso, cancelamentoSolicitado);
     }
 
     /**
-     * Método responsável por buscar um Livro pelos ISBNs dele.
+     * Método responsável por buscar um Livro pelo ID dele.
      * <p>
-     * Caso não encontre nenhum Livro com algum dos ISBNs, será lançado uma excepion.
+     * Caso não encontre nenhum Livro com o mesmo ID, será lançado uma excepion.
      *
      * @return um Livro.
      */
-    private Livro findByIsbn(String isbn10, String isbn13) {
-        return livroDAO.findByIsbns(isbn10, isbn13)
+    private Livro findById(Integer id) {
+        return livroDAO.findById(id)
                 .orElseThrow(() -> new NaoEncontradoException("Livro não encontrado."));
     }
 
@@ -284,35 +493,17 @@ public class LivroService {
     }
 
     /**
-     * Método responsável por validar o cabeçalho do arquivo de importação dos livros.
+     * Método responsável por ordenar os Livros na mesma ordem dos IDs informados.
      *
-     * @throws ValidacaoException caso a linha do cabeçalho seja uma linha vazia, ou se o cabeçalho informado não for o mesmo do padrão de importação.
+     * @return os Livros convertidos, na ordem dos IDs.
      */
-    private void validarCabecalho(String linha) {
-        if (isBlank(linha)) {
-            throw new ValidacaoException("O arquivo está vazio.");
-        }
-        if (!CABECALHO_ARQUIVO_IMPORTACAO.equalsIgnoreCase(linha)) {
-            throw new ValidacaoException(format("O cabeçalho do arquivo é inválido ou está ausente. O formato esperado é: \n%s",
-                    CABECALHO_ARQUIVO_IMPORTACAO));
-        }
-    }
-
-    /**
-     * Método responsável por efetuar o cadastro do livro ou a edição do livro no fluxo de importação.
-     */
-    private void cadastrarLivroImportacao(LivroImportacaoDto livroImportacaoDto) {
-        AutorRequest autorRequest = AutorRequest.converterDeLivroImportacaoDto(livroImportacaoDto);
-        Set<Autor> autores = new HashSet<>();
-        autores.add(autorService.buscarAutorEEditarOuCriarAutor(autorRequest));
-        EditoraRequest editoraRequest = new EditoraRequest(livroImportacaoDto.getNomeEditora(), livroImportacaoDto.getCnpjEditora());
-        Editora editora = editoraService.buscarEEditarEditoraOuCriarEditora(editoraRequest);
-
-        if (livroDAO.existsByIsbns(livroImportacaoDto.getIsbn10(), livroImportacaoDto.getIsbn13())) {
-            this.editarPorImportacao(livroImportacaoDto, autores, editora);
-        } else {
-            this.salvarPorImportacao(livroImportacaoDto, autores, editora);
-        }
+    private static List<LivroResponse> ordenarPorIds(List<Livro> livros, List<Integer> ids) {
+        Map<Integer, Integer> posicoesPorId = new HashMap<>();
+        ids.forEach(id -> posicoesPorId.put(id, posicoesPorId.size()));
+        return livros.stream()
+                .sorted(Comparator.comparing(livro -> posicoesPorId.get(livro.getId())))
+                .map(LivroResponse::converterDeLivro)
+                .collect(toList());
     }
 
     /**
@@ -0,0 +1,54 @@
+package biblioteca.backend.service;
+
+import biblioteca.backend.dto.ErroImportacaoResponse;
+import biblioteca.backend.dto.LivroImportacaoDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Classe que representa um lote de linhas já convertidas do arquivo de importação de Livros.
+ * <p>
+ * Os lotes são convertidos em paralelo e entregues, na ordem do arquivo, para a gravação no banco de dados.
+ * A posição e a linha do fim do lote são registradas como ponto de retomada da importação depois que o lote é gravado.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Getter
+@AllArgsConstructor(access = PRIVATE)
+public class LoteImportacaoLivro {
+
+    private static final LoteImportacaoLivro FIM_DO_ARQUIVO = new LoteImportacaoLivro(emptyList(), emptyList(), 0, 0, true);
+
+    private final List<LivroImportacaoDto> livros;
+    private final List<ErroImportacaoResponse> erros;
+    private final long posicaoFimLote;
+    private final int numeroLinhaFimLote;
+    private final boolean fimDoArquivo;
+
+    /**
+     * Método responsável por montar um lote com as linhas convertidas e os erros das linhas que não puderam ser convertidas.
+     *
+     * @param posicaoFimLote     a posição do arquivo, em bytes, logo após a última linha do lote.
+     * @param numeroLinhaFimLote o número da última linha do arquivo lida no lote.
+     * @return um novo LoteImportacaoLivro.
+     */
+    public static LoteImportacaoLivro montarLote(List<LivroImportacaoDto> livros, List<ErroImportacaoResponse> erros,
+                                                 long posicaoFimLote, int numeroLinhaFimLote) {
+        return new LoteImportacaoLivro(livros, erros, posicaoFimLote, numeroLinhaFimLote, false);
+    }
+
+    /**
+     * Método responsável por fornecer o lote que indica o fim da leitura do arquivo.
+     *
+     * @return o lote de fim do arquivo.
+     */
+    public static LoteImportacaoLivro fimDoArquivo() {
+        return FIM_DO_ARQUIVO;
+    }
+}
@@ -0,0 +1,93 @@
+package biblioteca.backend.service;
+
+import biblioteca.backend.enums.ETipoAlteracao;
+
+import java.util.*;
+
+import static biblioteca.backend.enums.ETipoAlteracao.ALTERACAO;
+import static biblioteca.backend.enums.ETipoAlteracao.INCLUSAO;
+
+/**
+ * Classe responsável por registrar em memória as alterações feitas nos Livros, para que as telas atualizem apenas as linhas alteradas.
+ * <p>
+ * Cada alteração recebe uma versão crescente. As telas guardam a versão da última atualização e buscam apenas as alterações feitas depois dela.
+ * São guardadas apenas as últimas alterações, até a quantidade máxima configurada pela propriedade de sistema
+ * biblioteca.alteracoes.quantidadeMaxima. Quando as alterações de uma versão já foram descartadas, a tela deve recarregar todos os dados.
+ * <p>
+ * O registro é feito pelas services desta aplicação, então as alterações feitas diretamente no banco de dados, ou por outra instância
+ * da aplicação, só aparecem ao recarregar todos os dados.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+public class RegistroAlteracoesLivro {
+
+    private static final int QUANTIDADE_MAXIMA = Integer.getInteger("biblioteca.alteracoes.quantidadeMaxima", 10000);
+
+    private final Deque<Alteracao> alteracoes = new ArrayDeque<>();
+    private long versaoAtual;
+    private long versaoDescartada;
+
+    /**
+     * Método responsável por registrar uma alteração de um Livro.
+     */
+    public void registrar(ETipoAlteracao tipo, Integer idLivro) {
+        registrar(Collections.singletonMap(idLivro, tipo));
+    }
+
+    /**
+     * Método responsável por registrar as alterações de vários Livros em uma única versão, descartando as alterações mais antigas
+     * quando a quantidade máxima for atingida.
+     */
+    public synchronized void registrar(Map<Integer, ETipoAlteracao> tiposPorIdLivro) {
+        if (tiposPorIdLivro.isEmpty()) {
+            return;
+        }
+        versaoAtual++;
+        tiposPorIdLivro.forEach((idLivro, tipo) -> alteracoes.addLast(new Alteracao(versaoAtual, idLivro, tipo)));
+        while (alteracoes.size() > QUANTIDADE_MAXIMA) {
+            versaoDescartada = alteracoes.removeFirst().versao;
+        }
+    }
+
+    public synchronized long getVersaoAtual() {
+        return versaoAtual;
+    }
+
+    /**
+     * Método responsável por buscar as alterações feitas depois da versão inicial, até a versão final, com o último tipo de alteração
+     * de cada Livro. Um Livro incluído e depois alterado continua como incluído.
+     *
+     * @return os tipos de alteração por ID do Livro, na ordem em que foram alterados, ou vazio caso alterações feitas depois da versão
+     * inicial já tenham sido descartadas.
+     */
+    public synchronized Optional<Map<Integer, ETipoAlteracao>> buscarAlteracoes(long versaoInicial, long versaoFinal) {
+        if (versaoInicial < versaoDescartada) {
+            return Optional.empty();
+        }
+        Map<Integer, ETipoAlteracao> tiposPorIdLivro = new LinkedHashMap<>();
+        for (Alteracao alteracao : alteracoes) {
+            if (alteracao.versao > versaoInicial && alteracao.versao <= versaoFinal) {
+                tiposPorIdLivro.merge(alteracao.idLivro, alteracao.tipo,
+                        (tipoAnterior, tipo) -> tipoAnterior == INCLUSAO && tipo == ALTERACAO ? INCLUSAO : tipo);
+            }
+        }
+        return Optional.of(tiposPorIdLivro);
+    }
+
+    /**
+     * Alteração de um Livro, com a versão em que foi registrada.
+     */
+    private static class Alteracao {
+
+        private final long versao;
+        private final Integer idLivro;
+        private final ETipoAlteracao tipo;
+
+        private Alteracao(long versao, Integer idLivro, ETipoAlteracao tipo) {
+            this.versao = versao;
+            this.idLivro = idLivro;
+            this.tipo = tipo;
+        }
+    }
+}
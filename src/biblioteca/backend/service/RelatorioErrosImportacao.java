@@ -0,0 +1,83 @@
+package biblioteca.backend.service;
+
+import biblioteca.backend.dto.ErroImportacaoResponse;
+
+import java.io.*;
+import java.nio.file.Files;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Classe responsável por gravar, em um arquivo texto, os erros e os avisos encontrados linha a linha na validação de um arquivo de importação.
+ * <p>
+ * Os erros são gravados à medida que são encontrados, sem ficarem em memória, até o limite de erros configurado. Os erros além
+ * do limite são apenas contabilizados, e a quantidade deles é informada no fim do relatório.
+ * O arquivo do relatório só é criado quando o primeiro erro ou aviso é encontrado. Os avisos contam no mesmo limite dos erros.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+public class RelatorioErrosImportacao implements Closeable {
+
+    private static final int LIMITE_ERROS = Integer.getInteger("biblioteca.importacao.validacao.limiteErros", 10000);
+
+    private final File arquivoRelatorio;
+    private Writer writer;
+    private long quantidadeErros;
+
+    /**
+     * @param arquivoRelatorio o arquivo do relatório. Um relatório anterior no mesmo arquivo é removido.
+     */
+    public RelatorioErrosImportacao(File arquivoRelatorio) throws IOException {
+        this.arquivoRelatorio = arquivoRelatorio;
+        Files.deleteIfExists(arquivoRelatorio.toPath());
+    }
+
+    /**
+     * Método responsável por registrar um erro no relatório, caso o limite de erros gravados ainda não tenha sido atingido.
+     */
+    public void registrar(ErroImportacaoResponse erro) throws IOException {
+        this.registrarLinha(erro.getDescricao());
+    }
+
+    /**
+     * Método responsável por registrar no relatório um aviso de uma linha que seria importada, caso o limite de linhas gravadas
+     * ainda não tenha sido atingido.
+     */
+    public void registrarAviso(ErroImportacaoResponse aviso) throws IOException {
+        this.registrarLinha(format("Linha %d: Aviso: %s", aviso.getNumeroLinha(), aviso.getMensagem()));
+    }
+
+    private void registrarLinha(String descricao) throws IOException {
+        quantidadeErros++;
+        if (quantidadeErros > LIMITE_ERROS) {
+            return;
+        }
+        if (writer == null) {
+            writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(arquivoRelatorio), UTF_8));
+        }
+        writer.write(descricao);
+        writer.write(System.lineSeparator());
+    }
+
+    /**
+     * Método responsável por informar o caminho do relatório, caso algum erro ou aviso tenha sido registrado.
+     *
+     * @return o caminho do arquivo do relatório, ou null caso nenhum erro ou aviso tenha sido registrado.
+     */
+    public String getCaminho() {
+        return quantidadeErros > 0 ? arquivoRelatorio.getPath() : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer == null) {
+            return;
+        }
+        if (quantidadeErros > LIMITE_ERROS) {
+            writer.write(format("... e mais %d linhas com erro ou aviso não listadas.%n", quantidadeErros - LIMITE_ERROS));
+        }
+        writer.close();
+    }
+}
@@ -0,0 +1,188 @@
+package biblioteca.backend.service;
+
+import lombok.Getter;
+import lombok.extern.java.Log;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+
+import static java.lang.String.format;
+
+/**
+ * Classe responsável por guardar o ponto de retomada da importação de um arquivo de Livros, para que uma importação interrompida
+ * continue a partir do último lote gravado, sem processar novamente o arquivo desde a primeira linha.
+ * <p>
+ * O ponto de retomada fica em um arquivo ao lado do arquivo importado, com a identificação do arquivo, a posição em bytes
+ * e o número da linha do fim do último lote gravado, e o número deste lote. Ele é atualizado após cada lote gravado e removido
+ * quando a importação do arquivo termina. Um ponto de retomada de um arquivo diferente é ignorado.
+ * <p>
+ * Para não ler o arquivo inteiro antes do primeiro lote, o arquivo é identificado pelo tamanho, pela data de modificação e pelo hash SHA-256
+ * apenas dos blocos do início e do fim do conteúdo.
+ * <p>
+ * Caso a aplicação seja interrompida entre a gravação de um lote e a atualização do ponto de retomada, este lote é processado
+ * novamente na próxima importação. Como os Livros são identificados pelos ISBNs, ele atualiza os Livros que já foram inseridos.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Log
+@Getter
+public class RetomadaImportacaoLivro {
+
+    private static final String EXTENSAO_ARQUIVO_RETOMADA = ".retomada";
+    private static final String CHAVE_IDENTIFICACAO_ARQUIVO = "identificacaoArquivo";
+    private static final String CHAVE_POSICAO = "posicao";
+    private static final String CHAVE_NUMERO_LINHA = "numeroLinha";
+    private static final String CHAVE_NUMERO_LOTE = "numeroLote";
+    private static final int TAMANHO_BLOCO_HASH = 1024 * 1024;
+
+    private final File arquivoRetomada;
+    private final String identificacaoArquivo;
+    private final boolean retomada;
+    private long posicao;
+    private int numeroLinha;
+    private long numeroLote;
+    private boolean gravacaoDisponivel = true;
+
+    private RetomadaImportacaoLivro(File arquivoRetomada, String identificacaoArquivo, Properties pontoRetomada) {
+        this.arquivoRetomada = arquivoRetomada;
+        this.identificacaoArquivo = identificacaoArquivo;
+        this.retomada = pontoRetomada != null;
+        if (retomada) {
+            this.posicao = Long.parseLong(pontoRetomada.getProperty(CHAVE_POSICAO));
+            this.numeroLinha = Integer.parseInt(pontoRetomada.getProperty(CHAVE_NUMERO_LINHA));
+            this.numeroLote = Long.parseLong(pontoRetomada.getProperty(CHAVE_NUMERO_LOTE));
+        }
+    }
+
+    /**
+     * Método responsável por identificar o arquivo de importação e carregar o ponto de retomada dele, caso exista um
+     * ponto de retomada do mesmo arquivo.
+     *
+     * @return o ponto de retomada da importação do arquivo.
+     * @throws IOException caso não seja possível ler o arquivo de importação.
+     */
+    public static RetomadaImportacaoLivro abrir(File arquivo) throws IOException {
+        File arquivoRetomada = new File(arquivo.getAbsoluteFile().getParentFile(), arquivo.getName() + EXTENSAO_ARQUIVO_RETOMADA);
+        String identificacaoArquivo = identificarArquivo(arquivo);
+        Properties pontoRetomada = carregarPontoRetomada(arquivoRetomada);
+
+        if (pontoRetomada != null && !identificacaoArquivo.equals(pontoRetomada.getProperty(CHAVE_IDENTIFICACAO_ARQUIVO))) {
+            log.info(format("O arquivo %s foi alterado desde a última importação. A importação será feita desde o início.", arquivo.getName()));
+            pontoRetomada = null;
+        }
+        return new RetomadaImportacaoLivro(arquivoRetomada, identificacaoArquivo, pontoRetomada);
+    }
+
+    /**
+     * Método responsável por registrar o fim de um lote gravado como o novo ponto de retomada da importação.
+     * <p>
+     * O arquivo é gravado em um arquivo temporário e movido para o lugar do anterior, para que uma interrupção durante a gravação
+     * não deixe um ponto de retomada incompleto. Caso não seja possível gravar o ponto de retomada, a importação continua sem ele.
+     */
+    public void registrarLoteGravado(long numeroLoteGravado, long posicaoFimLote, int numeroLinhaFimLote) {
+        this.numeroLote = numeroLoteGravado;
+        this.posicao = posicaoFimLote;
+        this.numeroLinha = numeroLinhaFimLote;
+        if (!gravacaoDisponivel) {
+            return;
+        }
+
+        Properties pontoRetomada = new Properties();
+        pontoRetomada.setProperty(CHAVE_IDENTIFICACAO_ARQUIVO, identificacaoArquivo);
+        pontoRetomada.setProperty(CHAVE_POSICAO, String.valueOf(posicao));
+        pontoRetomada.setProperty(CHAVE_NUMERO_LINHA, String.valueOf(numeroLinha));
+        pontoRetomada.setProperty(CHAVE_NUMERO_LOTE, String.valueOf(numeroLote));
+
+        File arquivoTemporario = new File(arquivoRetomada.getPath() + ".tmp");
+        try {
+            try (OutputStream outputStream = new FileOutputStream(arquivoTemporario)) {
+                pontoRetomada.store(outputStream, "Ponto de retomada da importação de livros");
+            }
+            Files.move(arquivoTemporario.toPath(), arquivoRetomada.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            gravacaoDisponivel = false;
+            log.warning(format("Não foi possível gravar o ponto de retomada %s. A importação continuará sem ele: %s",
+                    arquivoRetomada.getPath(), ex.getMessage()));
+        }
+    }
+
+    /**
+     * Método responsável por remover o ponto de retomada ao fim da importação do arquivo.
+     */
+    public void concluir() {
+        try {
+            Files.deleteIfExists(arquivoRetomada.toPath());
+        } catch (IOException ex) {
+            log.warning(format("Não foi possível remover o ponto de retomada %s: %s", arquivoRetomada.getPath(), ex.getMessage()));
+        }
+    }
+
+    /**
+     * Método responsável por carregar o ponto de retomada gravado para o arquivo.
+     *
+     * @return o ponto de retomada, ou null caso ele não exista ou não possa ser lido.
+     */
+    private static Properties carregarPontoRetomada(File arquivoRetomada) {
+        if (!arquivoRetomada.isFile()) {
+            return null;
+        }
+        Properties pontoRetomada = new Properties();
+        try (InputStream inputStream = new FileInputStream(arquivoRetomada)) {
+            pontoRetomada.load(inputStream);
+            Long.parseLong(pontoRetomada.getProperty(CHAVE_POSICAO));
+            Integer.parseInt(pontoRetomada.getProperty(CHAVE_NUMERO_LINHA));
+            Long.parseLong(pontoRetomada.getProperty(CHAVE_NUMERO_LOTE));
+            return pontoRetomada;
+        } catch (IOException | RuntimeException ex) {
+            log.warning(format("O ponto de retomada %s é inválido e será ignorado: %s", arquivoRetomada.getPath(), ex.getMessage()));
+            return null;
+        }
+    }
+
+    /**
+     * Método responsável por identificar o conteúdo do arquivo sem lê-lo por inteiro.
+     * <p>
+     * A identificação é formada pelo tamanho e pela data de modificação do arquivo, e pelo hash SHA-256 do bloco do início
+     * e do bloco do fim do conteúdo, que mudam ao acrescentar, remover ou substituir linhas no início ou no fim do arquivo.
+     *
+     * @return a identificação do arquivo.
+     */
+    private static String identificarArquivo(File arquivo) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+
+        long tamanho;
+        try (RandomAccessFile conteudo = new RandomAccessFile(arquivo, "r")) {
+            tamanho = conteudo.length();
+            atualizarHash(digest, conteudo, 0, Math.min(tamanho, TAMANHO_BLOCO_HASH));
+            long inicioBlocoFim = Math.max(TAMANHO_BLOCO_HASH, tamanho - TAMANHO_BLOCO_HASH);
+            atualizarHash(digest, conteudo, inicioBlocoFim, tamanho - inicioBlocoFim);
+        }
+
+        StringBuilder hash = new StringBuilder();
+        for (byte valor : digest.digest()) {
+            hash.append(format("%02x", valor));
+        }
+        return format("%d:%d:%s", tamanho, arquivo.lastModified(), hash);
+    }
+
+    private static void atualizarHash(MessageDigest digest, RandomAccessFile conteudo, long posicao, long quantidade) throws IOException {
+        if (quantidade <= 0) {
+            return;
+        }
+        byte[] bloco = new byte[(int) quantidade];
+        conteudo.seek(posicao);
+        conteudo.readFully(bloco);
+        digest.update(bloco);
+    }
+}
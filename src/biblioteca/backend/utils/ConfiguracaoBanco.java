@@ -0,0 +1,98 @@
+package biblioteca.backend.utils;
+
+import biblioteca.backend.exceptions.ValidacaoException;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Properties;
+
+import static java.lang.String.format;
+
+/**
+ * Classe responsável por carregar as configurações de conexão com o banco de dados e do pool de conexões.
+ * <p>
+ * As configurações são lidas do arquivo META-INF/banco.properties, e cada uma delas pode ser sobrescrita por uma propriedade de sistema
+ * com o mesmo nome (ex: -Dbiblioteca.banco.pool.tamanhoMaximo=20) ou por uma variável de ambiente com o nome em caixa alta e
+ * separado por underline (ex: BIBLIOTECA_BANCO_POOL_TAMANHOMAXIMO=20). A propriedade de sistema tem prioridade sobre a variável de ambiente.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Getter
+public class ConfiguracaoBanco {
+
+    private static final String ARQUIVO_CONFIGURACAO = "/META-INF/banco.properties";
+    private static final String PREFIXO = "biblioteca.banco.";
+
+    /**
+     * Tamanho padrão dos blocos de IDs reservados a cada consulta às sequências, utilizado também no mapeamento das entidades.
+     */
+    public static final int TAMANHO_BLOCO_IDS_PADRAO = 50;
+
+    private final String url;
+    private final String usuario;
+    private final String senha;
+    private final int tamanhoMaximoPool;
+    private final long tempoEsperaConexaoMillis;
+    private final long tempoValidacaoConexaoOciosaMillis;
+    private final int quantidadeStatementsCache;
+    private final int tamanhoCacheStatementsMb;
+    private final int fetchSize;
+    private final boolean logSqlAtivo;
+    private final int tamanhoBlocoIds;
+
+    private ConfiguracaoBanco(Properties arquivo) {
+        this.url = lerTexto(arquivo, "url", "jdbc:postgresql://localhost:5432/bibliotecadb");
+        this.usuario = lerTexto(arquivo, "usuario", "biblioteca");
+        this.senha = lerTexto(arquivo, "senha", "");
+        this.tamanhoMaximoPool = lerNumero(arquivo, "pool.tamanhoMaximo", 10);
+        this.tempoEsperaConexaoMillis = lerNumero(arquivo, "pool.tempoEsperaConexaoMillis", 30000);
+        this.tempoValidacaoConexaoOciosaMillis = lerNumero(arquivo, "pool.tempoValidacaoConexaoOciosaMillis", 30000);
+        this.quantidadeStatementsCache = lerNumero(arquivo, "statements.quantidadeCache", 256);
+        this.tamanhoCacheStatementsMb = lerNumero(arquivo, "statements.tamanhoCacheMb", 5);
+        this.fetchSize = lerNumero(arquivo, "fetchSize", 500);
+        this.logSqlAtivo = Boolean.parseBoolean(lerTexto(arquivo, "logSql", "false"));
+        this.tamanhoBlocoIds = Math.max(1, lerNumero(arquivo, "sequencias.tamanhoBloco", TAMANHO_BLOCO_IDS_PADRAO));
+    }
+
+    /**
+     * Método responsável por carregar as configurações do banco de dados do arquivo, das propriedades de sistema e das variáveis de ambiente.
+     *
+     * @return as configurações do banco de dados.
+     * @throws ValidacaoException caso o arquivo de configuração não possa ser lido ou alguma configuração numérica seja inválida.
+     */
+    public static ConfiguracaoBanco carregar() {
+        Properties arquivo = new Properties();
+        try (InputStream inputStream = ConfiguracaoBanco.class.getResourceAsStream(ARQUIVO_CONFIGURACAO)) {
+            if (inputStream != null) {
+                arquivo.load(inputStream);
+            }
+        } catch (IOException ex) {
+            throw new ValidacaoException(format("Erro ao ler o arquivo de configuração do banco de dados: %s", ex.getMessage()));
+        }
+        return new ConfiguracaoBanco(arquivo);
+    }
+
+    private static String lerTexto(Properties arquivo, String nome, String padrao) {
+        String chave = PREFIXO + nome;
+        String valor = System.getProperty(chave);
+        if (valor == null) {
+            valor = System.getenv(chave.replace('.', '_').toUpperCase(Locale.ROOT));
+        }
+        if (valor == null) {
+            valor = arquivo.getProperty(chave, padrao);
+        }
+        return valor.trim();
+    }
+
+    private static int lerNumero(Properties arquivo, String nome, int padrao) {
+        String valor = lerTexto(arquivo, nome, String.valueOf(padrao));
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException ex) {
+            throw new ValidacaoException(format("A configuração %s%s do banco de dados deve ser um número: %s", PREFIXO, nome, valor));
+        }
+    }
+}
@@ -5,6 +5,10 @@ import lombok.extern.java.Log;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
 
 import static javax.persistence.Persistence.createEntityManagerFactory;
 
@@ -13,6 +17,11 @@ import static javax.persistence.Persistence.createEntityManagerFactory;
  * <p>
  * Esta classe garante que o EntityManagerFactory seja criado apenas uma vez
  * durante o ciclo de vida da aplicação.
+ * <p>
+ * As conexões do EntityManagerFactory são fornecidas pelo PoolConexoes, configurado a partir do ConfiguracaoBanco.
+ * Antes da criação do EntityManagerFactory, o incremento das sequências dos IDs é ajustado ao tamanho de bloco configurado.
+ * Após a criação das tabelas pelo Hibernate, as migrações do banco de dados são aplicadas e os índices esperados são verificados.
+ * A busca textual dos Livros é considerada disponível apenas quando o índice dela existe, pois ele é criado no fim da migração da busca textual.
  *
  * @author Bruno Cardoso
  * @version 1.0
@@ -21,12 +30,28 @@ import static javax.persistence.Persistence.createEntityManagerFactory;
 @UtilityClass
 public class JpaUtil {
 
+    private static final String PROPRIEDADE_TAMANHO_LOTE_JDBC = "hibernate.jdbc.batch_size";
+    private static final int TAMANHO_LOTE_JDBC_PADRAO = 50;
+    private static final String PROPRIEDADE_DATA_SOURCE = "javax.persistence.nonJtaDataSource";
+
+    private static final PoolConexoes poolConexoes;
     private static final EntityManagerFactory entityManagerFactory;
+    private static final boolean buscaTextualDisponivel;
 
     static {
         try {
             log.info("Inicializando entity manager...");
-            entityManagerFactory = createEntityManagerFactory("biblioteca-unit");
+            ConfiguracaoBanco configuracao = ConfiguracaoBanco.carregar();
+            poolConexoes = new PoolConexoes(configuracao);
+            MigracaoBanco.ajustarSequencias(poolConexoes, configuracao.getTamanhoBlocoIds());
+            Map<String, Object> propriedades = new HashMap<>();
+            propriedades.put(PROPRIEDADE_DATA_SOURCE, poolConexoes);
+            entityManagerFactory = createEntityManagerFactory("biblioteca-unit", propriedades);
+            MigracaoBanco.aplicarMigracoes(poolConexoes);
+            buscaTextualDisponivel = !MigracaoBanco.verificarIndices(poolConexoes).contains(MigracaoBanco.INDICE_BUSCA_TEXTUAL);
+            if (!buscaTextualDisponivel) {
+                log.warning("A busca textual dos livros não está disponível no banco de dados. As pesquisas serão feitas por trecho do texto.");
+            }
             log.info("Entity manager inicializado com sucesso.");
         } catch (Exception ex) {
             log.severe("Falha ao inicializar entity manager. " + ex);
@@ -43,6 +68,55 @@ public class JpaUtil {
         return entityManagerFactory.createEntityManager();
     }
 
+    /**
+     * Fornece uma conexão do pool para as operações que precisam acessar o JDBC diretamente, sem passar pelo EntityManager.
+     * <p>
+     * A conexão deve ser fechada por quem a solicitou, para que volte ao pool.
+     *
+     * @return uma conexão com o banco de dados.
+     * @throws SQLException caso nenhuma conexão fique disponível no tempo de espera do pool.
+     */
+    public static Connection getConexao() throws SQLException {
+        return poolConexoes.getConnection();
+    }
+
+    /**
+     * Fornece o tamanho do lote JDBC configurado para o Hibernate, utilizado nas operações em lote dos DAOs.
+     *
+     * @return o valor da propriedade hibernate.jdbc.batch_size, ou o tamanho padrão caso ela não esteja configurada.
+     */
+    public static int getTamanhoLoteJdbc() {
+        Object tamanhoLote = entityManagerFactory.getProperties().get(PROPRIEDADE_TAMANHO_LOTE_JDBC);
+        return tamanhoLote != null
+                ? Integer.parseInt(tamanhoLote.toString().trim())
+                : TAMANHO_LOTE_JDBC_PADRAO;
+    }
+
+    /**
+     * Ativa ou desativa o log dos comandos SQL executados, sem a necessidade de reiniciar a aplicação.
+     */
+    public static void setLogSqlAtivo(boolean logSqlAtivo) {
+        poolConexoes.setLogSqlAtivo(logSqlAtivo);
+    }
+
+    /**
+     * Informa se o log dos comandos SQL executados está ativo.
+     *
+     * @return true caso o log de SQL esteja ativo. false caso contrário.
+     */
+    public static boolean isLogSqlAtivo() {
+        return poolConexoes.isLogSqlAtivo();
+    }
+
+    /**
+     * Informa se a busca textual dos Livros foi encontrada no banco de dados na inicialização.
+     *
+     * @return true caso o índice da busca textual exista. false caso contrário.
+     */
+    public static boolean isBuscaTextualDisponivel() {
+        return buscaTextualDisponivel;
+    }
+
     /**
      * Fecha o EntityManagerFactory para liberar todos os recursos de conexão.
      * Deve ser chamado ao encerrar a aplicação.
@@ -51,6 +125,7 @@ public class JpaUtil {
         if (entityManagerFactory != null && entityManagerFactory.isOpen()) {
             log.info("Fechando conexão do entity manager...");
             entityManagerFactory.close();
+            poolConexoes.fechar();
             log.info("Entity manager fechado com sucesso..");
         }
     }
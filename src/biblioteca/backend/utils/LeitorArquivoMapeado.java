@@ -0,0 +1,271 @@
+package biblioteca.backend.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Classe responsável por ler um arquivo CSV codificado em UTF-8 mapeado em memória, separando-o em regiões de registros completos.
+ * <p>
+ * O arquivo é mapeado em janelas, para que arquivos maiores que 2 GB também possam ser lidos, e os registros são localizados
+ * percorrendo os bytes da janela, sem decodificá-los. Um registro normalmente ocupa uma linha, mas um campo entre aspas pode conter
+ * quebras de linha, então as aspas são acompanhadas para que uma região nunca termine no meio de um registro.
+ * <p>
+ * Cada região é entregue como uma visão da janela mapeada, e a separação dos campos e a decodificação dos valores ficam para
+ * quem processa a região, em qualquer thread. Os registros que possuem apenas separadores e espaços são ignorados.
+ * <p>
+ * A localização das regiões deve ser feita por uma única thread.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+public class LeitorArquivoMapeado implements Closeable {
+
+    private static final long TAMANHO_JANELA = Integer.getInteger("biblioteca.importacao.tamanhoJanelaMb", 256) * 1024L * 1024L;
+    private static final byte ASPAS = '"';
+    private static final byte QUEBRA_LINHA = '\n';
+    private static final byte RETORNO_CARRO = '\r';
+    private static final byte ESPACO = ' ';
+    private static final byte[] BOM_UTF_8 = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final int REGISTRO_INCOMPLETO = -1;
+
+    private final RandomAccessFile arquivo;
+    private final FileChannel canal;
+    private final long tamanhoArquivo;
+    private final byte separador;
+    private MappedByteBuffer janela;
+    private long inicioJanela;
+    private long posicao;
+    private int numeroLinha;
+
+    private int inicioRegistro;
+    private int fimRegistro;
+    private int linhasRegistro;
+    private boolean registroVazio;
+
+    public LeitorArquivoMapeado(File arquivo, char separador) throws IOException {
+        this.arquivo = new RandomAccessFile(arquivo, "r");
+        this.canal = this.arquivo.getChannel();
+        this.tamanhoArquivo = canal.size();
+        this.separador = (byte) separador;
+    }
+
+    /**
+     * Método responsável por ler o primeiro registro do arquivo, ignorando o BOM do UTF-8 caso exista.
+     *
+     * @return o texto do cabeçalho, ou null caso o arquivo esteja vazio.
+     */
+    public String lerCabecalho() throws IOException {
+        posicionar(0, 0);
+        if (tamanhoArquivo == 0) {
+            return null;
+        }
+        mapearJanela();
+        if (possuiBom()) {
+            posicao = BOM_UTF_8.length;
+            mapearJanela();
+        }
+
+        int proximoRegistro = localizarRegistro((int) (posicao - inicioJanela));
+        if (proximoRegistro == REGISTRO_INCOMPLETO) {
+            throw new IOException("O cabeçalho do arquivo é maior que a janela de leitura.");
+        }
+        byte[] cabecalho = new byte[fimRegistro - inicioRegistro];
+        for (int indice = 0; indice < cabecalho.length; indice++) {
+            cabecalho[indice] = janela.get(inicioRegistro + indice);
+        }
+        avancar(proximoRegistro);
+        return new String(cabecalho, UTF_8);
+    }
+
+    /**
+     * Método responsável por continuar a leitura a partir de uma posição do arquivo, que deve ser o início de um registro.
+     *
+     * @param numeroLinhaAnterior o número da linha do arquivo que termina antes da posição.
+     */
+    public void posicionar(long novaPosicao, int numeroLinhaAnterior) {
+        this.posicao = novaPosicao;
+        this.numeroLinha = numeroLinhaAnterior;
+        this.janela = null;
+    }
+
+    /**
+     * Método responsável por localizar a próxima região do arquivo, com até a quantidade máxima de registros informada.
+     * <p>
+     * A região termina antes, com menos registros, quando o próximo registro não couber na janela mapeada atual.
+     *
+     * @return a próxima região do arquivo, ou null caso o arquivo tenha terminado.
+     * @throws IOException caso um único registro seja maior que a janela de leitura.
+     */
+    public RegiaoArquivoCsv lerRegiao(int quantidadeMaximaRegistros) throws IOException {
+        if (posicao >= tamanhoArquivo) {
+            return null;
+        }
+        mapearJanela();
+
+        int inicioRegiao = (int) (posicao - inicioJanela);
+        int[] inicios = new int[quantidadeMaximaRegistros];
+        int[] fins = new int[quantidadeMaximaRegistros];
+        int[] numerosLinhas = new int[quantidadeMaximaRegistros];
+        int quantidadeRegistros = 0;
+        int indice = inicioRegiao;
+        int numeroLinhaRegiao = numeroLinha;
+
+        while (quantidadeRegistros < quantidadeMaximaRegistros && inicioJanela + indice < tamanhoArquivo) {
+            int proximoRegistro = localizarRegistro(indice);
+            if (proximoRegistro == REGISTRO_INCOMPLETO) {
+                if (indice == inicioRegiao) {
+                    return lerRegiaoEmNovaJanela(quantidadeMaximaRegistros);
+                }
+                break;
+            }
+            if (!registroVazio) {
+                inicios[quantidadeRegistros] = inicioRegistro - inicioRegiao;
+                fins[quantidadeRegistros] = fimRegistro - inicioRegiao;
+                numerosLinhas[quantidadeRegistros] = numeroLinhaRegiao + 1;
+                quantidadeRegistros++;
+            }
+            numeroLinhaRegiao += linhasRegistro;
+            indice = proximoRegistro;
+        }
+
+        ByteBuffer conteudo = janela.duplicate();
+        conteudo.limit(indice);
+        conteudo.position(inicioRegiao);
+        avancarAte(indice, numeroLinhaRegiao);
+        return new RegiaoArquivoCsv(conteudo.slice(), quantidadeRegistros, Arrays.copyOf(inicios, quantidadeRegistros),
+                Arrays.copyOf(fins, quantidadeRegistros), Arrays.copyOf(numerosLinhas, quantidadeRegistros), posicao, numeroLinha);
+    }
+
+    /**
+     * Método responsável por informar a posição do arquivo em que começa o próximo registro.
+     *
+     * @return a posição, em bytes, do fim do último registro lido.
+     */
+    public long getPosicao() {
+        return posicao;
+    }
+
+    /**
+     * Método responsável por informar o número da última linha do arquivo lida.
+     *
+     * @return o número da última linha do último registro lido.
+     */
+    public int getNumeroLinha() {
+        return numeroLinha;
+    }
+
+    @Override
+    public void close() throws IOException {
+        janela = null;
+        arquivo.close();
+    }
+
+    /**
+     * Método responsável por mapear uma nova janela começando no registro atual, quando ele não coube no restante da janela anterior.
+     *
+     * @throws IOException caso o registro não caiba nem em uma janela inteira.
+     */
+    private RegiaoArquivoCsv lerRegiaoEmNovaJanela(int quantidadeMaximaRegistros) throws IOException {
+        if (inicioJanela == posicao) {
+            throw new IOException(format("O registro da linha %d é maior que a janela de leitura de %d MB.",
+                    numeroLinha + 1, TAMANHO_JANELA / (1024 * 1024)));
+        }
+        janela = null;
+        return lerRegiao(quantidadeMaximaRegistros);
+    }
+
+    /**
+     * Método responsável por mapear a janela do arquivo que começa na posição atual, caso a janela atual não a contenha.
+     */
+    private void mapearJanela() throws IOException {
+        if (janela != null && posicao >= inicioJanela && posicao < inicioJanela + janela.limit()) {
+            return;
+        }
+        inicioJanela = posicao;
+        janela = canal.map(FileChannel.MapMode.READ_ONLY, inicioJanela, Math.min(TAMANHO_JANELA, tamanhoArquivo - inicioJanela));
+    }
+
+    /**
+     * Método responsável por localizar o fim do registro que começa no índice da janela, acompanhando os campos entre aspas.
+     * <p>
+     * Só são consideradas aspas de abertura as que iniciam um campo, então aspas no meio de um campo comum são tratadas como texto.
+     * O fim do registro, sem a quebra de linha, a quantidade de linhas dele e se ele está vazio ficam nos campos do registro atual.
+     *
+     * @return o índice do início do próximo registro, ou REGISTRO_INCOMPLETO caso o registro termine depois do fim da janela.
+     */
+    private int localizarRegistro(int inicio) {
+        ByteBuffer janela = this.janela;
+        int limite = janela.limit();
+        boolean janelaNoFimDoArquivo = inicioJanela + limite >= tamanhoArquivo;
+        boolean entreAspas = false;
+        boolean inicioCampo = true;
+        inicioRegistro = inicio;
+        linhasRegistro = 1;
+        registroVazio = true;
+
+        for (int indice = inicio; indice < limite; indice++) {
+            byte valor = janela.get(indice);
+            if (entreAspas) {
+                if (valor == ASPAS) {
+                    if (indice + 1 >= limite && !janelaNoFimDoArquivo) {
+                        return REGISTRO_INCOMPLETO;
+                    }
+                    if (indice + 1 < limite && janela.get(indice + 1) == ASPAS) {
+                        indice++;
+                    } else {
+                        entreAspas = false;
+                    }
+                } else if (valor == QUEBRA_LINHA) {
+                    linhasRegistro++;
+                }
+            } else if (valor == QUEBRA_LINHA) {
+                fimRegistro = indice > inicio && janela.get(indice - 1) == RETORNO_CARRO ? indice - 1 : indice;
+                return indice + 1;
+            } else if (valor == separador) {
+                inicioCampo = true;
+            } else {
+                if ((valor & 0xFF) > ESPACO) {
+                    registroVazio = false;
+                }
+                entreAspas = inicioCampo && valor == ASPAS;
+                inicioCampo = false;
+            }
+        }
+
+        if (!janelaNoFimDoArquivo) {
+            return REGISTRO_INCOMPLETO;
+        }
+        fimRegistro = limite > inicio && janela.get(limite - 1) == RETORNO_CARRO ? limite - 1 : limite;
+        return limite;
+    }
+
+    private boolean possuiBom() {
+        if (janela.limit() < BOM_UTF_8.length) {
+            return false;
+        }
+        for (int indice = 0; indice < BOM_UTF_8.length; indice++) {
+            if (janela.get(indice) != BOM_UTF_8[indice]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void avancar(int proximoRegistro) {
+        avancarAte(proximoRegistro, numeroLinha + linhasRegistro);
+    }
+
+    private void avancarAte(int indice, int numeroUltimaLinha) {
+        posicao = inicioJanela + indice;
+        numeroLinha = numeroUltimaLinha;
+    }
+}
@@ -0,0 +1,228 @@
+package biblioteca.backend.utils;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.java.Log;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.*;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Classe utilitária responsável por aplicar as migrações do banco de dados e verificar os índices esperados pela aplicação.
+ * <p>
+ * As tabelas continuam sendo criadas pelo Hibernate. As migrações ficam na pasta META-INF/migracoes, são aplicadas na ordem da lista
+ * de migrações, cada uma em sua própria transação, e as migrações já aplicadas ficam registradas na tabela BIBLIOTECA_MIGRACAO.
+ * <p>
+ * Uma falha em uma migração não impede a aplicação de iniciar: a migração é desfeita e fica pendente para a próxima inicialização,
+ * e a verificação de índices informa no log quais índices estão faltando. As migrações seguintes continuam sendo aplicadas,
+ * com exceção das que dependem de uma migração que não foi aplicada, que também ficam pendentes.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Log
+@UtilityClass
+public class MigracaoBanco {
+
+    public static final String INDICE_BUSCA_TEXTUAL = "idx_livro_busca_textual";
+
+    private static final String PASTA_MIGRACOES = "/META-INF/migracoes/";
+    private static final List<String> MIGRACOES = Arrays.asList(
+            "V001__indices_consultas.sql",
+            "V002__sequencias_em_blocos.sql",
+            "V003__busca_textual.sql",
+            "V004__indices_trigramas.sql",
+            "V005__busca_textual_por_comando.sql");
+    private static final Map<String, String> DEPENDENCIAS = Collections.singletonMap(
+            "V005__busca_textual_por_comando.sql", "V003__busca_textual.sql");
+    private static final List<String> SEQUENCIAS = Arrays.asList("SEQ_LIVRO", "SEQ_AUTOR", "SEQ_EDITORA");
+    private static final List<String> INDICES_ESPERADOS = Arrays.asList(
+            "uk_livro_isbn_10", "uk_livro_isbn_13", "uk_editora_cnpj",
+            "idx_autor_nome_upper", "idx_editora_nome_upper",
+            "idx_livro_fk_editora", "idx_livro_autor_fk_livro", "idx_livro_autor_fk_autor",
+            "idx_livro_parecido_livro_id", "idx_livro_parecido_parecido_id",
+            INDICE_BUSCA_TEXTUAL, "idx_livro_titulo_trgm", "idx_autor_nome_trgm");
+
+    /**
+     * Método responsável por aplicar as migrações que ainda não foram registradas como aplicadas no banco de dados.
+     */
+    public static void aplicarMigracoes(DataSource dataSource) {
+        try (Connection conexao = dataSource.getConnection()) {
+            criarTabelaMigracoes(conexao);
+            Set<String> migracoesAplicadas = buscarMigracoesAplicadas(conexao);
+            List<String> migracoesPendentes = new ArrayList<>();
+            for (String migracao : MIGRACOES) {
+                if (migracoesAplicadas.contains(migracao)) {
+                    continue;
+                }
+                String dependencia = DEPENDENCIAS.get(migracao);
+                if (dependencia != null && !migracoesAplicadas.contains(dependencia)) {
+                    log.warning(format("A migração %s não foi aplicada, pois depende da migração %s, que ainda não foi aplicada.", migracao, dependencia));
+                    migracoesPendentes.add(migracao);
+                } else if (aplicarMigracao(conexao, migracao)) {
+                    migracoesAplicadas.add(migracao);
+                } else {
+                    migracoesPendentes.add(migracao);
+                }
+            }
+            if (!migracoesPendentes.isEmpty()) {
+                log.severe(format("Migrações pendentes, que serão aplicadas novamente na próxima inicialização: %s",
+                        String.join(", ", migracoesPendentes)));
+            }
+        } catch (SQLException ex) {
+            log.severe(format("Não foi possível aplicar as migrações do banco de dados: %s", ex.getMessage()));
+        }
+    }
+
+    /**
+     * Método responsável por ajustar o incremento das sequências dos IDs ao tamanho de bloco configurado, criando as sequências que ainda não existem.
+     * <p>
+     * Deve ser chamado antes da criação do EntityManagerFactory, pois o Hibernate adota o incremento encontrado no banco de dados como
+     * tamanho do bloco dos IDs. Como o próximo bloco sempre começa após o último valor gerado pela sequência, a alteração do tamanho
+     * não gera conflito com os IDs já existentes, desde que nenhuma outra instância da aplicação esteja utilizando o tamanho anterior.
+     */
+    public static void ajustarSequencias(DataSource dataSource, int tamanhoBloco) {
+        try (Connection conexao = dataSource.getConnection();
+             Statement statement = conexao.createStatement();
+             PreparedStatement consultaIncremento = conexao.prepareStatement(
+                     "SELECT increment_by FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = ?")) {
+            for (String sequencia : SEQUENCIAS) {
+                statement.execute(format("CREATE SEQUENCE IF NOT EXISTS %s START WITH 1 INCREMENT BY %d", sequencia, tamanhoBloco));
+                consultaIncremento.setString(1, sequencia.toLowerCase(Locale.ROOT));
+                try (ResultSet resultSet = consultaIncremento.executeQuery()) {
+                    if (resultSet.next() && resultSet.getLong(1) != tamanhoBloco) {
+                        log.info(format("Alterando o incremento da sequência %s de %d para %d.", sequencia, resultSet.getLong(1), tamanhoBloco));
+                        statement.execute(format("ALTER SEQUENCE %s INCREMENT BY %d", sequencia, tamanhoBloco));
+                    }
+                }
+            }
+        } catch (SQLException ex) {
+            log.severe(format("Não foi possível ajustar o incremento das sequências do banco de dados: %s", ex.getMessage()));
+        }
+    }
+
+    /**
+     * Método responsável por verificar se os índices esperados pela aplicação existem no banco de dados, registrando no log os índices ausentes.
+     *
+     * @return os nomes dos índices ausentes.
+     */
+    public static List<String> verificarIndices(DataSource dataSource) {
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement statement = conexao.prepareStatement(
+                     "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema()")) {
+            Set<String> indicesExistentes = new HashSet<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    indicesExistentes.add(resultSet.getString(1));
+                }
+            }
+
+            List<String> indicesAusentes = new ArrayList<>(INDICES_ESPERADOS);
+            indicesAusentes.removeAll(indicesExistentes);
+            if (!indicesAusentes.isEmpty()) {
+                log.warning(format("Índices ausentes no banco de dados, as consultas de livros, autores e editoras podem ficar lentas: %s",
+                        String.join(", ", indicesAusentes)));
+            }
+            return indicesAusentes;
+        } catch (SQLException ex) {
+            log.severe(format("Não foi possível verificar os índices do banco de dados: %s", ex.getMessage()));
+            return Collections.emptyList();
+        }
+    }
+
+    private static void criarTabelaMigracoes(Connection conexao) throws SQLException {
+        try (Statement statement = conexao.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS BIBLIOTECA_MIGRACAO ("
+                    + "VERSAO VARCHAR(100) PRIMARY KEY, "
+                    + "APLICADA_EM TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        }
+    }
+
+    private static Set<String> buscarMigracoesAplicadas(Connection conexao) throws SQLException {
+        Set<String> migracoesAplicadas = new HashSet<>();
+        try (Statement statement = conexao.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT VERSAO FROM BIBLIOTECA_MIGRACAO")) {
+            while (resultSet.next()) {
+                migracoesAplicadas.add(resultSet.getString(1));
+            }
+        }
+        return migracoesAplicadas;
+    }
+
+    /**
+     * Método responsável por executar os comandos de uma migração e registrá-la como aplicada, em uma única transação.
+     *
+     * @return true caso a migração tenha sido aplicada. false caso tenha ocorrido algum erro e a migração tenha sido desfeita.
+     */
+    private static boolean aplicarMigracao(Connection conexao, String migracao) throws SQLException {
+        log.info(format("Aplicando a migração %s...", migracao));
+        conexao.setAutoCommit(false);
+        try (Statement statement = conexao.createStatement();
+             PreparedStatement registro = conexao.prepareStatement("INSERT INTO BIBLIOTECA_MIGRACAO (VERSAO) VALUES (?)")) {
+            for (String comando : lerComandos(migracao)) {
+                statement.execute(comando);
+            }
+            registro.setString(1, migracao);
+            registro.executeUpdate();
+            conexao.commit();
+            log.info(format("Migração %s aplicada com sucesso.", migracao));
+            return true;
+        } catch (SQLException | IOException ex) {
+            conexao.rollback();
+            log.severe(format("Erro ao aplicar a migração %s. Ela será aplicada novamente na próxima inicialização: %s", migracao, ex.getMessage()));
+            return false;
+        } finally {
+            conexao.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Método responsável por ler os comandos do arquivo da migração, ignorando os comentários. Cada comando termina com ponto e vírgula,
+     * com exceção dos pontos e vírgulas dentro dos corpos de funções delimitados por $$.
+     *
+     * @return os comandos da migração.
+     */
+    private static List<String> lerComandos(String migracao) throws IOException {
+        InputStream inputStream = MigracaoBanco.class.getResourceAsStream(PASTA_MIGRACOES + migracao);
+        if (inputStream == null) {
+            throw new IOException(format("Arquivo da migração não encontrado: %s", migracao));
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String conteudo = reader.lines()
+                    .filter(linha -> !linha.trim().startsWith("--"))
+                    .collect(joining("\n"));
+            return separarComandos(conteudo);
+        }
+    }
+
+    private static List<String> separarComandos(String conteudo) {
+        List<String> comandos = new ArrayList<>();
+        boolean dentroDoCorpo = false;
+        int inicioComando = 0;
+        for (int indice = 0; indice < conteudo.length(); indice++) {
+            if (conteudo.startsWith("$$", indice)) {
+                dentroDoCorpo = !dentroDoCorpo;
+                indice++;
+            } else if (conteudo.charAt(indice) == ';' && !dentroDoCorpo) {
+                adicionarComando(comandos, conteudo.substring(inicioComando, indice));
+                inicioComando = indice + 1;
+            }
+        }
+        adicionarComando(comandos, conteudo.substring(inicioComando));
+        return comandos;
+    }
+
+    private static void adicionarComando(List<String> comandos, String comando) {
+        if (!comando.trim().isEmpty()) {
+            comandos.add(comando.trim());
+        }
+    }
+}
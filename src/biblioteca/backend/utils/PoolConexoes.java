@@ -0,0 +1,427 @@
+package biblioteca.backend.utils;
+
+import lombok.extern.java.Log;
+import org.postgresql.ds.PGSimpleDataSource;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+import static java.lang.String.format;
+
+/**
+ * Classe responsável por manter um pool de conexões com o banco de dados, utilizado como DataSource pelo EntityManagerFactory.
+ * <p>
+ * As conexões devolvidas pelos EntityManagers ficam abertas no pool e são reutilizadas pelas próximas operações, evitando abrir uma nova
+ * conexão a cada chamada dos DAOs. A conexão devolvida mais recentemente é a primeira a ser reutilizada, e uma conexão que ficou ociosa
+ * por mais tempo que o configurado é validada antes de ser entregue.
+ * <p>
+ * Ao ser devolvida, a conexão volta ao estado em que foi entregue: os statements deixados abertos são fechados, a transação aberta é desfeita,
+ * e as propriedades e os parâmetros de sessão alterados são restaurados.
+ * <p>
+ * Os inserts em lote do Hibernate são enviados como um único comando INSERT com vários registros, então os triggers por comando,
+ * como os da busca textual na tabela LIVRO_AUTOR, são executados uma vez por lote.
+ * <p>
+ * Quando todas as conexões estão em uso, a solicitação aguarda uma conexão ser devolvida até o tempo de espera configurado.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Log
+public class PoolConexoes implements DataSource {
+
+    private static final int TEMPO_VALIDACAO_SEGUNDOS = 2;
+
+    private final PGSimpleDataSource dataSource;
+    private final Semaphore conexoesDisponiveis;
+    private final Deque<ConexaoOciosa> conexoesOciosas = new LinkedBlockingDeque<>();
+    private final long tempoEsperaConexaoMillis;
+    private final long tempoValidacaoConexaoOciosaMillis;
+    private volatile boolean logSqlAtivo;
+    private volatile boolean fechado;
+
+    public PoolConexoes(ConfiguracaoBanco configuracao) {
+        this.dataSource = new PGSimpleDataSource();
+        this.dataSource.setUrl(configuracao.getUrl());
+        this.dataSource.setUser(configuracao.getUsuario());
+        this.dataSource.setPassword(configuracao.getSenha());
+        this.dataSource.setApplicationName("biblioteca");
+        this.dataSource.setPreparedStatementCacheQueries(configuracao.getQuantidadeStatementsCache());
+        this.dataSource.setPreparedStatementCacheSizeMiB(configuracao.getTamanhoCacheStatementsMb());
+        this.dataSource.setDefaultRowFetchSize(configuracao.getFetchSize());
+        this.dataSource.setReWriteBatchedInserts(true);
+        this.conexoesDisponiveis = new Semaphore(configuracao.getTamanhoMaximoPool(), true);
+        this.tempoEsperaConexaoMillis = configuracao.getTempoEsperaConexaoMillis();
+        this.tempoValidacaoConexaoOciosaMillis = configuracao.getTempoValidacaoConexaoOciosaMillis();
+        this.logSqlAtivo = configuracao.isLogSqlAtivo();
+    }
+
+    /**
+     * Método responsável por entregar uma conexão do pool, reutilizando uma conexão ociosa ou abrindo uma nova quando não houver nenhuma.
+     * <p>
+     * A conexão entregue volta para o pool quando o método close() dela é chamado.
+     *
+     * @return uma conexão com o banco de dados.
+     * @throws SQLException caso o pool esteja fechado, nenhuma conexão seja devolvida dentro do tempo de espera, ou não seja possível abrir a conexão.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (fechado) {
+            throw new SQLException("O pool de conexões está fechado.");
+        }
+        aguardarConexaoDisponivel();
+        try {
+            return criarConexaoDoPool(obterConexaoFisica());
+        } catch (SQLException | RuntimeException ex) {
+            conexoesDisponiveis.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String senha) throws SQLException {
+        throw new SQLFeatureNotSupportedException("O pool de conexões utiliza apenas o usuário configurado.");
+    }
+
+    /**
+     * Método responsável por ativar ou desativar o log dos comandos SQL executados pelas conexões do pool, com a aplicação em execução.
+     */
+    public void setLogSqlAtivo(boolean logSqlAtivo) {
+        this.logSqlAtivo = logSqlAtivo;
+    }
+
+    public boolean isLogSqlAtivo() {
+        return logSqlAtivo;
+    }
+
+    /**
+     * Método responsável por fechar o pool e todas as conexões ociosas. As conexões em uso são fechadas quando forem devolvidas.
+     */
+    public void fechar() {
+        fechado = true;
+        ConexaoOciosa conexaoOciosa;
+        while ((conexaoOciosa = conexoesOciosas.pollFirst()) != null) {
+            fecharConexaoFisica(conexaoOciosa.conexao);
+        }
+    }
+
+    private void aguardarConexaoDisponivel() throws SQLException {
+        try {
+            if (!conexoesDisponiveis.tryAcquire(tempoEsperaConexaoMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException(format("Nenhuma conexão com o banco de dados ficou disponível em %d ms.", tempoEsperaConexaoMillis));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("A espera por uma conexão com o banco de dados foi interrompida.", ex);
+        }
+    }
+
+    /**
+     * Método responsável por obter a conexão ociosa mais recente que ainda esteja válida, ou abrir uma nova conexão.
+     *
+     * @return a conexão física com o banco de dados.
+     */
+    private Connection obterConexaoFisica() throws SQLException {
+        ConexaoOciosa conexaoOciosa;
+        while ((conexaoOciosa = conexoesOciosas.pollFirst()) != null) {
+            boolean precisaValidar = System.currentTimeMillis() - conexaoOciosa.devolvidaEm > tempoValidacaoConexaoOciosaMillis;
+            if (!precisaValidar || conexaoOciosa.conexao.isValid(TEMPO_VALIDACAO_SEGUNDOS)) {
+                return conexaoOciosa.conexao;
+            }
+            fecharConexaoFisica(conexaoOciosa.conexao);
+        }
+        return dataSource.getConnection();
+    }
+
+    /**
+     * Método responsável por devolver a conexão física ao pool no mesmo estado em que foi entregue.
+     * <p>
+     * Os statements deixados abertos são fechados, uma transação que tenha ficado aberta é desfeita, as propriedades alteradas pela conexão do pool
+     * (somente leitura, nível de isolamento, holdability, schema, catálogo e mapa de tipos) voltam aos valores originais, e os parâmetros
+     * da sessão alterados por comandos SET são restaurados com RESET ALL. Caso a conexão não possa ser reutilizada, ela é fechada.
+     */
+    private void devolverConexao(ConexaoEmUso conexaoEmUso) {
+        Connection conexao = conexaoEmUso.conexaoFisica;
+        try {
+            if (fechado || conexao.isClosed()) {
+                fecharConexaoFisica(conexao);
+                return;
+            }
+            conexaoEmUso.fecharStatementsAbertos();
+            if (!conexao.getAutoCommit()) {
+                conexao.rollback();
+                conexao.setAutoCommit(true);
+            }
+            conexaoEmUso.restaurarPropriedades();
+            if (conexaoEmUso.sessaoAlterada) {
+                try (Statement statement = conexao.createStatement()) {
+                    statement.execute("RESET ALL");
+                }
+            }
+            conexao.clearWarnings();
+            conexoesOciosas.offerFirst(new ConexaoOciosa(conexao, System.currentTimeMillis()));
+        } catch (SQLException ex) {
+            log.warning(format("Conexão descartada ao ser devolvida ao pool: %s", ex.getMessage()));
+            fecharConexaoFisica(conexao);
+        } finally {
+            conexoesDisponiveis.release();
+        }
+    }
+
+    private static void fecharConexaoFisica(Connection conexao) {
+        try {
+            conexao.close();
+        } catch (SQLException ex) {
+            log.warning(format("Erro ao fechar a conexão com o banco de dados: %s", ex.getMessage()));
+        }
+    }
+
+    /**
+     * Método responsável por criar a conexão entregue para o EntityManager. Ela repassa as chamadas para a conexão física,
+     * devolve a conexão ao pool no close() e registra os comandos SQL preparados quando o log de SQL estiver ativo.
+     * <p>
+     * Os statements criados por ela também são repassados por um proxy, que acompanha quais ainda estão abertos e quais comandos
+     * alteram os parâmetros da sessão, para que a conexão física seja devolvida ao pool limpa.
+     *
+     * @return a conexão do pool.
+     */
+    private Connection criarConexaoDoPool(Connection conexaoFisica) {
+        ConexaoEmUso conexaoEmUso = new ConexaoEmUso(conexaoFisica);
+        Connection[] conexaoDoPool = new Connection[1];
+        conexaoDoPool[0] = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    switch (metodo.getName()) {
+                        case "close":
+                            if (!conexaoEmUso.devolvida) {
+                                conexaoEmUso.devolvida = true;
+                                devolverConexao(conexaoEmUso);
+                            }
+                            return null;
+                        case "isClosed":
+                            return conexaoEmUso.devolvida || conexaoFisica.isClosed();
+                        case "equals":
+                            return proxy == argumentos[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "Conexão do pool: " + conexaoFisica;
+                        default:
+                            if (conexaoEmUso.devolvida) {
+                                throw new SQLException("A conexão já foi devolvida ao pool.");
+                            }
+                            registrarSql(metodo, argumentos);
+                            conexaoEmUso.registrarAlteracao(metodo, argumentos);
+                            Object retorno = invocar(conexaoFisica, metodo, argumentos);
+                            return retorno instanceof Statement
+                                    ? conexaoEmUso.acompanharStatement(conexaoDoPool[0], (Statement) retorno, metodo.getReturnType())
+                                    : retorno;
+                    }
+                });
+        return conexaoDoPool[0];
+    }
+
+    private void registrarSql(Method metodo, Object[] argumentos) {
+        if (logSqlAtivo && metodo.getName().startsWith("prepare") && argumentos != null && argumentos[0] instanceof String) {
+            log.info(format("SQL: %s", argumentos[0]));
+        }
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        // O pool registra suas mensagens pelo java.util.logging.
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        dataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return dataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() {
+        return log;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException(format("O pool de conexões não implementa %s", iface.getName()));
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    /**
+     * Conexão física guardada no pool, com o momento em que foi devolvida.
+     */
+    private static class ConexaoOciosa {
+
+        private final Connection conexao;
+        private final long devolvidaEm;
+
+        private ConexaoOciosa(Connection conexao, long devolvidaEm) {
+            this.conexao = conexao;
+            this.devolvidaEm = devolvidaEm;
+        }
+    }
+
+    /**
+     * Conexão física entregue pelo pool, com os statements abertos por ela e as alterações de estado que precisam ser desfeitas na devolução.
+     */
+    private static class ConexaoEmUso {
+
+        private static final Map<String, String> LEITURAS_PROPRIEDADES = criarLeiturasPropriedades();
+        private static final Pattern COMANDO_ALTERA_SESSAO =
+                Pattern.compile("^\\s*(SET|RESET)\\s+(?!LOCAL\\b|TRANSACTION\\b|CONSTRAINTS\\b)", Pattern.CASE_INSENSITIVE);
+
+        private final Connection conexaoFisica;
+        private final Set<Statement> statementsAbertos = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Map<Method, Object> valoresOriginais = new LinkedHashMap<>();
+        private boolean sessaoAlterada;
+        private volatile boolean devolvida;
+
+        private ConexaoEmUso(Connection conexaoFisica) {
+            this.conexaoFisica = conexaoFisica;
+        }
+
+        /**
+         * Método responsável por guardar o valor original de uma propriedade da conexão antes da primeira alteração dela,
+         * e por identificar os comandos preparados que alteram os parâmetros da sessão.
+         */
+        private synchronized void registrarAlteracao(Method metodo, Object[] argumentos) throws SQLException {
+            String leitura = LEITURAS_PROPRIEDADES.get(metodo.getName());
+            if (leitura != null && !valoresOriginais.containsKey(metodo)) {
+                valoresOriginais.put(metodo, this.invocarNaConexaoFisica(leitura));
+            }
+            if (metodo.getName().startsWith("prepare") && argumentos != null && argumentos[0] instanceof String) {
+                this.registrarComando((String) argumentos[0]);
+            }
+        }
+
+        private synchronized void registrarComando(String sql) {
+            sessaoAlterada |= COMANDO_ALTERA_SESSAO.matcher(sql).lookingAt();
+        }
+
+        /**
+         * Método responsável por criar o proxy do statement criado pela conexão, que o remove dos statements abertos no close(),
+         * registra os comandos executados que alteram os parâmetros da sessão, e informa a conexão do pool no getConnection().
+         *
+         * @return o statement repassado pelo proxy, com a mesma interface do statement criado.
+         */
+        private Statement acompanharStatement(Connection conexaoDoPool, Statement statement, Class<?> tipoStatement) {
+            synchronized (this) {
+                statementsAbertos.add(statement);
+            }
+            return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{tipoStatement},
+                    (proxy, metodo, argumentos) -> {
+                        switch (metodo.getName()) {
+                            case "close":
+                                synchronized (this) {
+                                    statementsAbertos.remove(statement);
+                                }
+                                break;
+                            case "getConnection":
+                                return conexaoDoPool;
+                            case "equals":
+                                return proxy == argumentos[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                if ((metodo.getName().startsWith("execute") || "addBatch".equals(metodo.getName()))
+                                        && argumentos != null && argumentos[0] instanceof String) {
+                                    this.registrarComando((String) argumentos[0]);
+                                }
+                        }
+                        return invocar(statement, metodo, argumentos);
+                    });
+        }
+
+        private synchronized void fecharStatementsAbertos() {
+            for (Statement statement : statementsAbertos) {
+                try {
+                    statement.close();
+                } catch (SQLException ex) {
+                    log.warning(format("Erro ao fechar um statement deixado aberto na conexão: %s", ex.getMessage()));
+                }
+            }
+            if (!statementsAbertos.isEmpty()) {
+                log.fine(format("%d statements deixados abertos foram fechados na devolução da conexão ao pool.", statementsAbertos.size()));
+            }
+            statementsAbertos.clear();
+        }
+
+        private synchronized void restaurarPropriedades() throws SQLException {
+            for (Map.Entry<Method, Object> valorOriginal : valoresOriginais.entrySet()) {
+                this.invocarNaConexaoFisica(valorOriginal.getKey(), valorOriginal.getValue());
+            }
+        }
+
+        private Object invocarNaConexaoFisica(String leitura) throws SQLException {
+            try {
+                return this.invocarNaConexaoFisica(Connection.class.getMethod(leitura));
+            } catch (NoSuchMethodException ex) {
+                throw new SQLException(ex);
+            }
+        }
+
+        private Object invocarNaConexaoFisica(Method metodo, Object... argumentos) throws SQLException {
+            try {
+                return metodo.invoke(conexaoFisica, argumentos);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause() instanceof SQLException ? (SQLException) ex.getCause() : new SQLException(ex.getCause());
+            } catch (IllegalAccessException ex) {
+                throw new SQLException(ex);
+            }
+        }
+
+        private static Map<String, String> criarLeiturasPropriedades() {
+            Map<String, String> leituras = new HashMap<>();
+            leituras.put("setReadOnly", "isReadOnly");
+            leituras.put("setTransactionIsolation", "getTransactionIsolation");
+            leituras.put("setHoldability", "getHoldability");
+            leituras.put("setSchema", "getSchema");
+            leituras.put("setCatalog", "getCatalog");
+            leituras.put("setTypeMap", "getTypeMap");
+            return leituras;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package biblioteca.backend.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Classe que representa uma região contínua de um arquivo CSV mapeado em memória, que começa e termina em limites de registros.
+ * <p>
+ * O conteúdo da região é uma visão somente leitura do arquivo mapeado, sem cópia dos bytes. As posições dos registros são relativas
+ * ao início da região, e as regiões de um mesmo arquivo podem ser lidas ao mesmo tempo por threads diferentes.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class RegiaoArquivoCsv {
+
+    private final ByteBuffer conteudo;
+    private final int quantidadeRegistros;
+    private final int[] iniciosRegistros;
+    private final int[] finsRegistros;
+    private final int[] numerosLinhas;
+    private final long posicaoFim;
+    private final int numeroLinhaFim;
+
+    public ByteBuffer getConteudo() {
+        return conteudo.duplicate();
+    }
+}
@@ -0,0 +1,201 @@
+package biblioteca.backend.utils;
+
+import biblioteca.backend.exceptions.ValidacaoException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Classe responsável por separar os campos de um registro CSV codificado em UTF-8 sem criar arrays ou Strings intermediárias.
+ * <p>
+ * Os campos são localizados diretamente nos bytes do registro, que normalmente são uma região de um arquivo mapeado em memória,
+ * e são representados apenas pelas posições de início e fim dentro dele. Os bytes só são decodificados quando um campo é de fato lido,
+ * e campos em branco não geram nenhuma alocação.
+ * Campos entre aspas podem conter o separador e quebras de linha, e aspas dentro deles são escritas em dobro (""), como no padrão CSV.
+ * <p>
+ * O ganho em relação à separação com split é apenas de alocação de memória por registro: o tempo de processamento por registro é equivalente,
+ * pois os campos lidos ainda são convertidos em Strings. A comparação pode ser reproduzida pela classe BenchmarkTokenizadorCsv, da pasta benchmark.
+ * <p>
+ * Cada instância guarda o estado do último registro tokenizado, então não deve ser compartilhada entre threads.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+public class TokenizadorCsv {
+
+    private static final byte ASPAS = '"';
+    private static final int CAPACIDADE_INICIAL = 512;
+    private static final int CAMPOS_INICIAIS = 16;
+
+    private final byte separador;
+    private ByteBuffer conteudo;
+    private int inicioRegistro;
+    private int fimRegistro;
+    private byte[] bufferDecodificacao = new byte[CAPACIDADE_INICIAL];
+    private int[] iniciosCampos = new int[CAMPOS_INICIAIS];
+    private int[] finsCampos = new int[CAMPOS_INICIAIS];
+    private boolean[] camposComAspasEscapadas = new boolean[CAMPOS_INICIAIS];
+    private int quantidadeCampos;
+
+    public TokenizadorCsv(char separador) {
+        this.separador = (byte) separador;
+    }
+
+    /**
+     * Método responsável por separar os campos do registro que ocupa as posições informadas do conteúdo,
+     * substituindo os campos do registro anterior.
+     *
+     * @throws ValidacaoException caso o registro possua um campo entre aspas que não foi fechado.
+     */
+    public void tokenizar(ByteBuffer conteudoRegistro, int inicio, int fim) {
+        this.conteudo = conteudoRegistro;
+        this.inicioRegistro = inicio;
+        this.fimRegistro = fim;
+        this.quantidadeCampos = 0;
+
+        int posicao = inicio;
+        while (true) {
+            if (posicao < fim && conteudo.get(posicao) == ASPAS) {
+                posicao = this.lerCampoEntreAspas(posicao + 1);
+            } else {
+                int inicioCampo = posicao;
+                while (posicao < fim && conteudo.get(posicao) != separador) {
+                    posicao++;
+                }
+                this.adicionarCampo(inicioCampo, posicao, false);
+            }
+
+            if (posicao >= fim) {
+                return;
+            }
+            posicao++;
+        }
+    }
+
+    /**
+     * Método responsável por informar a quantidade de campos do último registro tokenizado.
+     *
+     * @return a quantidade de campos do registro.
+     */
+    public int getQuantidadeCampos() {
+        return quantidadeCampos;
+    }
+
+    /**
+     * Método responsável por verificar se o campo possui apenas espaços ou está vazio, sem criar nenhuma String.
+     *
+     * @return true se o campo estiver em branco. false se o campo possuir algum caractere diferente de espaço.
+     */
+    public boolean isCampoEmBranco(int indice) {
+        for (int posicao = iniciosCampos[indice]; posicao < finsCampos[indice]; posicao++) {
+            if ((conteudo.get(posicao) & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Método responsável por ler o valor de um campo do último registro tokenizado.
+     *
+     * @return o valor do campo, sem as aspas externas e com as aspas escapadas convertidas.
+     */
+    public String getCampo(int indice) {
+        int inicio = iniciosCampos[indice];
+        int fim = finsCampos[indice];
+        garantirCapacidadeDecodificacao(fim - inicio);
+
+        int tamanho = 0;
+        for (int posicao = inicio; posicao < fim; posicao++) {
+            byte valor = conteudo.get(posicao);
+            bufferDecodificacao[tamanho++] = valor;
+            if (valor == ASPAS && camposComAspasEscapadas[indice]) {
+                posicao++;
+            }
+        }
+        return new String(bufferDecodificacao, 0, tamanho, UTF_8);
+    }
+
+    /**
+     * Método responsável por ler o valor de um campo do último registro tokenizado, caso ele esteja preenchido.
+     *
+     * @return o valor do campo, ou null caso o campo esteja em branco.
+     */
+    public String getCampoPreenchido(int indice) {
+        return isCampoEmBranco(indice) ? null : getCampo(indice);
+    }
+
+    /**
+     * Método responsável por montar o texto completo do último registro tokenizado, para ser utilizado em mensagens de erro.
+     *
+     * @return o texto do registro.
+     */
+    public String getRegistro() {
+        garantirCapacidadeDecodificacao(fimRegistro - inicioRegistro);
+        for (int posicao = inicioRegistro; posicao < fimRegistro; posicao++) {
+            bufferDecodificacao[posicao - inicioRegistro] = conteudo.get(posicao);
+        }
+        return new String(bufferDecodificacao, 0, fimRegistro - inicioRegistro, UTF_8);
+    }
+
+    /**
+     * Método responsável por ler um campo entre aspas a partir da posição seguinte às aspas de abertura.
+     * <p>
+     * Caracteres entre as aspas de fechamento e o próximo separador são ignorados.
+     *
+     * @return a posição do separador que encerra o campo, ou o fim do registro caso o campo seja o último.
+     * @throws ValidacaoException caso as aspas do campo não sejam fechadas.
+     */
+    private int lerCampoEntreAspas(int inicio) {
+        boolean possuiAspasEscapadas = false;
+        int posicao = inicio;
+        while (true) {
+            if (posicao >= fimRegistro) {
+                throw new ValidacaoException(format("A linha %s possui um campo entre aspas que não foi fechado", getRegistro()));
+            }
+            if (conteudo.get(posicao) == ASPAS) {
+                if (posicao + 1 < fimRegistro && conteudo.get(posicao + 1) == ASPAS) {
+                    possuiAspasEscapadas = true;
+                    posicao += 2;
+                    continue;
+                }
+                break;
+            }
+            posicao++;
+        }
+        this.adicionarCampo(inicio, posicao, possuiAspasEscapadas);
+
+        while (posicao < fimRegistro && conteudo.get(posicao) != separador) {
+            posicao++;
+        }
+        return posicao;
+    }
+
+    /**
+     * Método responsável por registrar as posições de um campo, aumentando os arrays de posições quando necessário.
+     */
+    private void adicionarCampo(int inicio, int fim, boolean possuiAspasEscapadas) {
+        if (quantidadeCampos == iniciosCampos.length) {
+            int novaCapacidade = iniciosCampos.length * 2;
+            iniciosCampos = Arrays.copyOf(iniciosCampos, novaCapacidade);
+            finsCampos = Arrays.copyOf(finsCampos, novaCapacidade);
+            camposComAspasEscapadas = Arrays.copyOf(camposComAspasEscapadas, novaCapacidade);
+        }
+        iniciosCampos[quantidadeCampos] = inicio;
+        finsCampos[quantidadeCampos] = fim;
+        camposComAspasEscapadas[quantidadeCampos] = possuiAspasEscapadas;
+        quantidadeCampos++;
+    }
+
+    /**
+     * Método responsável por aumentar o buffer de decodificação apenas quando o campo não couber nele.
+     */
+    private void garantirCapacidadeDecodificacao(int tamanho) {
+        if (tamanho > bufferDecodificacao.length) {
+            bufferDecodificacao = new byte[Math.max(tamanho, bufferDecodificacao.length * 2)];
+        }
+    }
+}
@@ -3,6 +3,7 @@ package biblioteca.telas;
 import biblioteca.backend.facade.AutorFacade;
 import biblioteca.backend.facade.EditoraFacade;
 import biblioteca.backend.facade.LivroFacade;
+import biblioteca.backend.utils.JpaUtil;
 import biblioteca.telas.autor.TelaListagemAutor;
 import biblioteca.telas.editora.TelaListagemEditora;
 import biblioteca.telas.livro.TelaListagemLivro;
@@ -30,6 +31,7 @@ public class TelaPrincipal extends JFrame {
     private final JButton botaoGerenciaLivro = criarBotao("Gerenciar Livros");
     private final JButton botaoGerenciaAutor = criarBotao("Gerenciar Autores");
     private final JButton botaoGerenciaEditora = criarBotao("Gerenciar Editoras");
+    private final JCheckBox campoLogSql = new JCheckBox("Registrar comandos SQL no log", JpaUtil.isLogSqlAtivo());
 
     public TelaPrincipal(AutorFacade autorFacade, EditoraFacade editoraFacade, LivroFacade livroFacade) {
         super("Biblioteca");
@@ -63,12 +65,15 @@ public class TelaPrincipal extends JFrame {
         botaoGerenciaLivro.setAlignmentX(CENTER_ALIGNMENT);
         botaoGerenciaAutor.setAlignmentX(CENTER_ALIGNMENT);
         botaoGerenciaEditora.setAlignmentX(CENTER_ALIGNMENT);
+        campoLogSql.setAlignmentX(CENTER_ALIGNMENT);
 
         painelBotoes.add(botaoGerenciaLivro);
         painelBotoes.add(criarLinhaSeparacao());
         painelBotoes.add(botaoGerenciaAutor);
         painelBotoes.add(criarLinhaSeparacao());
         painelBotoes.add(botaoGerenciaEditora);
+        painelBotoes.add(criarLinhaSeparacao());
+        painelBotoes.add(campoLogSql);
 
         painelPrincipal.add(painelBotoes);
     }
@@ -80,6 +85,7 @@ public class TelaPrincipal extends JFrame {
         this.configurarAcaoDoBotaoGerenciarAutores(autorFacade);
         this.configurarAcaoDoBotaoGerenciarEditoras(editoraFacade);
         this.configurarAcaoDoBotaoGerenciarLivros(livroFacade);
+        this.configurarAcaoDoCampoLogSql();
     }
 
     /**
@@ -114,4 +120,11 @@ public class TelaPrincipal extends JFrame {
             this.setVisible(false);
         });
     }
+
+    /**
+     * Adiciona um listener para ativar ou desativar o log dos comandos SQL executados, com a aplicação em execução.
+     */
+    private void configurarAcaoDoCampoLogSql() {
+        campoLogSql.addActionListener(listener -> JpaUtil.setLogSqlAtivo(campoLogSql.isSelected()));
+    }
 }
@@ -3,10 +3,10 @@ package biblioteca.telas.autor;
 import biblioteca.backend.dto.AutorResponse;
 import biblioteca.backend.facade.AutorFacade;
 import biblioteca.telas.autor.table.AutorTable;
+import biblioteca.utils.CarregadorDados;
 import lombok.extern.java.Log;
 
 import javax.swing.*;
-import java.util.List;
 
 import static biblioteca.utils.TelasUtils.*;
 import static java.awt.BorderLayout.SOUTH;
@@ -33,6 +33,7 @@ public class TelaListagemAutor extends JFrame {
     private final JButton botaoCadastrar = criarBotao("Cadastrar");
     private final AutorTable autorTable = new AutorTable();
     private final JTable tabela = new JTable(autorTable);
+    private final CarregadorDados carregadorDados = new CarregadorDados(this::exibirErroCarregamento);
 
     public TelaListagemAutor(JFrame telaAnterior, AutorFacade autorFacade) {
         super("Listagem de Autores");
@@ -59,8 +60,8 @@ public class TelaListagemAutor extends JFrame {
      * Adiciona configurações visuais dos botoes da tela.
      */
     private void aplicarConfiguracoesVisuaisBotoes(JPanel painelPrincipal) {
-        JPanel painelBotoes = criarPainelBotoesListagem(botaoVoltar, botaoRecarregarDados, botaoPesquisar, botaoDeletar,
-                botaoEditar, botaoCadastrar);
+        JPanel painelBotoes = criarPainelBotoesListagem(carregadorDados.getPainel(), botaoVoltar, botaoRecarregarDados,
+                botaoPesquisar, botaoDeletar, botaoEditar, botaoCadastrar);
 
         painelPrincipal.add(painelBotoes, SOUTH);
     }
@@ -82,6 +83,7 @@ public class TelaListagemAutor extends JFrame {
      */
     private void configurarAcaoBotaoVoltar() {
         botaoVoltar.addActionListener(listener -> {
+            carregadorDados.cancelar();
             telaAnterior.setVisible(true);
             this.dispose();
         });
@@ -165,15 +167,17 @@ public class TelaListagemAutor extends JFrame {
     }
 
     /**
-     * Efetua a busca dos dados da listagem.
+     * Efetua a busca dos dados da listagem em segundo plano. Uma busca que ainda estiver em andamento é cancelada.
      */
     private void carregarDados() {
-        try {
-            List<AutorResponse> autores = autorFacade.listarTodosAutores();
-            autorTable.setAutores(autores);
-        } catch (Exception ex) {
-            showMessageDialog(this, "Erro ao carregar autores do banco de dados.", "Erro", ERROR_MESSAGE);
-            log.severe(ex.getMessage());
-        }
+        carregadorDados.carregarListagem(autorFacade::listarAutores, autorTable::limpar, autorTable::adicionarAutores);
+    }
+
+    /**
+     * Exibe a mensagem de erro de uma busca dos dados da listagem.
+     */
+    private void exibirErroCarregamento(Exception ex) {
+        showMessageDialog(this, "Erro ao carregar autores do banco de dados.", "Erro", ERROR_MESSAGE);
+        log.severe(ex.getMessage());
     }
 }
@@ -1,17 +1,19 @@
 package biblioteca.telas.autor;
 
 import biblioteca.backend.dto.AutorFiltros;
-import biblioteca.backend.dto.AutorResponse;
 import biblioteca.backend.facade.AutorFacade;
 import biblioteca.telas.autor.table.AutorTable;
+import biblioteca.utils.CarregadorDados;
+import lombok.extern.java.Log;
 
 import javax.swing.*;
-import java.util.List;
 
 import static biblioteca.utils.StringUtils.converterStringEmInteger;
 import static biblioteca.utils.TelasUtils.*;
 import static java.awt.BorderLayout.NORTH;
 import static java.awt.BorderLayout.SOUTH;
+import static javax.swing.JOptionPane.ERROR_MESSAGE;
+import static javax.swing.JOptionPane.showMessageDialog;
 
 /**
  * Tela de Listagem de Autores de acordo com os filtros informados.
@@ -22,6 +24,7 @@ import static java.awt.BorderLayout.SOUTH;
  * @author Bruno Cardoso
  * @version 1.0
  */
+@Log
 public class TelaPesquisaAutor extends JFrame {
 
     private final JFrame telaAnterior;
@@ -31,6 +34,7 @@ public class TelaPesquisaAutor extends JFrame {
     private final JButton botaoBuscar = criarBotao("Buscar");
     private final AutorTable autorTable = new AutorTable();
     private final JTable tabela = new JTable(autorTable);
+    private final CarregadorDados carregadorDados = new CarregadorDados(this::exibirErroCarregamento);
 
     private JTextField filtroId;
     private JTextField filtroNome;
@@ -63,7 +67,7 @@ public class TelaPesquisaAutor extends JFrame {
      * Adiciona configurações visuais dos botoes da tela.
      */
     private void aplicarConfiguracoesVisuaisBotoes(JPanel painelPrincipal) {
-        JPanel painelBotoes = criarPainelBotoesListagem(botaoVoltar, botaoLimparFiltros, botaoBuscar);
+        JPanel painelBotoes = criarPainelBotoesListagem(carregadorDados.getPainel(), botaoVoltar, botaoLimparFiltros, botaoBuscar);
 
         painelPrincipal.add(painelBotoes, SOUTH);
     }
@@ -102,6 +106,7 @@ public class TelaPesquisaAutor extends JFrame {
      */
     private void configurarAcaoBotaoVoltar() {
         botaoVoltar.addActionListener(listener -> {
+            carregadorDados.cancelar();
             telaAnterior.setVisible(true);
             this.dispose();
         });
@@ -136,8 +141,16 @@ public class TelaPesquisaAutor extends JFrame {
             Integer idLivro = converterStringEmInteger(idLivroText, "ID do Livro", this);
 
             AutorFiltros filtros = new AutorFiltros(id, nome, idade, idLivro, tituloLivro);
-            List<AutorResponse> autores = autorFacade.listarPorFiltros(filtros);
-            autorTable.setAutores(autores);
+            carregadorDados.carregarListagem((aposId, limite) -> autorFacade.listarPorFiltros(filtros, aposId, limite),
+                    autorTable::limpar, autorTable::adicionarAutores);
         });
     }
+
+    /**
+     * Exibe a mensagem de erro de uma busca dos dados da pesquisa.
+     */
+    private void exibirErroCarregamento(Exception ex) {
+        showMessageDialog(this, ex.getMessage(), "Erro", ERROR_MESSAGE);
+        log.severe(ex.getMessage());
+    }
 }
@@ -68,6 +68,25 @@ public class AutorTable extends AbstractTableModel {
         fireTableDataChanged();
     }
 
+    /**
+     * Método responsável por remover todos os autores da tabela.
+     */
+    public void limpar() {
+        setAutores(new ArrayList<>());
+    }
+
+    /**
+     * Método responsável por adicionar um lote de autores ao fim da tabela, notificando apenas as linhas inseridas.
+     */
+    public void adicionarAutores(List<AutorResponse> novosAutores) {
+        if (novosAutores.isEmpty()) {
+            return;
+        }
+        int primeiraLinhaNova = autores.size();
+        autores.addAll(novosAutores);
+        fireTableRowsInserted(primeiraLinhaNova, autores.size() - 1);
+    }
+
     public AutorResponse getAutor(int index) {
         return autores.get(index);
     }
@@ -3,10 +3,10 @@ package biblioteca.telas.editora;
 import biblioteca.backend.dto.EditoraResponse;
 import biblioteca.backend.facade.EditoraFacade;
 import biblioteca.telas.editora.table.EditoraTable;
+import biblioteca.utils.CarregadorDados;
 import lombok.extern.java.Log;
 
 import javax.swing.*;
-import java.util.List;
 
 import static biblioteca.utils.TelasUtils.*;
 import static java.awt.BorderLayout.SOUTH;
@@ -34,6 +34,7 @@ public class TelaListagemEditora extends JFrame {
     private final JButton botaoCadastrar = criarBotao("Cadastrar");
     private final EditoraTable editoraTable = new EditoraTable();
     private final JTable tabela = new JTable(editoraTable);
+    private final CarregadorDados carregadorDados = new CarregadorDados(this::exibirErroCarregamento);
 
 
     public TelaListagemEditora(JFrame telaAnterior, EditoraFacade editoraFacade) {
@@ -61,8 +62,8 @@ public class TelaListagemEditora extends JFrame {
      * Adiciona configurações visuais dos botoes da tela.
      */
     private void aplicarConfiguracoesVisuaisBotoes(JPanel painelPrincipal) {
-        JPanel painelBotoes = criarPainelBotoesListagem(botaoVoltar, botaoRecarregarDados, botaoPesquisar,
-                botaoDeletar, botaoEditar, botaoCadastrar);
+        JPanel painelBotoes = criarPainelBotoesListagem(carregadorDados.getPainel(), botaoVoltar, botaoRecarregarDados,
+                botaoPesquisar, botaoDeletar, botaoEditar, botaoCadastrar);
 
         painelPrincipal.add(painelBotoes, SOUTH);
     }
@@ -84,6 +85,7 @@ public class TelaListagemEditora extends JFrame {
      */
     private void configurarAcaoBotaoVoltar() {
         botaoVoltar.addActionListener(listener -> {
+            carregadorDados.cancelar();
             telaAnterior.setVisible(true);
             this.dispose();
         });
@@ -167,15 +169,17 @@ public class TelaListagemEditora extends JFrame {
     }
 
     /**
-     * Efetua a busca dos dados da listagem.
+     * Efetua a busca dos dados da listagem em segundo plano. Uma busca que ainda estiver em andamento é cancelada.
      */
     private void carregarDados() {
-        try {
-            List<EditoraResponse> editoras = editoraFacade.listarTodasEditoras();
-            editoraTable.setEditoras(editoras);
-        } catch (Exception ex) {
-            showMessageDialog(this, "Erro ao carregar editoras do banco de dados.", "Erro", ERROR_MESSAGE);
-            log.severe(ex.getMessage());
-        }
+        carregadorDados.carregarListagem(editoraFacade::listarEditoras, editoraTable::limpar, editoraTable::adicionarEditoras);
+    }
+
+    /**
+     * Exibe a mensagem de erro de uma busca dos dados da listagem.
+     */
+    private void exibirErroCarregamento(Exception ex) {
+        showMessageDialog(this, "Erro ao carregar editoras do banco de dados.", "Erro", ERROR_MESSAGE);
+        log.severe(ex.getMessage());
     }
 }
@@ -1,17 +1,19 @@
 package biblioteca.telas.editora;
 
 import biblioteca.backend.dto.EditoraFiltros;
-import biblioteca.backend.dto.EditoraResponse;
 import biblioteca.backend.facade.EditoraFacade;
 import biblioteca.telas.editora.table.EditoraTable;
+import biblioteca.utils.CarregadorDados;
+import lombok.extern.java.Log;
 
 import javax.swing.*;
-import java.util.List;
 
 import static biblioteca.utils.StringUtils.converterStringEmInteger;
 import static biblioteca.utils.TelasUtils.*;
 import static java.awt.BorderLayout.NORTH;
 import static java.awt.BorderLayout.SOUTH;
+import static javax.swing.JOptionPane.ERROR_MESSAGE;
+import static javax.swing.JOptionPane.showMessageDialog;
 
 /**
  * Tela de Listagem de Editoras de acordo com os filtros informados.
@@ -22,6 +24,7 @@ import static java.awt.BorderLayout.SOUTH;
  * @author Bruno Cardoso
  * @version 1.0
  */
+@Log
 public class TelaPesquisaEditora extends JFrame {
 
     private final JFrame telaAnterior;
@@ -31,6 +34,7 @@ public class TelaPesquisaEditora extends JFrame {
     private final JButton botaoBuscar = criarBotao("Buscar");
     private final EditoraTable editoraTable = new EditoraTable();
     private final JTable tabela = new JTable(editoraTable);
+    private final CarregadorDados carregadorDados = new CarregadorDados(this::exibirErroCarregamento);
 
     private JTextField filtroId;
     private JTextField filtroNome;
@@ -63,7 +67,7 @@ public class TelaPesquisaEditora extends JFrame {
      * Adiciona configurações visuais dos botoes da tela.
      */
     private void aplicarConfiguracoesVisuaisBotoes(JPanel painelPrincipal) {
-        JPanel painelBotoes = criarPainelBotoesListagem(botaoVoltar, botaoLimparFiltros, botaoBuscar);
+        JPanel painelBotoes = criarPainelBotoesListagem(carregadorDados.getPainel(), botaoVoltar, botaoLimparFiltros, botaoBuscar);
 
         painelPrincipal.add(painelBotoes, SOUTH);
     }
@@ -102,6 +106,7 @@ public class TelaPesquisaEditora extends JFrame {
      */
     private void configurarAcaoBotaoVoltar() {
         botaoVoltar.addActionListener(listener -> {
+            carregadorDados.cancelar();
             telaAnterior.setVisible(true);
             this.dispose();
         });
@@ -135,8 +140,16 @@ public class TelaPesquisaEditora extends JFrame {
             Integer idLivro = converterStringEmInteger(idLivroText, "ID do Livro", this);
 
             EditoraFiltros filtros = new EditoraFiltros(id, nome, cnpj, idLivro, tituloLivro);
-            List<EditoraResponse> editoras = editoraFacade.listarPorFiltros(filtros);
-            editoraTable.setEditoras(editoras);
+            carregadorDados.carregarListagem((aposId, limite) -> editoraFacade.listarPorFiltros(filtros, aposId, limite),
+                    editoraTable::limpar, editoraTable::adicionarEditoras);
         });
     }
+
+    /**
+     * Exibe a mensagem de erro de uma busca dos dados da pesquisa.
+     */
+    private void exibirErroCarregamento(Exception ex) {
+        showMessageDialog(this, ex.getMessage(), "Erro", ERROR_MESSAGE);
+        log.severe(ex.getMessage());
+    }
 }
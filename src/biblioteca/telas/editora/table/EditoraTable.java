@@ -61,6 +61,25 @@ public class EditoraTable extends AbstractTableModel {
         fireTableDataChanged();
     }
 
+    /**
+     * Método responsável por remover todas as editoras da tabela.
+     */
+    public void limpar() {
+        setEditoras(new ArrayList<>());
+    }
+
+    /**
+     * Método responsável por adicionar um lote de editoras ao fim da tabela, notificando apenas as linhas inseridas.
+     */
+    public void adicionarEditoras(List<EditoraResponse> novasEditoras) {
+        if (novasEditoras.isEmpty()) {
+            return;
+        }
+        int primeiraLinhaNova = editoras.size();
+        editoras.addAll(novasEditoras);
+        fireTableRowsInserted(primeiraLinhaNova, editoras.size() - 1);
+    }
+
     public EditoraResponse getEditora(int index) {
         return editoras.get(index);
     }
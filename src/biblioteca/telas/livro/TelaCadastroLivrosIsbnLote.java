@@ -0,0 +1,290 @@
+package biblioteca.telas.livro;
+
+import biblioteca.backend.dto.LivroCadastroIsbnResponse;
+import biblioteca.backend.dto.ResultadoCadastroIsbnResponse;
+import biblioteca.backend.exceptions.ValidacaoException;
+import biblioteca.backend.facade.LivroFacade;
+import biblioteca.telas.livro.table.ResultadoCadastroIsbnTable;
+import lombok.extern.java.Log;
+
+import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static biblioteca.utils.TelasUtils.*;
+import static java.awt.BorderLayout.CENTER;
+import static java.awt.BorderLayout.NORTH;
+import static java.awt.BorderLayout.SOUTH;
+import static java.awt.FlowLayout.RIGHT;
+import static java.lang.String.format;
+import static javax.swing.JOptionPane.*;
+
+/**
+ * Tela de cadastro de Livros por lista de ISBNs.
+ * <p>
+ * Esta classe é responsável por renderizar a tela referente ao cadastro de vários livros de uma vez, pelos ISBNs digitados,
+ * colados ou carregados de um arquivo TXT ou CSV.
+ * <p>
+ * O cadastro é executado em segundo plano, em lotes de ISBNs, e a tabela da tela exibe a situação de cada ISBN a cada lote processado.
+ * O cancelamento é atendido pelo cadastro ao fim do lote em andamento, mantendo os lotes já gravados no banco de dados.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Log
+public class TelaCadastroLivrosIsbnLote extends JFrame {
+
+    private final LivroFacade livroFacade;
+    private final JButton botaoCadastrar = criarBotao("Cadastrar");
+    private final JButton botaoVoltar = criarBotao("Voltar");
+    private final JButton botaoSelecionarArquivo = criarBotao("Carregar Arquivo");
+    private final JButton botaoCancelar = criarBotao("Cancelar");
+
+    private final JTextArea campoIsbns = new JTextArea(8, 40);
+    private final JLabel labelProgresso = new JLabel();
+    private final ResultadoCadastroIsbnTable resultadoTable = new ResultadoCadastroIsbnTable();
+    private final AtomicBoolean cancelamentoSolicitado = new AtomicBoolean();
+    private SwingWorker<LivroCadastroIsbnResponse, List<ResultadoCadastroIsbnResponse>> cadastro;
+    private boolean fecharAoFinalizar;
+    private int quantidadeIsbns;
+    private int quantidadeProcessados;
+
+    public TelaCadastroLivrosIsbnLote(LivroFacade livroFacade) {
+        super("Cadastrar Livros por Lista de ISBNs");
+        this.livroFacade = livroFacade;
+
+        this.inicializarComponentes();
+        this.configurarAcoesDosBotoes();
+    }
+
+    /**
+     * Inicializa e configura os componentes visuais da tela.
+     */
+    private void inicializarComponentes() {
+        JPanel painelPrincipal = criarPainelPrincipalFormulario("Informe os ISBNs, um por linha ou separados por vírgula, ou carregue um arquivo TXT ou CSV:");
+        this.aplicarConfiguracoesFormulario(painelPrincipal);
+        this.aplicarConfiguracoesVisuaisBotoes(painelPrincipal);
+
+        add(painelPrincipal);
+        setSize(900, 650);
+        setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
+        this.configurarFechamentoDaTela();
+    }
+
+    /**
+     * Configura o fechamento da tela. Caso um cadastro esteja em andamento, ele é cancelado e a tela é fechada quando ele terminar.
+     */
+    private void configurarFechamentoDaTela() {
+        this.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent windowEvent) {
+                if (cadastro == null) {
+                    dispose();
+                    return;
+                }
+                fecharAoFinalizar = true;
+                solicitarCancelamento();
+            }
+        });
+    }
+
+    /**
+     * Adiciona o campo dos ISBNs e a tabela com o resultado de cada ISBN.
+     */
+    private void aplicarConfiguracoesFormulario(JPanel painelPrincipal) {
+        JPanel painelConteudo = new JPanel(new BorderLayout(10, 10));
+
+        JScrollPane scrollIsbns = new JScrollPane(campoIsbns);
+        scrollIsbns.setBorder(BorderFactory.createTitledBorder("ISBNs"));
+        painelConteudo.add(scrollIsbns, NORTH);
+
+        JScrollPane scrollResultados = new JScrollPane(new JTable(resultadoTable));
+        scrollResultados.setBorder(BorderFactory.createTitledBorder("Resultado"));
+        painelConteudo.add(scrollResultados, CENTER);
+
+        labelProgresso.setHorizontalAlignment(SwingConstants.CENTER);
+        painelConteudo.add(labelProgresso, SOUTH);
+
+        painelPrincipal.add(painelConteudo, CENTER);
+    }
+
+    /**
+     * Adiciona configurações visuais dos botoes da tela.
+     */
+    private void aplicarConfiguracoesVisuaisBotoes(JPanel painelPrincipal) {
+        JPanel painelBotoes = new JPanel(new FlowLayout(RIGHT));
+        painelBotoes.add(botaoVoltar);
+        painelBotoes.add(botaoCancelar);
+        painelBotoes.add(botaoSelecionarArquivo);
+        painelBotoes.add(botaoCadastrar);
+        botaoCancelar.setVisible(false);
+
+        painelPrincipal.add(painelBotoes, SOUTH);
+    }
+
+    /**
+     * Configura todas as ações dos botões da tela.
+     */
+    private void configurarAcoesDosBotoes() {
+        this.configurarAcaoBotaoVoltar();
+        this.configurarAcaoBotaoCadastrar();
+        this.configurarAcaoBotaoCancelar();
+        this.configurarAcaoBotaoSelecionarArquivo();
+    }
+
+    /**
+     * Configura a ação do botão de voltar para tela anterior.
+     */
+    private void configurarAcaoBotaoVoltar() {
+        botaoVoltar.addActionListener(listener -> this.dispose());
+    }
+
+    /**
+     * Configura a ação de cadastrar os livros dos ISBNs informados.
+     */
+    private void configurarAcaoBotaoCadastrar() {
+        botaoCadastrar.addActionListener(listener -> {
+            List<String> isbns = livroFacade.lerIsbns(campoIsbns.getText());
+            if (isbns.isEmpty()) {
+                showMessageDialog(this, "Por favor, informe ao menos um ISBN.", "Erro", ERROR_MESSAGE);
+                return;
+            }
+            this.iniciarCadastro(isbns);
+        });
+    }
+
+    /**
+     * Configura a ação de cancelar o cadastro em andamento.
+     */
+    private void configurarAcaoBotaoCancelar() {
+        botaoCancelar.addActionListener(listener -> this.solicitarCancelamento());
+    }
+
+    /**
+     * Inicia o cadastro dos ISBNs em segundo plano, adicionando os resultados de cada lote processado na tabela da tela.
+     * <p>
+     * Os botões de cadastrar, voltar e carregar arquivo, e o campo dos ISBNs, ficam desabilitados até o cadastro terminar.
+     */
+    private void iniciarCadastro(List<String> isbns) {
+        cancelamentoSolicitado.set(false);
+        this.habilitarBotoes(false);
+        resultadoTable.limpar();
+        quantidadeIsbns = isbns.size();
+        quantidadeProcessados = 0;
+        labelProgresso.setText(format("Cadastrando %d ISBNs...", quantidadeIsbns));
+
+        cadastro = new SwingWorker<LivroCadastroIsbnResponse, List<ResultadoCadastroIsbnResponse>>() {
+            @Override
+            protected LivroCadastroIsbnResponse doInBackground() {
+                return livroFacade.cadastrarLivrosPorIsbns(isbns, this::publish, cancelamentoSolicitado::get);
+            }
+
+            @Override
+            protected void process(List<List<ResultadoCadastroIsbnResponse>> resultadosLotes) {
+                resultadosLotes.forEach(TelaCadastroLivrosIsbnLote.this::atualizarProgresso);
+            }
+
+            @Override
+            protected void done() {
+                finalizarCadastro(this);
+            }
+        };
+        cadastro.execute();
+    }
+
+    /**
+     * Solicita o cancelamento do cadastro em andamento. O cadastro termina ao fim do lote que estiver sendo processado.
+     */
+    private void solicitarCancelamento() {
+        if (cadastro == null) {
+            return;
+        }
+        cancelamentoSolicitado.set(true);
+        botaoCancelar.setEnabled(false);
+        botaoCancelar.setText("Cancelando...");
+        labelProgresso.setText("Cancelando ao fim do lote em andamento...");
+    }
+
+    /**
+     * Adiciona os resultados de um lote processado na tabela e atualiza a quantidade de ISBNs processados exibida na tela.
+     */
+    private void atualizarProgresso(List<ResultadoCadastroIsbnResponse> resultadosLote) {
+        resultadoTable.adicionarResultados(resultadosLote);
+        quantidadeProcessados += resultadosLote.size();
+        if (!cancelamentoSolicitado.get()) {
+            labelProgresso.setText(format("%d de %d ISBNs processados...", quantidadeProcessados, quantidadeIsbns));
+        }
+    }
+
+    /**
+     * Exibe o resumo do cadastro finalizado, ou o erro que o interrompeu, e restaura os botões da tela.
+     * <p>
+     * A tela continua aberta para que o resultado de cada ISBN possa ser consultado na tabela, e é fechada apenas quando
+     * o fechamento da tela tiver sido solicitado durante o cadastro.
+     */
+    private void finalizarCadastro(SwingWorker<LivroCadastroIsbnResponse, List<ResultadoCadastroIsbnResponse>> cadastroFinalizado) {
+        cadastro = null;
+        this.habilitarBotoes(true);
+
+        try {
+            LivroCadastroIsbnResponse resultado = cadastroFinalizado.get();
+            labelProgresso.setText(resultado.getResumo());
+            if (fecharAoFinalizar) {
+                this.dispose();
+                return;
+            }
+            showMessageDialog(this, (resultado.isCancelado() ? "Cadastro cancelado.\n" : "Cadastro concluído.\n") + resultado.getResumo()
+                    + "\n" + resultado.getResumoOpenLibrary());
+        } catch (ExecutionException ex) {
+            Throwable causa = ex.getCause();
+            labelProgresso.setText("");
+            showMessageDialog(this, causa.getMessage(), "Erro", ERROR_MESSAGE);
+            log.severe(causa.getMessage());
+            if (fecharAoFinalizar) {
+                this.dispose();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void habilitarBotoes(boolean habilitado) {
+        botaoCadastrar.setEnabled(habilitado);
+        botaoVoltar.setEnabled(habilitado);
+        botaoSelecionarArquivo.setEnabled(habilitado);
+        campoIsbns.setEditable(habilitado);
+        botaoCancelar.setVisible(!habilitado);
+        botaoCancelar.setEnabled(true);
+        botaoCancelar.setText("Cancelar");
+    }
+
+    /**
+     * Configura a ação do botão de carregar arquivo, que preenche o campo dos ISBNs com os ISBNs lidos do arquivo selecionado.
+     */
+    private void configurarAcaoBotaoSelecionarArquivo() {
+        botaoSelecionarArquivo.addActionListener(listener -> {
+            JFileChooser fileChooser = new JFileChooser();
+            fileChooser.setFileFilter(new FileNameExtensionFilter("Arquivos Suportados (*.txt, *.csv)", "txt", "csv"));
+            if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+
+            File arquivoSelecionado = fileChooser.getSelectedFile();
+            try {
+                List<String> isbns = livroFacade.lerIsbns(arquivoSelecionado);
+                campoIsbns.setText(String.join("\n", isbns));
+                campoIsbns.setCaretPosition(0);
+                labelProgresso.setText(format("%d ISBNs carregados do arquivo %s.", isbns.size(), arquivoSelecionado.getName()));
+            } catch (ValidacaoException ex) {
+                showMessageDialog(this, ex.getMessage(), "Erro de Arquivo", ERROR_MESSAGE);
+                log.severe(ex.getMessage());
+            }
+        });
+    }
+}
@@ -1,5 +1,10 @@
 package biblioteca.telas.livro;
 
+import biblioteca.backend.dto.ErroImportacaoResponse;
+import biblioteca.backend.dto.LivroImportacaoResponse;
+import biblioteca.backend.dto.ProgressoImportacaoResponse;
+import biblioteca.backend.dto.SelectResponse;
+import biblioteca.backend.enums.EModoImportacao;
 import biblioteca.backend.exceptions.ValidacaoException;
 import biblioteca.backend.facade.LivroFacade;
 import lombok.extern.java.Log;
@@ -7,19 +12,30 @@ import lombok.extern.java.Log;
 import javax.swing.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.File;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static biblioteca.utils.TelasUtils.*;
 import static java.awt.BorderLayout.CENTER;
 import static java.awt.BorderLayout.SOUTH;
 import static java.awt.FlowLayout.RIGHT;
-import static javax.swing.JOptionPane.ERROR_MESSAGE;
-import static javax.swing.JOptionPane.showMessageDialog;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+import static javax.swing.JOptionPane.*;
 
 /**
  * Tela de importação Livro por arquivos TXT e CSV.
  * <p>
  * Esta classe é responsável por renderizar a tela referente à importação de livro através do arquivo selecionado.
+ * <p>
+ * A importação é executada em segundo plano, enquanto a tela exibe o andamento dela a cada lote gravado. O cancelamento é atendido
+ * pela importação ao fim do lote em gravação, mantendo os lotes já gravados no banco de dados.
+ * O arquivo também pode ser apenas validado, sem gravar nada no banco de dados, antes de ser importado.
+ * Os lotes podem ser gravados pelo JPA ou pelo COPY do PostgreSQL, indicado para a carga inicial de catálogos grandes.
  *
  * @author Bruno Cardoso
  * @version 1.0
@@ -27,12 +43,24 @@ import static javax.swing.JOptionPane.showMessageDialog;
 @Log
 public class TelaImportacaoLivro extends JFrame {
 
+    private static final int QUANTIDADE_ERROS_EXIBIDOS = 20;
+
     private final LivroFacade livroFacade;
     private final JButton botaoSalvar = criarBotao("Salvar");
+    private final JButton botaoValidar = criarBotao("Validar Arquivo");
     private final JButton botaoVoltar = criarBotao("Voltar");
     private final JButton botaoSelecionarArquivo = criarBotao("Selecionar Arquivo");
+    private final JButton botaoCancelar = criarBotao("Cancelar");
 
     private final JLabel labelNomeArquivo = new JLabel();
+    private final JComboBox<SelectResponse> campoModoImportacao =
+            new JComboBox<>(EModoImportacao.getValuesParaSelect().toArray(new SelectResponse[0]));
+    private final JProgressBar barraProgresso = new JProgressBar(0, 100);
+    private final JLabel labelProgresso = new JLabel();
+    private final JPanel painelProgresso = new JPanel(new GridLayout(0, 1));
+    private final AtomicBoolean cancelamentoSolicitado = new AtomicBoolean();
+    private SwingWorker<LivroImportacaoResponse, ProgressoImportacaoResponse> importacao;
+    private boolean fecharAoFinalizar;
     private File arquivo;
 
     public TelaImportacaoLivro(LivroFacade livroFacade) {
@@ -53,7 +81,25 @@ public class TelaImportacaoLivro extends JFrame {
 
         add(painelPrincipal);
         setSize(800, 400);
-        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
+        this.configurarFechamentoDaTela();
+    }
+
+    /**
+     * Configura o fechamento da tela. Caso uma importação esteja em andamento, ela é cancelada e a tela é fechada quando ela terminar.
+     */
+    private void configurarFechamentoDaTela() {
+        this.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent windowEvent) {
+                if (importacao == null) {
+                    dispose();
+                    return;
+                }
+                fecharAoFinalizar = true;
+                solicitarCancelamento();
+            }
+        });
     }
 
     /**
@@ -79,6 +125,16 @@ public class TelaImportacaoLivro extends JFrame {
 
         painelFormulario.add(criarLinhaFormulario("", botaoSelecionarArquivo));
         painelFormulario.add(criarLinhaFormulario("Nome do Arquivo:", labelNomeArquivo));
+        painelFormulario.add(criarLinhaFormulario("Modo de Gravação:", campoModoImportacao));
+
+        barraProgresso.setStringPainted(true);
+        barraProgresso.setPreferredSize(new Dimension(500, barraProgresso.getPreferredSize().height));
+        labelProgresso.setHorizontalAlignment(SwingConstants.CENTER);
+        labelProgresso.setPreferredSize(new Dimension(500, labelProgresso.getPreferredSize().height));
+        painelProgresso.add(criarLinhaFormulario("Progresso:", barraProgresso));
+        painelProgresso.add(criarLinhaFormulario("", labelProgresso));
+        painelProgresso.setVisible(false);
+        painelFormulario.add(painelProgresso);
     }
 
     /**
@@ -87,7 +143,10 @@ public class TelaImportacaoLivro extends JFrame {
     private void aplicarConfiguracoesVisuaisBotoes(JPanel painelPrincipal) {
         JPanel painelBotoes = new JPanel(new FlowLayout(RIGHT));
         painelBotoes.add(botaoVoltar);
+        painelBotoes.add(botaoCancelar);
+        painelBotoes.add(botaoValidar);
         painelBotoes.add(botaoSalvar);
+        botaoCancelar.setVisible(false);
 
         painelPrincipal.add(painelBotoes, SOUTH);
     }
@@ -98,6 +157,8 @@ public class TelaImportacaoLivro extends JFrame {
     private void configurarAcoesDosBotoes() {
         this.configurarAcaoBotaoVoltar();
         this.configurarAcaoBotaoSalvar();
+        this.configurarAcaoBotaoValidar();
+        this.configurarAcaoBotaoCancelar();
         this.configurarAcaoBotaoSelecionarArquivo();
     }
 
@@ -115,20 +176,178 @@ public class TelaImportacaoLivro extends JFrame {
      */
     private void configurarAcaoBotaoSalvar() {
         botaoSalvar.addActionListener(listener -> {
-            if (arquivo == null) {
-                String mensagem = "Por favor, selecione um arquivo.";
-                showMessageDialog(this, mensagem, "Erro", ERROR_MESSAGE);
-                throw new ValidacaoException(mensagem);
+            this.validarArquivoSelecionado();
+            this.iniciarImportacao(arquivo, false);
+        });
+    }
+
+    /**
+     * Configura a ação de validar o arquivo selecionado sem gravar nada no banco de dados.
+     */
+    private void configurarAcaoBotaoValidar() {
+        botaoValidar.addActionListener(listener -> {
+            this.validarArquivoSelecionado();
+            this.iniciarImportacao(arquivo, true);
+        });
+    }
+
+    /**
+     * Valida se algum arquivo foi selecionado.
+     *
+     * @throws ValidacaoException caso nenhum arquivo tenha sido selecionado.
+     */
+    private void validarArquivoSelecionado() {
+        if (arquivo == null) {
+            String mensagem = "Por favor, selecione um arquivo.";
+            showMessageDialog(this, mensagem, "Erro", ERROR_MESSAGE);
+            throw new ValidacaoException(mensagem);
+        }
+    }
+
+    /**
+     * Configura a ação de cancelar a importação em andamento.
+     */
+    private void configurarAcaoBotaoCancelar() {
+        botaoCancelar.addActionListener(listener -> this.solicitarCancelamento());
+    }
+
+    /**
+     * Inicia a importação ou a validação do arquivo em segundo plano, atualizando a barra de progresso a cada lote processado.
+     * <p>
+     * Os botões de salvar, validar, voltar e selecionar arquivo ficam desabilitados até a importação terminar.
+     *
+     * @param simulacao true para apenas validar o arquivo, sem gravar nada no banco de dados.
+     */
+    private void iniciarImportacao(File arquivoImportacao, boolean simulacao) {
+        cancelamentoSolicitado.set(false);
+        this.habilitarBotoes(false);
+        painelProgresso.setVisible(true);
+        barraProgresso.setValue(0);
+        barraProgresso.setString("0%");
+        labelProgresso.setText(simulacao ? "Iniciando a validação..." : "Iniciando a importação...");
+        EModoImportacao modoImportacao = (EModoImportacao) ((SelectResponse) campoModoImportacao.getSelectedItem()).getValue();
+
+        importacao = new SwingWorker<LivroImportacaoResponse, ProgressoImportacaoResponse>() {
+            @Override
+            protected LivroImportacaoResponse doInBackground() {
+                return simulacao
+                        ? livroFacade.validarImportacao(arquivoImportacao, this::publish, cancelamentoSolicitado::get)
+                        : livroFacade.cadastrarLivroPorImportacao(arquivoImportacao, modoImportacao, this::publish,
+                        cancelamentoSolicitado::get);
             }
-            try {
-                livroFacade.cadastrarLivroPorImportacao(arquivo);
-                showMessageDialog(this, "Livros importados com sucesso!");
+
+            @Override
+            protected void process(List<ProgressoImportacaoResponse> progressos) {
+                atualizarProgresso(progressos.get(progressos.size() - 1));
+            }
+
+            @Override
+            protected void done() {
+                finalizarImportacao(this);
+            }
+        };
+        importacao.execute();
+    }
+
+    /**
+     * Solicita o cancelamento da importação em andamento. A importação termina ao fim do lote que estiver sendo gravado.
+     */
+    private void solicitarCancelamento() {
+        if (importacao == null) {
+            return;
+        }
+        cancelamentoSolicitado.set(true);
+        botaoCancelar.setEnabled(false);
+        botaoCancelar.setText("Cancelando...");
+        labelProgresso.setText("Cancelando ao fim do lote em andamento...");
+    }
+
+    /**
+     * Atualiza a barra de progresso e os totais da importação exibidos na tela.
+     */
+    private void atualizarProgresso(ProgressoImportacaoResponse progresso) {
+        barraProgresso.setValue(progresso.getPercentual());
+        barraProgresso.setString(format("%d%%", progresso.getPercentual()));
+        if (!cancelamentoSolicitado.get()) {
+            labelProgresso.setText(progresso.getResumo());
+        }
+    }
+
+    /**
+     * Exibe o resultado da importação finalizada, ou o erro que a interrompeu, e restaura os botões da tela.
+     * <p>
+     * A tela é fechada apenas quando a importação terminar sem ser cancelada, ou quando o fechamento da tela tiver sido solicitado.
+     * Após uma validação, a tela continua aberta para que o arquivo possa ser importado.
+     */
+    private void finalizarImportacao(SwingWorker<LivroImportacaoResponse, ProgressoImportacaoResponse> importacaoFinalizada) {
+        importacao = null;
+        this.habilitarBotoes(true);
+        painelProgresso.setVisible(false);
+
+        try {
+            LivroImportacaoResponse resultado = importacaoFinalizada.get();
+            if (!fecharAoFinalizar) {
+                this.exibirResultado(resultado);
+                this.exibirErrosImportacao(resultado);
+            }
+            if (fecharAoFinalizar || !(resultado.isCancelada() || resultado.isSimulacao())) {
                 this.dispose();
-            } catch (Exception ex) {
-                showMessageDialog(this, ex.getMessage(), "Erro", ERROR_MESSAGE);
-                log.severe(ex.getMessage());
             }
-        });
+        } catch (ExecutionException ex) {
+            Throwable causa = ex.getCause();
+            showMessageDialog(this, causa.getMessage(), "Erro", ERROR_MESSAGE);
+            log.severe(causa.getMessage());
+            if (fecharAoFinalizar) {
+                this.dispose();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void habilitarBotoes(boolean habilitado) {
+        botaoSalvar.setEnabled(habilitado);
+        botaoValidar.setEnabled(habilitado);
+        campoModoImportacao.setEnabled(habilitado);
+        botaoVoltar.setEnabled(habilitado);
+        botaoSelecionarArquivo.setEnabled(habilitado);
+        botaoCancelar.setVisible(!habilitado);
+        botaoCancelar.setEnabled(true);
+        botaoCancelar.setText("Cancelar");
+    }
+
+    /**
+     * Exibe o resumo da importação ou da validação finalizada.
+     */
+    private void exibirResultado(LivroImportacaoResponse resultado) {
+        String mensagem;
+        if (resultado.isSimulacao()) {
+            mensagem = resultado.possuiErros() ? "Validação concluída com erros.\n" : "Validação concluída. O arquivo não possui erros.\n";
+            if (!resultado.possuiErros() && resultado.getLinhasComAviso() > 0) {
+                mensagem += format("Os avisos estão no relatório: %s\n", resultado.getArquivoRelatorioErros());
+            }
+        } else {
+            mensagem = resultado.isCancelada() ? "Importação cancelada.\n" : "Livros importados com sucesso!\n";
+        }
+        showMessageDialog(this, mensagem + resultado.getResumo());
+    }
+
+    /**
+     * Exibe as primeiras linhas rejeitadas da importação, caso alguma linha do arquivo não tenha sido importada.
+     * Na validação, também é exibido o caminho do relatório com os erros de todas as linhas.
+     */
+    private void exibirErrosImportacao(LivroImportacaoResponse resultado) {
+        if (resultado.possuiErros()) {
+            String errosExibidos = resultado.getErros().stream()
+                    .limit(QUANTIDADE_ERROS_EXIBIDOS)
+                    .map(ErroImportacaoResponse::getDescricao)
+                    .collect(joining("\n"));
+            String mensagem = resultado.isSimulacao()
+                    ? format("%d linhas possuem erros:\n%s\n\nRelatório completo: %s", resultado.getLinhasRejeitadas(), errosExibidos,
+                    resultado.getArquivoRelatorioErros())
+                    : format("%d linhas não foram importadas:\n%s", resultado.getLinhasRejeitadas(), errosExibidos);
+            showMessageDialog(this, mensagem, "Linhas rejeitadas", WARNING_MESSAGE);
+        }
     }
 
     /**
@@ -1,12 +1,16 @@
 package biblioteca.telas.livro;
 
+import biblioteca.backend.dto.AlteracoesLivroResponse;
 import biblioteca.backend.dto.LivroResponse;
 import biblioteca.backend.facade.LivroFacade;
-import biblioteca.telas.livro.table.LivroTable;
+import biblioteca.telas.livro.table.LivroPaginadoTable;
+import biblioteca.utils.CarregadorDados;
 import lombok.extern.java.Log;
 
 import javax.swing.*;
-import java.util.List;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 import static biblioteca.utils.TelasUtils.*;
 import static java.awt.BorderLayout.SOUTH;
@@ -17,6 +21,9 @@ import static javax.swing.JOptionPane.*;
  * <p>
  * Esta classe é responsável por renderizar a tela referente a listagem das livros
  * e também efetuar o gerenciamento de cadastro/edição/deleção de uma livros.
+ * <p>
+ * Depois de uma deleção, ou quando a tela volta a ficar ativa após um cadastro, edição ou importação, apenas os livros alterados
+ * desde o último carregamento são buscados e atualizados na tabela, mantendo a posição da rolagem.
  *
  * @author Bruno Cardoso
  * @version 1.0
@@ -24,6 +31,8 @@ import static javax.swing.JOptionPane.*;
 @Log
 public class TelaListagemLivro extends JFrame {
 
+    private static final int TAMANHO_PAGINA = 200;
+
     private final JFrame telaAnterior;
     private final LivroFacade livroFacade;
     private final JButton botaoRecarregarDados = criarBotao("Recarregar Dados");
@@ -34,16 +43,24 @@ public class TelaListagemLivro extends JFrame {
     private final JButton botaoImportar = criarBotao("Importar");
     private final JButton botaoCadastrar = criarBotao("Cadastrar");
     private final JButton botaoCadastrarPorIsbn = criarBotao("Cadastrar por ISBN");
-    private final LivroTable livroTable = new LivroTable();
-    private final JTable tabela = new JTable(livroTable);
+    private final JButton botaoCadastrarPorListaIsbns = criarBotao("Cadastrar por Lista de ISBNs");
+    private final CarregadorDados carregadorDados = new CarregadorDados(this::exibirErroCarregamento);
+    private final LivroPaginadoTable livroTable;
+    private final JTable tabela;
+    private long versaoAlteracoes;
+    private boolean atualizandoAlteracoes;
 
     public TelaListagemLivro(JFrame telaAnterior, LivroFacade livroFacade) {
         super("Listagem de Livros");
         this.telaAnterior = telaAnterior;
         this.livroFacade = livroFacade;
+        this.livroTable = new LivroPaginadoTable(livroFacade::listarLivros, TAMANHO_PAGINA, carregadorDados);
+        this.tabela = new JTable(livroTable);
 
         this.inicializarComponentes();
         this.configurarAcoesDosBotoes();
+        this.configurarCarregamentoAoRolar();
+        this.configurarAtualizacaoAoAtivar();
         this.carregarDados();
     }
 
@@ -62,8 +79,9 @@ public class TelaListagemLivro extends JFrame {
      * Adiciona configurações visuais dos botoes da tela.
      */
     private void aplicarConfiguracoesVisuaisBotoes(JPanel painelPrincipal) {
-        JPanel painelBotoes = criarPainelBotoesListagem(botaoVoltar, botaoRecarregarDados, botaoPesquisar, botaoDeletar,
-                botaoEditar, botaoImportar, botaoCadastrar, botaoCadastrarPorIsbn);
+        JPanel painelBotoes = criarPainelBotoesListagem(carregadorDados.getPainel(), botaoVoltar, botaoRecarregarDados,
+                botaoPesquisar, botaoDeletar, botaoEditar, botaoImportar, botaoCadastrar, botaoCadastrarPorIsbn,
+                botaoCadastrarPorListaIsbns);
 
         painelPrincipal.add(painelBotoes, SOUTH);
     }
@@ -80,6 +98,7 @@ public class TelaListagemLivro extends JFrame {
         this.configurarAcaoBotaoImportar();
         this.configurarAcaoBotaoCadastrar();
         this.configurarAcaoBotaoCadastrarPorIsbn();
+        this.configurarAcaoBotaoCadastrarPorListaIsbns();
     }
 
     /**
@@ -87,6 +106,7 @@ public class TelaListagemLivro extends JFrame {
      */
     private void configurarAcaoBotaoVoltar() {
         botaoVoltar.addActionListener(listener -> {
+            carregadorDados.cancelar();
             telaAnterior.setVisible(true);
             this.dispose();
         });
@@ -112,7 +132,7 @@ public class TelaListagemLivro extends JFrame {
             boolean isLinhaValida = validarLinhaSelecionada(linhaSelecionada, this,
                     "Por favor, selecione um livro para editar.", "Nenhum livro selecionado");
 
-            if (isLinhaValida) {
+            if (isLinhaValida && validarLivroCarregado(livroTable.getLivro(linhaSelecionada))) {
                 LivroResponse livro = livroTable.getLivro(linhaSelecionada);
                 TelaFormularioLivro formulario = new TelaFormularioLivro(this, livroFacade, livro);
                 formulario.setVisible(true);
@@ -132,12 +152,12 @@ public class TelaListagemLivro extends JFrame {
                 boolean isLinhaValida = validarLinhaSelecionada(linhaSelecionada, this,
                         "Por favor, selecione um livro para deletar.", "Nenhum livro selecionado");
 
-                if (isLinhaValida) {
+                if (isLinhaValida && validarLivroCarregado(livroTable.getLivro(linhaSelecionada))) {
                     LivroResponse livro = livroTable.getLivro(linhaSelecionada);
 
                     livroFacade.deletarLivro(livro.getId());
                     showMessageDialog(this, "Livro deletado com sucesso!", "Sucesso", INFORMATION_MESSAGE);
-                    carregarDados();
+                    atualizarAlteracoes();
                 }
             } catch (Exception ex) {
                 showMessageDialog(this, ex.getMessage(), "Erro", ERROR_MESSAGE);
@@ -179,6 +199,17 @@ public class TelaListagemLivro extends JFrame {
         });
     }
 
+    /**
+     * Efetua a configuração da ação do botão de cadastrar por lista de ISBNs, para que redirecione para a tela de cadastro de livros em lote.
+     */
+    private void configurarAcaoBotaoCadastrarPorListaIsbns() {
+        botaoCadastrarPorListaIsbns.addActionListener(listener -> {
+            TelaCadastroLivrosIsbnLote telaCadastroLivrosIsbnLote = new TelaCadastroLivrosIsbnLote(livroFacade);
+            telaCadastroLivrosIsbnLote.setLocationRelativeTo(this);
+            telaCadastroLivrosIsbnLote.setVisible(true);
+        });
+    }
+
     /**
      * Efetua a configuração da ação do botão de pesquisar,
      * para que seja aberta uma nova tela de pesquisa de livros por filtros.
@@ -192,15 +223,89 @@ public class TelaListagemLivro extends JFrame {
     }
 
     /**
-     * Efetua a busca dos dados da listagem.
+     * Configura o carregamento da próxima página de livros quando a tabela for rolada até perto da última linha carregada.
+     */
+    private void configurarCarregamentoAoRolar() {
+        JViewport viewport = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, tabela);
+        viewport.addChangeListener(evento -> {
+            try {
+                Rectangle areaVisivel = viewport.getViewRect();
+                int ultimaLinhaVisivel = tabela.rowAtPoint(new Point(0, areaVisivel.y + areaVisivel.height - 1));
+                livroTable.carregarLinhasAte(ultimaLinhaVisivel != -1 ? ultimaLinhaVisivel : tabela.getRowCount() - 1);
+            } catch (Exception ex) {
+                log.severe(ex.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Efetua a busca da primeira página de dados da listagem em segundo plano. As demais páginas são buscadas conforme a tabela é rolada.
+     * As buscas de páginas ainda em andamento são canceladas.
      */
     private void carregarDados() {
-        try {
-            List<LivroResponse> livros = livroFacade.listarTodosLivros();
-            livroTable.setLivros(livros);
-        } catch (Exception ex) {
-            showMessageDialog(this, ex.getMessage(), "Erro", ERROR_MESSAGE);
-            log.severe(ex.getMessage());
+        versaoAlteracoes = livroFacade.getVersaoAlteracoesLivros();
+        atualizandoAlteracoes = false;
+        livroTable.recarregar();
+    }
+
+    /**
+     * Configura a atualização dos livros alterados quando a tela volta a ficar ativa, já que o cadastro, a edição e a importação
+     * de livros são feitos em outras telas.
+     */
+    private void configurarAtualizacaoAoAtivar() {
+        this.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowActivated(WindowEvent windowEvent) {
+                atualizarAlteracoes();
+            }
+        });
+    }
+
+    /**
+     * Efetua a busca em segundo plano dos livros incluídos, alterados e excluídos desde o último carregamento,
+     * caso exista alguma alteração ainda não aplicada na tabela.
+     */
+    private void atualizarAlteracoes() {
+        long versao = versaoAlteracoes;
+        if (atualizandoAlteracoes || livroFacade.getVersaoAlteracoesLivros() == versao) {
+            return;
+        }
+        atualizandoAlteracoes = true;
+        carregadorDados.executar(() -> livroFacade.listarAlteracoesLivrosDesde(versao),
+                this::aplicarAlteracoes,
+                () -> atualizandoAlteracoes = false);
+    }
+
+    /**
+     * Aplica na tabela as alterações dos livros. Caso as alterações não estejam mais disponíveis, todos os dados são recarregados.
+     */
+    private void aplicarAlteracoes(AlteracoesLivroResponse alteracoes) {
+        if (alteracoes.isRecarregarTudo()) {
+            carregarDados();
+            return;
+        }
+        livroTable.aplicarAlteracoes(alteracoes);
+        versaoAlteracoes = alteracoes.getVersao();
+    }
+
+    /**
+     * Valida se o livro da linha selecionada já foi carregado, já que a página dele pode estar sendo buscada em segundo plano.
+     *
+     * @return true caso o livro esteja carregado. false caso contrário.
+     */
+    private boolean validarLivroCarregado(LivroResponse livro) {
+        if (livro == null) {
+            showMessageDialog(this, "O livro selecionado ainda está sendo carregado. Tente novamente.", "Aguarde", WARNING_MESSAGE);
+            return false;
         }
+        return true;
+    }
+
+    /**
+     * Exibe a mensagem de erro de uma busca dos dados da listagem.
+     */
+    private void exibirErroCarregamento(Exception ex) {
+        showMessageDialog(this, ex.getMessage(), "Erro", ERROR_MESSAGE);
+        log.severe(ex.getMessage());
     }
 }
@@ -1,13 +1,16 @@
 package biblioteca.telas.livro;
 
 import biblioteca.backend.dto.LivroFiltros;
-import biblioteca.backend.dto.LivroResponse;
 import biblioteca.backend.dto.SelectResponse;
 import biblioteca.backend.enums.EGenero;
 import biblioteca.backend.facade.LivroFacade;
 import biblioteca.telas.livro.table.LivroTable;
+import biblioteca.utils.CarregadorDados;
+import lombok.extern.java.Log;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -16,18 +19,29 @@ import static biblioteca.utils.StringUtils.*;
 import static biblioteca.utils.TelasUtils.*;
 import static java.awt.BorderLayout.NORTH;
 import static java.awt.BorderLayout.SOUTH;
+import static javax.swing.JOptionPane.ERROR_MESSAGE;
+import static javax.swing.JOptionPane.showMessageDialog;
 
 /**
  * Tela de Listagem de Livros de acordo com os filtros informados.
  * <p>
  * Esta classe é responsável por renderizar a tela referente a listagem dos livros
  * de acordo com os filtros passados.
+ * <p>
+ * O campo de busca é aplicado junto com os demais filtros ao clicar em Buscar, com os livros ordenados pela relevância.
+ * O campo de busca rápida tem uma busca própria, que filtra os livros enquanto o usuário digita, sem considerar os demais filtros:
+ * a busca é feita quando o usuário para de digitar pelo intervalo configurado na propriedade de sistema
+ * biblioteca.telas.pesquisa.atrasoDigitacao, cancelando a busca anterior ainda em andamento.
  *
  * @author Bruno Cardoso
  * @version 1.0
  */
+@Log
 public class TelaPesquisaLivro extends JFrame {
 
+    private static final int ATRASO_BUSCA_DIGITACAO = Integer.getInteger("biblioteca.telas.pesquisa.atrasoDigitacao", 250);
+    private static final int LIMITE_BUSCA_DIGITACAO = Integer.getInteger("biblioteca.telas.pesquisa.limiteDigitacao", 200);
+
     private final JFrame telaAnterior;
     private final LivroFacade livroFacade;
     private final JButton botaoVoltar = criarBotao("Voltar");
@@ -35,7 +49,11 @@ public class TelaPesquisaLivro extends JFrame {
     private final JButton botaoBuscar = criarBotao("Buscar");
     private final LivroTable livroTable = new LivroTable();
     private final JTable tabela = new JTable(livroTable);
+    private final CarregadorDados carregadorDados = new CarregadorDados(this::exibirErroCarregamento);
+    private final Timer atrasoBuscaDigitacao = new Timer(ATRASO_BUSCA_DIGITACAO, listener -> this.buscarPorTextoDigitado());
 
+    private JTextField filtroBuscaRapida;
+    private JTextField filtroTexto;
     private JTextField filtroId;
     private JTextField filtroTitulo;
     private JTextField filtroDataPublicacao;
@@ -53,6 +71,7 @@ public class TelaPesquisaLivro extends JFrame {
 
         this.inicializarComponentes();
         this.configurarAcoesDosBotoes();
+        this.configurarBuscaDigitacao();
     }
 
     /**
@@ -71,7 +90,7 @@ public class TelaPesquisaLivro extends JFrame {
      * Adiciona configurações visuais dos botoes da tela.
      */
     private void aplicarConfiguracoesVisuaisBotoes(JPanel painelPrincipal) {
-        JPanel painelBotoes = criarPainelBotoesListagem(botaoVoltar, botaoLimparFiltros, botaoBuscar);
+        JPanel painelBotoes = criarPainelBotoesListagem(carregadorDados.getPainel(), botaoVoltar, botaoLimparFiltros, botaoBuscar);
 
         painelPrincipal.add(painelBotoes, SOUTH);
     }
@@ -80,6 +99,10 @@ public class TelaPesquisaLivro extends JFrame {
      * Adiciona configurações de cmapos de filtragem.
      */
     private void aplicarConfiguracoesFiltros(JPanel painelPrincipal) {
+        this.filtroBuscaRapida = criarTextField("");
+        this.filtroBuscaRapida.setToolTipText("Filtra os livros enquanto digita, pelo título, ISBN, autor ou editora, sem considerar os demais filtros.");
+        this.filtroTexto = criarTextField("");
+        this.filtroTexto.setToolTipText("Aplicada junto com os demais filtros ao clicar em Buscar.");
         this.filtroId = criarTextField("");
         this.filtroTitulo = criarTextField("");
         this.filtroDataPublicacao = criarTextField("");
@@ -91,6 +114,8 @@ public class TelaPesquisaLivro extends JFrame {
         this.filtroTituloLivroParecido = criarTextField("");
 
         JPanel painelFiltros = criarPainelFiltros(
+                criarLinhaFiltro("Busca rápida (título, ISBN, autor, editora): ", filtroBuscaRapida),
+                criarLinhaFiltro("Busca (título, autor, editora): ", filtroTexto),
                 criarLinhaFiltro("ID: ", filtroId),
                 criarLinhaFiltro("Título: ", filtroTitulo),
                 criarLinhaFiltro("Data de Publicação: ", filtroDataPublicacao),
@@ -119,6 +144,8 @@ public class TelaPesquisaLivro extends JFrame {
      */
     private void configurarAcaoBotaoVoltar() {
         botaoVoltar.addActionListener(listener -> {
+            atrasoBuscaDigitacao.stop();
+            carregadorDados.cancelar();
             telaAnterior.setVisible(true);
             this.dispose();
         });
@@ -129,6 +156,9 @@ public class TelaPesquisaLivro extends JFrame {
      */
     private void configurarAcaoBotaoLimparFiltros() {
         botaoLimparFiltros.addActionListener(listener -> {
+            atrasoBuscaDigitacao.stop();
+            this.filtroBuscaRapida.setText("");
+            this.filtroTexto.setText("");
             this.filtroId.setText("");
             this.filtroTitulo.setText("");
             this.filtroDataPublicacao.setText("");
@@ -155,6 +185,7 @@ public class TelaPesquisaLivro extends JFrame {
             SelectResponse autorSelecionado = (SelectResponse) filtroAutor.getSelectedItem();
             String idLivroParecidoText = filtroIdLivroParecido.getText();
             String tituloLivroParecido = filtroTituloLivroParecido.getText();
+            String texto = filtroTexto.getText();
 
             Integer id = converterStringEmInteger(idText, "ID", this);
             LocalDate dataPublicacao = isNotBlank(dataPublicacaoText)
@@ -166,12 +197,56 @@ public class TelaPesquisaLivro extends JFrame {
                     mapNull(generoSelecionado, generoSelect -> (EGenero) generoSelect.getValue()),
                     mapNull(editoraSelecionada, editoraSelect -> (Integer) editoraSelect.getValue()),
                     mapNull(autorSelecionado, autorSelect -> (Integer) autorSelect.getValue()),
-                    idLivroParecido, tituloLivroParecido);
-            List<LivroResponse> livros = livroFacade.listarPorFiltros(filtros);
-            livroTable.setLivros(livros);
+                    idLivroParecido, tituloLivroParecido, texto);
+            carregadorDados.carregarListagem((aposId, limite) -> livroFacade.listarPorFiltros(filtros, aposId, limite),
+                    livroTable::limpar, livroTable::adicionarLivros);
+        });
+    }
+
+    /**
+     * Configura a busca pelo campo de busca rápida enquanto o usuário digita. Cada alteração no campo reinicia o intervalo de espera,
+     * para que a busca seja feita apenas quando o usuário parar de digitar.
+     */
+    private void configurarBuscaDigitacao() {
+        atrasoBuscaDigitacao.setRepeats(false);
+        filtroBuscaRapida.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent evento) {
+                atrasoBuscaDigitacao.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent evento) {
+                atrasoBuscaDigitacao.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent evento) {
+                atrasoBuscaDigitacao.restart();
+            }
         });
     }
 
+    /**
+     * Busca os livros pelo texto digitado no campo de busca rápida. Quando o campo estiver vazio, a listagem atual é mantida.
+     */
+    private void buscarPorTextoDigitado() {
+        String texto = filtroBuscaRapida.getText();
+        if (isBlank(texto)) {
+            return;
+        }
+        carregadorDados.carregarListagem(() -> livroFacade.buscarLivrosPorTexto(texto, LIMITE_BUSCA_DIGITACAO),
+                livroTable::limpar, livroTable::adicionarLivros);
+    }
+
+    /**
+     * Exibe a mensagem de erro de uma busca dos dados da pesquisa.
+     */
+    private void exibirErroCarregamento(Exception ex) {
+        showMessageDialog(this, ex.getMessage(), "Erro", ERROR_MESSAGE);
+        log.severe(ex.getMessage());
+    }
+
     /**
      * Carrega os dados que serão utilizados no campo select de Gênero.
      */
@@ -0,0 +1,48 @@
+package biblioteca.telas.livro.table;
+
+import biblioteca.backend.dto.LivroResponse;
+import biblioteca.backend.enums.EGenero;
+import lombok.Getter;
+
+import java.time.format.DateTimeFormatter;
+
+import static biblioteca.utils.MapUtils.mapNullComBackup;
+
+/**
+ * Linha das tabelas de Livro
+ * <p>
+ * Esta classe é responsável por guardar os textos exibidos em cada coluna de um livro, montados uma única vez quando a linha
+ * é carregada, para que a tabela não precise formatar datas e juntar os nomes dos autores a cada vez que a linha é desenhada.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+@Getter
+public class LinhaLivroTable {
+
+    public static final String[] COLUNAS = {"ID", "Título", "Data de Publicação", "ISBN 10", "ISBN 13", "Gênero", "Editora",
+            "Autores", "Livros Parecidos"};
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final LivroResponse livro;
+    private final Object[] valores;
+
+    public LinhaLivroTable(LivroResponse livro) {
+        this.livro = livro;
+        this.valores = new Object[]{
+                livro.getId(),
+                livro.getTitulo(),
+                mapNullComBackup(livro.getDataPublicacao(), data -> data.format(FORMATO_DATA), "-"),
+                mapNullComBackup(livro.getIsbn10(), isbn -> isbn, "-"),
+                mapNullComBackup(livro.getIsbn13(), isbn -> isbn, "-"),
+                mapNullComBackup(livro.getGenero(), EGenero::getDescricao, "-"),
+                livro.getEditora().getNome(),
+                !livro.getAutores().isEmpty() ? String.join(", ", livro.getAutoresNomes()) : "-",
+                livro.possuiTitulosParecidos() ? String.join(", ", livro.getTitulosLivroParecidosOrdenados()) : "-"
+        };
+    }
+
+    public Object getValor(int coluna) {
+        return coluna >= 0 && coluna < valores.length ? valores[coluna] : null;
+    }
+}
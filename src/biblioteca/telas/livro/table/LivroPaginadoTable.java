@@ -0,0 +1,375 @@
+package biblioteca.telas.livro.table;
+
+import biblioteca.backend.dto.AlteracoesLivroResponse;
+import biblioteca.backend.dto.LivroResponse;
+import biblioteca.backend.dto.PaginaResponse;
+import biblioteca.utils.CarregadorDados;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.*;
+import java.util.function.BiFunction;
+
+import static java.util.stream.Collectors.toCollection;
+
+/**
+ * Tabela paginada de Livro
+ * <p>
+ * Esta classe é responsável por definir os dados da tabela da listagem de livros, buscando os livros em páginas conforme a tabela é rolada.
+ * Apenas as últimas páginas utilizadas ficam em memória. Das demais páginas é guardado somente o ID a partir do qual elas começam
+ * e a quantidade de linhas delas, para que sejam buscadas novamente quando voltarem a ser exibidas. Assim, a memória utilizada
+ * não depende da quantidade de livros do sistema.
+ * <p>
+ * Os textos de cada linha são montados uma única vez, quando a página é carregada.
+ * <p>
+ * As páginas são buscadas em segundo plano pelo CarregadorDados da tela. Enquanto uma página descartada é buscada novamente,
+ * as linhas dela ficam em branco, e são atualizadas quando a página chega.
+ * <p>
+ * As alterações feitas nos livros depois do carregamento são aplicadas apenas nas linhas alteradas, sem recarregar a tabela.
+ * Cada página guarda a faixa de IDs dela, então um livro incluído entra na página da faixa do seu ID e as demais linhas são deslocadas.
+ * As alterações de páginas que não estão em memória são aplicadas quando a página for buscada novamente.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+public class LivroPaginadoTable extends AbstractTableModel {
+
+    private static final int PAGINAS_EM_MEMORIA = 10;
+
+    private final BiFunction<Integer, Integer, PaginaResponse<LivroResponse>> buscarPagina;
+    private final int tamanhoPagina;
+    private final CarregadorDados carregadorDados;
+    private final List<Integer> cursoresPaginas = new ArrayList<>();
+    private final List<Integer> primeirasLinhasPaginas = new ArrayList<>();
+    private final List<Integer> quantidadesLinhasPaginas = new ArrayList<>();
+    private final Set<Integer> paginasEmCarregamento = new HashSet<>();
+    private final Map<Integer, List<LinhaLivroTable>> paginasCarregadas = new LinkedHashMap<Integer, List<LinhaLivroTable>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<LinhaLivroTable>> paginaMaisAntiga) {
+            return size() > PAGINAS_EM_MEMORIA;
+        }
+    };
+    private Integer cursorProximaPagina;
+    private boolean possuiProximaPagina;
+    private boolean carregandoProximaPagina;
+    private int quantidadeLinhas;
+    /**
+     * Incrementada a cada recarga, para que o fim de uma busca descartada não altere o estado das buscas da nova recarga.
+     */
+    private int versaoCarregamento;
+
+    /**
+     * @param buscarPagina    função que busca uma página de livros a partir do último ID da página anterior, com o tamanho informado.
+     * @param tamanhoPagina   quantidade de livros de cada página.
+     * @param carregadorDados carregador utilizado para buscar as páginas fora da EDT.
+     */
+    public LivroPaginadoTable(BiFunction<Integer, Integer, PaginaResponse<LivroResponse>> buscarPagina, int tamanhoPagina,
+                              CarregadorDados carregadorDados) {
+        this.buscarPagina = buscarPagina;
+        this.tamanhoPagina = tamanhoPagina;
+        this.carregadorDados = carregadorDados;
+    }
+
+    @Override
+    public int getRowCount() {
+        return quantidadeLinhas;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return LinhaLivroTable.COLUNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return LinhaLivroTable.COLUNAS[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        LinhaLivroTable linha = getLinha(rowIndex);
+        return linha != null ? linha.getValor(columnIndex) : null;
+    }
+
+    /**
+     * Método responsável por descartar as páginas carregadas e buscar novamente a primeira página de livros.
+     * As buscas de páginas ainda em andamento são canceladas.
+     */
+    public void recarregar() {
+        carregadorDados.cancelar();
+        versaoCarregamento++;
+        cursoresPaginas.clear();
+        primeirasLinhasPaginas.clear();
+        quantidadesLinhasPaginas.clear();
+        paginasCarregadas.clear();
+        paginasEmCarregamento.clear();
+        cursorProximaPagina = null;
+        possuiProximaPagina = true;
+        carregandoProximaPagina = false;
+        quantidadeLinhas = 0;
+        fireTableDataChanged();
+
+        carregarProximaPagina();
+    }
+
+    /**
+     * Método responsável por carregar a próxima página de livros quando a última linha visível estiver próxima do fim das linhas já carregadas.
+     */
+    public void carregarLinhasAte(int ultimaLinhaVisivel) {
+        if (!possuiProximaPagina || carregandoProximaPagina || ultimaLinhaVisivel < quantidadeLinhas - tamanhoPagina / 2) {
+            return;
+        }
+        carregarProximaPagina();
+    }
+
+    /**
+     * Método responsável por aplicar na tabela as alterações feitas nos livros, notificando apenas as linhas excluídas, incluídas e alteradas.
+     * <p>
+     * Livros com ID depois da última página carregada são ignorados, pois serão buscados com as próximas páginas.
+     */
+    public void aplicarAlteracoes(AlteracoesLivroResponse alteracoes) {
+        alteracoes.getExcluidos().forEach(this::removerLivro);
+        alteracoes.getIncluidos().forEach(this::incluirOuAtualizarLivro);
+        alteracoes.getAlterados().forEach(this::incluirOuAtualizarLivro);
+    }
+
+    /**
+     * @return o livro da linha, ou null caso a página da linha ainda esteja sendo buscada.
+     */
+    public LivroResponse getLivro(int index) {
+        LinhaLivroTable linha = getLinha(index);
+        return linha != null ? linha.getLivro() : null;
+    }
+
+    /**
+     * Método responsável por buscar em segundo plano a página seguinte à última página carregada e adicionar as linhas dela ao fim da tabela.
+     * Os textos das linhas também são montados em segundo plano.
+     */
+    private void carregarProximaPagina() {
+        Integer cursor = cursorProximaPagina;
+        int versao = versaoCarregamento;
+        carregandoProximaPagina = true;
+        carregadorDados.executar(() -> buscarPaginaDeLinhas(cursor, tamanhoPagina),
+                pagina -> adicionarProximaPagina(cursor, pagina),
+                () -> {
+                    if (versao == versaoCarregamento) {
+                        carregandoProximaPagina = false;
+                    }
+                });
+    }
+
+    private PaginaResponse<LinhaLivroTable> buscarPaginaDeLinhas(Integer cursor, int limite) {
+        PaginaResponse<LivroResponse> pagina = buscarPagina.apply(cursor, limite);
+        return PaginaResponse.<LinhaLivroTable>builder()
+                .itens(montarLinhas(pagina.getItens()))
+                .ultimoId(pagina.getUltimoId())
+                .possuiProximaPagina(pagina.isPossuiProximaPagina())
+                .build();
+    }
+
+    private void adicionarProximaPagina(Integer cursor, PaginaResponse<LinhaLivroTable> pagina) {
+        if (pagina.getItens().isEmpty()) {
+            possuiProximaPagina = false;
+            return;
+        }
+        int primeiraLinhaNova = quantidadeLinhas;
+        adicionarPagina(cursor, pagina.getItens());
+        cursorProximaPagina = pagina.getUltimoId();
+        possuiProximaPagina = pagina.isPossuiProximaPagina();
+        fireTableRowsInserted(primeiraLinhaNova, quantidadeLinhas - 1);
+    }
+
+    private void adicionarPagina(Integer cursor, List<LinhaLivroTable> linhas) {
+        paginasCarregadas.put(cursoresPaginas.size(), linhas);
+        cursoresPaginas.add(cursor);
+        primeirasLinhasPaginas.add(quantidadeLinhas);
+        quantidadesLinhasPaginas.add(linhas.size());
+        quantidadeLinhas += linhas.size();
+    }
+
+    /**
+     * Método responsável por buscar a linha na página carregada. Caso a página tenha sido descartada da memória, ela é buscada novamente
+     * em segundo plano.
+     *
+     * @return a linha, ou null caso a página esteja sendo buscada novamente.
+     */
+    private LinhaLivroTable getLinha(int indiceLinha) {
+        int indicePagina = buscarIndicePaginaDaLinha(indiceLinha);
+        List<LinhaLivroTable> pagina = paginasCarregadas.get(indicePagina);
+        if (pagina == null) {
+            carregarPaginaDescartada(indicePagina);
+            return null;
+        }
+        int indiceNaPagina = indiceLinha - primeirasLinhasPaginas.get(indicePagina);
+        return indiceNaPagina < pagina.size() ? pagina.get(indiceNaPagina) : null;
+    }
+
+    /**
+     * Método responsável por buscar novamente em segundo plano uma página descartada da memória.
+     * <p>
+     * São buscados apenas os livros da faixa de IDs da página, e a quantidade de linhas dela é ajustada caso livros tenham sido incluídos
+     * ou excluídos enquanto ela estava fora da memória.
+     */
+    private void carregarPaginaDescartada(int indicePagina) {
+        if (!paginasEmCarregamento.add(indicePagina)) {
+            return;
+        }
+        Integer cursor = cursoresPaginas.get(indicePagina);
+        Integer ultimoId = getUltimoIdDaFaixa(indicePagina);
+        int limite = quantidadesLinhasPaginas.get(indicePagina) + tamanhoPagina;
+        int versao = versaoCarregamento;
+        carregadorDados.executar(() -> buscarPaginaDeLinhas(cursor, limite).getItens().stream()
+                        .filter(linha -> ultimoId == null || linha.getLivro().getId() <= ultimoId)
+                        .collect(toCollection(ArrayList::new)),
+                linhas -> substituirPagina(indicePagina, linhas),
+                () -> {
+                    if (versao == versaoCarregamento) {
+                        paginasEmCarregamento.remove(indicePagina);
+                    }
+                });
+    }
+
+    private void substituirPagina(int indicePagina, List<LinhaLivroTable> linhas) {
+        int primeiraLinha = primeirasLinhasPaginas.get(indicePagina);
+        int quantidadeAnterior = quantidadesLinhasPaginas.get(indicePagina);
+        paginasCarregadas.put(indicePagina, linhas);
+        ajustarQuantidadeLinhas(indicePagina, linhas.size() - quantidadeAnterior);
+
+        int quantidadeMantida = Math.min(quantidadeAnterior, linhas.size());
+        if (linhas.size() > quantidadeAnterior) {
+            fireTableRowsInserted(primeiraLinha + quantidadeAnterior, primeiraLinha + linhas.size() - 1);
+        } else if (linhas.size() < quantidadeAnterior) {
+            fireTableRowsDeleted(primeiraLinha + linhas.size(), primeiraLinha + quantidadeAnterior - 1);
+        }
+        if (quantidadeMantida > 0) {
+            fireTableRowsUpdated(primeiraLinha, primeiraLinha + quantidadeMantida - 1);
+        }
+    }
+
+    private void removerLivro(Integer id) {
+        int indicePagina = buscarIndicePaginaDoId(id);
+        List<LinhaLivroTable> pagina = indicePagina != -1 ? paginasCarregadas.get(indicePagina) : null;
+        if (pagina == null) {
+            return;
+        }
+        int indiceNaPagina = buscarPosicaoNaPagina(pagina, id);
+        if (indiceNaPagina == pagina.size() || !pagina.get(indiceNaPagina).getLivro().getId().equals(id)) {
+            return;
+        }
+        pagina.remove(indiceNaPagina);
+        ajustarQuantidadeLinhas(indicePagina, -1);
+        int linha = primeirasLinhasPaginas.get(indicePagina) + indiceNaPagina;
+        fireTableRowsDeleted(linha, linha);
+    }
+
+    private void incluirOuAtualizarLivro(LivroResponse livro) {
+        if (cursoresPaginas.isEmpty() && !possuiProximaPagina && !carregandoProximaPagina) {
+            adicionarPagina(null, new ArrayList<>());
+        }
+        int indicePagina = buscarIndicePaginaDoId(livro.getId());
+        List<LinhaLivroTable> pagina = indicePagina != -1 ? paginasCarregadas.get(indicePagina) : null;
+        if (pagina == null) {
+            return;
+        }
+        int indiceNaPagina = buscarPosicaoNaPagina(pagina, livro.getId());
+        int linha = primeirasLinhasPaginas.get(indicePagina) + indiceNaPagina;
+        if (indiceNaPagina < pagina.size() && pagina.get(indiceNaPagina).getLivro().getId().equals(livro.getId())) {
+            pagina.set(indiceNaPagina, new LinhaLivroTable(livro));
+            fireTableRowsUpdated(linha, linha);
+            return;
+        }
+        pagina.add(indiceNaPagina, new LinhaLivroTable(livro));
+        ajustarQuantidadeLinhas(indicePagina, 1);
+        if (!possuiProximaPagina && (cursorProximaPagina == null || livro.getId() > cursorProximaPagina)) {
+            cursorProximaPagina = livro.getId();
+        }
+        fireTableRowsInserted(linha, linha);
+    }
+
+    /**
+     * Método responsável por somar a diferença na quantidade de linhas da página e deslocar a primeira linha das páginas seguintes.
+     */
+    private void ajustarQuantidadeLinhas(int indicePagina, int diferenca) {
+        if (diferenca == 0) {
+            return;
+        }
+        quantidadesLinhasPaginas.set(indicePagina, quantidadesLinhasPaginas.get(indicePagina) + diferenca);
+        for (int indice = indicePagina + 1; indice < primeirasLinhasPaginas.size(); indice++) {
+            primeirasLinhasPaginas.set(indice, primeirasLinhasPaginas.get(indice) + diferenca);
+        }
+        quantidadeLinhas += diferenca;
+    }
+
+    /**
+     * Método responsável por encontrar a página da linha, pela busca binária da última página que começa antes ou na linha.
+     * Páginas que ficaram sem linhas começam na mesma linha da página seguinte, e por isso nunca são retornadas.
+     */
+    private int buscarIndicePaginaDaLinha(int indiceLinha) {
+        int inicio = 0;
+        int fim = primeirasLinhasPaginas.size() - 1;
+        while (inicio < fim) {
+            int meio = (inicio + fim + 1) >>> 1;
+            if (primeirasLinhasPaginas.get(meio) <= indiceLinha) {
+                inicio = meio;
+            } else {
+                fim = meio - 1;
+            }
+        }
+        return inicio;
+    }
+
+    /**
+     * Método responsável por encontrar a página da faixa de IDs do livro. Cada página contém os IDs maiores que o cursor dela,
+     * até o cursor da página seguinte.
+     *
+     * @return o índice da página, ou -1 caso o ID seja de um livro que ainda será buscado com as próximas páginas.
+     */
+    private int buscarIndicePaginaDoId(Integer id) {
+        int indicePagina = -1;
+        int inicio = 1;
+        int fim = cursoresPaginas.size() - 1;
+        if (!cursoresPaginas.isEmpty()) {
+            indicePagina = 0;
+        }
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (cursoresPaginas.get(meio) < id) {
+                indicePagina = meio;
+                inicio = meio + 1;
+            } else {
+                fim = meio - 1;
+            }
+        }
+        boolean ultimaPagina = indicePagina == cursoresPaginas.size() - 1;
+        if (ultimaPagina && possuiProximaPagina && (cursorProximaPagina == null || id > cursorProximaPagina)) {
+            return -1;
+        }
+        return indicePagina;
+    }
+
+    /**
+     * @return o último ID da faixa da página, ou null caso seja a última página e não existam próximas páginas.
+     */
+    private Integer getUltimoIdDaFaixa(int indicePagina) {
+        if (indicePagina < cursoresPaginas.size() - 1) {
+            return cursoresPaginas.get(indicePagina + 1);
+        }
+        return possuiProximaPagina ? cursorProximaPagina : null;
+    }
+
+    /**
+     * @return a posição do livro com o ID na página, ou a posição em que ele deve ser incluído para manter a ordem dos IDs.
+     */
+    private static int buscarPosicaoNaPagina(List<LinhaLivroTable> pagina, Integer id) {
+        int posicao = 0;
+        while (posicao < pagina.size() && pagina.get(posicao).getLivro().getId() < id) {
+            posicao++;
+        }
+        return posicao;
+    }
+
+    private static List<LinhaLivroTable> montarLinhas(List<LivroResponse> livros) {
+        return livros.stream()
+                .map(LinhaLivroTable::new)
+                .collect(toCollection(ArrayList::new));
+    }
+}
@@ -1,82 +1,79 @@
 package biblioteca.telas.livro.table;
 
 import biblioteca.backend.dto.LivroResponse;
-import biblioteca.backend.enums.EGenero;
 
 import javax.swing.table.AbstractTableModel;
 import java.util.ArrayList;
 import java.util.List;
 
-import static biblioteca.utils.MapUtils.mapNullComBackup;
-import static java.time.format.DateTimeFormatter.ofPattern;
+import static java.util.stream.Collectors.toList;
 
 /**
  * Tabela de Livro
  * <p>
  * Esta classe é responsável por definir os dados da tabela de Livro,
  * que vai ser utilizada para mostrar a listagem dos livros do sistema.
+ * Os textos de cada linha são montados uma única vez, quando os livros são definidos na tabela.
  *
  * @author Bruno Cardoso
  * @version 1.0
  */
 public class LivroTable extends AbstractTableModel {
 
-    private final String[] colunas = {"ID", "Título", "Data de Publicação", "ISBN 10", "ISBN 13", "Gênero", "Editora",
-            "Autores", "Livros Parecidos"};
-    private List<LivroResponse> livros;
+    private List<LinhaLivroTable> linhas;
 
     public LivroTable() {
-        this.livros = new ArrayList<>();
+        this.linhas = new ArrayList<>();
     }
 
     @Override
     public int getRowCount() {
-        return livros.size();
+        return linhas.size();
     }
 
     @Override
     public int getColumnCount() {
-        return colunas.length;
+        return LinhaLivroTable.COLUNAS.length;
     }
 
     @Override
     public String getColumnName(int column) {
-        return colunas[column];
+        return LinhaLivroTable.COLUNAS[column];
     }
 
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
-        LivroResponse livro = livros.get(rowIndex);
-        switch (columnIndex) {
-            case 0:
-                return livro.getId();
-            case 1:
-                return livro.getTitulo();
-            case 2:
-                return mapNullComBackup(livro.getDataPublicacao(), data -> data.format(ofPattern("dd/MM/yyyy")), "-");
-            case 3:
-                return mapNullComBackup(livro.getIsbn10(), isbn -> isbn, "-");
-            case 4:
-                return mapNullComBackup(livro.getIsbn13(), isbn -> isbn, "-");
-            case 5:
-                return mapNullComBackup(livro.getGenero(), EGenero::getDescricao, "-");
-            case 6:
-                return livro.getEditora().getNome();
-            case 7:
-                return !livro.getAutores().isEmpty() ? String.join(", ", livro.getAutoresNomes()) : "-";
-            case 8:
-                return livro.possuiTitulosParecidos() ? String.join(", ", livro.getTitulosLivroParecidosOrdenados()) : "-";
-            default:
-                return null;
-        }
+        return linhas.get(rowIndex).getValor(columnIndex);
     }
 
     public void setLivros(List<LivroResponse> livros) {
-        this.livros = livros;
+        this.linhas = livros.stream()
+                .map(LinhaLivroTable::new)
+                .collect(toList());
+        fireTableDataChanged();
+    }
+
+    /**
+     * Método responsável por remover todos os livros da tabela.
+     */
+    public void limpar() {
+        this.linhas = new ArrayList<>();
         fireTableDataChanged();
     }
 
+    /**
+     * Método responsável por adicionar um lote de livros ao fim da tabela, notificando apenas as linhas inseridas.
+     */
+    public void adicionarLivros(List<LivroResponse> livros) {
+        if (livros.isEmpty()) {
+            return;
+        }
+        int primeiraLinhaNova = linhas.size();
+        livros.forEach(livro -> linhas.add(new LinhaLivroTable(livro)));
+        fireTableRowsInserted(primeiraLinhaNova, linhas.size() - 1);
+    }
+
     public LivroResponse getLivro(int index) {
-        return livros.get(index);
+        return linhas.get(index).getLivro();
     }
 }
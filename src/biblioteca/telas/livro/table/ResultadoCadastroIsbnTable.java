@@ -0,0 +1,77 @@
+package biblioteca.telas.livro.table;
+
+import biblioteca.backend.dto.ResultadoCadastroIsbnResponse;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static biblioteca.utils.MapUtils.mapNullComBackup;
+
+/**
+ * Tabela de resultados do cadastro de Livros por lista de ISBNs
+ * <p>
+ * Esta classe é responsável por definir os dados da tabela que exibe a situação de cada ISBN informado,
+ * preenchida a cada lote processado pelo cadastro.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+public class ResultadoCadastroIsbnTable extends AbstractTableModel {
+
+    private static final String[] COLUNAS = {"ISBN", "Situação", "Título", "Mensagem"};
+
+    private List<ResultadoCadastroIsbnResponse> resultados = new ArrayList<>();
+
+    @Override
+    public int getRowCount() {
+        return resultados.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUNAS[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        ResultadoCadastroIsbnResponse resultado = resultados.get(rowIndex);
+        switch (columnIndex) {
+            case 0:
+                return resultado.getIsbn();
+            case 1:
+                return resultado.getSituacao().getDescricao();
+            case 2:
+                return mapNullComBackup(resultado.getTitulo(), titulo -> titulo, "-");
+            case 3:
+                return mapNullComBackup(resultado.getMensagem(), mensagem -> mensagem, "-");
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Método responsável por remover todos os resultados da tabela.
+     */
+    public void limpar() {
+        this.resultados = new ArrayList<>();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Método responsável por adicionar os resultados de um lote ao fim da tabela, notificando apenas as linhas inseridas.
+     */
+    public void adicionarResultados(List<ResultadoCadastroIsbnResponse> resultadosLote) {
+        if (resultadosLote.isEmpty()) {
+            return;
+        }
+        int primeiraLinhaNova = resultados.size();
+        resultados.addAll(resultadosLote);
+        fireTableRowsInserted(primeiraLinhaNova, resultados.size() - 1);
+    }
+}
@@ -0,0 +1,250 @@
+package biblioteca.utils;
+
+import biblioteca.backend.dto.PaginaResponse;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static java.lang.String.format;
+
+/**
+ * Classe responsável por executar as buscas das telas fora da thread de eventos do Swing (EDT).
+ * <p>
+ * As buscas são executadas por um SwingWorker em um executor compartilhado entre as telas, enquanto a tela exibe uma barra de progresso
+ * com um botão para cancelar. As listagens são buscadas em páginas, com o tamanho configurado pela propriedade de sistema
+ * biblioteca.telas.carregamento.tamanhoPagina, e cada página é adicionada na tabela, na EDT, assim que é buscada, para que as primeiras
+ * linhas apareçam sem aguardar a listagem inteira.
+ * <p>
+ * Iniciar uma nova listagem cancela a listagem que ainda estiver em andamento na mesma tela. O cancelamento é verificado entre as páginas,
+ * então nenhuma página é buscada após o cancelamento, e os resultados de uma busca cancelada são descartados, mesmo que a consulta
+ * ao banco de dados já tenha terminado.
+ * <p>
+ * Todos os métodos desta classe devem ser chamados na EDT.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+public class CarregadorDados {
+
+    private static final int QUANTIDADE_THREADS = Integer.getInteger("biblioteca.telas.carregamento.threads", 4);
+    private static final int TAMANHO_PAGINA = Integer.getInteger("biblioteca.telas.carregamento.tamanhoPagina", 200);
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(QUANTIDADE_THREADS, criarFabricaThreads());
+
+    private final Consumer<Exception> tratarErro;
+    private final JProgressBar barraProgresso = new JProgressBar();
+    private final JButton botaoCancelar = TelasUtils.criarBotao("Cancelar");
+    private final JPanel painel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+    private final List<SwingWorker<?, ?>> carregamentosAtivos = new ArrayList<>();
+    private SwingWorker<?, ?> listagemAtual;
+
+    /**
+     * @param tratarErro ação executada na EDT quando uma busca falhar.
+     */
+    public CarregadorDados(Consumer<Exception> tratarErro) {
+        this.tratarErro = tratarErro;
+        this.barraProgresso.setStringPainted(true);
+        this.barraProgresso.setPreferredSize(new Dimension(200, barraProgresso.getPreferredSize().height));
+        this.botaoCancelar.addActionListener(listener -> cancelar());
+        this.painel.add(barraProgresso);
+        this.painel.add(botaoCancelar);
+        this.painel.setVisible(false);
+    }
+
+    /**
+     * Método responsável por fornecer o painel com a barra de progresso e o botão de cancelar, que fica visível apenas durante as buscas.
+     *
+     * @return o painel de progresso das buscas.
+     */
+    public JPanel getPainel() {
+        return painel;
+    }
+
+    /**
+     * Método responsável por executar a busca de uma listagem em segundo plano, página a página, adicionando cada página na tabela
+     * assim que ela é buscada.
+     * <p>
+     * A listagem em andamento, caso exista, é cancelada, e a ação de limpar a tabela é executada antes de iniciar a nova busca.
+     *
+     * @param buscaPagina     busca de uma página, executada fora da EDT, a partir do último ID da página anterior.
+     * @param limparTabela    ação executada na EDT antes de iniciar a busca.
+     * @param adicionarLinhas ação executada na EDT para cada página de resultados.
+     */
+    public <T> void carregarListagem(BuscaPagina<T> buscaPagina, Runnable limparTabela, Consumer<List<T>> adicionarLinhas) {
+        if (listagemAtual != null) {
+            descartar(listagemAtual);
+        }
+        limparTabela.run();
+
+        listagemAtual = new SwingWorker<Void, List<T>>() {
+            private int quantidadeAdicionada;
+
+            @Override
+            protected Void doInBackground() throws Exception {
+                Integer aposId = null;
+                PaginaResponse<T> pagina;
+                do {
+                    pagina = buscaPagina.buscar(aposId, TAMANHO_PAGINA);
+                    if (isCancelled()) {
+                        return null;
+                    }
+                    publish(pagina.getItens());
+                    aposId = pagina.getUltimoId();
+                } while (pagina.isPossuiProximaPagina() && !isCancelled());
+                return null;
+            }
+
+            @Override
+            protected void process(List<List<T>> paginas) {
+                if (listagemAtual != this) {
+                    return;
+                }
+                for (List<T> pagina : paginas) {
+                    adicionarLinhas.accept(pagina);
+                    quantidadeAdicionada += pagina.size();
+                }
+                barraProgresso.setString(format("%d carregados", quantidadeAdicionada));
+            }
+
+            @Override
+            protected void done() {
+                finalizar(this, null);
+            }
+        };
+        iniciar(listagemAtual);
+    }
+
+    /**
+     * Método responsável por executar em segundo plano a busca de uma listagem que retorna todos os resultados de uma vez,
+     * como as buscas limitadas a uma quantidade de resultados, e adicionar os resultados na tabela.
+     *
+     * @param busca           busca executada fora da EDT.
+     * @param limparTabela    ação executada na EDT antes de iniciar a busca.
+     * @param adicionarLinhas ação executada na EDT com os resultados.
+     */
+    public <T> void carregarListagem(Callable<List<T>> busca, Runnable limparTabela, Consumer<List<T>> adicionarLinhas) {
+        carregarListagem((aposId, limite) -> PaginaResponse.<T>builder().itens(busca.call()).build(), limparTabela, adicionarLinhas);
+    }
+
+    /**
+     * Método responsável por executar uma busca em segundo plano e repassar o resultado para a tela.
+     * <p>
+     * Diferente da listagem, esta busca não cancela as demais buscas em andamento, e é cancelada apenas pelo botão de cancelar
+     * ou pelo método cancelar.
+     *
+     * @param busca      busca executada fora da EDT.
+     * @param aoConcluir ação executada na EDT com o resultado da busca.
+     */
+    public <V> void executar(Callable<V> busca, Consumer<V> aoConcluir) {
+        executar(busca, aoConcluir, () -> {
+        });
+    }
+
+    /**
+     * Método responsável por executar uma busca em segundo plano e repassar o resultado para a tela, executando uma ação ao fim da busca
+     * mesmo que ela tenha falhado ou sido cancelada.
+     *
+     * @param busca       busca executada fora da EDT.
+     * @param aoConcluir  ação executada na EDT com o resultado da busca.
+     * @param aoFinalizar ação executada na EDT ao fim da busca, antes da ação de conclusão ou de erro, inclusive quando a busca for descartada.
+     */
+    public <V> void executar(Callable<V> busca, Consumer<V> aoConcluir, Runnable aoFinalizar) {
+        iniciar(new SwingWorker<V, Void>() {
+            @Override
+            protected V doInBackground() throws Exception {
+                return busca.call();
+            }
+
+            @Override
+            protected void done() {
+                aoFinalizar.run();
+                finalizar(this, aoConcluir);
+            }
+        });
+    }
+
+    /**
+     * Método responsável por cancelar todas as buscas em andamento. Os resultados delas são descartados.
+     */
+    public void cancelar() {
+        for (SwingWorker<?, ?> carregamento : new ArrayList<>(carregamentosAtivos)) {
+            descartar(carregamento);
+        }
+    }
+
+    public boolean isCarregando() {
+        return !carregamentosAtivos.isEmpty();
+    }
+
+    /**
+     * Método responsável por cancelar uma busca e removê-la das buscas ativas. Como a busca pode já ter terminado antes do cancelamento,
+     * os resultados que ainda chegarem dela são ignorados por não estar mais entre as buscas ativas.
+     */
+    private void descartar(SwingWorker<?, ?> carregamento) {
+        carregamento.cancel(true);
+        removerCarregamentoAtivo(carregamento);
+    }
+
+    private boolean removerCarregamentoAtivo(SwingWorker<?, ?> carregamento) {
+        boolean ativo = carregamentosAtivos.remove(carregamento);
+        if (listagemAtual == carregamento) {
+            listagemAtual = null;
+        }
+        if (carregamentosAtivos.isEmpty()) {
+            painel.setVisible(false);
+        }
+        return ativo;
+    }
+
+    private void iniciar(SwingWorker<?, ?> carregamento) {
+        carregamentosAtivos.add(carregamento);
+        barraProgresso.setIndeterminate(true);
+        barraProgresso.setString("Carregando...");
+        painel.setVisible(true);
+        EXECUTOR.execute(carregamento);
+    }
+
+    /**
+     * Método responsável por remover a busca das buscas ativas e repassar o resultado ou o erro dela para a tela,
+     * caso ela não tenha sido descartada.
+     */
+    @SuppressWarnings("unchecked")
+    private <V> void finalizar(SwingWorker<?, ?> carregamento, Consumer<V> aoConcluir) {
+        if (!removerCarregamentoAtivo(carregamento) || carregamento.isCancelled()) {
+            return;
+        }
+
+        try {
+            V resultado = (V) carregamento.get();
+            if (aoConcluir != null) {
+                aoConcluir.accept(resultado);
+            }
+        } catch (ExecutionException ex) {
+            Throwable causa = ex.getCause();
+            tratarErro.accept(causa instanceof Exception ? (Exception) causa : new RuntimeException(causa));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory criarFabricaThreads() {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, format("biblioteca-carregamento-%d", contador.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Busca de uma página da listagem, a partir do último ID da página anterior, ou null para a primeira página.
+     */
+    @FunctionalInterface
+    public interface BuscaPagina<T> {
+        PaginaResponse<T> buscar(Integer aposId, int limite) throws Exception;
+    }
+}
@@ -61,6 +61,54 @@ public class StringUtils {
         return isNotBlank(cnpj) && cnpj.matches("^\\d{2}\\.\\d{3}\\.\\d{3}/\\d{4}-\\d{2}$");
     }
 
+    /**
+     * Método responsável por validar um ISBN-10.
+     * <p>
+     * O ISBN-10 será considerado válido se possuir 9 dígitos e um dígito verificador, que pode ser X, e se a soma dos dígitos
+     * multiplicados pelos pesos de 10 a 1 for múltipla de 11. Os hífens são ignorados.
+     *
+     * @return true: Se o ISBN-10 for válido. false: Se o ISBN-10 for blank, não possuir o formato correto ou o dígito verificador for inválido.
+     */
+    public static boolean isIsbn10Valido(String isbn) {
+        if (isBlank(isbn)) {
+            return false;
+        }
+        String digitos = isbn.trim().replace("-", "");
+        if (!digitos.matches("^\\d{9}[\\dXx]$")) {
+            return false;
+        }
+        int soma = 0;
+        for (int indice = 0; indice < 10; indice++) {
+            char caractere = digitos.charAt(indice);
+            int valor = caractere == 'X' || caractere == 'x' ? 10 : caractere - '0';
+            soma += valor * (10 - indice);
+        }
+        return soma % 11 == 0;
+    }
+
+    /**
+     * Método responsável por validar um ISBN-13.
+     * <p>
+     * O ISBN-13 será considerado válido se possuir 13 dígitos e se a soma dos dígitos multiplicados alternadamente pelos pesos 1 e 3
+     * for múltipla de 10. Os hífens são ignorados.
+     *
+     * @return true: Se o ISBN-13 for válido. false: Se o ISBN-13 for blank, não possuir o formato correto ou o dígito verificador for inválido.
+     */
+    public static boolean isIsbn13Valido(String isbn) {
+        if (isBlank(isbn)) {
+            return false;
+        }
+        String digitos = isbn.trim().replace("-", "");
+        if (!digitos.matches("^\\d{13}$")) {
+            return false;
+        }
+        int soma = 0;
+        for (int indice = 0; indice < 13; indice++) {
+            soma += (digitos.charAt(indice) - '0') * (indice % 2 == 0 ? 1 : 3);
+        }
+        return soma % 10 == 0;
+    }
+
     /**
      * Método responsável por formatar a data passada por parâmetro.
      * <p>
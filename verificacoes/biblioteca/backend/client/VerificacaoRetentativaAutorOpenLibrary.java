@@ -0,0 +1,98 @@
+package biblioteca.backend.client;
+
+import biblioteca.backend.dto.OpenLibraryAutorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+
+/**
+ * Verificação da busca de um Autor na API da OPEN LIBRARY quando a API responde 429 antes de responder com sucesso.
+ * <p>
+ * As requisições do client são redirecionadas para um servidor HTTP local, que responde a primeira requisição com o status 429
+ * e o header Retry-After de 10 segundos, e a segunda com os dados do Autor. A busca deve aguardar a espera pedida pela API,
+ * repetir a requisição e encontrar o Autor, sem que a requisição seja cancelada durante a espera.
+ * <p>
+ * Executada pelo método main, com as classes do projeto e os jars da pasta lib no classpath. Termina com o código 1 caso a verificação falhe.
+ *
+ * @author Bruno Cardoso
+ * @version 1.0
+ */
+public class VerificacaoRetentativaAutorOpenLibrary {
+
+    private static final String KEY_AUTOR = "/authors/OL1A";
+    private static final String NOME_AUTOR = "Autor Verificação";
+    private static final String ESPERA_PEDIDA_SEGUNDOS = "10";
+
+    public static void main(String[] args) throws IOException {
+        AtomicInteger requisicoes = new AtomicInteger();
+        HttpServer servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.createContext(KEY_AUTOR + ".json", troca -> responder(troca, requisicoes.incrementAndGet()));
+        servidor.start();
+
+        ResilienciaOpenLibraryInterceptor resiliencia = new ResilienciaOpenLibraryInterceptor();
+        OkHttpClient httpClient = OpenLibraryClient.criarHttpClient(resiliencia).newBuilder()
+                .addInterceptor(chain -> {
+                    HttpUrl urlLocal = chain.request().url().newBuilder()
+                            .scheme("http")
+                            .host("127.0.0.1")
+                            .port(servidor.getAddress().getPort())
+                            .build();
+                    return chain.proceed(chain.request().newBuilder().url(urlLocal).build());
+                })
+                .build();
+        try {
+            ObjectMapper mapper = new ObjectMapper();
+            OpenLibraryClient client = new OpenLibraryClient(httpClient, mapper,
+                    new CacheOpenLibrary(Files.createTempDirectory("verificacao-openlibrary").toFile(), mapper));
+
+            long inicio = System.currentTimeMillis();
+            List<OpenLibraryAutorResponse> autores = client.buscarAutoresPorKeys(Collections.singletonList(KEY_AUTOR));
+            long tempo = System.currentTimeMillis() - inicio;
+
+            boolean encontrado = autores.size() == 1 && NOME_AUTOR.equals(autores.get(0).getNome());
+            System.out.println(format("Autor encontrado: %s, %d requisições, %d ms.", encontrado, requisicoes.get(), tempo));
+            System.out.println(resiliencia.getResumo());
+            if (!encontrado || requisicoes.get() != 2) {
+                System.exit(1);
+            }
+        } finally {
+            httpClient.dispatcher().executorService().shutdown();
+            httpClient.connectionPool().evictAll();
+            servidor.stop(0);
+        }
+    }
+
+    /**
+     * Responde a primeira requisição com o status 429 e as seguintes com os dados do Autor.
+     */
+    private static void responder(HttpExchange troca, int requisicao) throws IOException {
+        byte[] corpo;
+        int status;
+        if (requisicao == 1) {
+            troca.getResponseHeaders().add("Retry-After", ESPERA_PEDIDA_SEGUNDOS);
+            corpo = "{}".getBytes(StandardCharsets.UTF_8);
+            status = 429;
+        } else {
+            corpo = format("{\"name\": \"%s\"}", NOME_AUTOR).getBytes(StandardCharsets.UTF_8);
+            status = 200;
+        }
+        troca.getResponseHeaders().add("Content-Type", "application/json");
+        troca.sendResponseHeaders(status, corpo.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(corpo);
+        }
+    }
+}